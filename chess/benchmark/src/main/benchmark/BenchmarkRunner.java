@@ -0,0 +1,32 @@
+package benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every JMH benchmark in this module and writes the results as JSON, so runs from different releases can be
+ * compared by a script.
+ * <p>
+ * The module expects the JMH jars in {@code benchmark/lib}: jmh-core, jmh-generator-annprocess (with annotation
+ * processing turned on for this module), jopt-simple and commons-math3.
+ * <p>
+ * Usage: {@code BenchmarkRunner [results file] [benchmark name regex]}. The results file defaults to
+ * {@code benchmark-results.json} and the regex to every benchmark in this package.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = (args.length > 0) ? args[0] : "benchmark-results.json";
+        String include = (args.length > 1) ? args[1] : "benchmark\\..*";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,102 @@
+package benchmark;
+
+import chess.ChessGameImpl;
+import chess.MoveList;
+import chess.engine.MaterialEvaluator;
+import chess.engine.TaperedEvaluator;
+import chess.engine.nnue.DenseKernel;
+import chess.engine.nnue.Network;
+import chess.engine.nnue.NnueEvaluator;
+import chess.engine.nnue.ScalarKernel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluations per second: the incremental tapered evaluator at a leaf, the same evaluator summing the board
+ * from scratch, the material count for comparison, and a 256x32 network with the scalar and the best available
+ * kernel. Run with {@code --add-modules jdk.incubator.vector} and the simd module on the class path to include the
+ * vector kernel; otherwise both network benchmarks use the scalar one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+
+    @Param({"STARTING", "KIWIPETE", "ENDGAME"})
+    public Positions position;
+
+    private ChessGameImpl game;
+    private final MoveList legalMoves = new MoveList();
+    private final TaperedEvaluator tapered = new TaperedEvaluator();
+    private final MaterialEvaluator material = new MaterialEvaluator();
+
+    // Random weights evaluate at the same speed as trained ones
+    private final Network network = Network.random(256, 32, 1);
+    private final NnueEvaluator nnue = new NnueEvaluator(network, DenseKernel.best());
+    private final NnueEvaluator scalarNnue = new NnueEvaluator(network, new ScalarKernel());
+    private ChessGameImpl nnueGame;
+    private ChessGameImpl scalarNnueGame;
+
+    @Setup
+    public void setup() {
+        game = position.newGame("bitboard");
+        game.generateLegalMoves(game.getTeamTurn(), legalMoves);
+        tapered.attach(game.getBoard());
+
+        // Each evaluator follows its own board
+        nnueGame = position.newGame("bitboard");
+        nnue.attach(nnueGame.getBoard());
+        scalarNnueGame = position.newGame("bitboard");
+        scalarNnue.attach(scalarNnueGame.getBoard());
+    }
+
+    /**
+     * A leaf evaluation with the sums already kept up to date by the board.
+     */
+    @Benchmark
+    public int taperedEvaluate() {
+        return tapered.evaluate(game);
+    }
+
+    /**
+     * Sums every piece again before evaluating, the cost the incremental updates avoid.
+     */
+    @Benchmark
+    public int taperedFromScratch() {
+        tapered.attach(game.getBoard());
+        return tapered.evaluate(game);
+    }
+
+    @Benchmark
+    public int materialEvaluate() {
+        return material.evaluate(game);
+    }
+
+    /**
+     * Makes, evaluates and takes back every legal move, so the incremental updates are included.
+     */
+    @Benchmark
+    public int makeMoveAndEvaluate() {
+        int sum = 0;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            game.makeMove(legalMoves.get(i));
+            sum += tapered.evaluate(game);
+            game.unmakeMove();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int nnueEvaluate() {
+        return nnue.evaluate(nnueGame);
+    }
+
+    @Benchmark
+    public int nnueScalarEvaluate() {
+        return scalarNnue.evaluate(scalarNnueGame);
+    }
+}
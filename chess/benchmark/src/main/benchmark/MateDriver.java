@@ -0,0 +1,44 @@
+package benchmark;
+
+import chess.Move;
+import chess.engine.mate.MateResult;
+import chess.engine.mate.PuzzleBatch;
+import chess.engine.mate.PuzzleResult;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Solves a file of mate puzzles and prints one JSON object per puzzle, so the solver's speed and memory use can be
+ * tracked over a fixed set of puzzles. Each puzzle is an EPD line with a {@code dm} operation.
+ * <p>
+ * Usage: {@code MateDriver <puzzle file> [threads] [table megabytes] [node limit]}. The threads default to the number
+ * of processors, the table to 64 megabytes per thread and the node limit to none.
+ * <p>
+ * Example line: {@code {"id":"loyd","mateIn":2,"outcome":"MATE","move":"a1a6","nodes":310,"memoryBytes":5600,"millis":3}}
+ */
+public class MateDriver {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: MateDriver <puzzle file> [threads] [table megabytes] [node limit]");
+            System.exit(2);
+        }
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int megabytes = (args.length > 2) ? Integer.parseInt(args[2]) : 64;
+        long nodeLimit = (args.length > 3) ? Long.parseLong(args[3]) : 0;
+
+        int solved = 0;
+        try (PuzzleBatch batch = new PuzzleBatch(threads, megabytes)) {
+            for (PuzzleResult puzzle : batch.solve(Paths.get(args[0]), nodeLimit, 0)) {
+                MateResult result = puzzle.result();
+                if (puzzle.isSolved()) solved++;
+                System.out.printf("{\"id\":\"%s\",\"mateIn\":%d,\"outcome\":\"%s\",\"move\":\"%s\",\"nodes\":%d,\"memoryBytes\":%d,\"millis\":%d}%n",
+                        puzzle.puzzle().id(), puzzle.mateIn(), result.outcome(),
+                        (result.bestMove() == 0) ? "" : Move.toString(result.bestMove()), result.nodes(), result.memoryBytes(),
+                        result.timeMillis());
+            }
+        }
+        System.err.println(solved + " puzzles solved");
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import chess.ChessGame;
+import chess.ChessGameImpl;
+import chess.Fen;
+import chess.MoveList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures move generation, making and taking back moves, and game end detection on both board implementations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+
+    @Param({"STARTING", "KIWIPETE", "ENDGAME"})
+    public Positions position;
+
+    @Param({"bitboard", "hashmap"})
+    public String boardType;
+
+    private ChessGameImpl game;
+    private final MoveList moves = new MoveList();
+    private final MoveList legalMoves = new MoveList();
+
+    // A position where the side to move is checkmated, so isInCheckmate has to prove there is no way out
+    private ChessGameImpl matedGame;
+
+    @Setup
+    public void setup() {
+        game = position.newGame(boardType);
+        game.generateLegalMoves(game.getTeamTurn(), legalMoves);
+
+        matedGame = Fen.parse("r1bqkb1r/pppp1Qpp/2n2n2/4p3/2B1P3/8/PPPP1PPP/RNB1K1NR b KQkq - 0 4",
+                Positions.newBoard(boardType));
+    }
+
+    /**
+     * Asks for the valid moves of every square in turn, the way a client highlights moves.
+     */
+    @Benchmark
+    public int validMoves() {
+        moves.clear();
+        for (int square = 0; square < 64; square++)
+            game.validMoves(square, moves);
+        return moves.size();
+    }
+
+    /**
+     * Generates every legal move for the side to move in one pass.
+     */
+    @Benchmark
+    public int generateLegalMoves() {
+        moves.clear();
+        game.generateLegalMoves(game.getTeamTurn(), moves);
+        return moves.size();
+    }
+
+    /**
+     * Makes and takes back every legal move of the position.
+     */
+    @Benchmark
+    public long makeMove() {
+        long keys = 0;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            game.makeMove(legalMoves.get(i));
+            keys ^= game.getBoard().positionKey();
+            game.unmakeMove();
+        }
+        return keys;
+    }
+
+    /**
+     * Checks every legal move of the position one at a time, the way a submitted move is validated.
+     */
+    @Benchmark
+    public int isLegal() {
+        int legal = 0;
+        for (int i = 0; i < legalMoves.size(); i++)
+            if (game.isLegal(legalMoves.get(i))) legal++;
+        return legal;
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        return matedGame.isInCheckmate(ChessGame.TeamColor.BLACK) | game.isInCheckmate(game.getTeamTurn());
+    }
+}
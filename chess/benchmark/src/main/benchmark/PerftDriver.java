@@ -0,0 +1,49 @@
+package benchmark;
+
+import chess.ChessGameImpl;
+import chess.Perft;
+
+import java.util.Arrays;
+
+/**
+ * Counts perft nodes from the standard test positions on each board implementation and prints one JSON object per
+ * line, so results can be checked against the known totals and nodes per second compared between boards and
+ * releases.
+ * <p>
+ * Usage: {@code PerftDriver [max depth] [board type...]}. The depth defaults to 4 and the boards to "bitboard" and
+ * "hashmap". The exit status is 1 if any count is wrong.
+ * <p>
+ * Example line: {@code {"position":"STARTING","board":"bitboard","depth":4,"nodes":197281,"expected":197281,
+ * "correct":true,"millis":38,"nps":5191605}}
+ */
+public class PerftDriver {
+
+    public static void main(String[] args) {
+        int maxDepth = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        String[] boardTypes = (args.length > 1)
+                ? Arrays.copyOfRange(args, 1, args.length) : new String[]{"bitboard", "hashmap"};
+
+        Perft perft = new Perft();
+        boolean allCorrect = true;
+        for (String boardType : boardTypes) {
+            for (Positions position : Positions.values()) {
+                for (int depth = 1; depth <= maxDepth; depth++) {
+                    ChessGameImpl game = position.newGame(boardType);
+
+                    long start = System.nanoTime();
+                    long nodes = perft.count(game, depth);
+                    long nanos = System.nanoTime() - start;
+
+                    long expected = position.expectedNodes(depth);
+                    boolean correct = expected < 0 || nodes == expected;
+                    allCorrect &= correct;
+                    System.out.printf("{\"position\":\"%s\",\"board\":\"%s\",\"depth\":%d,\"nodes\":%d,\"expected\":%d,"
+                                    + "\"correct\":%b,\"millis\":%d,\"nps\":%d}%n",
+                            position, boardType, depth, nodes, expected, correct, nanos / 1_000_000,
+                            nodes * 1_000_000_000L / Math.max(1, nanos));
+                }
+            }
+        }
+        if (!allCorrect) System.exit(1);
+    }
+}
@@ -0,0 +1,60 @@
+package benchmark;
+
+import chess.BitboardChessBoard;
+import chess.ChessBoard;
+import chess.ChessBoardImpl;
+import chess.ChessGameImpl;
+import chess.Fen;
+
+/**
+ * Named positions shared by the benchmarks and the perft driver, with their known perft totals.
+ */
+public enum Positions {
+
+    // The standard perft test positions, picked to exercise castling, En Passant, promotion, pins and checks
+    STARTING(Fen.STARTING_POSITION, 20, 400, 8902, 197281, 4865609),
+    KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 48, 2039, 97862, 4085603),
+    ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14, 191, 2812, 43238, 674624),
+    PROMOTIONS("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 6, 264, 9467, 422333),
+    MIDGAME("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 44, 1486, 62379, 2103487);
+
+    public final String fen;
+
+    // Leaf nodes at depth 1, 2, ...
+    private final long[] perft;
+
+    Positions(String fen, long... perft) {
+        this.fen = fen;
+        this.perft = perft;
+    }
+
+    /**
+     * @param depth Perft depth, from 1.
+     * @return The known node count, or -1 if it isn't listed.
+     */
+    public long expectedNodes(int depth) {
+        return (depth >= 1 && depth <= perft.length) ? perft[depth - 1] : -1;
+    }
+
+    /**
+     * Sets up the position on a new board of the given kind.
+     *
+     * @param boardType "bitboard" or "hashmap".
+     * @return A new game in the position.
+     */
+    public ChessGameImpl newGame(String boardType) {
+        return Fen.parse(fen, newBoard(boardType));
+    }
+
+    /**
+     * @param boardType "bitboard" or "hashmap".
+     * @return A new empty board of that kind.
+     */
+    public static ChessBoard newBoard(String boardType) {
+        return switch (boardType) {
+            case "bitboard" -> new BitboardChessBoard();
+            case "hashmap" -> new ChessBoardImpl();
+            default -> throw new IllegalArgumentException("Unknown board type: " + boardType);
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package benchmark;
+
+import chess.engine.ParallelSearch;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TaperedEvaluator;
+import chess.engine.TranspositionTable;
+
+/**
+ * Measures how parallel search scales with the thread count. Each standard position is searched for a fixed time
+ * with 1, 2, 4, ... threads up to the maximum, and one JSON object is printed per search with the nodes per second
+ * and the speedup over one thread.
+ * <p>
+ * Usage: {@code SearchScalingDriver [millis per search] [max threads]}. The time defaults to 2000 ms and the thread
+ * count to the number of available processors.
+ * <p>
+ * Example line: {@code {"position":"KIWIPETE","threads":4,"depth":9,"nodes":3145728,"millis":2001,"nps":1572000,
+ * "speedup":3.71}}
+ */
+public class SearchScalingDriver {
+
+    private static final int HASH_MEGABYTES = 64;
+
+    public static void main(String[] args) {
+        long millis = (args.length > 0) ? Long.parseLong(args[0]) : 2000;
+        int maxThreads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        // Let class loading and the JIT settle before anything is timed
+        try (ParallelSearch warmUp = new ParallelSearch(new TranspositionTable(HASH_MEGABYTES), TaperedEvaluator::new)) {
+            for (Positions position : Positions.values())
+                warmUp.search(position.newGame("bitboard"), SearchLimits.time(millis), 1);
+        }
+
+        for (Positions position : Positions.values()) {
+            long singleThreadNps = 0;
+            for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+                // A fresh table each time so no run starts with another's results
+                try (ParallelSearch search = new ParallelSearch(new TranspositionTable(HASH_MEGABYTES), TaperedEvaluator::new)) {
+                    SearchResult result = search.search(position.newGame("bitboard"), SearchLimits.time(millis), threads);
+                    long nps = result.nodesPerSecond();
+                    if (threads == 1) singleThreadNps = nps;
+                    System.out.printf("{\"position\":\"%s\",\"threads\":%d,\"depth\":%d,\"nodes\":%d,\"millis\":%d,"
+                                    + "\"nps\":%d,\"speedup\":%.2f}%n",
+                            position, threads, result.depth(), result.nodes(), result.timeMillis(), nps,
+                            (double) nps / Math.max(1, singleThreadNps));
+                }
+            }
+        }
+    }
+
+    /**
+     * Doubles the thread count, finishing with the maximum itself when it isn't a power of two.
+     */
+    private static int nextThreadCount(int threads, int maxThreads) {
+        return (threads < maxThreads) ? Math.min(threads * 2, maxThreads) : maxThreads + 1;
+    }
+}
@@ -0,0 +1,56 @@
+package benchmark;
+
+import chess.ChessGameImpl;
+import chess.Fen;
+import dataAccess.GameSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving and loading a game the way the server stores it (JSON through {@link GameSerializer}) against FEN.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    @Param({"STARTING", "KIWIPETE"})
+    public Positions position;
+
+    private final GameSerializer serializer = new GameSerializer();
+
+    private ChessGameImpl game;
+    private String json;
+    private String fen;
+
+    @Setup
+    public void setup() {
+        game = position.newGame("bitboard");
+        json = serializer.serialize(game);
+        fen = game.toFen();
+    }
+
+    @Benchmark
+    public String serializeJson() {
+        return serializer.serialize(game);
+    }
+
+    @Benchmark
+    public ChessGameImpl deserializeJson() {
+        return serializer.deserialize(json);
+    }
+
+    @Benchmark
+    public String writeFen() {
+        return game.toFen();
+    }
+
+    @Benchmark
+    public ChessGameImpl parseFen() {
+        return Fen.parse(fen);
+    }
+}
@@ -0,0 +1,54 @@
+package benchmark;
+
+import chess.Move;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TaperedEvaluator;
+import chess.engine.suite.SuiteRunner;
+import chess.engine.suite.SuiteSummary;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Searches every position of an EPD or FEN file and prints one JSON object per position as its search finishes, so
+ * large sets of positions can be analysed and test suites scored on every core.
+ * <p>
+ * Usage: {@code SuiteDriver <position file> [budget] [threads] [table megabytes]}. The budget defaults to
+ * {@code 100ms} a position; a budget such as {@code 20000n} gives a node limit instead. The threads default to the
+ * number of processors and the table to 16 megabytes per thread. Totals are printed to standard error at the end.
+ * <p>
+ * Example line: {@code {"line":3,"id":"WAC.001","move":"g3g6","score":612,"depth":9,"nodes":20000,"millis":41,"verdict":"SOLVED"}}
+ */
+public class SuiteDriver {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SuiteDriver <position file> [budget] [threads] [table megabytes]");
+            System.exit(2);
+        }
+        SearchLimits limits = budget((args.length > 1) ? args[1] : "100ms");
+        int threads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int megabytes = (args.length > 3) ? Integer.parseInt(args[3]) : 16;
+
+        SuiteSummary summary;
+        try (SuiteRunner runner = new SuiteRunner(TaperedEvaluator::new, threads, megabytes)) {
+            summary = runner.run(Paths.get(args[0]), limits, position -> {
+                SearchResult result = position.result();
+                String id = position.position().id();
+                System.out.printf("{\"line\":%d,\"id\":%s,\"move\":\"%s\",\"score\":%d,\"depth\":%d,\"nodes\":%d,\"millis\":%d,\"verdict\":\"%s\"}%n",
+                        position.lineNumber(), (id == null) ? "null" : "\"" + id.replace("\"", "\\\"") + "\"",
+                        (result.bestMove() == 0) ? "" : Move.toString(result.bestMove()), result.score(), result.depth(),
+                        result.nodes(), result.timeMillis(), position.verdict());
+            });
+        }
+        System.err.printf("%d positions, %d solved, %d failed, %d nodes/s, %.1f positions/s%n", summary.positions(),
+                summary.solved(), summary.failed(), summary.nodesPerSecond(), summary.positionsPerSecond());
+    }
+
+    private static SearchLimits budget(String budget) {
+        if (budget.endsWith("ms")) return SearchLimits.time(Long.parseLong(budget.substring(0, budget.length() - 2)));
+        if (budget.endsWith("n")) return SearchLimits.nodes(Long.parseLong(budget.substring(0, budget.length() - 1)));
+        throw new IllegalArgumentException("Budgets end in ms or n, not \"" + budget + "\".");
+    }
+}
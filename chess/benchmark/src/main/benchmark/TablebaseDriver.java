@@ -0,0 +1,40 @@
+package benchmark;
+
+import chess.engine.tablebase.TablebaseGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Generates every endgame table up to a number of pieces and prints one JSON object per material, so a build machine
+ * can rebuild the tablebase and the time it takes can be tracked. Tables already in the directory are kept.
+ * <p>
+ * Usage: {@code TablebaseDriver <directory> [max pieces] [threads]}. The pieces default to 4 and the threads to the
+ * number of processors.
+ * <p>
+ * Example line: {@code {"material":"KQvKR","tables":1,"threads":8,"millis":5120}}
+ */
+public class TablebaseDriver {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TablebaseDriver <directory> [max pieces] [threads]");
+            System.exit(2);
+        }
+        Path directory = Paths.get(args[0]);
+        int maxPieces = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        int threads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Files.createDirectories(directory);
+
+        try (TablebaseGenerator generator = new TablebaseGenerator(directory, threads)) {
+            for (String material : TablebaseGenerator.materials(maxPieces)) {
+                long start = System.nanoTime();
+                int tables = generator.generate(material);
+                System.out.printf("{\"material\":\"%s\",\"tables\":%d,\"threads\":%d,\"millis\":%d}%n",
+                        material, tables, threads, (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+}
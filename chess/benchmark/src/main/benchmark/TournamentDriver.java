@@ -0,0 +1,83 @@
+package benchmark;
+
+import chess.engine.Evaluator;
+import chess.engine.MaterialEvaluator;
+import chess.engine.SearchLimits;
+import chess.engine.TaperedEvaluator;
+import chess.engine.nnue.Network;
+import chess.engine.nnue.NnueEvaluator;
+import chess.engine.tournament.Player;
+import chess.engine.tournament.Sprt;
+import chess.engine.tournament.Tournament;
+import chess.engine.tournament.TournamentResult;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.function.Supplier;
+
+/**
+ * Plays a self-play match between two evaluators and prints the standing as JSON every 100 games and at the end, so
+ * a change can be tested overnight. The match stops when an SPRT of elo0 = 0 against elo1 = 5 with 5% error rates
+ * decides.
+ * <p>
+ * Usage: {@code TournamentDriver <opening file> [games] [threads] [budget] [first] [second]}. The games default to
+ * 10000, the threads to the number of processors and the budget to {@code 100ms} a move; a budget such as
+ * {@code 20000n} gives a node limit instead. The players are {@code tapered}, {@code material} or
+ * {@code nnue:<network file>}, by default tapered against material. A network is loaded once and shared by every
+ * thread's evaluator.
+ * <p>
+ * Example line: {@code {"games":100,"wins":61,"draws":24,"losses":15,"elo":168.1,"error":62.3,"llr":3.12,
+ * "decision":"ACCEPT_H1","firstNps":1203000,"secondNps":2410000,"nps":14520000}}
+ */
+public class TournamentDriver {
+
+    private static final int HASH_MEGABYTES = 16;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TournamentDriver <opening file> [games] [threads] [budget] [first] [second]");
+            System.exit(2);
+        }
+        int games = (args.length > 1) ? Integer.parseInt(args[1]) : 10_000;
+        int threads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        SearchLimits limits = budget((args.length > 3) ? args[3] : "100ms");
+        String first = (args.length > 4) ? args[4] : "tapered";
+        String second = (args.length > 5) ? args[5] : "material";
+
+        Player firstPlayer = new Player(first, evaluators(first), limits);
+        Player secondPlayer = new Player(second, evaluators(second), limits);
+        try (Tournament tournament = new Tournament(firstPlayer, secondPlayer,
+                Tournament.readOpenings(Paths.get(args[0])), threads, HASH_MEGABYTES)) {
+            TournamentResult result = tournament.run(games, new Sprt(0, 5, 0.05, 0.05), standing -> {
+                if (standing.games() % 100 == 0) print(standing);
+            });
+            if (result.games() % 100 != 0) print(result);
+        }
+    }
+
+    private static void print(TournamentResult result) {
+        System.out.printf("{\"games\":%d,\"wins\":%d,\"draws\":%d,\"losses\":%d,\"elo\":%.1f,\"error\":%.1f,"
+                        + "\"llr\":%.2f,\"decision\":\"%s\",\"firstNps\":%d,\"secondNps\":%d,\"nps\":%d}%n",
+                result.games(), result.wins(), result.draws(), result.losses(), result.elo(), result.eloError(),
+                result.llr(), result.decision(), result.firstNodesPerSecond(), result.secondNodesPerSecond(),
+                result.nodesPerSecond());
+    }
+
+    private static SearchLimits budget(String budget) {
+        if (budget.endsWith("ms")) return SearchLimits.time(Long.parseLong(budget.substring(0, budget.length() - 2)));
+        if (budget.endsWith("n")) return SearchLimits.nodes(Long.parseLong(budget.substring(0, budget.length() - 1)));
+        throw new IllegalArgumentException("Budgets end in ms or n, not \"" + budget + "\".");
+    }
+
+    private static Supplier<Evaluator> evaluators(String name) throws IOException {
+        if (name.startsWith("nnue:")) {
+            Network network = Network.load(Paths.get(name.substring("nnue:".length())));
+            return () -> new NnueEvaluator(network);
+        }
+        return switch (name) {
+            case "tapered" -> TaperedEvaluator::new;
+            case "material" -> MaterialEvaluator::new;
+            default -> throw new IllegalArgumentException("Unknown evaluator \"" + name + "\".");
+        };
+    }
+}
@@ -1,4 +1,6 @@
+import dataAccess.DataAccessException;
 import handlers.*;
+import services.AnnotationService;
 import spark.Request;
 import spark.Response;
 import spark.Spark;
@@ -10,8 +12,14 @@ public class Server {
      * Handlers for service request and response.
      */
     private final HashMap<String, BaseHandler> handlers;
+    /**
+     * Annotates finished games in the background, on threads of its own.
+     */
+    private final AnnotationService annotationService;
 
     public Server() {
+        annotationService = new AnnotationService();
+
         // Initialize handlers
         handlers = new HashMap<>();
 
@@ -28,6 +36,7 @@ public class Server {
     public static void main(String[] args) {
         Server server = new Server();
         server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
     }
 
     public String handleRequest(Request req, Response res) {
@@ -70,5 +79,17 @@ public class Server {
 
         // Initialize the Spark server
         Spark.init();
+
+        // Catch up on games that finished while the server was down, or didn't fit in the queue
+        try {
+            annotationService.submitUnannotatedGames();
+        } catch (DataAccessException e) {
+            // Left for the next start
+        }
+    }
+
+    public void stop() {
+        Spark.stop();
+        annotationService.close();
     }
 }
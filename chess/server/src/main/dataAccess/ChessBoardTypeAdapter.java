@@ -6,10 +6,15 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 
 import java.io.IOException;
-import java.util.Map;
 
 class ChessBoardTypeAdapter extends TypeAdapter<ChessBoard> {
 
+    // Board state stored alongside the "row:col" piece entries so castling, En Passant and the position key survive
+    // a round trip
+    private static final String SIDE_TO_MOVE = "sideToMove";
+    private static final String CASTLING_RIGHTS = "castlingRights";
+    private static final String EN_PASSANT_SQUARE = "enPassantSquare";
+
     @Override
     public void write(JsonWriter out, ChessBoard value) throws IOException {
         // Return if value is null
@@ -18,13 +23,16 @@ class ChessBoardTypeAdapter extends TypeAdapter<ChessBoard> {
             return;
         }
 
-        // Serialize the board's state without casting to ChessBoardImpl or ChessPieceImpl
+        // Serialize the board's state through the ChessBoard interface so any board implementation writes the same way
         out.beginObject();
-        for (Map.Entry<ChessPosition, ChessPiece> entry : ((ChessBoardImpl) value).getBoard().entrySet()) {
-            ChessPosition pos = entry.getKey();
-            ChessPiece piece = entry.getValue();
-            String position = pos.getRow() + ":" + pos.getColumn();
-            String pieceString = piece.getTeamColor().name() + ":" + piece.getPieceType().name();
+        out.name(SIDE_TO_MOVE).value(value.getSideToMove().name());
+        out.name(CASTLING_RIGHTS).value(Integer.toString(value.getCastlingRights()));
+        out.name(EN_PASSANT_SQUARE).value(Integer.toString(value.getEnPassantSquare()));
+        for (ChessPosition pos : ChessPositionImpl.getAllPositions()) {
+            ChessPiece piece = value.getPiece(pos);
+            if (piece == null) continue;
+            String position = pos.getRow() + ":" + pos.getCol();
+            String pieceString = piece.teamColor().name() + ":" + piece.getPieceType().name();
             out.name(position).value(pieceString);
         }
         out.endObject();
@@ -32,15 +40,19 @@ class ChessBoardTypeAdapter extends TypeAdapter<ChessBoard> {
 
     @Override
     public ChessBoard read(JsonReader in) throws IOException {
-        ChessBoardImpl impl = new ChessBoardImpl();
+        // Pieces and positions are shared instances, so reading a board only allocates the board itself
+        ChessBoard impl = new BitboardChessBoard();
 
         in.beginObject();
         while (in.hasNext()) {
             String position = in.nextName();
             String pieceString = in.nextString();
-            ChessPosition pos = parsePosition(position);
-            ChessPiece piece = parsePiece(pieceString);
-            impl.addPiece(pos, piece);
+            switch (position) {
+                case SIDE_TO_MOVE -> impl.setSideToMove(ChessGame.TeamColor.valueOf(pieceString));
+                case CASTLING_RIGHTS -> impl.setCastlingRights(Integer.parseInt(pieceString));
+                case EN_PASSANT_SQUARE -> impl.setEnPassantSquare(Integer.parseInt(pieceString));
+                default -> impl.addPiece(parsePosition(position), parsePiece(pieceString));
+            }
         }
         in.endObject();
 
@@ -48,20 +60,16 @@ class ChessBoardTypeAdapter extends TypeAdapter<ChessBoard> {
     }
 
     private ChessPosition parsePosition(String position) {
-        String[] parts = position.split(":");
-
-        int row = Integer.parseInt(parts[0]);
-        int column = Integer.parseInt(parts[1]);
-
-        return new ChessPositionImpl(row, column);
+        // Positions are written as "row:col" with single digits
+        return ChessPositionImpl.of(position.charAt(0) - '0', position.charAt(2) - '0');
     }
 
     private ChessPiece parsePiece(String pieceString) {
-        String[] parts = pieceString.split(":");
+        int separator = pieceString.indexOf(':');
 
-        ChessGame.TeamColor color = ChessGame.TeamColor.valueOf(parts[0]);
-        ChessPiece.PieceType type = ChessPiece.PieceType.valueOf(parts[1]);
+        ChessGame.TeamColor color = ChessGame.TeamColor.valueOf(pieceString.substring(0, separator));
+        ChessPiece.PieceType type = ChessPiece.PieceType.valueOf(pieceString.substring(separator + 1));
 
-        return new ChessPieceImpl(color, type);
+        return ChessPieceImpl.of(color, type);
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,6 @@
 package dataAccess;
 
-import chess.ChessBoard;
 import chess.ChessGame;
-import chess.ChessGameImpl;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import models.Game;
 
 import java.sql.*;
@@ -12,21 +8,20 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * DAO class for managing game-related data operations in the database.
+ * DAO class for managing game-related data operations in the database. Besides the game itself, each row of the
+ * Games table has a nullable Annotations column holding the engine's notes on the moves once the game is annotated.
  */
 public class GameDAO {
 
     private final Database db;
-    private final Gson gson;
+    private final GameSerializer serializer;
 
     /**
-     * Constructs a GameDAO with a reference to the database instance and a Gson instance for serialization.
+     * Constructs a GameDAO with a reference to the database instance and a serializer for the stored games.
      */
     public GameDAO() {
         this.db = Database.getInstance();
-        this.gson = new GsonBuilder()
-                .registerTypeAdapter(ChessBoard.class, new ChessBoardTypeAdapter())
-                .create();
+        this.serializer = new GameSerializer();
     }
 
     /**
@@ -36,17 +31,7 @@ public class GameDAO {
      * @return A JSON string representing the ChessGame object.
      */
     public String serializeChessGame(ChessGame game) {
-        return this.gson.toJson(game);
-    }
-
-    /**
-     * Deserializes a JSON string into a ChessGameImpl object.
-     *
-     * @param gameData The JSON string representing a ChessGame.
-     * @return The ChessGameImpl object.
-     */
-    private ChessGameImpl deserializeChessGame(String gameData) {
-        return this.gson.fromJson(gameData, ChessGameImpl.class);
+        return serializer.serialize(game);
     }
 
     /**
@@ -99,7 +84,7 @@ public class GameDAO {
                     rs.getString("GameName"),
                     rs.getString("WhiteUsername"),
                     rs.getString("BlackUsername"),
-                    deserializeChessGame(rs.getString("GameState"))
+                    serializer.deserialize(rs.getString("GameState"))
             ) : null;
         } catch (SQLException e) {
             throw new DataAccessException("Error encountered while finding game: " + e.getMessage());
@@ -123,7 +108,7 @@ public class GameDAO {
                         rs.getString("GameName"),
                         rs.getString("WhiteUsername"),
                         rs.getString("BlackUsername"),
-                        deserializeChessGame(rs.getString("GameState"))
+                        serializer.deserialize(rs.getString("GameState"))
                 ));
             return games;
         } catch (SQLException e) {
@@ -185,6 +170,72 @@ public class GameDAO {
         }
     }
 
+    /**
+     * Stores a game's move annotations in its Annotations column.
+     *
+     * @param gameID      The ID of the game.
+     * @param annotations The annotations, as written by {@link chess.engine.annotation.GameAnnotation#encode()}.
+     * @throws DataAccessException if the operation fails.
+     */
+    public void updateAnnotations(Integer gameID, String annotations) throws DataAccessException {
+        String sql = "UPDATE Games SET Annotations = ? WHERE GameID = ?;";
+        try (Connection conn = db.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, annotations);
+            stmt.setInt(2, gameID);
+
+            if (stmt.executeUpdate() == 0) throw new DataAccessException("Storing annotations failed, no rows affected.");
+        } catch (SQLException e) {
+            throw new DataAccessException("Error encountered while storing annotations: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves a game's move annotations.
+     *
+     * @param gameID The ID of the game.
+     * @return The annotations, or null if the game hasn't been annotated or does not exist.
+     * @throws DataAccessException if the operation fails.
+     */
+    public String findAnnotations(Integer gameID) throws DataAccessException {
+        String sql = "SELECT Annotations FROM Games WHERE GameID = ?;";
+        try (Connection conn = db.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, gameID);
+            ResultSet rs = stmt.executeQuery();
+
+            return (rs.next()) ? rs.getString("Annotations") : null;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error encountered while finding annotations: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the games that haven't been annotated, finished or not.
+     *
+     * @return The games, oldest first.
+     * @throws DataAccessException if the operation fails.
+     */
+    public List<Game> findUnannotatedGames() throws DataAccessException {
+        String sql = "SELECT * FROM Games WHERE Annotations IS NULL ORDER BY GameID;";
+        try (Connection conn = db.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            List<Game> games = new ArrayList<>();
+            while (rs.next())
+                games.add(new Game(
+                        rs.getInt("GameID"),
+                        rs.getString("GameName"),
+                        rs.getString("WhiteUsername"),
+                        rs.getString("BlackUsername"),
+                        serializer.deserialize(rs.getString("GameState"))
+                ));
+            return games;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error encountered while retrieving unannotated games: " + e.getMessage());
+        }
+    }
+
     /**
      * Prepares a PreparedStatement with game data for insert or update operations.
      *
@@ -0,0 +1,48 @@
+package dataAccess;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessGameImpl;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Converts games to and from the JSON stored in the GameState column of the Games table.
+ */
+public class GameSerializer {
+
+    private final Gson gson;
+
+    /**
+     * Constructs a GameSerializer with a Gson instance that writes boards through {@link ChessBoardTypeAdapter}.
+     */
+    public GameSerializer() {
+        this.gson = new GsonBuilder()
+                .registerTypeAdapter(ChessBoard.class, new ChessBoardTypeAdapter())
+                .create();
+    }
+
+    /**
+     * Serializes a ChessGame object into a JSON string.
+     *
+     * @param game The ChessGame object to serialize.
+     * @return A JSON string representing the ChessGame object.
+     */
+    public String serialize(ChessGame game) {
+        return this.gson.toJson(game);
+    }
+
+    /**
+     * Deserializes a JSON string into a ChessGameImpl object, ready to be shared between threads.
+     *
+     * @param gameData The JSON string representing a ChessGame.
+     * @return The ChessGameImpl object, or null if the string is null or empty.
+     */
+    public ChessGameImpl deserialize(String gameData) {
+        ChessGameImpl game = this.gson.fromJson(gameData, ChessGameImpl.class);
+
+        // Publish the stored position before the game is shared, so readers never see the one from its constructor
+        if (game != null) game.publishSnapshot();
+        return game;
+    }
+}
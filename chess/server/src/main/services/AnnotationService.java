@@ -0,0 +1,154 @@
+package services;
+
+import chess.ChessGameImpl;
+import chess.engine.SearchLimits;
+import chess.engine.TaperedEvaluator;
+import chess.engine.annotation.GameAnnotation;
+import chess.engine.annotation.GameAnnotator;
+import dataAccess.DataAccessException;
+import dataAccess.GameDAO;
+import models.Game;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides services to annotate finished games in the background: each move is scored by the engine and the
+ * annotations are stored with the game (see {@link GameDAO#updateAnnotations(Integer, String)}).
+ * <p>
+ * Games wait in a bounded queue of their own and are taken one at a time by a single low-priority thread, whose
+ * {@link GameAnnotator} searches the game's positions on its own pool. Submitting never blocks: when the queue is full
+ * the game is turned away and can be picked up later by {@link #submitUnannotatedGames()}. None of this shares threads
+ * with request handling, so live play never waits on it.
+ */
+public class AnnotationService implements AutoCloseable {
+    private final GameDAO gameDAO = new GameDAO();
+    private final GameAnnotator annotator;
+    private final ThreadPoolExecutor worker;
+
+    // Games queued or being annotated, so a game isn't queued twice
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger annotated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    /**
+     * Annotates with 100 ms a position on half the processors, queueing up to 256 games.
+     */
+    public AnnotationService() {
+        this(SearchLimits.time(100), Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 32, 256);
+    }
+
+    /**
+     * @param limits         When to stop searching each position.
+     * @param threads        Number of positions to search at once.
+     * @param tableMegabytes Size of the transposition table shared by a game's positions.
+     * @param queueCapacity  Most games to hold waiting.
+     * @throws IllegalArgumentException if the thread count, table size or queue capacity is less than one.
+     */
+    public AnnotationService(SearchLimits limits, int threads, int tableMegabytes, int queueCapacity) {
+        if (queueCapacity < 1)
+            throw new IllegalArgumentException("The annotation queue needs room for at least one game.");
+        annotator = new GameAnnotator(TaperedEvaluator::new, limits, threads, tableMegabytes);
+        worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "annotation-queue");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues a game to be annotated once it is finished. Games that are still going when their turn comes are left
+     * alone. Returns straight away.
+     *
+     * @param gameID The ID of the game.
+     * @return False if the queue is full or the service is closed, true if the game is queued or already was.
+     */
+    public boolean submit(int gameID) {
+        if (!pending.add(gameID)) return true;
+        try {
+            worker.execute(() -> annotateQueued(gameID));
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(gameID);
+            return false;
+        }
+    }
+
+    /**
+     * Queues every finished game in the database that hasn't been annotated, oldest first, until the queue is full.
+     * Games still going are skipped, so they can't fill the queue ahead of finished ones; annotating the ones queued
+     * takes them off the list, so each call moves further through it.
+     *
+     * @return Number of games queued.
+     * @throws DataAccessException if the games can't be read.
+     */
+    public int submitUnannotatedGames() throws DataAccessException {
+        int queued = 0;
+        for (Game game : gameDAO.findUnannotatedGames()) {
+            if (!(game.getGame() instanceof ChessGameImpl chessGame) || !chessGame.isOver()) continue;
+            if (!submit(game.getGameID())) break;
+            queued++;
+        }
+        return queued;
+    }
+
+    /**
+     * Annotates a game and stores the annotations on the calling thread, for when they are needed at once. Safe to
+     * call while games are being annotated in the background; it waits for the game in progress.
+     *
+     * @param gameID The ID of the game.
+     * @return True if the game is finished and has been annotated, false if it doesn't exist or is still going.
+     * @throws DataAccessException      if the game can't be read or the annotations can't be stored.
+     * @throws IllegalArgumentException if the game can't be replayed, such as a game set up from a position.
+     */
+    public boolean annotate(int gameID) throws DataAccessException {
+        Game game = gameDAO.findGameById(gameID);
+        if (game == null || !(game.getGame() instanceof ChessGameImpl chessGame) || !chessGame.isOver())
+            return false;
+        GameAnnotation annotation = annotator.annotate(chessGame);
+        gameDAO.updateAnnotations(gameID, annotation.encode());
+        annotated.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @return Number of games annotated and stored.
+     */
+    public int getAnnotatedCount() {
+        return annotated.get();
+    }
+
+    /**
+     * @return Number of queued games that couldn't be read, replayed, searched or stored.
+     */
+    public int getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Stops taking games and shuts down the threads. Games still queued are dropped.
+     */
+    @Override
+    public void close() {
+        worker.shutdownNow();
+        annotator.close();
+    }
+
+    private void annotateQueued(int gameID) {
+        try {
+            annotate(gameID);
+        } catch (DataAccessException | RuntimeException e) {
+            // Not readable or not replayable, such as a game set up from a position, or the search failed
+            failed.incrementAndGet();
+        } finally {
+            pending.remove(gameID);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package tools;
+
+import chess.ChessGameImpl;
+import chess.engine.book.OpeningBookBuilder;
+import dataAccess.DataAccessException;
+import dataAccess.GameDAO;
+import models.Game;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Builds an opening book from the finished games in the server database, or from PGN files, and prints one JSON
+ * object with the number of games added. Run it with the same database settings as the server; the engine reads the
+ * book through its {@code BookFile} option.
+ * <p>
+ * Usage: {@code OpeningBookTool <book file> <max plies> db} or {@code OpeningBookTool <book file> <max plies>
+ * <pgn file>...}. Games in the database that are still going, or that can't be replayed from the starting position,
+ * are left out.
+ * <p>
+ * Example line: {@code {"games":1520,"maxPlies":16,"millis":840}}
+ */
+public class OpeningBookTool {
+
+    public static void main(String[] args) throws IOException, DataAccessException {
+        if (args.length < 3) {
+            System.err.println("Usage: OpeningBookTool <book file> <max plies> db|<pgn file>...");
+            System.exit(2);
+        }
+        int maxPlies = Integer.parseInt(args[1]);
+        long start = System.nanoTime();
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(maxPlies);
+        if (args[2].equals("db")) {
+            for (Game game : new GameDAO().findAllGames()) {
+                if (!(game.getGame() instanceof ChessGameImpl chessGame) || !chessGame.isOver()) continue;
+                try {
+                    builder.addGame(chessGame);
+                } catch (IllegalArgumentException e) {
+                    // Not replayable, such as a game set up from a position
+                }
+            }
+        } else {
+            for (int i = 2; i < args.length; i++) {
+                try (Reader in = Files.newBufferedReader(Paths.get(args[i]))) {
+                    builder.addPgn(in);
+                }
+            }
+        }
+        builder.write(Paths.get(args[0]));
+        System.out.printf("{\"games\":%d,\"maxPlies\":%d,\"millis\":%d}%n", builder.getGameCount(), maxPlies,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
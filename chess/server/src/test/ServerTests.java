@@ -1,4 +1,6 @@
 import chess.*;
+import chess.engine.annotation.GameAnnotation;
+import chess.engine.annotation.MoveAnnotation;
 import dataAccess.*;
 import models.AuthToken;
 import models.Game;
@@ -8,6 +10,7 @@ import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 
 public class ServerTests {
     private static Database db;
@@ -478,4 +481,43 @@ public class ServerTests {
             db.closeConnection(conn);
         }
     }
-}
\ No newline at end of file
+
+
+    // Positive Test for updateAnnotations
+    @Test
+    @Order(29)
+    @DisplayName("Positive: updateAnnotations")
+    public void updateAnnotationsPass() throws DataAccessException {
+        Game annotated = new Game(null, "annotatedGame", null, null, new ChessGameImpl());
+        Game unannotated = new Game(null, "unannotatedGame", null, null, new ChessGameImpl());
+        gameDAO.insertGame(annotated);
+        gameDAO.insertGame(unannotated);
+        Assertions.assertNull(gameDAO.findAnnotations(annotated.getGameID()), "A new game should have no annotations.");
+
+        // Round trip an annotation through the Annotations column
+        GameAnnotation annotation = new GameAnnotation(List.of(
+                new MoveAnnotation(Move.parse("e2e4"), Move.parse("d2d4"), 31, 25),
+                new MoveAnnotation(Move.parse("f7f6"), Move.parse("e7e5"), -25, -140)));
+        gameDAO.updateAnnotations(annotated.getGameID(), annotation.encode());
+
+        Assertions.assertEquals(annotation, GameAnnotation.decode(gameDAO.findAnnotations(annotated.getGameID())));
+        List<Game> unannotatedGames = gameDAO.findUnannotatedGames();
+        Assertions.assertEquals(1, unannotatedGames.size());
+        Assertions.assertEquals(unannotated.getGameID(), unannotatedGames.get(0).getGameID());
+        Assertions.assertNotNull(unannotatedGames.get(0).getGame(), "The game state should be read back.");
+    }
+
+    // Negative Test for updateAnnotations (game does not exist)
+    @Test
+    @Order(30)
+    @DisplayName("Negative: updateAnnotations")
+    public void updateAnnotationsFail() throws DataAccessException {
+        // Find id not associated yet with a game in the database
+        Integer id = 0;
+        while (gameDAO.findGameById(++id) != null) ;
+
+        Integer missingId = id;
+        Assertions.assertThrows(DataAccessException.class, () -> gameDAO.updateAnnotations(missingId, ""));
+        Assertions.assertNull(gameDAO.findAnnotations(missingId));
+    }
+}
@@ -1,3 +1,12 @@
+import chess.ChessGameImpl;
+import chess.Fen;
+import chess.Move;
+import chess.engine.SearchLimits;
+import chess.engine.annotation.GameAnnotation;
+import chess.engine.annotation.MoveAnnotation;
+import dataAccess.DataAccessException;
+import dataAccess.GameDAO;
+import models.Game;
 import models.User;
 import org.junit.jupiter.api.*;
 import requests.*;
@@ -10,6 +19,7 @@ public class ServiceTests {
     private static User existingUser;
     private static String existingAuth;
     private static Integer createdGameID;
+    private static AnnotationService annotationService;
 
     private final JoinGameService joinGameService = new JoinGameService();
     private final ListGamesService listGamesService = new ListGamesService();
@@ -22,6 +32,12 @@ public class ServiceTests {
     @BeforeAll
     public static void init() {
         existingUser = new User("Joseph", "Smith", "urim@thummim.net");
+        annotationService = new AnnotationService(SearchLimits.depth(2), 1, 1, 16);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        annotationService.close();
     }
 
     @BeforeEach
@@ -155,4 +171,42 @@ public class ServiceTests {
         RegisterResponse response = registerService.register(request);
         Assertions.assertEquals("Error: already taken", response.getMessage(), "Incorrect error message");
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(14)
+    @DisplayName("Positive: Finished Game Annotated")
+    public void finishedGameAnnotated() throws DataAccessException {
+        GameDAO gameDAO = new GameDAO();
+        storeGame(gameDAO, "f2f3", "e7e5", "g2g4", "d8h4");  // Fool's mate
+
+        Assertions.assertTrue(annotationService.annotate(createdGameID), "Finished game was not annotated");
+        String annotations = gameDAO.findAnnotations(createdGameID);
+        Assertions.assertNotNull(annotations, "Annotations were not stored");
+        GameAnnotation annotation = GameAnnotation.decode(annotations);
+        Assertions.assertEquals(4, annotation.moves().size());
+        Assertions.assertEquals(MoveAnnotation.Judgement.BLUNDER, annotation.moves().get(2).judgement());
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Negative: Unfinished Game Not Annotated")
+    public void unfinishedGameNotAnnotated() throws DataAccessException {
+        GameDAO gameDAO = new GameDAO();
+        storeGame(gameDAO, "e2e4");
+
+        Assertions.assertFalse(annotationService.annotate(createdGameID), "Unfinished game was annotated");
+        Assertions.assertNull(gameDAO.findAnnotations(createdGameID), "Annotations were stored");
+        Assertions.assertEquals(0, annotationService.submitUnannotatedGames(), "Unfinished game was queued");
+    }
+
+    /**
+     * Plays moves from the starting position and stores the game as the created game's state.
+     */
+    private static void storeGame(GameDAO gameDAO, String... moves) throws DataAccessException {
+        ChessGameImpl chessGame = Fen.parse(Fen.STARTING_POSITION);
+        for (String move : moves) chessGame.makeMove(Move.parse(move));
+        Game game = gameDAO.findGameById(createdGameID);
+        game.setGame(chessGame);
+        gameDAO.updateGame(game);
+    }
+}
@@ -0,0 +1,321 @@
+package chess;
+
+/**
+ * Precomputed attack masks, built once when the class loads, so that attack queries are a few table lookups.
+ * <p>
+ * Knight, king and pawn attacks are stored per square. Rook and bishop attacks use magic bitboards: the blockers on a
+ * square's rays are multiplied by a per-square magic number and shifted to index a table holding the attack set for
+ * that blocker arrangement. The magic numbers are constants found ahead of time with a fixed random seed, so loading
+ * the class only fills the tables. All masks use the {@link Square} layout, one bit per square.
+ */
+public final class AttackTables {
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+
+    // Squares attacked by a pawn of each team, indexed by TeamColor ordinal then square
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    // Squares strictly between two squares on a shared row, column or diagonal, otherwise empty
+    private static final long[][] BETWEEN = new long[64][64];
+
+    // Rays of each slider from each square on an empty board
+    private static final long[] ROOK_RAYS = new long[64];
+    private static final long[] BISHOP_RAYS = new long[64];
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {0, 1}, {-1, 0}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] KNIGHT_OFFSETS = {{2, 1}, {1, 2}, {-2, 1}, {-1, 2}, {2, -1}, {1, -2}, {-2, -1}, {-1, -2}};
+    private static final int[][] KING_OFFSETS = {{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+
+    // Found by a search seeded with 0x5EED_C4E55L, taking rook and bishop squares in turn; see AttackTablesTests
+    private static final long[] ROOK_MAGIC_NUMBERS = {
+            0x1080002080400010L, 0x54C0004290006004L, 0x0A00084020801200L, 0x0200100408220040L,
+            0xC080040002800801L, 0x0300040028010082L, 0x8880010002004080L, 0x4100002480410012L,
+            0x0004800028804001L, 0x0000400020100041L, 0x0010802000100083L, 0x8182002200084010L,
+            0x8005000802110004L, 0x2260808002000400L, 0x0118800100020080L, 0x0002000401248052L,
+            0x0109010020488000L, 0x8001050040008020L, 0x0060014030080040L, 0x0C08008008100480L,
+            0x0002020020041008L, 0x8100818014000200L, 0x0000040012180150L, 0x28800A0002841143L,
+            0x8C00400080008032L, 0x0100200040005004L, 0x0000100080802000L, 0x12D0000900210010L,
+            0x1100080080800400L, 0x0C2A000A00103C08L, 0x0080D00400020128L, 0x8029000100108052L,
+            0xA04000408080002CL, 0x0042400082802010L, 0x0400801000802004L, 0x0081800802801000L,
+            0x0010800402800801L, 0x400C020080800400L, 0x0000080204000110L, 0x210105204200019CL,
+            0x0000400080208008L, 0x8200400083050024L, 0x2180804012020023L, 0x0108090010010020L,
+            0x0008000402004040L, 0x0001000400030008L, 0x0001080210040001L, 0x00050102A8460004L,
+            0x0840400080083080L, 0x1000E00840100540L, 0x08A300B020004300L, 0x2334080080100080L,
+            0x0000080004008080L, 0x8113000802040100L, 0x0000800100020080L, 0x9000010054009200L,
+            0x1800810015E20042L, 0x4000201900400081L, 0x0005082000114101L, 0x04042100D0000409L,
+            0x0002001085200802L, 0x8301000802040001L, 0x4024021000A14804L, 0x0080084080210406L
+    };
+
+    private static final long[] BISHOP_MAGIC_NUMBERS = {
+            0x8040290602004108L, 0x2020C42092004006L, 0x0004442400480000L, 0x00580A1220815000L,
+            0x0004030811080800L, 0x000202100420000CL, 0x0021881808240000L, 0x2802004914012000L,
+            0x000020E002020844L, 0x8A20020252021E00L, 0x08220800B4008815L, 0x04060404008E1842L,
+            0x9800440422020202L, 0x0000110442400001L, 0x080104023824040CL, 0x8400020201610804L,
+            0x4004602048104108L, 0x001000040408404DL, 0x0028808408021100L, 0x120800040A404880L,
+            0x4808200402082002L, 0x0001800101600600L, 0x200100008C01A004L, 0x8178200049141004L,
+            0x4111040210208212L, 0x4830B00004044082L, 0x1800300048004140L, 0x200108005C004190L,
+            0x0050040003802100L, 0x0008088021300402L, 0x0218020415014140L, 0x0254050400844108L,
+            0x1411900800405840L, 0x02A1102A80888829L, 0x4601280801040422L, 0x00062008001101D0L,
+            0x0808010040100802L, 0x0C10004201404100L, 0x80084109250C0081L, 0x0100820848420100L,
+            0x00C0841108084002L, 0x0800480208041004L, 0x0024A0140A009001L, 0x8040034208008080L,
+            0x0040400109088200L, 0x1040149080808104L, 0x0060548492003080L, 0x0208280508400022L,
+            0x00C0820820848200L, 0x9010840108822040L, 0x8010402402482000L, 0x101214A020881080L,
+            0x051002D0E0220202L, 0x0000102001610001L, 0x2010A00810808008L, 0xA002080141020002L,
+            0x6020138088201040L, 0x0000A10082100200L, 0x0010000104010400L, 0x0020000020411084L,
+            0x0200080820204110L, 0x0002441011302320L, 0x0100100408080050L, 0x1010B00080848A00L
+    };
+
+    private static final Magic[] ROOK_MAGICS = new Magic[64];
+    private static final Magic[] BISHOP_MAGICS = new Magic[64];
+
+    /**
+     * The magic lookup for one slider on one square.
+     *
+     * @param mask    Blocker squares that matter, the rays without their last square.
+     * @param magic   Multiplier that maps every blocker subset of the mask to a distinct index.
+     * @param shift   Right shift applied to the product, 64 minus the number of mask bits.
+     * @param attacks Attack set for each index.
+     */
+    private record Magic(long mask, long magic, int shift, long[] attacks) {
+        long lookup(long occupancy) {
+            return attacks[(int) (((occupancy & mask) * magic) >>> shift)];
+        }
+    }
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KNIGHT_ATTACKS[square] = offsetMask(square, KNIGHT_OFFSETS);
+            KING_ATTACKS[square] = offsetMask(square, KING_OFFSETS);
+            PAWN_ATTACKS[ChessGame.TeamColor.WHITE.ordinal()][square] = offsetMask(square, new int[][]{{1, -1}, {1, 1}});
+            PAWN_ATTACKS[ChessGame.TeamColor.BLACK.ordinal()][square] = offsetMask(square, new int[][]{{-1, -1}, {-1, 1}});
+            ROOK_RAYS[square] = slidingAttacks(square, 0L, ROOK_DIRECTIONS);
+            BISHOP_RAYS[square] = slidingAttacks(square, 0L, BISHOP_DIRECTIONS);
+        }
+
+        for (int from = 0; from < 64; from++) {
+            for (int[] direction : KING_OFFSETS) {
+                long between = 0L;
+                int row = Square.row(from) + direction[0];
+                int col = Square.col(from) + direction[1];
+                while (row >= 1 && row <= 8 && col >= 1 && col <= 8) {
+                    int to = Square.of(row, col);
+                    BETWEEN[from][to] = between;
+                    between |= 1L << to;
+                    row += direction[0];
+                    col += direction[1];
+                }
+            }
+        }
+
+        for (int square = 0; square < 64; square++) {
+            ROOK_MAGICS[square] = buildMagic(square, ROOK_DIRECTIONS, ROOK_MAGIC_NUMBERS[square]);
+            BISHOP_MAGICS[square] = buildMagic(square, BISHOP_DIRECTIONS, BISHOP_MAGIC_NUMBERS[square]);
+        }
+    }
+
+    private AttackTables() {
+    }
+
+    /**
+     * @param square Square index.
+     * @return Squares a knight on the square attacks.
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * @param square Square index.
+     * @return Squares a king on the square attacks.
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * @param color  Team of the pawn.
+     * @param square Square index.
+     * @return Squares a pawn of the given team on the square attacks.
+     */
+    public static long pawnAttacks(ChessGame.TeamColor color, int square) {
+        return PAWN_ATTACKS[color.ordinal()][square];
+    }
+
+    /**
+     * @param square    Square index.
+     * @param occupancy Occupied squares.
+     * @return Squares a rook on the square attacks, up to and including the first piece on each ray.
+     */
+    public static long rookAttacks(int square, long occupancy) {
+        return ROOK_MAGICS[square].lookup(occupancy);
+    }
+
+    /**
+     * @param square    Square index.
+     * @param occupancy Occupied squares.
+     * @return Squares a bishop on the square attacks, up to and including the first piece on each ray.
+     */
+    public static long bishopAttacks(int square, long occupancy) {
+        return BISHOP_MAGICS[square].lookup(occupancy);
+    }
+
+    /**
+     * @param square    Square index.
+     * @param occupancy Occupied squares.
+     * @return Squares a queen on the square attacks.
+     */
+    public static long queenAttacks(int square, long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    /**
+     * @param square Square index.
+     * @return The magic multiplier for rook lookups on the square.
+     */
+    public static long rookMagic(int square) {
+        return ROOK_MAGIC_NUMBERS[square];
+    }
+
+    /**
+     * @param square Square index.
+     * @return The magic multiplier for bishop lookups on the square.
+     */
+    public static long bishopMagic(int square) {
+        return BISHOP_MAGIC_NUMBERS[square];
+    }
+
+    /**
+     * @param square Square index.
+     * @return Squares on the rook rays from the square on an empty board.
+     */
+    public static long rookRays(int square) {
+        return ROOK_RAYS[square];
+    }
+
+    /**
+     * @param square Square index.
+     * @return Squares on the bishop rays from the square on an empty board.
+     */
+    public static long bishopRays(int square) {
+        return BISHOP_RAYS[square];
+    }
+
+    /**
+     * @param from First square index.
+     * @param to   Second square index.
+     * @return Squares strictly between the two if they share a row, column or diagonal, otherwise an empty mask.
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * Gets the attacks of any piece type from a square.
+     *
+     * @param type      Piece type.
+     * @param color     Team of the piece, which only matters for pawns.
+     * @param square    Square index.
+     * @param occupancy Occupied squares.
+     * @return Squares the piece attacks.
+     */
+    public static long attacks(ChessPiece.PieceType type, ChessGame.TeamColor color, int square, long occupancy) {
+        return switch (type) {
+            case KING -> kingAttacks(square);
+            case QUEEN -> queenAttacks(square, occupancy);
+            case BISHOP -> bishopAttacks(square, occupancy);
+            case KNIGHT -> knightAttacks(square);
+            case ROOK -> rookAttacks(square, occupancy);
+            case PAWN -> pawnAttacks(color, square);
+        };
+    }
+
+    /**
+     * Gets every piece of a team that attacks a square.
+     *
+     * @param board     The board to look at.
+     * @param square    Square index.
+     * @param attackers Team whose pieces may attack the square.
+     * @param occupancy Occupied squares to use for sliding rays, which may differ from the board's.
+     * @return Squares of the attacking pieces.
+     */
+    public static long attackersTo(ChessBoard board, int square, ChessGame.TeamColor attackers, long occupancy) {
+        ChessGame.TeamColor defenders = (attackers == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        long queens = board.getPieces(attackers, ChessPiece.PieceType.QUEEN);
+        return (knightAttacks(square) & board.getPieces(attackers, ChessPiece.PieceType.KNIGHT))
+                | (kingAttacks(square) & board.getPieces(attackers, ChessPiece.PieceType.KING))
+                | (pawnAttacks(defenders, square) & board.getPieces(attackers, ChessPiece.PieceType.PAWN))
+                | (rookAttacks(square, occupancy) & (board.getPieces(attackers, ChessPiece.PieceType.ROOK) | queens))
+                | (bishopAttacks(square, occupancy) & (board.getPieces(attackers, ChessPiece.PieceType.BISHOP) | queens));
+    }
+
+    /**
+     * @return Mask of the squares reached by each offset from the square that stay on the board.
+     */
+    private static long offsetMask(int square, int[][] offsets) {
+        long mask = 0L;
+        for (int[] offset : offsets) {
+            int row = Square.row(square) + offset[0];
+            int col = Square.col(square) + offset[1];
+            if (row >= 1 && row <= 8 && col >= 1 && col <= 8)
+                mask |= 1L << Square.of(row, col);
+        }
+        return mask;
+    }
+
+    /**
+     * Walks each ray from the square until it leaves the board or hits an occupied square (included).
+     *
+     * @return Squares attacked along the rays.
+     */
+    private static long slidingAttacks(int square, long occupancy, int[][] directions) {
+        long attacks = 0L;
+        for (int[] direction : directions) {
+            int row = Square.row(square) + direction[0];
+            int col = Square.col(square) + direction[1];
+            while (row >= 1 && row <= 8 && col >= 1 && col <= 8) {
+                long bit = 1L << Square.of(row, col);
+                attacks |= bit;
+                if ((occupancy & bit) != 0) break;
+                row += direction[0];
+                col += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * @return The squares on the rays whose occupancy changes the attacks, which excludes each ray's edge square.
+     */
+    private static long relevantMask(int square, int[][] directions) {
+        long mask = 0L;
+        for (int[] direction : directions) {
+            int row = Square.row(square) + direction[0];
+            int col = Square.col(square) + direction[1];
+            while (row + direction[0] >= 1 && row + direction[0] <= 8 && col + direction[1] >= 1 && col + direction[1] <= 8) {
+                mask |= 1L << Square.of(row, col);
+                row += direction[0];
+                col += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Fills the lookup table for the square's magic multiplier with the attacks of every blocker subset of its mask.
+     */
+    private static Magic buildMagic(int square, int[][] directions, long magic) {
+        long mask = relevantMask(square, directions);
+        int bits = Long.bitCount(mask);
+        long[] table = new long[1 << bits];
+
+        // Enumerate every subset of the mask with the carry-rippler trick
+        long subset = 0L;
+        do {
+            table[(int) ((subset * magic) >>> (64 - bits))] = slidingAttacks(square, subset, directions);
+            subset = (subset - mask) & mask;
+        } while (subset != 0L);
+        return new Magic(mask, magic, 64 - bits, table);
+    }
+}
@@ -1,29 +1,9 @@
 package chess;
 
-import java.util.ArrayList;
-import java.util.Collection;
+public class BishopPiece extends ChessPieceImpl {
 
-public class BishopPiece implements ChessPiece {
-    private final ChessGame.TeamColor teamColor;
-    private boolean hasMoved = false;
-
-    public BishopPiece(ChessGame.TeamColor teamColor) {
-        this.teamColor = teamColor;
-    }
-
-    @Override
-    public ChessGame.TeamColor teamColor() {
-        return teamColor;
-    }
-
-    @Override
-    public boolean hasMoved() {
-        return hasMoved;
-    }
-
-    @Override
-    public void markAsMoved() {
-        hasMoved = true;
+    BishopPiece(ChessGame.TeamColor teamColor) {
+        super(teamColor);
     }
 
     @Override
@@ -32,41 +12,8 @@ public class BishopPiece implements ChessPiece {
     }
 
     @Override
-    public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
-        Collection<ChessMove> moves = new ArrayList<>();
-
-        // Diagonal directions: Northeast, Northwest, Southeast, Southwest
-        int[][] directions = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
-
-        for (int[] direction : directions) {
-            int row = myPosition.getRow();
-            int col = myPosition.getCol();
-
-            while (true) {
-                row += direction[0];
-                col += direction[1];
-
-                // Out of board bounds
-                if (row < 1 || row > 8 || col < 1 || col > 8)
-                    break;
-
-                ChessPosition newPosition = new ChessPositionImpl(row, col);
-                ChessPiece pieceAtNewPosition = board.getPiece(newPosition);
-
-                if (pieceAtNewPosition == null) {
-                    // Empty square, add as a possible move
-                    moves.add(new ChessMoveImpl(myPosition, newPosition, null));
-                } else if (pieceAtNewPosition.teamColor() != this.teamColor()) {
-                    // Opponent's piece, capture it and break
-                    moves.add(new ChessMoveImpl(myPosition, newPosition, null));
-                    break;
-                } else {
-                    // Own piece, block the path
-                    break;
-                }
-            }
-        }
-
-        return moves;
+    public void generateMoves(ChessBoard board, int square, MoveList moves) {
+        // Diagonal rays up to and including the first blocker, minus squares held by our own pieces
+        moves.addTargets(square, AttackTables.bishopAttacks(square, board.getOccupancy()) & ~board.getOccupancy(teamColor));
     }
 }
\ No newline at end of file
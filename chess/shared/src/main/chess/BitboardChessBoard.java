@@ -0,0 +1,241 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * A chessboard backed by one 64-bit bitboard per piece kind plus occupancy masks.
+ * <p>
+ * Bits follow the {@link Square} index layout, so a1 is bit 0 and h8 is bit 63.
+ * The piece instances themselves are kept in a 64-entry array so that {@link #getPiece(ChessPosition)} is a single
+ * array read.
+ */
+public class BitboardChessBoard implements ChessBoard {
+
+    // Back rank layout from column 1 to column 8
+    private static final ChessPiece.PieceType[] BACK_RANK = {
+            ChessPiece.PieceType.ROOK, ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.QUEEN,
+            ChessPiece.PieceType.KING, ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.ROOK
+    };
+
+    // One bitboard per team and piece type, indexed by bitboardIndex(color, type)
+    private final long[] pieceBitboards = new long[12];
+
+    // All squares occupied by each team, indexed by TeamColor ordinal
+    private final long[] teamOccupancy = new long[2];
+
+    // All occupied squares
+    private long occupied;
+
+    // The piece standing on each square, or null if the square is empty
+    private final ChessPiece[] squares = new ChessPiece[64];
+
+    // The team whose turn it is, set by the game
+    private ChessGame.TeamColor sideToMove = ChessGame.TeamColor.WHITE;
+
+    // Castles still allowed and the En Passant target square, see ChessBoard
+    private int castlingRights = ALL_CASTLING_RIGHTS;
+    private int enPassantSquare = -1;
+
+    // Zobrist key of the whole position, updated as pieces are added and removed and as the state above changes
+    private long positionKey = Zobrist.stateKey(this);
+
+    // To keep track of the last move
+    private ChessMove lastMove;
+
+    // Told about pieces being added and removed, if set. Not part of the position
+    private transient BoardListener listener;
+
+    // For manual/full board setup and testing. Set to true unless full-board setup with resetBoard()
+    private boolean testingMode;
+
+    public BitboardChessBoard() {
+        testingMode = true;
+    }
+
+    /**
+     * Gets the slot in the piece bitboard table for a team and piece type.
+     *
+     * @param color The team color.
+     * @param type  The piece type.
+     * @return The index into the piece bitboard table.
+     */
+    private static int bitboardIndex(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return color.ordinal() * 6 + type.ordinal();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = squares[square];
+            sb.append((piece == null) ? "." : piece.getPieceType().toString().charAt(0));
+            sb.append((square % 8 == 7) ? "\n" : " ");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void resetBoard() {
+        clear();
+        sideToMove = ChessGame.TeamColor.WHITE;
+        castlingRights = ALL_CASTLING_RIGHTS;
+        enPassantSquare = -1;
+        positionKey = Zobrist.stateKey(this);
+        testingMode = false;
+
+        for (int col = 1; col <= 8; col++) {
+            ChessPiece.PieceType type = BACK_RANK[col - 1];
+            addPiece(ChessPositionImpl.of(1, col), ChessPieceImpl.of(ChessGame.TeamColor.WHITE, type));
+            addPiece(ChessPositionImpl.of(2, col), ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPositionImpl.of(7, col), ChessPieceImpl.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPositionImpl.of(8, col), ChessPieceImpl.of(ChessGame.TeamColor.BLACK, type));
+        }
+    }
+
+    /**
+     * Removes every piece from the board.
+     */
+    private void clear() {
+        // A listener has to hear about each piece leaving
+        if (listener != null)
+            for (long pieces = occupied; pieces != 0; pieces &= pieces - 1)
+                removePiece(Long.numberOfTrailingZeros(pieces));
+        Arrays.fill(pieceBitboards, 0L);
+        Arrays.fill(teamOccupancy, 0L);
+        Arrays.fill(squares, null);
+        occupied = 0L;
+    }
+
+    @Override
+    public void addPiece(ChessPosition position, ChessPiece piece) {
+        int square = Square.of(position);
+
+        // Replacing a piece behaves like the HashMap board: the old occupant is dropped
+        removePiece(square);
+        if (piece == null) return;
+
+        long bit = 1L << square;
+        pieceBitboards[bitboardIndex(piece.teamColor(), piece.getPieceType())] |= bit;
+        teamOccupancy[piece.teamColor().ordinal()] |= bit;
+        occupied |= bit;
+        positionKey ^= Zobrist.pieceKey(piece, square);
+        squares[square] = piece;
+        if (listener != null) listener.pieceAdded(piece, square);
+    }
+
+    @Override
+    public void removePiece(ChessPosition position) {
+        removePiece(Square.of(position));
+    }
+
+    /**
+     * Clears a square on every bitboard.
+     *
+     * @param square The bit index of the square to clear.
+     */
+    private void removePiece(int square) {
+        ChessPiece piece = squares[square];
+        if (piece == null) return;
+
+        long mask = ~(1L << square);
+        pieceBitboards[bitboardIndex(piece.teamColor(), piece.getPieceType())] &= mask;
+        teamOccupancy[piece.teamColor().ordinal()] &= mask;
+        occupied &= mask;
+        positionKey ^= Zobrist.pieceKey(piece, square);
+        squares[square] = null;
+        if (listener != null) listener.pieceRemoved(piece, square);
+    }
+
+    @Override
+    public ChessPiece getPiece(ChessPosition position) {
+        return squares[Square.of(position)];
+    }
+
+    @Override
+    public ChessPiece getPiece(int square) {
+        return squares[square];
+    }
+
+    @Override
+    public ChessMove getLastMove() {
+        return lastMove;
+    }
+
+    @Override
+    public void setLastMove(ChessMove lastMove) {
+        this.lastMove = lastMove;
+    }
+
+    @Override
+    public ChessGame.TeamColor getSideToMove() {
+        return sideToMove;
+    }
+
+    @Override
+    public void setSideToMove(ChessGame.TeamColor sideToMove) {
+        positionKey ^= Zobrist.sideKey(this.sideToMove) ^ Zobrist.sideKey(sideToMove);
+        this.sideToMove = sideToMove;
+    }
+
+    @Override
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    @Override
+    public void setCastlingRights(int castlingRights) {
+        positionKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.castlingKey(castlingRights);
+        this.castlingRights = castlingRights;
+    }
+
+    @Override
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    @Override
+    public void setEnPassantSquare(int enPassantSquare) {
+        positionKey ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.enPassantKey(enPassantSquare);
+        this.enPassantSquare = enPassantSquare;
+    }
+
+    @Override
+    public long positionKey() {
+        return positionKey;
+    }
+
+    @Override
+    public boolean getTestingMode() {
+        return testingMode;
+    }
+
+    @Override
+    public void setTestingMode(boolean testingMode) {
+        this.testingMode = testingMode;
+    }
+
+    @Override
+    public long getPieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return pieceBitboards[bitboardIndex(color, type)];
+    }
+
+    @Override
+    public long getOccupancy(ChessGame.TeamColor color) {
+        return teamOccupancy[color.ordinal()];
+    }
+
+    @Override
+    public long getOccupancy() {
+        return occupied;
+    }
+
+    @Override
+    public BoardListener getBoardListener() {
+        return listener;
+    }
+
+    @Override
+    public void setBoardListener(BoardListener listener) {
+        this.listener = listener;
+    }
+}
@@ -0,0 +1,23 @@
+package chess;
+
+/**
+ * Told about every piece a board adds or removes, so an evaluator can keep its own sums up to date with a few adds
+ * per move instead of rescanning the board.
+ * <p>
+ * Moving a piece is reported as a removal from its old square and an addition on its new one, and replacing a piece
+ * as a removal followed by an addition.
+ */
+public interface BoardListener {
+
+    /**
+     * @param piece  The piece placed on the board.
+     * @param square The square index it was placed on (see {@link Square}).
+     */
+    void pieceAdded(ChessPiece piece, int square);
+
+    /**
+     * @param piece  The piece taken off the board.
+     * @param square The square index it was taken from.
+     */
+    void pieceRemoved(ChessPiece piece, int square);
+}
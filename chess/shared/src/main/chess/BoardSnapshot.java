@@ -0,0 +1,195 @@
+package chess;
+
+/**
+ * An immutable copy of a game's position, which any number of threads can read while moves go on being made on the
+ * game itself. {@link ChessGameImpl} publishes a new one after each move through a volatile reference, see
+ * {@link ChessGameImpl#getSnapshot()}.
+ * <p>
+ * A snapshot is the twelve piece bitboards plus the state around them, about 150 bytes, so one can be made after every
+ * move. Pieces, positions and the last move are shared instances, not copies. It is a read-only {@link ChessBoard},
+ * so code that reads a board, such as an evaluator or a tablebase probe, works on it unchanged. Methods that would
+ * change it throw {@link UnsupportedOperationException}.
+ */
+public final class BoardSnapshot implements ChessBoard {
+
+    private static final ChessPiece.PieceType[] PIECE_TYPES = ChessPiece.PieceType.values();
+    private static final ChessGame.TeamColor[] COLORS = ChessGame.TeamColor.values();
+
+    // One bitboard per team and piece type, indexed by color * 6 + type, and the squares of each team
+    private final long[] pieces = new long[12];
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+
+    private final ChessGame.TeamColor sideToMove;
+    private final int castlingRights;
+    private final int enPassantSquare;
+    private final long positionKey;
+    private final ChessMove lastMove;
+    private final int halfmoveClock;
+    private final int fullmoveNumber;
+    private final boolean testingMode;
+
+    /**
+     * Copies a game's position. Only the game's own thread may call this.
+     *
+     * @param game The game to copy.
+     */
+    BoardSnapshot(ChessGameImpl game) {
+        ChessBoard board = game.getBoard();
+        for (int kind = 0; kind < 12; kind++) pieces[kind] = board.getPieces(COLORS[kind / 6], PIECE_TYPES[kind % 6]);
+        whiteOccupancy = pieces[0] | pieces[1] | pieces[2] | pieces[3] | pieces[4] | pieces[5];
+        blackOccupancy = pieces[6] | pieces[7] | pieces[8] | pieces[9] | pieces[10] | pieces[11];
+        sideToMove = game.getTeamTurn();
+        castlingRights = board.getCastlingRights();
+        enPassantSquare = board.getEnPassantSquare();
+        positionKey = board.positionKey();
+        lastMove = board.getLastMove();
+        halfmoveClock = game.getHalfmoveClock();
+        fullmoveNumber = game.getFullmoveNumber();
+        testingMode = board.getTestingMode();
+    }
+
+    @Override
+    public ChessPiece getPiece(ChessPosition position) {
+        return getPiece(Square.of(position));
+    }
+
+    @Override
+    public ChessPiece getPiece(int square) {
+        long bit = 1L << square;
+        if (((whiteOccupancy | blackOccupancy) & bit) == 0) return null;
+        int kind = ((whiteOccupancy & bit) != 0) ? 0 : 6;
+        while ((pieces[kind] & bit) == 0) kind++;
+        return ChessPieceImpl.of(COLORS[kind / 6], PIECE_TYPES[kind % 6]);
+    }
+
+    @Override
+    public long getPieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return pieces[color.ordinal() * 6 + type.ordinal()];
+    }
+
+    @Override
+    public long getOccupancy(ChessGame.TeamColor color) {
+        return (color == ChessGame.TeamColor.WHITE) ? whiteOccupancy : blackOccupancy;
+    }
+
+    @Override
+    public long getOccupancy() {
+        return whiteOccupancy | blackOccupancy;
+    }
+
+    @Override
+    public ChessMove getLastMove() {
+        return lastMove;
+    }
+
+    @Override
+    public ChessGame.TeamColor getSideToMove() {
+        return sideToMove;
+    }
+
+    @Override
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    @Override
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    @Override
+    public long positionKey() {
+        return positionKey;
+    }
+
+    /**
+     * @return Halfmoves made since the last capture or pawn move.
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * @return The number of the full move, starting at 1.
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    @Override
+    public boolean getTestingMode() {
+        return testingMode;
+    }
+
+    @Override
+    public BoardListener getBoardListener() {
+        return null;
+    }
+
+    /**
+     * @return The position in FEN.
+     */
+    public String toFen() {
+        return Fen.write(this, sideToMove, halfmoveClock, fullmoveNumber);
+    }
+
+    /**
+     * Sets up a new game in the position, for a reader that wants to look for moves or make some of its own.
+     *
+     * @return A new game on a {@link BitboardChessBoard}. It has no history, so earlier positions don't count towards
+     * repetitions.
+     */
+    public ChessGameImpl toGame() {
+        return Fen.parse(toFen());
+    }
+
+    @Override
+    public void addPiece(ChessPosition position, ChessPiece piece) {
+        throw unchangeable();
+    }
+
+    @Override
+    public void resetBoard() {
+        throw unchangeable();
+    }
+
+    @Override
+    public void removePiece(ChessPosition position) {
+        throw unchangeable();
+    }
+
+    @Override
+    public void setLastMove(ChessMove lastMove) {
+        throw unchangeable();
+    }
+
+    @Override
+    public void setSideToMove(ChessGame.TeamColor sideToMove) {
+        throw unchangeable();
+    }
+
+    @Override
+    public void setCastlingRights(int castlingRights) {
+        throw unchangeable();
+    }
+
+    @Override
+    public void setEnPassantSquare(int enPassantSquare) {
+        throw unchangeable();
+    }
+
+    @Override
+    public void setBoardListener(BoardListener listener) {
+        throw unchangeable();
+    }
+
+    @Override
+    public void setTestingMode(boolean testingMode) {
+        throw unchangeable();
+    }
+
+    private static UnsupportedOperationException unchangeable() {
+        return new UnsupportedOperationException("A board snapshot can't be changed.");
+    }
+}
@@ -8,6 +8,13 @@ package chess;
  */
 public interface ChessBoard {
 
+    // Castling rights bits, see getCastlingRights()
+    int WHITE_KINGSIDE = 1;
+    int WHITE_QUEENSIDE = 2;
+    int BLACK_KINGSIDE = 4;
+    int BLACK_QUEENSIDE = 8;
+    int ALL_CASTLING_RIGHTS = WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE;
+
     /**
      * Adds a chess piece to the chessboard
      *
@@ -25,6 +32,56 @@ public interface ChessBoard {
      */
     ChessPiece getPiece(ChessPosition position);
 
+    /**
+     * Gets a chess piece on the chessboard by square index, without allocating a position
+     *
+     * @param square The square index to get the piece from (see {@link Square})
+     * @return Either the piece on the square, or null if the square is empty
+     */
+    default ChessPiece getPiece(int square) {
+        return getPiece(Square.position(square));
+    }
+
+    /**
+     * Gets the squares holding one team's pieces of one type as a bitboard, one bit per square in the
+     * {@link Square} layout. Implementations should keep this up to date incrementally; the default scans the board.
+     *
+     * @param color the team color
+     * @param type  the piece type
+     * @return bitboard of the matching pieces
+     */
+    default long getPieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        long pieces = 0L;
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = getPiece(square);
+            if (piece != null && piece.teamColor() == color && piece.getPieceType() == type)
+                pieces |= 1L << square;
+        }
+        return pieces;
+    }
+
+    /**
+     * Gets the squares holding any of one team's pieces as a bitboard
+     *
+     * @param color the team color
+     * @return bitboard of the team's pieces
+     */
+    default long getOccupancy(ChessGame.TeamColor color) {
+        long pieces = 0L;
+        for (ChessPiece.PieceType type : ChessPiece.PieceType.values())
+            pieces |= getPieces(color, type);
+        return pieces;
+    }
+
+    /**
+     * Gets every occupied square as a bitboard
+     *
+     * @return bitboard of all pieces on the board
+     */
+    default long getOccupancy() {
+        return getOccupancy(ChessGame.TeamColor.WHITE) | getOccupancy(ChessGame.TeamColor.BLACK);
+    }
+
     /**
      * Sets the board to the default starting board
      * (How the game of chess normally starts)
@@ -51,10 +108,85 @@ public interface ChessBoard {
      */
     void setLastMove(ChessMove lastMove);
 
+    /**
+     * @return the team whose turn it is on this board, kept in step by the game
+     */
+    ChessGame.TeamColor getSideToMove();
+
+    /**
+     * Sets the team whose turn it is, which is part of the position key
+     *
+     * @param sideToMove the team to move next
+     */
+    void setSideToMove(ChessGame.TeamColor sideToMove);
+
+    /**
+     * Gets which castles are still allowed. A right is lost for good once its king or rook leaves its home square or
+     * the rook is captured there; castling also needs the king and rook to actually be on those squares. New boards
+     * start with every right.
+     *
+     * @return the castling rights as a combination of the WHITE_ and BLACK_ side bits
+     */
+    int getCastlingRights();
+
+    /**
+     * Sets which castles are still allowed
+     *
+     * @param castlingRights the castling rights as a combination of the WHITE_ and BLACK_ side bits
+     */
+    void setCastlingRights(int castlingRights);
+
+    /**
+     * Gets the square a pawn can capture En Passant onto, which is the square the enemy pawn skipped over with its
+     * double step on the previous move
+     *
+     * @return the square index (see {@link Square}), or -1 if no En Passant capture is possible
+     */
+    int getEnPassantSquare();
+
+    /**
+     * Sets the square a pawn can capture En Passant onto
+     *
+     * @param enPassantSquare the square index, or -1 if no En Passant capture is possible
+     */
+    void setEnPassantSquare(int enPassantSquare);
+
+    /**
+     * Gets a 64-bit Zobrist key identifying the position: piece placement, side to move, castling rights and the
+     * En Passant file. Equal positions always have equal keys. Implementations should keep the key up to date as
+     * pieces and state change; the default hashes the whole board.
+     *
+     * @return the position key
+     */
+    default long positionKey() {
+        return Zobrist.placementKey(this) ^ Zobrist.stateKey(this);
+    }
+
+    /**
+     * Gets the listener told about pieces being added and removed
+     *
+     * @return the listener, or null if there is none
+     */
+    BoardListener getBoardListener();
+
+    /**
+     * Sets a listener to be told about every piece added to or removed from the board, replacing any earlier one
+     *
+     * @param listener the listener, or null to stop reporting changes
+     */
+    void setBoardListener(BoardListener listener);
+
     /**
      * Private variable for managing test cases depending on manual board setup or default setup
      *
      * @return testingMode for toggling turn-based game play
      */
     boolean getTestingMode();
+
+    /**
+     * Turns testing mode on or off for boards set up some other way than resetBoard, such as from FEN
+     *
+     * @param testingMode whether turns should be ignored
+     */
+    void setTestingMode(boolean testingMode);
 }
\ No newline at end of file
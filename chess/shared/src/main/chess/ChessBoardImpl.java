@@ -1,5 +1,8 @@
 package chess;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -8,9 +11,26 @@ public class ChessBoardImpl implements ChessBoard {
     // Using a HashMap to store the position and corresponding piece
     private final Map<ChessPosition, ChessPiece> board;
 
+    // Bitboards mirroring the map, one per team and piece type plus one per team, for fast attack lookups
+    private final long[] pieceBitboards = new long[12];
+    private final long[] teamOccupancy = new long[2];
+
+    // The team whose turn it is, set by the game
+    private ChessGame.TeamColor sideToMove = ChessGame.TeamColor.WHITE;
+
+    // Castles still allowed and the En Passant target square, see ChessBoard
+    private int castlingRights = ALL_CASTLING_RIGHTS;
+    private int enPassantSquare = -1;
+
+    // Zobrist key of the whole position, updated as pieces are added and removed and as the state above changes
+    private long positionKey = Zobrist.stateKey(this);
+
     // To keep track of the last move
     private ChessMove lastMove;
 
+    // Told about pieces being added and removed, if set. Not part of the position
+    private transient BoardListener listener;
+
     // For manual/full board setup and testing. Set to true unless full-board setup with resetBoard()
     private boolean testingMode;
 
@@ -24,7 +44,7 @@ public class ChessBoardImpl implements ChessBoard {
         StringBuilder sb = new StringBuilder();
         for (int row = 1; row <= 8; row++) {
             for (int col = 1; col <= 8; col++) {
-                ChessPiece piece = getPiece(new ChessPositionImpl(row, col));
+                ChessPiece piece = getPiece(ChessPositionImpl.of(row, col));
                 sb.append((piece == null) ? "." : piece.getPieceType().toString().charAt(0));
                 sb.append(" ");
             }
@@ -35,50 +55,75 @@ public class ChessBoardImpl implements ChessBoard {
 
     @Override
     public void resetBoard() {
+        // A listener has to hear about each piece leaving
+        if (listener != null)
+            for (ChessPosition position : new ArrayList<>(board.keySet())) removePiece(position);
         board.clear();
+        Arrays.fill(pieceBitboards, 0L);
+        Arrays.fill(teamOccupancy, 0L);
+        sideToMove = ChessGame.TeamColor.WHITE;
+        castlingRights = ALL_CASTLING_RIGHTS;
+        enPassantSquare = -1;
+        positionKey = Zobrist.stateKey(this);
         testingMode = false;
 
         // Setting up the pawns
         for (int col = 1; col <= 8; col++) {
-            board.put(new ChessPositionImpl(2, col), new PawnPiece(ChessGame.TeamColor.WHITE));
-            board.put(new ChessPositionImpl(7, col), new PawnPiece(ChessGame.TeamColor.BLACK));
+            addPiece(ChessPositionImpl.of(2, col), ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPositionImpl.of(7, col), ChessPieceImpl.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
         }
 
         // Setting up the rooks
-        board.put(new ChessPositionImpl(1, 1), new RookPiece(ChessGame.TeamColor.WHITE));
-        board.put(new ChessPositionImpl(1, 8), new RookPiece(ChessGame.TeamColor.WHITE));
-        board.put(new ChessPositionImpl(8, 1), new RookPiece(ChessGame.TeamColor.BLACK));
-        board.put(new ChessPositionImpl(8, 8), new RookPiece(ChessGame.TeamColor.BLACK));
+        addPiece(ChessPositionImpl.of(1, 1), ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPositionImpl.of(1, 8), ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPositionImpl.of(8, 1), ChessPieceImpl.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPositionImpl.of(8, 8), ChessPieceImpl.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
 
         // Setting up the knights
-        board.put(new ChessPositionImpl(1, 2), new KnightPiece(ChessGame.TeamColor.WHITE));
-        board.put(new ChessPositionImpl(1, 7), new KnightPiece(ChessGame.TeamColor.WHITE));
-        board.put(new ChessPositionImpl(8, 2), new KnightPiece(ChessGame.TeamColor.BLACK));
-        board.put(new ChessPositionImpl(8, 7), new KnightPiece(ChessGame.TeamColor.BLACK));
+        addPiece(ChessPositionImpl.of(1, 2), ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPositionImpl.of(1, 7), ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPositionImpl.of(8, 2), ChessPieceImpl.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPositionImpl.of(8, 7), ChessPieceImpl.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
 
         // Setting up the bishops
-        board.put(new ChessPositionImpl(1, 3), new BishopPiece(ChessGame.TeamColor.WHITE));
-        board.put(new ChessPositionImpl(1, 6), new BishopPiece(ChessGame.TeamColor.WHITE));
-        board.put(new ChessPositionImpl(8, 3), new BishopPiece(ChessGame.TeamColor.BLACK));
-        board.put(new ChessPositionImpl(8, 6), new BishopPiece(ChessGame.TeamColor.BLACK));
+        addPiece(ChessPositionImpl.of(1, 3), ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPositionImpl.of(1, 6), ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPositionImpl.of(8, 3), ChessPieceImpl.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPositionImpl.of(8, 6), ChessPieceImpl.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
 
         // Setting up the queens
-        board.put(new ChessPositionImpl(1, 4), new QueenPiece(ChessGame.TeamColor.WHITE));
-        board.put(new ChessPositionImpl(8, 4), new QueenPiece(ChessGame.TeamColor.BLACK));
+        addPiece(ChessPositionImpl.of(1, 4), ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPositionImpl.of(8, 4), ChessPieceImpl.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
 
         // Setting up the kings
-        board.put(new ChessPositionImpl(1, 5), new KingPiece(ChessGame.TeamColor.WHITE));
-        board.put(new ChessPositionImpl(8, 5), new KingPiece(ChessGame.TeamColor.BLACK));
+        addPiece(ChessPositionImpl.of(1, 5), ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        addPiece(ChessPositionImpl.of(8, 5), ChessPieceImpl.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
     }
 
     @Override
     public void addPiece(ChessPosition position, ChessPiece piece) {
+        // Drop whatever was on the square from the bitboards before placing the new piece
+        removePiece(position);
+        if (piece == null) return;
+
+        long bit = 1L << Square.of(position);
+        pieceBitboards[piece.teamColor().ordinal() * 6 + piece.getPieceType().ordinal()] |= bit;
+        teamOccupancy[piece.teamColor().ordinal()] |= bit;
+        positionKey ^= Zobrist.pieceKey(piece, Square.of(position));
         board.put(position, piece);
+        if (listener != null) listener.pieceAdded(piece, Square.of(position));
     }
 
     @Override
     public void removePiece(ChessPosition position) {
-        board.remove(position);
+        ChessPiece piece = board.remove(position);
+        if (piece == null) return;
+
+        long mask = ~(1L << Square.of(position));
+        pieceBitboards[piece.teamColor().ordinal() * 6 + piece.getPieceType().ordinal()] &= mask;
+        teamOccupancy[piece.teamColor().ordinal()] &= mask;
+        positionKey ^= Zobrist.pieceKey(piece, Square.of(position));
+        if (listener != null) listener.pieceRemoved(piece, Square.of(position));
     }
 
     @Override
@@ -96,12 +141,81 @@ public class ChessBoardImpl implements ChessBoard {
         this.lastMove = lastMove;
     }
 
+    @Override
+    public ChessGame.TeamColor getSideToMove() {
+        return sideToMove;
+    }
+
+    @Override
+    public void setSideToMove(ChessGame.TeamColor sideToMove) {
+        positionKey ^= Zobrist.sideKey(this.sideToMove) ^ Zobrist.sideKey(sideToMove);
+        this.sideToMove = sideToMove;
+    }
+
+    @Override
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    @Override
+    public void setCastlingRights(int castlingRights) {
+        positionKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.castlingKey(castlingRights);
+        this.castlingRights = castlingRights;
+    }
+
+    @Override
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    @Override
+    public void setEnPassantSquare(int enPassantSquare) {
+        positionKey ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.enPassantKey(enPassantSquare);
+        this.enPassantSquare = enPassantSquare;
+    }
+
+    @Override
+    public long positionKey() {
+        return positionKey;
+    }
+
     @Override
     public boolean getTestingMode() {
         return testingMode;
     }
 
+    @Override
+    public void setTestingMode(boolean testingMode) {
+        this.testingMode = testingMode;
+    }
+
+    @Override
+    public long getPieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return pieceBitboards[color.ordinal() * 6 + type.ordinal()];
+    }
+
+    @Override
+    public long getOccupancy(ChessGame.TeamColor color) {
+        return teamOccupancy[color.ordinal()];
+    }
+
+    @Override
+    public long getOccupancy() {
+        return teamOccupancy[0] | teamOccupancy[1];
+    }
+
+    // Read-only, since the bitboards have to stay in step with the map
     public Map<ChessPosition, ChessPiece> getBoard() {
-        return board;
+        return Collections.unmodifiableMap(board);
+    }
+
+    @Override
+    public BoardListener getBoardListener() {
+        return listener;
+    }
+
+    @Override
+    public void setBoardListener(BoardListener listener) {
+        this.listener = listener;
     }
-}
\ No newline at end of file
+}
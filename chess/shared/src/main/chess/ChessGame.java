@@ -63,6 +63,62 @@ public interface ChessGame {
      */
     boolean isInStalemate(TeamColor teamColor);
 
+    /**
+     * Gets every valid move for one team in a single pass over the board
+     *
+     * @param teamColor the team to get valid moves for
+     * @return Collection of all valid moves for the team
+     */
+    Collection<ChessMove> generateLegalMoves(TeamColor teamColor);
+
+    /**
+     * Determines if the given team can make any move, stopping at the first one found
+     *
+     * @param teamColor which team to check
+     * @return True if the team has at least one valid move
+     */
+    boolean hasAnyLegalMove(TeamColor teamColor);
+
+    /**
+     * Determines the state of the game for the team whose turn it is
+     *
+     * @return whether the game is still going, or how it ended
+     */
+    GameStatus gameStatus();
+
+    /**
+     * Determines if the current position has occurred three times with the same team to move, the same castling
+     * rights and the same En Passant chances
+     *
+     * @return True if the game can be drawn by threefold repetition
+     */
+    boolean isDrawByRepetition();
+
+    /**
+     * Determines if fifty moves by each team have passed without a capture or a pawn move
+     *
+     * @return True if the game can be drawn by the fifty-move rule
+     */
+    boolean isDrawByFiftyMoveRule();
+
+    /**
+     * Writes the position as FEN, including the side to move, castling rights, En Passant square and move counters
+     *
+     * @return the position in Forsyth-Edwards Notation
+     */
+    String toFen();
+
+    /**
+     * Sets up a game from a FEN string
+     *
+     * @param fen the position in Forsyth-Edwards Notation
+     * @return a new game in that position
+     * @throws IllegalArgumentException if the string is not valid FEN
+     */
+    static ChessGame fromFen(String fen) {
+        return Fen.parse(fen);
+    }
+
     /**
      * Gets the current chessboard
      *
@@ -84,4 +140,14 @@ public interface ChessGame {
         WHITE,
         BLACK
     }
+
+    /**
+     * Enum identifying the state of a game from the point of view of the team to move
+     */
+    enum GameStatus {
+        IN_PROGRESS,
+        CHECK,
+        CHECKMATE,
+        STALEMATE
+    }
 }
\ No newline at end of file
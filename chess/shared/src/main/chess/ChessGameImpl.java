@@ -1,14 +1,68 @@
 package chess;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.stream.Collectors;
 
 public class ChessGameImpl implements ChessGame {
 
     private ChessBoard board;
     private TeamColor currentTeamTurn;
 
+    // Reusable move generator and buffer so steady-state move generation does not allocate. Not part of the game state.
+    private final transient LegalMoveGenerator moveGenerator = new LegalMoveGenerator();
+
+    // Position keys before each move made on this board, oldest first, for repetition detection
+    private long[] positionHistory = new long[64];
+    private int historyCount;
+
+    // Halfmoves since the last capture or pawn move, for the fifty-move rule
+    private int halfmoveClock;
+
+    // Starts at 1 and goes up after each of black's moves
+    private int fullmoveNumber = 1;
+
+    // Exact results of endings with few pieces, if one has been set. Not part of the game state.
+    private transient EndgameTablebase tablebase;
+
+    // The latest published copy of the position, read by other threads without locking. Made on first use, so a
+    // game built by reflection doesn't start with a stale one. Not part of the game state.
+    private transient volatile BoardSnapshot snapshot;
+
+    // Moves that can be taken back with unmakeMove, most recent last. Records are pooled and reused.
+    private transient UndoRecord[] undoStack = new UndoRecord[64];
+    private transient int undoCount;
+
+    // Castling rights kept when a piece leaves or is captured on each square: moving a king or rook off its home
+    // square, or capturing a rook there, gives up the matching castles
+    private static final int[] CASTLING_RIGHTS_KEPT = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_RIGHTS_KEPT, ChessBoard.ALL_CASTLING_RIGHTS);
+        CASTLING_RIGHTS_KEPT[Square.of(1, 1)] &= ~ChessBoard.WHITE_QUEENSIDE;
+        CASTLING_RIGHTS_KEPT[Square.of(1, 8)] &= ~ChessBoard.WHITE_KINGSIDE;
+        CASTLING_RIGHTS_KEPT[Square.of(1, 5)] &= ~(ChessBoard.WHITE_KINGSIDE | ChessBoard.WHITE_QUEENSIDE);
+        CASTLING_RIGHTS_KEPT[Square.of(8, 1)] &= ~ChessBoard.BLACK_QUEENSIDE;
+        CASTLING_RIGHTS_KEPT[Square.of(8, 8)] &= ~ChessBoard.BLACK_KINGSIDE;
+        CASTLING_RIGHTS_KEPT[Square.of(8, 5)] &= ~(ChessBoard.BLACK_KINGSIDE | ChessBoard.BLACK_QUEENSIDE);
+    }
+
+    /**
+     * What it takes to reverse one move: the captured piece and where it stood, the previous castling rights, En
+     * Passant square and last move, the previous turn and halfmove clock.
+     */
+    private static final class UndoRecord {
+        int move;
+        ChessPiece piece;
+        ChessPiece captured;
+        int capturedSquare;
+        boolean castled;
+        int previousCastlingRights;
+        int previousEnPassantSquare;
+        ChessMove previousLastMove;
+        TeamColor previousTurn;
+        int previousHalfmoveClock;
+    }
+
     public ChessGameImpl() {
         board = new ChessBoardImpl();
         currentTeamTurn = TeamColor.WHITE;
@@ -21,259 +75,378 @@ public class ChessGameImpl implements ChessGame {
 
     @Override
     public void setTeamTurn(TeamColor team) {
+        switchTurn(team);
+        publishSnapshot();
+    }
+
+    private void switchTurn(TeamColor team) {
         currentTeamTurn = team;
+
+        // The board keeps its own copy since the side to move is part of its position key
+        board.setSideToMove(team);
     }
 
     /**
-     * Checks if a given square is under attack by the enemy team.
+     * Gets the latest published copy of the position. Any thread may call this while moves are being made, without
+     * locking: it sees the position after some complete move, never one half made.
+     * <p>
+     * A new snapshot is published by {@link #makeMove(ChessMove)} and by the methods that set up a position. The
+     * unvalidated {@link #makeMove(int)} and {@link #unmakeMove()} don't publish, since searches call them millions of
+     * times on their own copies; call {@link #publishSnapshot()} after using them on a shared game, or after changing
+     * the board directly.
      *
-     * @param position  The position to check.
-     * @param teamColor The current team color.
-     * @return true if the square is under attack, false otherwise.
+     * @return The latest snapshot.
      */
-    private boolean isSquareUnderAttack(ChessPosition position, TeamColor teamColor) {
-        // Determine enemy color
-        TeamColor enemyColor = (teamColor == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
-
-        // Iterate through all positions on the board
-        for (ChessPosition pos : ChessPositionImpl.getAllPositions()) {
-            ChessPiece piece = board.getPiece(pos);
-
-            // Check if piece exists, belongs to the enemy and can attack the position
-            if (piece != null && piece.teamColor() == enemyColor) {
-                Collection<ChessMove> moves = piece.pieceMoves(board, pos);
-
-                // If the piece is a king, limit its movement to 1 square
-                if (piece.getPieceType() == ChessPiece.PieceType.KING) {
-                    moves.removeIf(move -> Math.abs(move.getEndPosition().getCol() - move.getStartPosition().getCol()) > 1);
-                }
-
-                // Check if any of the moves can attack the given position
-                if (moves.stream().anyMatch(move -> move.getEndPosition().equals(position)))
-                    return true;
-            }
-        }
-        return false;
+    public BoardSnapshot getSnapshot() {
+        BoardSnapshot current = snapshot;
+        return (current == null) ? publishSnapshot() : current;
     }
 
     /**
-     * Checks if a given team can castle.
+     * Copies the current position into a new snapshot and publishes it to readers of {@link #getSnapshot()}. Only the
+     * thread making moves may call this.
      *
-     * @param board    The current chess board.
-     * @param position The king's position.
-     * @param color    The king's color.
-     * @param kingSide true if checking king-side castling, false if queen-side.
-     * @return true if castling is possible, false otherwise.
+     * @return The new snapshot.
      */
-    private boolean canCastle(ChessBoard board, ChessPosition position, TeamColor color, boolean kingSide) {
-        // Fetch the king piece and validate its conditions for castling
-        ChessPiece king = board.getPiece(findCurrentKingsPosition(color));
-        if (king == null || king.getPieceType() != ChessPiece.PieceType.KING || king.hasMoved())
-            return false;
-
-        // Fetch the rook piece and validate its conditions for castling
-        ChessPiece rook = board.getPiece(new ChessPositionImpl(position.getRow(), kingSide ? 8 : 1));
-        if (rook == null || rook.getPieceType() != ChessPiece.PieceType.ROOK || rook.hasMoved())
-            return false;
-
-        // Ensure there are no pieces in between the king and rook and the path isn't under attack
-        int[] range = kingSide ? new int[]{1, 2} : new int[]{1, 2, 3};
-        for (int i : range) {
-            ChessPosition checkPos = new ChessPositionImpl(position.getRow(), position.getCol() + (kingSide ? i : -i));
-            if (board.getPiece(checkPos) != null || isSquareUnderAttack(checkPos, color))
-                return false;
-        }
-        return true;
+    public BoardSnapshot publishSnapshot() {
+        BoardSnapshot current = new BoardSnapshot(this);
+        snapshot = current;
+        return current;
     }
 
     @Override
     public Collection<ChessMove> validMoves(ChessPosition startPosition) {
-        ChessPiece piece = board.getPiece(startPosition);
+        MoveList moves = new MoveList();
+        validMoves(Square.of(startPosition), moves);
+        return moves.toChessMoves();
+    }
+
+    /**
+     * Writes the valid moves for the piece on a square into a move list, encoded as ints (see {@link Move}).
+     *
+     * @param square The square index of the piece to get valid moves for.
+     * @param moves  The list to append the valid moves to.
+     */
+    public void validMoves(int square, MoveList moves) {
+        ChessPiece piece = board.getPiece(square);
 
         // Ensure the move isn't out of turn or not for testing purposes
         if (piece == null || (piece.teamColor() != currentTeamTurn && !board.getTestingMode()))
-            return new ArrayList<>();
-
-        Collection<ChessMove> moves = piece.pieceMoves(board, startPosition);
-        Collection<ChessMove> validMoves = moves.stream()
-                .filter(move -> !doesMoveResultInCheck(move, piece))
-                .collect(Collectors.toList());
-
-        // Handle the En Passant logic for pawns
-        if (piece.getPieceType() == ChessPiece.PieceType.PAWN)
-            validMoves.addAll(checkEnPassantCaptures(startPosition));
-
-        // Handle castling logic for the king
-        if (piece.getPieceType() == ChessPiece.PieceType.KING) {
-            if (canCastle(board, startPosition, piece.teamColor(), true))
-                validMoves.add(new ChessMoveImpl(startPosition, new ChessPositionImpl(startPosition.getRow(), startPosition.getCol() + 2), null));
-            if (canCastle(board, startPosition, piece.teamColor(), false))
-                validMoves.add(new ChessMoveImpl(startPosition, new ChessPositionImpl(startPosition.getRow(), startPosition.getCol() - 2), null));
-        }
+            return;
 
-        return validMoves;
+        moveGenerator.generate(board, square, moves);
     }
 
     /**
-     * Checks for valid En Passant captures from a given pawn position.
+     * Executes an encoded move on the board without checking that it is valid, and records how to take it back with
+     * {@link #unmakeMove()}. Handles captures, En Passant, castling and promotion, and passes the turn to the other team.
      *
-     * @param startPosition The position of the pawn.
-     * @return A collection of valid En Passant captures.
+     * @param move The encoded move to execute (see {@link Move}).
      */
-    private Collection<ChessMove> checkEnPassantCaptures(ChessPosition startPosition) {
-        Collection<ChessMove> moves = new ArrayList<>();
-        ChessPiece currentPiece = board.getPiece(startPosition);
-        int direction = (currentPiece.teamColor() == TeamColor.WHITE) ? 1 : -1;
-
-        // Ensure the pawn is in the right rank for En Passant
-        if ((currentPiece.teamColor() == TeamColor.WHITE && startPosition.getRow() == 5) ||
-                (currentPiece.teamColor() == TeamColor.BLACK && startPosition.getRow() == 4)) {
-
-            // Check adjacent squares for enemy pawns that moved two squares in the last move
-            for (int colDirection : new int[]{-1, 1}) {
-                int column = startPosition.getCol() + colDirection;
-                if (column < 1 || column > 7) continue;
-                ChessPosition adjPos = new ChessPositionImpl(startPosition.getRow(), column);
-                ChessPiece adjPiece = board.getPiece(adjPos);
-
-                // Validate if the adjacent piece is an enemy pawn that moved two squares
-                if (adjPiece != null && adjPiece.getPieceType() == ChessPiece.PieceType.PAWN && adjPiece.teamColor() != currentPiece.teamColor()) {
-                    ChessMove lastMove = board.getLastMove();
-                    if (lastMove != null && lastMove.getEndPosition().equals(adjPos) &&
-                            Math.abs(lastMove.getStartPosition().getRow() - lastMove.getEndPosition().getRow()) == 2) {
-                        ChessPosition endPosition = new ChessPositionImpl(startPosition.getRow() + direction, startPosition.getCol() + colDirection);
-                        moves.add(new ChessMoveImpl(startPosition, endPosition, null));
-                    }
-                }
-            }
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = board.getPiece(from);
+
+        UndoRecord undo = pushUndoRecord();
+        undo.move = move;
+        undo.piece = piece;
+        undo.previousCastlingRights = board.getCastlingRights();
+        undo.previousEnPassantSquare = board.getEnPassantSquare();
+        undo.previousLastMove = board.getLastMove();
+        undo.previousTurn = currentTeamTurn;
+        undo.previousHalfmoveClock = halfmoveClock;
+        pushPositionKey(board.positionKey());
+
+        // A pawn moving onto the En Passant square captures the pawn that just skipped over it
+        boolean isPawn = piece.getPieceType() == ChessPiece.PieceType.PAWN;
+        undo.capturedSquare = (isPawn && to == board.getEnPassantSquare()) ? Square.of(Square.row(from), Square.col(to)) : to;
+        undo.captured = board.getPiece(undo.capturedSquare);
+        if (undo.captured != null) board.removePiece(Square.position(undo.capturedSquare));
+
+        // Move the piece, swapping a promoting pawn for its new piece
+        ChessPiece.PieceType promotion = Move.promotion(move);
+        board.removePiece(Square.position(from));
+        board.addPiece(Square.position(to), (isPawn && promotion != null) ? ChessPieceImpl.of(piece.teamColor(), promotion) : piece);
+
+        // Handle castling logic for the king by moving the rook next to it
+        undo.castled = piece.getPieceType() == ChessPiece.PieceType.KING && Math.abs(to - from) == 2;
+        if (undo.castled) {
+            ChessPiece rook = board.getPiece(castlingRookFrom(from, to));
+            board.removePiece(Square.position(castlingRookFrom(from, to)));
+            board.addPiece(Square.position(castlingRookTo(from, to)), rook);
         }
 
-        return moves;
+        board.setCastlingRights(board.getCastlingRights() & CASTLING_RIGHTS_KEPT[from] & CASTLING_RIGHTS_KEPT[to]);
+        board.setEnPassantSquare(isPawn && Math.abs(to - from) == 16 ? enPassantSquare(from, to, piece.teamColor()) : -1);
+        board.setLastMove(Move.toChessMove(move));
+
+        // Captures and pawn moves can't be undone in a real game, so they restart the fifty-move count
+        halfmoveClock = (isPawn || undo.captured != null) ? 0 : halfmoveClock + 1;
+        if (piece.teamColor() == TeamColor.BLACK) fullmoveNumber++;
+
+        // Switches the turn to the other team.
+        switchTurn((piece.teamColor() == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE);
     }
 
     /**
-     * Checks if executing a given move would result in a check for the current team.
+     * Takes back the most recent move made with {@link #makeMove(int)} or {@link #makeMove(ChessMove)}, restoring the
+     * captured piece, the castling rights, the En Passant square, the last move and the team turn.
      *
-     * @param move  The move to check.
-     * @param piece The piece being moved.
-     * @return true if the move results in check, false otherwise.
+     * @throws IllegalStateException if there is no move to take back.
      */
-    private boolean doesMoveResultInCheck(ChessMove move, ChessPiece piece) {
-        // Temporarily apply the move to see if it results in check
-        ChessPiece originalEndPiece = board.getPiece(move.getEndPosition());
-        ChessPiece capturedPawn = null;
-
-        board.addPiece(move.getEndPosition(), piece);
-        board.removePiece(move.getStartPosition());
+    public void unmakeMove() {
+        if (undoCount == 0)
+            throw new IllegalStateException("No move to take back.");
+        UndoRecord undo = undoStack[--undoCount];
+        int from = Move.from(undo.move);
+        int to = Move.to(undo.move);
+
+        // Put the rook back in its corner if the move was a castle
+        if (undo.castled) {
+            ChessPiece rook = board.getPiece(castlingRookTo(from, to));
+            board.removePiece(Square.position(castlingRookTo(from, to)));
+            board.addPiece(Square.position(castlingRookFrom(from, to)), rook);
+        }
 
+        // Return the moved piece (the pawn itself if it promoted) and anything it captured
+        board.removePiece(Square.position(to));
+        board.addPiece(Square.position(from), undo.piece);
+        if (undo.captured != null) board.addPiece(Square.position(undo.capturedSquare), undo.captured);
+
+        board.setCastlingRights(undo.previousCastlingRights);
+        board.setEnPassantSquare(undo.previousEnPassantSquare);
+        board.setLastMove(undo.previousLastMove);
+        switchTurn(undo.previousTurn);
+        halfmoveClock = undo.previousHalfmoveClock;
+        if (undo.piece.teamColor() == TeamColor.BLACK) fullmoveNumber--;
+        historyCount--;
+    }
 
-        // Find the position of the current team's king
-        ChessPosition kingPosition = (piece.getPieceType() == ChessPiece.PieceType.KING) ? move.getEndPosition() : findCurrentKingsPosition(piece.teamColor());
+    /**
+     * @return The number of moves that can currently be taken back with {@link #unmakeMove()}.
+     */
+    public int getUndoDepth() {
+        return undoCount;
+    }
 
-        // Determine if the king is under attack
-        boolean isCheck = isSquareUnderAttack(kingPosition, piece.teamColor());
+    /**
+     * Gets the next free undo record, growing the stack when it is full. Records are reused once taken back.
+     *
+     * @return The undo record for the move being made.
+     */
+    private UndoRecord pushUndoRecord() {
+        if (undoCount == undoStack.length)
+            undoStack = Arrays.copyOf(undoStack, undoCount * 2);
+        if (undoStack[undoCount] == null)
+            undoStack[undoCount] = new UndoRecord();
+        return undoStack[undoCount++];
+    }
 
-        // Revert the move
-        board.addPiece(move.getStartPosition(), piece);
-        if (originalEndPiece != null) board.addPiece(move.getEndPosition(), originalEndPiece);
-        else board.removePiece(move.getEndPosition());
+    /**
+     * Appends a position key to the history, growing it when it is full.
+     *
+     * @param key The key of the position a move is being made from.
+     */
+    private void pushPositionKey(long key) {
+        if (historyCount == positionHistory.length)
+            positionHistory = Arrays.copyOf(positionHistory, historyCount * 2);
+        positionHistory[historyCount++] = key;
+    }
 
-        return isCheck;
+    @Override
+    public boolean isDrawByRepetition() {
+        long key = board.positionKey();
+        int repetitions = 1;
+
+        // Positions before the last capture or pawn move can't come back, and only every other one has the same
+        // team to move
+        int oldest = Math.max(0, historyCount - halfmoveClock);
+        for (int i = historyCount - 2; i >= oldest; i -= 2) {
+            if (positionHistory[i] == key && ++repetitions == 3)
+                return true;
+        }
+        return false;
     }
 
     /**
-     * Finds the position of the current team's king on the board.
+     * Checks whether the current position has come up before. A search can score the first repetition as a draw,
+     * since whatever the players did the first time they can do again.
      *
-     * @param teamColor The color of the king to find.
-     * @return The position of the king or null if not found.
+     * @return True if the position occurred earlier in the game with the same team to move.
      */
-    private ChessPosition findCurrentKingsPosition(TeamColor teamColor) {
-        // Iterate through all positions to find the king
-        for (ChessPosition position : ChessPositionImpl.getAllPositions()) {
-            ChessPiece piece = board.getPiece(position);
-            if (piece != null && piece.teamColor() == teamColor && piece.getPieceType() == ChessPiece.PieceType.KING)
-                return position;
+    public boolean isRepetition() {
+        long key = board.positionKey();
+        int oldest = Math.max(0, historyCount - halfmoveClock);
+        for (int i = historyCount - 2; i >= oldest; i -= 2) {
+            if (positionHistory[i] == key)
+                return true;
         }
-        return null;
+        return false;
     }
 
     /**
-     * Executes a given move on the board.
+     * @param tablebase Tablebase to look up endings in, or null for none.
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Looks up the current position in the tablebase, to tell whether a game that is still going is already won,
+     * lost or drawn with best play, and how far off mate is. {@link #gameStatus()} doesn't use it: a tablebase result
+     * says how the game will end with best play, not that it has ended, so the game goes on until the rules end it.
      *
-     * @param move The move to execute.
+     * @return The result for the team to move (see {@link EndgameTablebase}), or {@link EndgameTablebase#UNKNOWN}
+     * if no tablebase is set or it doesn't cover the position.
      */
-    private void executeMove(ChessMove move) {
-        ChessPiece piece = board.getPiece(move.getStartPosition());
-        piece.markAsMoved();
-
-        // Handle En Passant logic for pawns
-        if (piece.getPieceType() == ChessPiece.PieceType.PAWN && move.getEndPosition() != null &&
-                Math.abs(move.getEndPosition().getCol() - move.getStartPosition().getCol()) == 1 &&
-                board.getPiece(move.getEndPosition()) == null) {
-            // Move the piece that is capturing
-            ChessPosition capturingPawnPos = new ChessPositionImpl(move.getEndPosition().getRow(), move.getEndPosition().getCol());
-            board.removePiece(capturingPawnPos);
-
-            // Remove the captured piece
-            ChessPosition capturedPawnPos = new ChessPositionImpl(move.getStartPosition().getRow(), move.getEndPosition().getCol());
-            board.removePiece(capturedPawnPos);
-        }
+    public int probeTablebase() {
+        return (tablebase == null) ? EndgameTablebase.UNKNOWN : tablebase.probe(board);
+    }
 
-        // Handle castling logic for the king
-        if (piece.getPieceType() == ChessPiece.PieceType.KING) {
-            int colDiff = move.getEndPosition().getCol() - move.getStartPosition().getCol();
-            if (Math.abs(colDiff) == 2) {
-                ChessPosition rookOriginalPosition = (colDiff == 2) ?
-                        new ChessPositionImpl(move.getStartPosition().getRow(), 8) :
-                        new ChessPositionImpl(move.getStartPosition().getRow(), 1);
-
-                ChessPosition rookNewPosition = (colDiff == 2) ?
-                        new ChessPositionImpl(move.getStartPosition().getRow(), 6) :
-                        new ChessPositionImpl(move.getStartPosition().getRow(), 4);
-
-                ChessPiece rook = board.getPiece(rookOriginalPosition);
-                board.removePiece(rookOriginalPosition);
-                board.addPiece(rookNewPosition, rook);
-                rook.markAsMoved();
-            }
-        }
+    /**
+     * Lists the keys of the positions moves were made from, so a stored game can be replayed: each move made is the
+     * legal move leading to the next key, and the last one leads to the current position.
+     *
+     * @return A copy of the position keys before each move, oldest first.
+     */
+    public long[] getPositionHistory() {
+        return Arrays.copyOf(positionHistory, historyCount);
+    }
 
-        // Handle pawn promotion logic
-        if (piece.getPieceType() == ChessPiece.PieceType.PAWN && move.getPromotionPiece() != null) {
-            piece = switch (move.getPromotionPiece()) {
-                case QUEEN -> new QueenPiece(currentTeamTurn);
-                case ROOK -> new RookPiece(currentTeamTurn);
-                case BISHOP -> new BishopPiece(currentTeamTurn);
-                case KNIGHT -> new KnightPiece(currentTeamTurn);
-                default -> piece;
-            };
-        }
+    @Override
+    public boolean isDrawByFiftyMoveRule() {
+        return halfmoveClock >= 100;
+    }
+
+    /**
+     * @return Halfmoves made since the last capture or pawn move.
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
 
+    /**
+     * @return The number of the current full move, starting at 1.
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
 
-        board.addPiece(move.getEndPosition(), piece);
-        board.removePiece(move.getStartPosition());
+    /**
+     * Sets the move counters of a position set up part way through a game, such as from FEN.
+     *
+     * @param halfmoveClock  Halfmoves since the last capture or pawn move.
+     * @param fullmoveNumber The number of the current full move.
+     */
+    void setMoveCounters(int halfmoveClock, int fullmoveNumber) {
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
+        publishSnapshot();
+    }
+
+    @Override
+    public String toFen() {
+        return Fen.write(this);
+    }
+
+    /**
+     * Copies the position, move counters and repetition history into a new game on a {@link BitboardChessBoard}, so
+     * it can be searched on another thread. Moves made before the copy can't be taken back on it.
+     *
+     * @return A new game in the same position.
+     */
+    public ChessGameImpl copy() {
+        ChessGameImpl copy = Fen.parse(Fen.write(this));
+        copy.positionHistory = Arrays.copyOf(positionHistory, positionHistory.length);
+        copy.historyCount = historyCount;
+        copy.tablebase = tablebase;
+        return copy;
+    }
+
+    /**
+     * @param kingFrom The king's square before castling.
+     * @param kingTo   The king's square after castling.
+     * @return The square the castling rook starts on.
+     */
+    private static int castlingRookFrom(int kingFrom, int kingTo) {
+        return (kingTo > kingFrom) ? kingFrom + 3 : kingFrom - 4;
+    }
+
+    /**
+     * @param kingFrom The king's square before castling.
+     * @param kingTo   The king's square after castling.
+     * @return The square the castling rook ends on.
+     */
+    private static int castlingRookTo(int kingFrom, int kingTo) {
+        return (kingTo > kingFrom) ? kingFrom + 1 : kingFrom - 1;
+    }
+
+    /**
+     * Works out the En Passant square after a pawn's double step. It is only set when an enemy pawn stands beside the
+     * pawn, so positions that differ only by an unusable En Passant chance stay equal.
+     *
+     * @param from  The pawn's square before the double step.
+     * @param to    The pawn's square after the double step.
+     * @param color The team of the pawn.
+     * @return The square the pawn skipped over, or -1 if no enemy pawn could capture onto it.
+     */
+    private int enPassantSquare(int from, int to, TeamColor color) {
+        TeamColor enemy = (color == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+        int skipped = (from + to) / 2;
+        return ((AttackTables.pawnAttacks(color, skipped) & board.getPieces(enemy, ChessPiece.PieceType.PAWN)) != 0) ? skipped : -1;
     }
 
     @Override
     public void makeMove(ChessMove move) throws InvalidMoveException {
         // Update the current team's turn if in testing mode
         if (board.getTestingMode())
-            currentTeamTurn = board.getPiece(move.getStartPosition()).teamColor();
+            switchTurn(board.getPiece(move.getStartPosition()).teamColor());
 
         // Ensure the move is valid
-        if (validMoves(move.getStartPosition()).contains(move)) {
-            board.setLastMove(move);
-            executeMove(move);
+        int encoded = Move.of(move);
+        if (!isLegal(encoded))
+            throw new InvalidMoveException("Invalid move.");
+
+        TeamColor mover = currentTeamTurn;
+        makeMove(encoded);
+
+        // Testing mode keeps the turn with whichever team moved last
+        if (board.getTestingMode())
+            switchTurn(mover);
+        publishSnapshot();
+    }
 
-            if (!board.getTestingMode())
-                // Switches the turn to the other team.
-                currentTeamTurn = (currentTeamTurn == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
-        } else throw new InvalidMoveException("Invalid move.");
+    /**
+     * Checks whether a move is one of the valid moves of its piece, testing only that move instead of generating the
+     * piece's moves and searching them.
+     *
+     * @param move The move to check.
+     * @return True if the move can be made.
+     */
+    public boolean isLegal(ChessMove move) {
+        return isLegal(Move.of(move));
+    }
+
+    /**
+     * Checks whether an encoded move is one of the valid moves of its piece (see {@link #validMoves(int, MoveList)}).
+     *
+     * @param move The encoded move (see {@link Move}).
+     * @return True if the move can be made.
+     */
+    public boolean isLegal(int move) {
+        ChessPiece piece = board.getPiece(Move.from(move));
+
+        // Ensure the move isn't out of turn or not for testing purposes
+        if (piece == null || (piece.teamColor() != currentTeamTurn && !board.getTestingMode()))
+            return false;
+
+        return moveGenerator.isLegal(board, move);
     }
 
     @Override
     public boolean isInCheck(TeamColor teamColor) {
-        return isSquareUnderAttack(findCurrentKingsPosition(teamColor), teamColor);
+        return moveGenerator.isInCheck(board, teamColor);
     }
 
     @Override
@@ -282,19 +455,53 @@ public class ChessGameImpl implements ChessGame {
         if (teamColor != currentTeamTurn) return false;
 
         // Check if no valid moves are available for any piece
-        return ChessPositionImpl.getAllPositions().stream().noneMatch(pos -> {
-            ChessPiece piece = board.getPiece(pos);
-            return piece != null && piece.teamColor() == teamColor && !validMoves(pos).isEmpty();
-        });
+        return !hasAnyLegalMove(teamColor);
     }
 
     @Override
     public boolean isInCheckmate(TeamColor teamColor) {
         // Ensure the king is in check and no valid moves are available for any piece
-        return isInCheck(teamColor) && ChessPositionImpl.getAllPositions().stream().noneMatch(pos -> {
-            ChessPiece piece = board.getPiece(pos);
-            return piece != null && piece.teamColor() == teamColor && !validMoves(pos).isEmpty();
-        });
+        return isInCheck(teamColor) && !hasAnyLegalMove(teamColor);
+    }
+
+    @Override
+    public Collection<ChessMove> generateLegalMoves(TeamColor teamColor) {
+        MoveList moves = new MoveList();
+        generateLegalMoves(teamColor, moves);
+        return moves.toChessMoves();
+    }
+
+    /**
+     * Writes every valid move for one team into a move list, encoded as ints (see {@link Move}).
+     *
+     * @param teamColor The team to get valid moves for.
+     * @param moves     The list to append the valid moves to.
+     */
+    public void generateLegalMoves(TeamColor teamColor, MoveList moves) {
+        moveGenerator.generateAll(board, teamColor, moves);
+    }
+
+    @Override
+    public boolean hasAnyLegalMove(TeamColor teamColor) {
+        return moveGenerator.hasAnyLegalMove(board, teamColor);
+    }
+
+    /**
+     * Reports the status under the rules alone. A lost or drawn tablebase ending still counts as being played (see
+     * {@link #probeTablebase()}).
+     */
+    @Override
+    public GameStatus gameStatus() {
+        return moveGenerator.status(board, currentTeamTurn);
+    }
+
+    /**
+     * @return True if the game has ended in checkmate, stalemate, threefold repetition or the fifty-move rule.
+     */
+    public boolean isOver() {
+        GameStatus status = gameStatus();
+        return status == GameStatus.CHECKMATE || status == GameStatus.STALEMATE || isDrawByRepetition()
+                || isDrawByFiftyMoveRule();
     }
 
     @Override
@@ -305,5 +512,13 @@ public class ChessGameImpl implements ChessGame {
     @Override
     public void setBoard(ChessBoard board) {
         this.board = board;
+        board.setSideToMove(currentTeamTurn);
+
+        // Positions and moves from the previous board don't carry over to this one
+        historyCount = 0;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        undoCount = 0;
+        publishSnapshot();
     }
 }
\ No newline at end of file
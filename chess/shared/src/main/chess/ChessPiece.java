@@ -27,17 +27,22 @@ public interface ChessPiece {
      *
      * @return Collection of valid moves
      */
-    Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition);
-
-    /**
-     * @return whether the piece has been moved yet
-     */
-    boolean hasMoved();
+    default Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
+        MoveList moves = new MoveList();
+        generateMoves(board, Square.of(myPosition), moves);
+        return moves.toChessMoves();
+    }
 
     /**
-     * Mark whether the pieces has been moved yet
+     * Writes all the moves a chess piece can make into a reusable move list, encoded as ints (see {@link Move})
+     * Does not take into account moves that are illegal due to leaving the king in
+     * danger
+     *
+     * @param board  the board the piece is on
+     * @param square square index of the piece (see {@link Square})
+     * @param moves  list to append the moves to
      */
-    void markAsMoved();
+    void generateMoves(ChessBoard board, int square, MoveList moves);
 
     /**
      * The various different chess piece options
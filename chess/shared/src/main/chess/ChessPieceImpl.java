@@ -1,37 +1,45 @@
 package chess;
 
-import java.util.Collection;
-
-public class ChessPieceImpl implements ChessPiece {
-
-    private final ChessGame.TeamColor teamColor;
-    private final PieceType pieceType;
-    private final ChessPiece actualPiece;
-    private boolean hasMoved = false;
-
-    public ChessPieceImpl(ChessGame.TeamColor teamColor, PieceType pieceType) {
-        this.teamColor = teamColor;
-        this.pieceType = pieceType;
-
-        switch (pieceType) {
-            case KING -> this.actualPiece = new KingPiece(teamColor);
-            case QUEEN -> this.actualPiece = new QueenPiece(teamColor);
-            case BISHOP -> this.actualPiece = new BishopPiece(teamColor);
-            case KNIGHT -> this.actualPiece = new KnightPiece(teamColor);
-            case ROOK -> this.actualPiece = new RookPiece(teamColor);
-            case PAWN -> this.actualPiece = new PawnPiece(teamColor);
-            default -> throw new IllegalArgumentException("Unknown piece type: " + pieceType);
+/**
+ * Base class of the six piece types. Pieces hold nothing but their team, so each of the 12 team and type combinations
+ * is a single immutable instance shared by every board; get them with {@link #of}. Whether a piece has moved is
+ * tracked by the board's castling rights instead.
+ */
+public abstract class ChessPieceImpl implements ChessPiece {
+
+    // Indexed by TeamColor ordinal * 6 + PieceType ordinal
+    private static final ChessPiece[] PIECES = new ChessPiece[12];
+
+    static {
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (PieceType type : PieceType.values()) {
+                PIECES[color.ordinal() * 6 + type.ordinal()] = switch (type) {
+                    case KING -> new KingPiece(color);
+                    case QUEEN -> new QueenPiece(color);
+                    case BISHOP -> new BishopPiece(color);
+                    case KNIGHT -> new KnightPiece(color);
+                    case ROOK -> new RookPiece(color);
+                    case PAWN -> new PawnPiece(color);
+                };
+            }
         }
     }
 
-    @Override
-    public boolean hasMoved() {
-        return hasMoved;
+    protected final ChessGame.TeamColor teamColor;
+
+    protected ChessPieceImpl(ChessGame.TeamColor teamColor) {
+        this.teamColor = teamColor;
     }
 
-    @Override
-    public void markAsMoved() {
-        this.hasMoved = true;
+    /**
+     * Gets the shared piece of a team and type.
+     *
+     * @param teamColor The team color of the piece.
+     * @param pieceType The piece type.
+     * @return The piece, the same instance on every call.
+     */
+    public static ChessPiece of(ChessGame.TeamColor teamColor, PieceType pieceType) {
+        return PIECES[teamColor.ordinal() * 6 + pieceType.ordinal()];
     }
 
     @Override
@@ -40,13 +48,7 @@ public class ChessPieceImpl implements ChessPiece {
     }
 
     @Override
-    public PieceType getPieceType() {
-        return pieceType;
-    }
-
-    @Override
-    public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
-        return actualPiece.pieceMoves(board, myPosition);
+    public String toString() {
+        return teamColor + " " + getPieceType();
     }
-
-}
\ No newline at end of file
+}
@@ -1,22 +1,50 @@
 package chess;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public record ChessPositionImpl(int getRow, int getCol) implements ChessPosition {
 
+    // One shared position per square, indexed by square (see Square), so looking up a position never allocates
+    private static final ChessPosition[] POSITIONS = new ChessPosition[64];
+
+    // Every position on the board in row order, built once
+    private static final List<ChessPosition> ALL_POSITIONS;
+
+    static {
+        for (int row = 1; row <= 8; row++)
+            for (int col = 1; col <= 8; col++)
+                POSITIONS[(row - 1) * 8 + (col - 1)] = new ChessPositionImpl(row, col);
+        ALL_POSITIONS = List.of(POSITIONS);
+    }
+
     public ChessPositionImpl {
         if (getRow < 1 || getRow > 8 || getCol < 1 || getCol > 8)
             throw new IllegalArgumentException("Row and column values must be between 1 and 8.");
     }
 
-    // Helper function to generate all possible positions on a chessboard.
-    public static List<ChessPosition> getAllPositions() {
-        List<ChessPosition> allPositions = new ArrayList<>();
-        for (int row = 1; row <= 8; row++)
-            for (int col = 1; col <= 8; col++)
-                allPositions.add(new ChessPositionImpl(row, col));
+    /**
+     * Gets the shared position for a row and column.
+     *
+     * @param row Row from 1 to 8.
+     * @param col Column from 1 to 8.
+     * @return The position, the same instance on every call.
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row < 1 || row > 8 || col < 1 || col > 8)
+            throw new IllegalArgumentException("Row and column values must be between 1 and 8.");
+        return POSITIONS[(row - 1) * 8 + (col - 1)];
+    }
 
-        return allPositions;
+    /**
+     * @param square Square index from 0 to 63 (see {@link Square}).
+     * @return The shared position for the square.
+     */
+    static ChessPosition at(int square) {
+        return POSITIONS[square];
+    }
+
+    // Helper function to get all possible positions on a chessboard, as an unmodifiable list shared by every caller.
+    public static List<ChessPosition> getAllPositions() {
+        return ALL_POSITIONS;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package chess;
+
+/**
+ * Looks up the exact outcome of endgame positions with few pieces, and how many plies it takes to mate with best play
+ * on both sides.
+ * <p>
+ * Results are ints: {@link #UNKNOWN} for positions the tablebase doesn't cover, {@link #DRAW}, or the distance to
+ * mate in plies plus one. An odd distance is a win for the team to move, an even one a loss, with zero meaning it is
+ * checkmated already. The static methods take results apart.
+ */
+public interface EndgameTablebase {
+
+    /** The position isn't in the tablebase. */
+    int UNKNOWN = -1;
+
+    /** Neither team can force mate. */
+    int DRAW = 0;
+
+    /**
+     * @return Most pieces, kings included, of any position the tablebase covers.
+     */
+    int maxPieces();
+
+    /**
+     * Looks up a position. Positions with castling rights or an En Passant square aren't covered.
+     *
+     * @param board The position, with its side to move.
+     * @return The result for the team to move.
+     */
+    int probe(ChessBoard board);
+
+    /**
+     * @return True if the team to move can force mate.
+     */
+    static boolean isWin(int result) {
+        return result > 0 && (result & 1) == 0;
+    }
+
+    /**
+     * @return True if the team to move gets mated with best play.
+     */
+    static boolean isLoss(int result) {
+        return result > 0 && (result & 1) == 1;
+    }
+
+    /**
+     * @return Plies until mate with best play, for a win or a loss.
+     */
+    static int distance(int result) {
+        return result - 1;
+    }
+}
@@ -0,0 +1,99 @@
+package chess;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One line of Extended Position Description, the format of test suites and puzzle files, for example
+ * {@code 6k1/5ppp/8/8/8/8/8/4R1K1 w - - dm 1; id "back rank";}.
+ * <p>
+ * A line is the first four FEN fields (placement, side to move, castling rights and En Passant square) followed by
+ * operations, each an opcode and its operands ended by a semicolon. Common opcodes are {@code bm} (best moves),
+ * {@code am} (moves to avoid), {@code dm} (direct mate in so many moves) and {@code id}. The move counters, which EPD
+ * leaves out, are taken from the {@code hmvc} and {@code fmvn} operations if present. A line of full FEN, with the
+ * move counters and no operations, is read as the position alone, so files can mix the two.
+ *
+ * @param fen        The position in full FEN.
+ * @param operations Operands of each opcode, in the order given, with the quotes around a string taken off.
+ */
+public record Epd(String fen, Map<String, String> operations) {
+
+    /**
+     * @param line A line of EPD, or of full FEN.
+     * @return The record.
+     * @throws IllegalArgumentException if the line doesn't have the four position fields or an operation isn't ended.
+     */
+    public static Epd parse(String line) {
+        String text = line.trim();
+        int end = 0;
+        for (int field = 0; field < 4; field++) {
+            while (end < text.length() && text.charAt(end) == ' ') end++;
+            if (end == text.length())
+                throw new IllegalArgumentException("Invalid EPD \"" + line + "\": expected four position fields.");
+            while (end < text.length() && text.charAt(end) != ' ') end++;
+        }
+        String position = text.substring(0, end);
+
+        // Full FEN ends with the two move counters where EPD has its operations
+        String[] rest = text.substring(end).trim().split(" +");
+        if (rest.length == 2 && isNumber(rest[0]) && isNumber(rest[1]))
+            return new Epd(position + " " + rest[0] + " " + rest[1], Map.of());
+
+        Map<String, String> operations = new LinkedHashMap<>();
+        int start = end;
+        boolean quoted = false;
+        for (int i = end; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ';' && !quoted) {
+                addOperation(operations, text.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        if (!text.substring(start).isBlank())
+            throw new IllegalArgumentException("Invalid EPD \"" + line + "\": operation not ended with ';'.");
+
+        String halfmoves = operations.getOrDefault("hmvc", "0");
+        String fullmoves = operations.getOrDefault("fmvn", "1");
+        return new Epd(position + " " + halfmoves + " " + fullmoves, Collections.unmodifiableMap(operations));
+    }
+
+    private static boolean isNumber(String text) {
+        return !text.isEmpty() && text.chars().allMatch(Character::isDigit);
+    }
+
+    private static void addOperation(Map<String, String> operations, String operation) {
+        if (operation.isEmpty()) return;
+        int space = operation.indexOf(' ');
+        String opcode = (space < 0) ? operation : operation.substring(0, space);
+        String operands = (space < 0) ? "" : operation.substring(space + 1).trim();
+        if (operands.length() >= 2 && operands.startsWith("\"") && operands.endsWith("\""))
+            operands = operands.substring(1, operands.length() - 1);
+        operations.put(opcode, operands);
+    }
+
+    /**
+     * @param opcode An opcode such as {@code bm}.
+     * @return Its operands, or null if the line doesn't have it.
+     */
+    public String operation(String opcode) {
+        return operations.get(opcode);
+    }
+
+    /**
+     * @return The {@code id} operand, or null if there is none.
+     */
+    public String id() {
+        return operations.get("id");
+    }
+
+    /**
+     * @return A new game in the position.
+     * @throws IllegalArgumentException if the position isn't valid FEN.
+     */
+    public ChessGameImpl toGame() {
+        return Fen.parse(fen);
+    }
+}
@@ -0,0 +1,234 @@
+package chess;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation, for example the starting position
+ * {@code rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1}.
+ * <p>
+ * The six fields are piece placement from row 8 down to row 1, the side to move, castling rights, the En Passant
+ * square, the halfmove clock and the fullmove number. Parsing walks the string once without splitting it, so the only
+ * objects created are the board and the game.
+ */
+public final class Fen {
+
+    public static final String STARTING_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    // Piece letters indexed by PieceType ordinal, upper case for white
+    private static final char[] PIECE_LETTERS = {'K', 'Q', 'B', 'N', 'R', 'P'};
+    private static final ChessPiece.PieceType[] PIECE_TYPES = ChessPiece.PieceType.values();
+
+    private Fen() {
+    }
+
+    /**
+     * Sets up a game on a {@link BitboardChessBoard} from a FEN string. The move counters are optional and default
+     * to 0 and 1.
+     *
+     * @param fen The position in FEN.
+     * @return A new game in that position, with turns enforced.
+     * @throws IllegalArgumentException if the string is not valid FEN.
+     */
+    public static ChessGameImpl parse(String fen) {
+        return parse(fen, new BitboardChessBoard());
+    }
+
+    /**
+     * Sets up a game from a FEN string on the given board, so any board implementation can be used.
+     *
+     * @param fen   The position in FEN.
+     * @param board An empty board to place the pieces on.
+     * @return A new game in that position, with turns enforced.
+     * @throws IllegalArgumentException if the string is not valid FEN.
+     */
+    public static ChessGameImpl parse(String fen, ChessBoard board) {
+        board.setTestingMode(false);
+        int i = 0;
+
+        // Piece placement, starting at a8
+        int row = 8;
+        int col = 1;
+        for (; i < fen.length() && fen.charAt(i) != ' '; i++) {
+            char c = fen.charAt(i);
+            if (c == '/') {
+                if (col != 9 || row == 1) throw invalid(fen, "row " + row + " does not have 8 squares");
+                row--;
+                col = 1;
+            } else if (c >= '1' && c <= '8') {
+                col += c - '0';
+            } else {
+                ChessPiece.PieceType type = pieceType(Character.toUpperCase(c));
+                if (type == null || col > 8) throw invalid(fen, "unexpected '" + c + "' in the piece placement");
+                ChessGame.TeamColor color = Character.isUpperCase(c) ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+                board.addPiece(ChessPositionImpl.of(row, col++), ChessPieceImpl.of(color, type));
+            }
+            if (col > 9) throw invalid(fen, "row " + row + " has more than 8 squares");
+        }
+        if (row != 1 || col != 9) throw invalid(fen, "the piece placement does not cover the board");
+
+        // Side to move
+        i = skipSpace(fen, i);
+        if (i >= fen.length() || (fen.charAt(i) != 'w' && fen.charAt(i) != 'b'))
+            throw invalid(fen, "the side to move must be 'w' or 'b'");
+        ChessGame.TeamColor sideToMove = (fen.charAt(i++) == 'w') ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+
+        // Castling rights
+        i = skipSpace(fen, i);
+        int castlingRights = 0;
+        if (i < fen.length() && fen.charAt(i) == '-') {
+            i++;
+        } else {
+            for (; i < fen.length() && fen.charAt(i) != ' '; i++) {
+                castlingRights |= switch (fen.charAt(i)) {
+                    case 'K' -> ChessBoard.WHITE_KINGSIDE;
+                    case 'Q' -> ChessBoard.WHITE_QUEENSIDE;
+                    case 'k' -> ChessBoard.BLACK_KINGSIDE;
+                    case 'q' -> ChessBoard.BLACK_QUEENSIDE;
+                    default -> throw invalid(fen, "unexpected '" + fen.charAt(i) + "' in the castling rights");
+                };
+            }
+        }
+        board.setCastlingRights(castlingRights);
+
+        // En Passant square, only kept when an enemy pawn could actually capture onto it
+        i = skipSpace(fen, i);
+        if (i < fen.length() && fen.charAt(i) == '-') {
+            i++;
+        } else {
+            if (i + 1 >= fen.length()) throw invalid(fen, "missing En Passant square");
+            int epCol = fen.charAt(i) - 'a' + 1;
+            int epRow = fen.charAt(i + 1) - '0';
+            if (epCol < 1 || epCol > 8 || (epRow != 3 && epRow != 6))
+                throw invalid(fen, "invalid En Passant square");
+            int square = Square.of(epRow, epCol);
+            ChessGame.TeamColor pawnColor = (epRow == 3) ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+            ChessGame.TeamColor capturer = (epRow == 3) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+            if ((AttackTables.pawnAttacks(pawnColor, square) & board.getPieces(capturer, ChessPiece.PieceType.PAWN)) != 0)
+                board.setEnPassantSquare(square);
+            i += 2;
+        }
+
+        // Move counters
+        i = skipSpace(fen, i);
+        int halfmoveClock = 0;
+        int fullmoveNumber = 1;
+        if (i < fen.length()) {
+            int end = nextSpace(fen, i);
+            halfmoveClock = parseCount(fen, i, end);
+            i = skipSpace(fen, end);
+            if (i < fen.length()) {
+                end = nextSpace(fen, i);
+                fullmoveNumber = Math.max(1, parseCount(fen, i, end));
+                i = end;
+            }
+        }
+        if (skipSpace(fen, i) != fen.length()) throw invalid(fen, "unexpected text after the move counters");
+
+        ChessGameImpl game = new ChessGameImpl();
+        game.setBoard(board);
+        game.setTeamTurn(sideToMove);
+        game.setMoveCounters(halfmoveClock, fullmoveNumber);
+        return game;
+    }
+
+    /**
+     * Writes a game's position as FEN. Castling rights are only written when the king and rook are on their home
+     * squares.
+     *
+     * @param game The game to write.
+     * @return The position in FEN.
+     */
+    public static String write(ChessGameImpl game) {
+        return write(game.getBoard(), game.getTeamTurn(), game.getHalfmoveClock(), game.getFullmoveNumber());
+    }
+
+    /**
+     * Writes a board's position as FEN.
+     *
+     * @param board          The board to write.
+     * @param sideToMove     The team to move.
+     * @param halfmoveClock  Halfmoves since the last capture or pawn move.
+     * @param fullmoveNumber The number of the current full move.
+     * @return The position in FEN.
+     */
+    static String write(ChessBoard board, ChessGame.TeamColor sideToMove, int halfmoveClock, int fullmoveNumber) {
+        StringBuilder fen = new StringBuilder(90);
+
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+            for (int col = 1; col <= 8; col++) {
+                ChessPiece piece = board.getPiece(Square.of(row, col));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) fen.append((char) ('0' + empty));
+                empty = 0;
+                char letter = PIECE_LETTERS[piece.getPieceType().ordinal()];
+                fen.append(piece.teamColor() == ChessGame.TeamColor.WHITE ? letter : Character.toLowerCase(letter));
+            }
+            if (empty > 0) fen.append((char) ('0' + empty));
+            if (row > 1) fen.append('/');
+        }
+
+        fen.append(sideToMove == ChessGame.TeamColor.WHITE ? " w " : " b ");
+
+        int rights = board.getCastlingRights();
+        int length = fen.length();
+        if (canCastle(board, rights, ChessBoard.WHITE_KINGSIDE, ChessGame.TeamColor.WHITE, 1, 8)) fen.append('K');
+        if (canCastle(board, rights, ChessBoard.WHITE_QUEENSIDE, ChessGame.TeamColor.WHITE, 1, 1)) fen.append('Q');
+        if (canCastle(board, rights, ChessBoard.BLACK_KINGSIDE, ChessGame.TeamColor.BLACK, 8, 8)) fen.append('k');
+        if (canCastle(board, rights, ChessBoard.BLACK_QUEENSIDE, ChessGame.TeamColor.BLACK, 8, 1)) fen.append('q');
+        if (fen.length() == length) fen.append('-');
+
+        int enPassantSquare = board.getEnPassantSquare();
+        if (enPassantSquare < 0) {
+            fen.append(" -");
+        } else {
+            fen.append(' ').append((char) ('a' + Square.col(enPassantSquare) - 1)).append(Square.row(enPassantSquare));
+        }
+
+        return fen.append(' ').append(halfmoveClock).append(' ').append(fullmoveNumber).toString();
+    }
+
+    private static boolean canCastle(ChessBoard board, int rights, int right, ChessGame.TeamColor color, int homeRow, int rookCol) {
+        return (rights & right) != 0
+                && (board.getPieces(color, ChessPiece.PieceType.KING) & (1L << Square.of(homeRow, 5))) != 0
+                && (board.getPieces(color, ChessPiece.PieceType.ROOK) & (1L << Square.of(homeRow, rookCol))) != 0;
+    }
+
+    /**
+     * @param letter Upper case piece letter.
+     * @return The piece type for the letter, or null if it isn't one.
+     */
+    private static ChessPiece.PieceType pieceType(char letter) {
+        for (int i = 0; i < PIECE_LETTERS.length; i++)
+            if (PIECE_LETTERS[i] == letter) return PIECE_TYPES[i];
+        return null;
+    }
+
+    private static int skipSpace(String fen, int i) {
+        while (i < fen.length() && fen.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    private static int nextSpace(String fen, int i) {
+        while (i < fen.length() && fen.charAt(i) != ' ') i++;
+        return i;
+    }
+
+    /**
+     * Parses a move counter without creating a substring.
+     */
+    private static int parseCount(String fen, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = fen.charAt(i);
+            if (c < '0' || c > '9' || value > 100_000) throw invalid(fen, "move counters must be small whole numbers");
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException invalid(String fen, String reason) {
+        return new IllegalArgumentException("Invalid FEN \"" + fen + "\": " + reason + ".");
+    }
+}
@@ -1,29 +1,9 @@
 package chess;
 
-import java.util.ArrayList;
-import java.util.Collection;
+public class KingPiece extends ChessPieceImpl {
 
-public class KingPiece implements ChessPiece {
-    private final ChessGame.TeamColor teamColor;
-    private boolean hasMoved = false;
-
-    public KingPiece(ChessGame.TeamColor teamColor) {
-        this.teamColor = teamColor;
-    }
-
-    @Override
-    public ChessGame.TeamColor teamColor() {
-        return teamColor;
-    }
-
-    @Override
-    public boolean hasMoved() {
-        return hasMoved;
-    }
-
-    @Override
-    public void markAsMoved() {
-        hasMoved = true;
+    KingPiece(ChessGame.TeamColor teamColor) {
+        super(teamColor);
     }
 
     @Override
@@ -32,33 +12,8 @@ public class KingPiece implements ChessPiece {
     }
 
     @Override
-    public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
-        Collection<ChessMove> moves = new ArrayList<>();
-
-        // Add standard moves for the king
-        // Possible directions for the king to move
-        int[][] directions = {
-                {1, 0}, {1, 1}, {0, 1}, {-1, 1},
-                {-1, 0}, {-1, -1}, {0, -1}, {1, -1}
-        };
-
-        // Iterate through all possible moves and validate
-        for (int[] direction : directions) {
-            int newRow = myPosition.getRow() + direction[0];
-            int newCol = myPosition.getCol() + direction[1];
-
-            // Skip if the move is outside the board
-            if (newRow < 1 || newRow > 8 || newCol < 1 || newCol > 8) continue;
-
-            ChessPosition newPosition = new ChessPositionImpl(newRow, newCol);
-            ChessPiece targetPiece = board.getPiece(newPosition);
-
-            // Add move if target square is empty or contains opponent's piece
-            if (targetPiece == null || targetPiece.teamColor() != this.teamColor()) {
-                moves.add(new ChessMoveImpl(myPosition, newPosition, null));
-            }
-        }
-
-        return moves;
+    public void generateMoves(ChessBoard board, int square, MoveList moves) {
+        // Add move if target square is empty or contains opponent's piece
+        moves.addTargets(square, AttackTables.kingAttacks(square) & ~board.getOccupancy(teamColor));
     }
 }
\ No newline at end of file
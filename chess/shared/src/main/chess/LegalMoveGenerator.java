@@ -0,0 +1,384 @@
+package chess;
+
+/**
+ * Generates strictly legal moves without trying them on the board.
+ * <p>
+ * Before generating, the checkers of the king are looked up in the {@link AttackTables}, producing a check mask (the
+ * squares a non-king move must land on to capture or block the checker), and friendly pieces standing alone between
+ * the king and an enemy slider are recorded as pinned together with the ray they may still move along. Moves are then
+ * kept only if they respect those masks, and king moves only if the destination is not attacked. Masks use the
+ * {@link Square} layout, one bit per square.
+ * <p>
+ * A generator keeps scratch state between calls, so each thread or game should use its own instance.
+ */
+public class LegalMoveGenerator {
+
+    // Scratch list for the pseudo-legal moves of one pawn
+    private final MoveList pseudoMoves = new MoveList();
+
+    // Scratch list for legal moves that are only counted, never returned
+    private final MoveList scratchMoves = new MoveList();
+
+    // Allowed squares for each pinned piece, valid only where the pinned mask has the square's bit set
+    private final long[] pinRays = new long[64];
+
+    private ChessBoard board;
+    private ChessGame.TeamColor us;
+    private ChessGame.TeamColor them;
+    private int kingSquare;
+    private int checkerCount;
+    private long checkMask;
+    private long pinned;
+
+    /**
+     * Writes the legal moves of the piece on a square into a move list. The team to move is taken from the piece.
+     *
+     * @param board  The board to generate on.
+     * @param square The square index of the piece.
+     * @param moves  The list to append the legal moves to.
+     */
+    public void generate(ChessBoard board, int square, MoveList moves) {
+        ChessPiece piece = board.getPiece(square);
+        if (piece == null) return;
+
+        prepare(board, piece.teamColor());
+        generatePieceMoves(square, piece, moves);
+    }
+
+    /**
+     * Writes every legal move of one team into a move list, computing checks and pins once for the whole side.
+     *
+     * @param board The board to generate on.
+     * @param color The team to generate moves for.
+     * @param moves The list to append the legal moves to.
+     */
+    public void generateAll(ChessBoard board, ChessGame.TeamColor color, MoveList moves) {
+        prepare(board, color);
+        for (long pieces = board.getOccupancy(us); pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            generatePieceMoves(square, board.getPiece(square), moves);
+        }
+    }
+
+    /**
+     * Checks whether a team has at least one legal move, stopping at the first piece that can move.
+     *
+     * @param board The board to check.
+     * @param color The team to check.
+     * @return true if the team has a legal move, false if it is checkmated or stalemated.
+     */
+    public boolean hasAnyLegalMove(ChessBoard board, ChessGame.TeamColor color) {
+        prepare(board, color);
+        return hasAnyPreparedMove();
+    }
+
+    /**
+     * Works out whether a team is in check, checkmated or stalemated with a single check and pin scan.
+     *
+     * @param board The board to check.
+     * @param color The team to move.
+     * @return The status of the game from that team's point of view.
+     */
+    public ChessGame.GameStatus status(ChessBoard board, ChessGame.TeamColor color) {
+        prepare(board, color);
+        boolean inCheck = checkerCount > 0;
+        if (hasAnyPreparedMove())
+            return inCheck ? ChessGame.GameStatus.CHECK : ChessGame.GameStatus.IN_PROGRESS;
+        return inCheck ? ChessGame.GameStatus.CHECKMATE : ChessGame.GameStatus.STALEMATE;
+    }
+
+    /**
+     * Looks for any legal move once {@link #prepare} ran, trying the king first since it is the piece most likely
+     * to be able to move when the team is in check.
+     *
+     * @return true if a legal move was found.
+     */
+    private boolean hasAnyPreparedMove() {
+        scratchMoves.clear();
+        if (kingSquare >= 0) {
+            generatePieceMoves(kingSquare, board.getPiece(kingSquare), scratchMoves);
+            if (!scratchMoves.isEmpty()) return true;
+        }
+
+        long others = board.getOccupancy(us) & ~(kingSquare >= 0 ? 1L << kingSquare : 0L);
+        for (; others != 0; others &= others - 1) {
+            int square = Long.numberOfTrailingZeros(others);
+            generatePieceMoves(square, board.getPiece(square), scratchMoves);
+            if (!scratchMoves.isEmpty()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether one move is legal for the piece that makes it, without generating any other move: the piece has
+     * to be able to reach the square, a pawn has to promote exactly when it reaches the last row, a castle has to
+     * have its right, an empty path and safe squares, and the king must not be attacked once the move is made. That
+     * last test looks at the board as it would be after the move, which covers pins, checks and En Passant captures
+     * that open a line onto the king at once.
+     *
+     * @param board The board to check the move on.
+     * @param move  The encoded move (see {@link Move}).
+     * @return true if the move is legal.
+     */
+    public boolean isLegal(ChessBoard board, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = board.getPiece(from);
+        if (piece == null || from == to) return false;
+
+        this.board = board;
+        us = piece.teamColor();
+        them = opponent(us);
+        long toBit = 1L << to;
+        if ((board.getOccupancy(us) & toBit) != 0) return false;
+
+        ChessPiece.PieceType type = piece.getPieceType();
+        ChessPiece.PieceType promotion = Move.promotion(move);
+        long occupancy = board.getOccupancy();
+        int king = findKing(board, us);
+        if (type == ChessPiece.PieceType.KING && from == king) {
+            if (promotion != null) return false;
+            if ((AttackTables.kingAttacks(from) & toBit) != 0)
+                return AttackTables.attackersTo(board, to, them, occupancy & ~(1L << from)) == 0;
+            return isLegalCastle(from, to);
+        }
+
+        long capturedBit = toBit;
+        if (type == ChessPiece.PieceType.PAWN) {
+            boolean lastRow = Square.row(to) == 1 || Square.row(to) == 8;
+            if (lastRow != (promotion != null) || promotion == ChessPiece.PieceType.KING || promotion == ChessPiece.PieceType.PAWN)
+                return false;
+            int forward = (us == ChessGame.TeamColor.WHITE) ? 8 : -8;
+            int homeRow = (us == ChessGame.TeamColor.WHITE) ? 2 : 7;
+            if (to == from + forward) {
+                if ((occupancy & toBit) != 0) return false;
+            } else if (to == from + 2 * forward) {
+                if (Square.row(from) != homeRow || (occupancy & (toBit | 1L << (from + forward))) != 0) return false;
+            } else if ((AttackTables.pawnAttacks(us, from) & toBit) == 0) {
+                return false;
+            } else if (to == board.getEnPassantSquare()) {
+                // En Passant takes the pawn that skipped over the square, not anything on it
+                capturedBit = 1L << (to - forward);
+                if ((board.getPieces(them, ChessPiece.PieceType.PAWN) & capturedBit) == 0) return false;
+            } else if ((board.getOccupancy(them) & toBit) == 0) {
+                return false;
+            }
+        } else if (promotion != null || (AttackTables.attacks(type, us, from, occupancy) & toBit) == 0) {
+            return false;
+        }
+
+        // Without a king (test setups) every move that follows the piece's rules is allowed
+        if (king < 0) return true;
+        long after = (occupancy & ~(1L << from) & ~capturedBit) | toBit;
+        return (AttackTables.attackersTo(board, king, them, after) & ~capturedBit) == 0;
+    }
+
+    /**
+     * Checks a king's two-square move as a castle, once {@link #isLegal} set the team.
+     *
+     * @param from The king's square index.
+     * @param to   The square index the king moves to.
+     * @return true if the king may castle to the square.
+     */
+    private boolean isLegalCastle(int from, int to) {
+        boolean white = us == ChessGame.TeamColor.WHITE;
+        int homeRow = white ? 1 : 8;
+        if (from != Square.of(homeRow, 5) || isAttacked(board, from, them)) return false;
+
+        int rights = board.getCastlingRights();
+        if (to == from + 2)
+            return (rights & (white ? ChessBoard.WHITE_KINGSIDE : ChessBoard.BLACK_KINGSIDE)) != 0 && canCastle(from, Square.of(homeRow, 8));
+        if (to == from - 2)
+            return (rights & (white ? ChessBoard.WHITE_QUEENSIDE : ChessBoard.BLACK_QUEENSIDE)) != 0 && canCastle(from, Square.of(homeRow, 1));
+        return false;
+    }
+
+    /**
+     * Checks whether the given team's king is attacked.
+     *
+     * @param board     The board to check.
+     * @param teamColor The team whose king to check.
+     * @return true if the king is in check, false if it is safe or missing.
+     */
+    public boolean isInCheck(ChessBoard board, ChessGame.TeamColor teamColor) {
+        int king = findKing(board, teamColor);
+        return king >= 0 && isAttacked(board, king, opponent(teamColor));
+    }
+
+    /**
+     * Checks whether a square is attacked by any piece of the given team.
+     *
+     * @param board     The board to check.
+     * @param square    The square index to check.
+     * @param attackers The team whose pieces may attack the square.
+     * @return true if the square is attacked, false otherwise.
+     */
+    public boolean isAttacked(ChessBoard board, int square, ChessGame.TeamColor attackers) {
+        return AttackTables.attackersTo(board, square, attackers, board.getOccupancy()) != 0;
+    }
+
+    /**
+     * Finds the given team's king.
+     *
+     * @param board     The board to search.
+     * @param teamColor The color of the king to find.
+     * @return The square index of the king or -1 if not found.
+     */
+    public static int findKing(ChessBoard board, ChessGame.TeamColor teamColor) {
+        long kings = board.getPieces(teamColor, ChessPiece.PieceType.KING);
+        return (kings == 0) ? -1 : Long.numberOfTrailingZeros(kings);
+    }
+
+    /**
+     * Computes the checkers, check mask and pins of the given team's king.
+     *
+     * @param board The board to generate on.
+     * @param color The team to generate moves for.
+     */
+    private void prepare(ChessBoard board, ChessGame.TeamColor color) {
+        this.board = board;
+        us = color;
+        them = opponent(color);
+        kingSquare = findKing(board, us);
+        checkerCount = 0;
+        checkMask = 0L;
+        pinned = 0L;
+
+        // Without a king (test setups) every pseudo-legal move is allowed
+        if (kingSquare < 0) {
+            checkMask = -1L;
+            return;
+        }
+
+        long occupancy = board.getOccupancy();
+        long checkers = AttackTables.attackersTo(board, kingSquare, them, occupancy);
+        checkerCount = Long.bitCount(checkers);
+        for (long remaining = checkers; remaining != 0; remaining &= remaining - 1) {
+            int checker = Long.numberOfTrailingZeros(remaining);
+            checkMask |= AttackTables.between(kingSquare, checker) | (1L << checker);
+        }
+
+        // Enemy sliders lined up with the king pin our piece if it is the only one standing between them
+        long queens = board.getPieces(them, ChessPiece.PieceType.QUEEN);
+        long snipers = (AttackTables.rookRays(kingSquare) & (board.getPieces(them, ChessPiece.PieceType.ROOK) | queens))
+                | (AttackTables.bishopRays(kingSquare) & (board.getPieces(them, ChessPiece.PieceType.BISHOP) | queens));
+        for (; snipers != 0; snipers &= snipers - 1) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            long between = AttackTables.between(kingSquare, sniper);
+            long blockers = between & occupancy;
+            if (Long.bitCount(blockers) == 1 && (blockers & board.getOccupancy(us)) != 0) {
+                pinned |= blockers;
+                pinRays[Long.numberOfTrailingZeros(blockers)] = between | (1L << sniper);
+            }
+        }
+
+        // Out of check any destination is fine; in double check only the king may move
+        if (checkerCount == 0) checkMask = -1L;
+        else if (checkerCount > 1) checkMask = 0L;
+    }
+
+    /**
+     * Writes the legal moves of one piece, assuming {@link #prepare} ran for its team.
+     *
+     * @param square The square index of the piece.
+     * @param piece  The piece.
+     * @param moves  The list to append the legal moves to.
+     */
+    private void generatePieceMoves(int square, ChessPiece piece, MoveList moves) {
+        long occupancy = board.getOccupancy();
+        long own = board.getOccupancy(us);
+        ChessPiece.PieceType type = piece.getPieceType();
+
+        if (type == ChessPiece.PieceType.KING && square == kingSquare) {
+            // The king may go anywhere that isn't attacked once it has left its square
+            long withoutKing = occupancy & ~(1L << square);
+            for (long targets = AttackTables.kingAttacks(square) & ~own; targets != 0; targets &= targets - 1) {
+                int target = Long.numberOfTrailingZeros(targets);
+                if (AttackTables.attackersTo(board, target, them, withoutKing) == 0)
+                    moves.add(Move.of(square, target));
+            }
+            addCastlingMoves(square, moves);
+            return;
+        }
+
+        long allowed = checkMask;
+        if ((pinned & (1L << square)) != 0) allowed &= pinRays[square];
+
+        if (type != ChessPiece.PieceType.PAWN) {
+            moves.addTargets(square, AttackTables.attacks(type, us, square, occupancy) & ~own & allowed);
+            return;
+        }
+
+        // Pawns push, capture and promote differently, so their pseudo-legal moves are filtered instead
+        pseudoMoves.clear();
+        piece.generateMoves(board, square, pseudoMoves);
+        for (int i = 0; i < pseudoMoves.size(); i++) {
+            int move = pseudoMoves.get(i);
+            if ((allowed & (1L << Move.to(move))) != 0)
+                moves.add(move);
+        }
+        addEnPassantCapture(square, moves);
+    }
+
+    /**
+     * Adds the En Passant capture for a pawn if it attacks the board's En Passant square and the capture doesn't
+     * expose the king.
+     *
+     * @param square The square index of the capturing pawn.
+     * @param moves  The list to append the capture to.
+     */
+    private void addEnPassantCapture(int square, MoveList moves) {
+        int target = board.getEnPassantSquare();
+        if (target < 0 || (AttackTables.pawnAttacks(us, square) & (1L << target)) == 0) return;
+
+        int capturedSquare = target + ((us == ChessGame.TeamColor.WHITE) ? -8 : 8);
+        long capturedBit = 1L << capturedSquare;
+        if ((board.getPieces(them, ChessPiece.PieceType.PAWN) & capturedBit) == 0) return;
+
+        // Both the capturing and the captured pawn leave their squares, which can open a ray onto the king
+        if (kingSquare >= 0) {
+            long occupancy = (board.getOccupancy() & ~(1L << square) & ~capturedBit) | (1L << target);
+            if ((AttackTables.attackersTo(board, kingSquare, them, occupancy) & ~capturedBit) != 0) return;
+        }
+        moves.add(Move.of(square, target));
+    }
+
+    /**
+     * Adds castling moves for a king on its home square that still has the castling right, an empty path and no
+     * attacked square on the way.
+     *
+     * @param square The king's square index.
+     * @param moves  The list to append castling moves to.
+     */
+    private void addCastlingMoves(int square, MoveList moves) {
+        boolean white = us == ChessGame.TeamColor.WHITE;
+        int homeRow = white ? 1 : 8;
+        int rights = board.getCastlingRights();
+        if (square != Square.of(homeRow, 5) || checkerCount > 0) return;
+
+        if ((rights & (white ? ChessBoard.WHITE_KINGSIDE : ChessBoard.BLACK_KINGSIDE)) != 0 && canCastle(square, Square.of(homeRow, 8)))
+            moves.add(Move.of(square, square + 2));
+        if ((rights & (white ? ChessBoard.WHITE_QUEENSIDE : ChessBoard.BLACK_QUEENSIDE)) != 0 && canCastle(square, Square.of(homeRow, 1)))
+            moves.add(Move.of(square, square - 2));
+    }
+
+    /**
+     * @param kingSquare The king's square index.
+     * @param rookSquare The castling rook's square index.
+     * @return true if castling towards the rook is allowed.
+     */
+    private boolean canCastle(int kingSquare, int rookSquare) {
+        if ((board.getPieces(us, ChessPiece.PieceType.ROOK) & (1L << rookSquare)) == 0) return false;
+        if ((AttackTables.between(kingSquare, rookSquare) & board.getOccupancy()) != 0) return false;
+
+        // Only the two squares the king crosses must be safe
+        int step = (rookSquare > kingSquare) ? 1 : -1;
+        for (int i = 1; i <= 2; i++)
+            if (isAttacked(board, kingSquare + i * step, them)) return false;
+        return true;
+    }
+
+    private static ChessGame.TeamColor opponent(ChessGame.TeamColor color) {
+        return (color == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+}
@@ -0,0 +1,129 @@
+package chess;
+
+/**
+ * Packs a chess move into a single int so move generation can run without allocating {@link ChessMove} objects.
+ * <p>
+ * Bits 0-5 hold the start square, bits 6-11 the end square and bits 12-14 the promotion piece (its
+ * {@link ChessPiece.PieceType} ordinal plus one, or zero for no promotion). Squares use the {@link Square} layout.
+ */
+public final class Move {
+
+    private static final ChessPiece.PieceType[] PIECE_TYPES = ChessPiece.PieceType.values();
+
+    // ChessMove objects are immutable, so each encoded move shares one instance, created on first use
+    private static final ChessMove[] CHESS_MOVES = new ChessMove[1 << 15];
+
+    private Move() {
+    }
+
+    /**
+     * @param from Start square index.
+     * @param to   End square index.
+     * @return The encoded move, without promotion.
+     */
+    public static int of(int from, int to) {
+        return from | (to << 6);
+    }
+
+    /**
+     * @param from      Start square index.
+     * @param to        End square index.
+     * @param promotion Piece to promote to, or null.
+     * @return The encoded move.
+     */
+    public static int of(int from, int to, ChessPiece.PieceType promotion) {
+        return of(from, to) | ((promotion == null) ? 0 : (promotion.ordinal() + 1) << 12);
+    }
+
+    /**
+     * @param move The move to encode.
+     * @return The encoded move.
+     */
+    public static int of(ChessMove move) {
+        return of(Square.of(move.getStartPosition()), Square.of(move.getEndPosition()), move.getPromotionPiece());
+    }
+
+    /**
+     * @param move Encoded move.
+     * @return Start square index.
+     */
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    /**
+     * @param move Encoded move.
+     * @return End square index.
+     */
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /**
+     * @param move Encoded move.
+     * @return The piece to promote to, or null if the move is not a promotion.
+     */
+    public static ChessPiece.PieceType promotion(int move) {
+        int promotion = (move >>> 12) & 0x7;
+        return (promotion == 0) ? null : PIECE_TYPES[promotion - 1];
+    }
+
+    /**
+     * @param move Encoded move.
+     * @return The equivalent ChessMove object, shared between callers.
+     */
+    public static ChessMove toChessMove(int move) {
+        ChessMove chessMove = CHESS_MOVES[move];
+        if (chessMove == null) {
+            chessMove = new ChessMoveImpl(Square.position(from(move)), Square.position(to(move)), promotion(move));
+            CHESS_MOVES[move] = chessMove;
+        }
+        return chessMove;
+    }
+
+    /**
+     * @param move Encoded move.
+     * @return The move in long algebraic notation, such as {@code e2e4} or {@code e7e8q}.
+     */
+    public static String toString(int move) {
+        StringBuilder text = new StringBuilder(5);
+        for (int square : new int[]{from(move), to(move)}) {
+            text.append((char) ('a' + Square.col(square) - 1)).append((char) ('0' + Square.row(square)));
+        }
+        ChessPiece.PieceType promotion = promotion(move);
+        if (promotion != null) text.append(switch (promotion) {
+            case QUEEN -> 'q';
+            case ROOK -> 'r';
+            case BISHOP -> 'b';
+            case KNIGHT -> 'n';
+            default -> throw new IllegalArgumentException("Invalid promotion " + promotion + ".");
+        });
+        return text.toString();
+    }
+
+    /**
+     * @param text A move in long algebraic notation, such as {@code e2e4} or {@code e7e8q}.
+     * @return The encoded move. It isn't checked against any position.
+     * @throws IllegalArgumentException if the text isn't a move in long algebraic notation.
+     */
+    public static int parse(String text) {
+        if (text.length() < 4 || text.length() > 5)
+            throw new IllegalArgumentException("Invalid move \"" + text + "\".");
+        int[] squares = new int[2];
+        for (int i = 0; i < 2; i++) {
+            int col = text.charAt(2 * i) - 'a' + 1;
+            int row = text.charAt(2 * i + 1) - '0';
+            if (col < 1 || col > 8 || row < 1 || row > 8)
+                throw new IllegalArgumentException("Invalid move \"" + text + "\".");
+            squares[i] = Square.of(row, col);
+        }
+        if (text.length() == 4) return of(squares[0], squares[1]);
+        return of(squares[0], squares[1], switch (text.charAt(4)) {
+            case 'q' -> ChessPiece.PieceType.QUEEN;
+            case 'r' -> ChessPiece.PieceType.ROOK;
+            case 'b' -> ChessPiece.PieceType.BISHOP;
+            case 'n' -> ChessPiece.PieceType.KNIGHT;
+            default -> throw new IllegalArgumentException("Invalid move \"" + text + "\".");
+        });
+    }
+}
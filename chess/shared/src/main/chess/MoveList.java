@@ -0,0 +1,121 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A reusable buffer of int-encoded moves (see {@link Move}) that move generators write into.
+ * <p>
+ * Call {@link #clear()} between uses; the backing array only grows, so a warmed-up list never allocates.
+ */
+public class MoveList {
+
+    // Enough for any legal chess position; grown on demand for pseudo-legal or accumulated lists
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveList(int capacity) {
+        moves = new int[capacity];
+    }
+
+    /**
+     * Appends a move to the list.
+     *
+     * @param move The encoded move.
+     */
+    public void add(int move) {
+        if (size == moves.length)
+            moves = Arrays.copyOf(moves, size * 2);
+        moves[size++] = move;
+    }
+
+    /**
+     * Appends one move from a start square to each square set in a bitboard.
+     *
+     * @param from    Start square index.
+     * @param targets Bitboard of end squares (see {@link Square} for the bit layout).
+     */
+    public void addTargets(int from, long targets) {
+        while (targets != 0) {
+            add(Move.of(from, Long.numberOfTrailingZeros(targets)));
+            targets &= targets - 1;
+        }
+    }
+
+    /**
+     * @param index Index into the list.
+     * @return The encoded move at the index.
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Overwrites the move at an index, used when filtering in place.
+     *
+     * @param index Index into the list.
+     * @param move  The encoded move.
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * @return Number of moves in the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the list holds no moves.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Shrinks the list to the given size, dropping the moves past it.
+     *
+     * @param size The new size, no larger than the current size.
+     */
+    public void truncate(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Empties the list without releasing its buffer.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @param move The encoded move.
+     * @return true if the list holds the move.
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++)
+            if (moves[i] == move) return true;
+        return false;
+    }
+
+    /**
+     * Converts the list into ChessMove objects, for callers of the Collection based API.
+     *
+     * @return A new collection holding one ChessMove per encoded move.
+     */
+    public Collection<ChessMove> toChessMoves() {
+        Collection<ChessMove> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            result.add(Move.toChessMove(moves[i]));
+        return result;
+    }
+}
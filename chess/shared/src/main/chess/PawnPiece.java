@@ -1,33 +1,12 @@
 package chess;
 
-import java.util.ArrayList;
-import java.util.Collection;
-
-public class PawnPiece implements ChessPiece {
-    private final ChessGame.TeamColor teamColor;
-    private boolean hasMoved = false;
+public class PawnPiece extends ChessPieceImpl {
+    // Pieces a pawn can promote to, in the order promotion moves are generated
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.BISHOP, PieceType.ROOK, PieceType.KNIGHT};
 
     // Constructor initializes the pawn's color
-    public PawnPiece(ChessGame.TeamColor teamColor) {
-        this.teamColor = teamColor;
-    }
-
-    // Getter for the pawn's team color
-    @Override
-    public ChessGame.TeamColor teamColor() {
-        return teamColor;
-    }
-
-    // Check if the pawn has moved before
-    @Override
-    public boolean hasMoved() {
-        return hasMoved;
-    }
-
-    // Mark the pawn as having moved
-    @Override
-    public void markAsMoved() {
-        hasMoved = true;
+    PawnPiece(ChessGame.TeamColor teamColor) {
+        super(teamColor);
     }
 
     // Return the pawn's piece type
@@ -38,63 +17,54 @@ public class PawnPiece implements ChessPiece {
 
     // Compute all valid moves for the pawn from its current position
     @Override
-    public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
-        Collection<ChessMove> moves = new ArrayList<>();
-        int direction = (teamColor == ChessGame.TeamColor.WHITE) ? 1 : -1;
-        int newRow = myPosition.getRow() + direction;
+    public void generateMoves(ChessBoard board, int square, MoveList moves) {
+        int direction = (teamColor == ChessGame.TeamColor.WHITE) ? 8 : -8;
+        int newSquare = square + direction;
 
-        if (newRow >= 1 && newRow <= 8) {
-            checkForwardMoves(board, myPosition, newRow, moves, direction);
-            checkDiagonalCaptures(board, myPosition, newRow, moves);
+        if (newSquare >= 0 && newSquare < 64) {
+            checkForwardMoves(board, square, newSquare, moves, direction);
+            checkDiagonalCaptures(board, square, moves);
         }
-
-        return moves;
     }
 
     // Check and add valid forward moves for the pawn
-    private void checkForwardMoves(ChessBoard board, ChessPosition myPosition, int newRow, Collection<ChessMove> moves, int direction) {
-        ChessPosition forwardOne = new ChessPositionImpl(newRow, myPosition.getCol());
+    private void checkForwardMoves(ChessBoard board, int square, int forwardOne, MoveList moves, int direction) {
+        long occupied = board.getOccupancy();
 
         // If the forward square is empty
-        if (board.getPiece(forwardOne) == null) {
-            addMoveWithPromotion(myPosition, forwardOne, moves);
+        if ((occupied & (1L << forwardOne)) == 0) {
+            addMoveWithPromotion(square, forwardOne, moves);
 
             // Check for double move from starting position
-            if (isNewPawnPosition(myPosition) && board.getPiece(new ChessPositionImpl(myPosition.getRow() + (2 * direction), myPosition.getCol())) == null) {
-                moves.add(new ChessMoveImpl(myPosition, new ChessPositionImpl(myPosition.getRow() + (2 * direction), myPosition.getCol()), null));
+            int forwardTwo = forwardOne + direction;
+            if (isNewPawnPosition(square) && (occupied & (1L << forwardTwo)) == 0) {
+                moves.add(Move.of(square, forwardTwo));
             }
         }
     }
 
     // Check if the pawn is on its initial row
-    private boolean isNewPawnPosition(ChessPosition position) {
-        return (teamColor == ChessGame.TeamColor.WHITE && position.getRow() == 2) || (teamColor == ChessGame.TeamColor.BLACK && position.getRow() == 7);
+    private boolean isNewPawnPosition(int square) {
+        return (teamColor == ChessGame.TeamColor.WHITE && Square.row(square) == 2) || (teamColor == ChessGame.TeamColor.BLACK && Square.row(square) == 7);
     }
 
-    // Check and add valid diagonal capture moves for the pawn
-    private void checkDiagonalCaptures(ChessBoard board, ChessPosition myPosition, int newRow, Collection<ChessMove> moves) {
-        for (int diagDirection : new int[]{-1, 1}) {
-            int newCol = myPosition.getCol() + diagDirection;
-
-            // Check if the new column is within valid bounds (1 to 8)
-            if (newCol < 1 || newCol > 8)
-                continue;
-
-            ChessPosition diagonal = new ChessPositionImpl(newRow, newCol);
+    // Check and add valid diagonal capture moves for the pawn, onto any opponent piece it attacks
+    private void checkDiagonalCaptures(ChessBoard board, int square, MoveList moves) {
+        ChessGame.TeamColor enemyColor = (teamColor == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        long captures = AttackTables.pawnAttacks(teamColor, square) & board.getOccupancy(enemyColor);
 
-            // If there's an opponent piece on the diagonal
-            ChessPiece pieceAtDiagonal = board.getPiece(diagonal);
-            if (pieceAtDiagonal != null && pieceAtDiagonal.teamColor() != teamColor)
-                addMoveWithPromotion(myPosition, diagonal, moves);
+        while (captures != 0) {
+            addMoveWithPromotion(square, Long.numberOfTrailingZeros(captures), moves);
+            captures &= captures - 1;
         }
     }
 
     // Check for pawn promotion and add valid moves accordingly
-    private void addMoveWithPromotion(ChessPosition start, ChessPosition end, Collection<ChessMove> moves) {
-        if (end.getRow() == 1 || end.getRow() == 8)
+    private void addMoveWithPromotion(int start, int end, MoveList moves) {
+        if (Square.row(end) == 1 || Square.row(end) == 8)
             // Add promotion moves for the pawn
-            for (PieceType type : new PieceType[]{PieceType.QUEEN, PieceType.BISHOP, PieceType.ROOK, PieceType.KNIGHT})
-                moves.add(new ChessMoveImpl(start, end, type));
-        else moves.add(new ChessMoveImpl(start, end, null));
+            for (PieceType type : PROMOTION_TYPES)
+                moves.add(Move.of(start, end, type));
+        else moves.add(Move.of(start, end));
     }
 }
\ No newline at end of file
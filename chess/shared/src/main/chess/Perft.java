@@ -0,0 +1,49 @@
+package chess;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth ("perft"), the standard way to check a move
+ * generator against known totals and to measure its speed.
+ * <p>
+ * Moves are made and taken back on the game itself, with one reusable move list per ply, so a run does not allocate
+ * after construction. A counter keeps that scratch state, so each thread should use its own instance.
+ */
+public class Perft {
+
+    // Move lists indexed by remaining depth, grown on demand
+    private MoveList[] lists = new MoveList[0];
+
+    /**
+     * Counts the positions reachable in exactly the given number of moves from the team to move.
+     *
+     * @param game  The game to count from. It is back in its starting position when this returns.
+     * @param depth Number of moves to look ahead.
+     * @return The number of leaf nodes.
+     */
+    public long count(ChessGameImpl game, int depth) {
+        if (depth == 0) return 1;
+        if (lists.length <= depth) {
+            MoveList[] grown = new MoveList[depth + 1];
+            System.arraycopy(lists, 0, grown, 0, lists.length);
+            for (int i = lists.length; i <= depth; i++) grown[i] = new MoveList();
+            lists = grown;
+        }
+        return countMoves(game, depth);
+    }
+
+    private long countMoves(ChessGameImpl game, int depth) {
+        MoveList moves = lists[depth];
+        moves.clear();
+        game.generateLegalMoves(game.getTeamTurn(), moves);
+
+        // Every legal move at the last ply is a leaf, so there is no need to make them
+        if (depth == 1) return moves.size();
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            game.makeMove(moves.get(i));
+            nodes += countMoves(game, depth - 1);
+            game.unmakeMove();
+        }
+        return nodes;
+    }
+}
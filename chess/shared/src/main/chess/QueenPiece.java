@@ -1,29 +1,9 @@
 package chess;
 
-import java.util.ArrayList;
-import java.util.Collection;
+public class QueenPiece extends ChessPieceImpl {
 
-public class QueenPiece implements ChessPiece {
-    private final ChessGame.TeamColor teamColor;
-    private boolean hasMoved = false;
-
-    public QueenPiece(ChessGame.TeamColor teamColor) {
-        this.teamColor = teamColor;
-    }
-
-    @Override
-    public ChessGame.TeamColor teamColor() {
-        return teamColor;
-    }
-
-    @Override
-    public boolean hasMoved() {
-        return hasMoved;
-    }
-
-    @Override
-    public void markAsMoved() {
-        hasMoved = true;
+    QueenPiece(ChessGame.TeamColor teamColor) {
+        super(teamColor);
     }
 
     @Override
@@ -32,38 +12,8 @@ public class QueenPiece implements ChessPiece {
     }
 
     @Override
-    public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
-        Collection<ChessMove> moves = new ArrayList<>();
-
-        // Directions: North, East, South, West, Northeast, Northwest, Southeast, Southwest
-        int[][] directions = {{1, 0}, {0, 1}, {-1, 0}, {0, -1}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
-
-        for (int[] direction : directions) {
-            int row = myPosition.getRow();
-            int col = myPosition.getCol();
-
-            while (true) {
-                row += direction[0];
-                col += direction[1];
-
-                if (row < 1 || row > 8 || col < 1 || col > 8)
-                    break; // Out of board bounds
-
-                ChessPosition newPosition = new ChessPositionImpl(row, col);
-                ChessPiece pieceAtNewPosition = board.getPiece(newPosition);
-
-                if (pieceAtNewPosition == null) {
-                    // Empty square, add as a possible move
-                    moves.add(new ChessMoveImpl(myPosition, newPosition, null));
-                } else if (pieceAtNewPosition.teamColor() != this.teamColor()) {
-                    // Opponent's piece, capture it and break
-                    moves.add(new ChessMoveImpl(myPosition, newPosition, null));
-                    break;
-                } else break; // Own piece, block the path
-
-            }
-        }
-
-        return moves;
+    public void generateMoves(ChessBoard board, int square, MoveList moves) {
+        // Straight and diagonal rays up to and including the first blocker, minus squares held by our own pieces
+        moves.addTargets(square, AttackTables.queenAttacks(square, board.getOccupancy()) & ~board.getOccupancy(teamColor));
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package chess;
+
+/**
+ * Reads moves in Standard Algebraic Notation, as used in PGN files, for example {@code e4}, {@code Nbd7},
+ * {@code exd5}, {@code e8=Q+} and {@code O-O}.
+ * <p>
+ * A SAN move only names the piece type, the end square and as much of the start square as is needed to tell
+ * candidates apart, so it is matched against the legal moves of the position.
+ */
+public final class San {
+
+    // Piece letters indexed by PieceType ordinal
+    private static final String PIECE_LETTERS = "KQBNRP";
+    private static final ChessPiece.PieceType[] PIECE_TYPES = ChessPiece.PieceType.values();
+
+    private San() {
+    }
+
+    /**
+     * @param game The game the move is played in.
+     * @param san  The move in SAN. Check marks and annotations such as {@code +}, {@code #}, {@code !} and
+     *             {@code ?} are ignored.
+     * @return The encoded move (see {@link Move}).
+     * @throws IllegalArgumentException if the text is not a legal move in the position, or could be more than one.
+     */
+    public static int parse(ChessGameImpl game, String san) {
+        int end = san.length();
+        while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) end--;
+        String text = san.substring(0, end);
+
+        MoveList moves = new MoveList();
+        game.generateLegalMoves(game.getTeamTurn(), moves);
+        ChessBoard board = game.getBoard();
+
+        if (text.equals("O-O") || text.equals("0-0") || text.equals("O-O-O") || text.equals("0-0-0")) {
+            int direction = (text.length() == 3) ? 2 : -2;
+            for (int i = 0; i < moves.size(); i++) {
+                int move = moves.get(i);
+                if (board.getPiece(Move.from(move)).getPieceType() == ChessPiece.PieceType.KING
+                        && Move.to(move) - Move.from(move) == direction)
+                    return move;
+            }
+            throw invalid(san, "castling is not legal");
+        }
+
+        // Promotion suffix, with or without the '='
+        ChessPiece.PieceType promotion = null;
+        int promotionIndex = text.isEmpty() ? -1 : PIECE_LETTERS.indexOf(text.charAt(text.length() - 1));
+        if (promotionIndex >= 0 && text.length() > 2) {
+            promotion = PIECE_TYPES[promotionIndex];
+            text = text.substring(0, text.length() - ((text.charAt(text.length() - 2) == '=') ? 2 : 1));
+        }
+
+        // Piece letter, then optional start file and row, optional 'x', then the end square
+        ChessPiece.PieceType type = ChessPiece.PieceType.PAWN;
+        int start = 0;
+        if (!text.isEmpty() && Character.isUpperCase(text.charAt(0))) {
+            int index = PIECE_LETTERS.indexOf(text.charAt(0));
+            if (index < 0) throw invalid(san, "unknown piece letter");
+            type = PIECE_TYPES[index];
+            start = 1;
+        }
+        if (text.length() - start < 2) throw invalid(san, "missing end square");
+        int to = square(san, text.charAt(text.length() - 2), text.charAt(text.length() - 1));
+
+        int fromCol = 0;
+        int fromRow = 0;
+        for (int i = start; i < text.length() - 2; i++) {
+            char c = text.charAt(i);
+            if (c >= 'a' && c <= 'h') fromCol = c - 'a' + 1;
+            else if (c >= '1' && c <= '8') fromRow = c - '0';
+            else if (c != 'x' && c != '-') throw invalid(san, "unexpected '" + c + "'");
+        }
+
+        int found = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int from = Move.from(move);
+            if (Move.to(move) != to || Move.promotion(move) != promotion
+                    || board.getPiece(from).getPieceType() != type
+                    || (fromCol != 0 && Square.col(from) != fromCol)
+                    || (fromRow != 0 && Square.row(from) != fromRow))
+                continue;
+            if (found != 0) throw invalid(san, "more than one piece can make the move");
+            found = move;
+        }
+        if (found == 0) throw invalid(san, "no legal move matches");
+        return found;
+    }
+
+    private static int square(String san, char file, char row) {
+        if (file < 'a' || file > 'h' || row < '1' || row > '8') throw invalid(san, "invalid end square");
+        return Square.of(row - '0', file - 'a' + 1);
+    }
+
+    private static IllegalArgumentException invalid(String san, String reason) {
+        return new IllegalArgumentException("Invalid move \"" + san + "\": " + reason + ".");
+    }
+}
@@ -0,0 +1,54 @@
+package chess;
+
+/**
+ * Helpers for addressing board squares by a single int index.
+ * <p>
+ * Square {@code (row, col)} maps to index {@code (row - 1) * 8 + (col - 1)}, so a1 is 0 and h8 is 63. This is the same
+ * layout {@link BitboardChessBoard} uses for its bits.
+ */
+public final class Square {
+
+    private Square() {
+    }
+
+    /**
+     * @param row Row from 1 to 8.
+     * @param col Column from 1 to 8.
+     * @return The square index of the given row and column.
+     */
+    public static int of(int row, int col) {
+        return (row - 1) * 8 + (col - 1);
+    }
+
+    /**
+     * @param position The position to convert.
+     * @return The square index of the position.
+     */
+    public static int of(ChessPosition position) {
+        return of(position.getRow(), position.getCol());
+    }
+
+    /**
+     * @param square Square index from 0 to 63.
+     * @return Row of the square, from 1 to 8.
+     */
+    public static int row(int square) {
+        return (square >>> 3) + 1;
+    }
+
+    /**
+     * @param square Square index from 0 to 63.
+     * @return Column of the square, from 1 to 8.
+     */
+    public static int col(int square) {
+        return (square & 7) + 1;
+    }
+
+    /**
+     * @param square Square index from 0 to 63.
+     * @return The shared position object for the square.
+     */
+    public static ChessPosition position(int square) {
+        return ChessPositionImpl.at(square);
+    }
+}
@@ -0,0 +1,98 @@
+package chess;
+
+import java.util.Random;
+
+/**
+ * Random keys for Zobrist hashing, generated once with a fixed seed so position keys are stable between runs.
+ * <p>
+ * A position key is the XOR of one key per piece on its square, plus keys for black to move, the castling rights and
+ * the En Passant file. Because XOR undoes itself, boards keep the key up to date by XORing a piece's key in when it
+ * is added and out again when it is removed, and by swapping the old state key for the new one when state changes.
+ */
+public final class Zobrist {
+
+    // Indexed by (TeamColor ordinal * 6 + PieceType ordinal) * 64 + square
+    private static final long[] PIECE_KEYS = new long[12 * 64];
+
+    // Indexed by castling rights bits, see ChessBoard.getCastlingRights()
+    private static final long[] CASTLING_KEYS = new long[16];
+
+    // Indexed by column - 1 of the square a pawn may be captured En Passant on
+    private static final long[] EN_PASSANT_KEYS = new long[8];
+
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        Random random = new Random(0x2B15_7C0DEL);
+        for (int i = 0; i < PIECE_KEYS.length; i++)
+            PIECE_KEYS[i] = random.nextLong();
+        // No rights hashes to zero so a bare board keeps just its piece keys
+        for (int i = 1; i < CASTLING_KEYS.length; i++)
+            CASTLING_KEYS[i] = random.nextLong();
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++)
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param piece  The piece.
+     * @param square Square index of the piece.
+     * @return The key to XOR in or out when the piece is added to or removed from the square.
+     */
+    public static long pieceKey(ChessPiece piece, int square) {
+        return PIECE_KEYS[(piece.teamColor().ordinal() * 6 + piece.getPieceType().ordinal()) * 64 + square];
+    }
+
+    /**
+     * Hashes every piece on a board from scratch, for boards that don't keep the key incrementally.
+     *
+     * @param board The board to hash.
+     * @return XOR of the piece keys of every piece on the board.
+     */
+    public static long placementKey(ChessBoard board) {
+        long key = 0L;
+        for (long pieces = board.getOccupancy(); pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            key ^= pieceKey(board.getPiece(square), square);
+        }
+        return key;
+    }
+
+    /**
+     * @param castlingRights Castling rights bits (see {@link ChessBoard#getCastlingRights()}).
+     * @return The key for the castling rights.
+     */
+    public static long castlingKey(int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    /**
+     * @param enPassantSquare The square a pawn may capture En Passant onto, or -1.
+     * @return The key for the En Passant file, or zero if there is no En Passant capture.
+     */
+    public static long enPassantKey(int enPassantSquare) {
+        return (enPassantSquare < 0) ? 0L : EN_PASSANT_KEYS[Square.col(enPassantSquare) - 1];
+    }
+
+    /**
+     * @param sideToMove The team to move.
+     * @return The key for the side to move, which is zero for white.
+     */
+    public static long sideKey(ChessGame.TeamColor sideToMove) {
+        return (sideToMove == ChessGame.TeamColor.BLACK) ? BLACK_TO_MOVE_KEY : 0L;
+    }
+
+    /**
+     * Hashes the parts of a position that aren't piece placement: the side to move, castling rights and En Passant
+     * file.
+     *
+     * @param board The board to hash.
+     * @return The key for the board's side to move, castling rights and En Passant file.
+     */
+    public static long stateKey(ChessBoard board) {
+        return sideKey(board.getSideToMove()) ^ castlingKey(board.getCastlingRights()) ^ enPassantKey(board.getEnPassantSquare());
+    }
+}
@@ -0,0 +1,35 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGameImpl;
+
+/**
+ * Scores a position statically, without searching ahead.
+ * <p>
+ * Evaluators that keep running totals are attached to the board for the length of a search, so they can follow its
+ * pieces as moves are made and taken back. Evaluators that look at the whole board each time can ignore that.
+ */
+public interface Evaluator {
+
+    /**
+     * @param game The game to score.
+     * @return Score in centipawns from the point of view of the team to move, positive when it is ahead.
+     */
+    int evaluate(ChessGameImpl game);
+
+    /**
+     * Starts following a board's pieces, before a search of it.
+     *
+     * @param board The board about to be searched.
+     */
+    default void attach(ChessBoard board) {
+    }
+
+    /**
+     * Stops following a board, after a search of it.
+     *
+     * @param board The board that was searched.
+     */
+    default void detach(ChessBoard board) {
+    }
+}
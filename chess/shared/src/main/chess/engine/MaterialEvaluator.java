@@ -0,0 +1,29 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessGameImpl;
+import chess.ChessPiece;
+
+/**
+ * Scores a position by counting material from the piece bitboards.
+ */
+public class MaterialEvaluator implements Evaluator {
+
+    // Centipawn values indexed by PieceType ordinal: king, queen, bishop, knight, rook, pawn
+    static final int[] PIECE_VALUES = {0, 900, 330, 320, 500, 100};
+
+    private static final ChessPiece.PieceType[] PIECE_TYPES = ChessPiece.PieceType.values();
+
+    @Override
+    public int evaluate(ChessGameImpl game) {
+        ChessBoard board = game.getBoard();
+        int score = 0;
+        for (ChessPiece.PieceType type : PIECE_TYPES) {
+            int count = Long.bitCount(board.getPieces(ChessGame.TeamColor.WHITE, type))
+                    - Long.bitCount(board.getPieces(ChessGame.TeamColor.BLACK, type));
+            score += count * PIECE_VALUES[type.ordinal()];
+        }
+        return (game.getTeamTurn() == ChessGame.TeamColor.WHITE) ? score : -score;
+    }
+}
@@ -0,0 +1,146 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.Move;
+import chess.MoveList;
+
+import java.util.Arrays;
+
+/**
+ * Sorts moves so the ones most likely to cause a cutoff are searched first: the move stored in the transposition
+ * table, then captures by most valuable victim and least valuable attacker (MVV-LVA), then queen promotions, then
+ * the two killer moves of the ply, then quiet moves by their history score, and last captures that lose material
+ * according to {@link StaticExchange}.
+ * <p>
+ * Moves are picked one at a time with a selection step rather than sorted up front, since a cutoff usually comes
+ * within the first few moves and the rest never need ordering.
+ */
+final class MoveOrderer {
+
+    private static final int HASH_MOVE = 1 << 30;
+    private static final int CAPTURE = 1 << 26;
+    private static final int PROMOTION = 1 << 25;
+    private static final int FIRST_KILLER = 1 << 24;
+    private static final int SECOND_KILLER = FIRST_KILLER - 1;
+    private static final int HISTORY_LIMIT = 1 << 20;
+    private static final int LOSING_CAPTURE = -(1 << 26);
+
+    // Piece ranks for MVV-LVA indexed by PieceType ordinal: king, queen, bishop, knight, rook, pawn
+    private static final int[] RANKS = {6, 5, 3, 3, 4, 1};
+
+    private final int[][] scores = new int[Search.MAX_PLY][];
+    private final int[][] killers = new int[Search.MAX_PLY][2];
+
+    // Indexed by TeamColor ordinal * 4096 + from * 64 + to
+    private final int[] history = new int[2 * 64 * 64];
+
+    MoveOrderer() {
+        for (int i = 0; i < scores.length; i++) scores[i] = new int[256];
+    }
+
+    /**
+     * Scores every move in the list for the given ply.
+     *
+     * @param board    The board the moves are for.
+     * @param moves    Legal moves of the team to move.
+     * @param hashMove Move from the transposition table, or zero.
+     * @param ply      Distance from the root.
+     */
+    void score(ChessBoard board, MoveList moves, int hashMove, int ply) {
+        if (scores[ply].length < moves.size()) scores[ply] = new int[moves.size()];
+        int[] plyScores = scores[ply];
+        int colorOffset = board.getSideToMove().ordinal() * 4096;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int score;
+            if (move == hashMove) {
+                score = HASH_MOVE;
+            } else if (isCapture(board, move)) {
+                ChessPiece victim = board.getPiece(Move.to(move));
+                int victimRank = (victim == null) ? RANKS[ChessPiece.PieceType.PAWN.ordinal()] : RANKS[victim.getPieceType().ordinal()];
+                score = victimRank * 8 - RANKS[board.getPiece(Move.from(move)).getPieceType().ordinal()];
+                score += StaticExchange.isAtLeast(board, move, 0) ? CAPTURE : LOSING_CAPTURE;
+                if (Move.promotion(move) == ChessPiece.PieceType.QUEEN) score += 64;
+            } else if (Move.promotion(move) == ChessPiece.PieceType.QUEEN) {
+                score = PROMOTION;
+            } else if (move == killers[ply][0]) {
+                score = FIRST_KILLER;
+            } else if (move == killers[ply][1]) {
+                score = SECOND_KILLER;
+            } else if (Move.promotion(move) != null) {
+                // Under-promotions are almost never best
+                score = -1;
+            } else {
+                score = history[colorOffset + (move & 0xFFF)];
+            }
+            plyScores[i] = score;
+        }
+    }
+
+    /**
+     * Moves the best scoring of the remaining moves to the given index.
+     *
+     * @param moves The moves scored for this ply.
+     * @param index Index of the next move to search. Moves before it have already been picked.
+     * @param ply   Distance from the root.
+     * @return The move now at the index.
+     */
+    int pick(MoveList moves, int index, int ply) {
+        int[] plyScores = scores[ply];
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++)
+            if (plyScores[i] > plyScores[best]) best = i;
+        if (best != index) {
+            int move = moves.get(best);
+            moves.set(best, moves.get(index));
+            moves.set(index, move);
+            int score = plyScores[best];
+            plyScores[best] = plyScores[index];
+            plyScores[index] = score;
+        }
+        return moves.get(index);
+    }
+
+    /**
+     * Remembers a quiet move that caused a cutoff, both as a killer for its ply and in the history table.
+     *
+     * @param color Team that made the move.
+     * @param move  The move.
+     * @param ply   Distance from the root.
+     * @param depth Remaining depth of the search that cut off, so deeper cutoffs count for more.
+     */
+    void recordCutoff(ChessGame.TeamColor color, int move, int ply, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int index = color.ordinal() * 4096 + (move & 0xFFF);
+        history[index] += depth * depth;
+
+        // Halve everything rather than let one entry outgrow the killer scores
+        if (history[index] > HISTORY_LIMIT)
+            for (int i = 0; i < history.length; i++) history[i] >>= 1;
+    }
+
+    /**
+     * Forgets killers and history, for a new game.
+     */
+    void clear() {
+        for (int[] plyKillers : killers) Arrays.fill(plyKillers, 0);
+        Arrays.fill(history, 0);
+    }
+
+    /**
+     * @param board The board the move is for.
+     * @param move  A legal move.
+     * @return True if the move captures a piece, including En Passant.
+     */
+    static boolean isCapture(ChessBoard board, int move) {
+        int to = Move.to(move);
+        if (board.getPiece(to) != null) return true;
+        return to == board.getEnPassantSquare()
+                && board.getPiece(Move.from(move)).getPieceType() == ChessPiece.PieceType.PAWN;
+    }
+}
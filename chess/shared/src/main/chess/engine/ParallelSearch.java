@@ -0,0 +1,193 @@
+package chess.engine;
+
+import chess.ChessGameImpl;
+import chess.EndgameTablebase;
+import chess.MoveList;
+import chess.engine.book.OpeningBook;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Searches one position on several threads at once ("Lazy SMP"). Every thread runs an ordinary {@link Search} of
+ * the same root on its own copy of the game, and they cooperate only through the shared {@link TranspositionTable}:
+ * whatever one thread stores, the others find and skip.
+ * <p>
+ * Helper threads skip some iterations (see {@link Search}), so at any moment they are spread over the main thread's
+ * depth and the next few rather than repeating its work. The calling thread runs the main search, which alone obeys
+ * the depth, time and node limits. When it finishes the helpers are stopped, and the result of whichever thread
+ * completed the deepest iteration is returned, with the nodes of every thread added up.
+ * <p>
+ * With an {@link OpeningBook} set, positions still in the book are answered from it at once, without searching.
+ * <p>
+ * Searchers and their threads are kept between searches. A ParallelSearch runs one search at a time; {@link #stop()}
+ * may be called from any thread.
+ */
+public class ParallelSearch implements AutoCloseable {
+
+    private final TranspositionTable table;
+    private final Supplier<Evaluator> evaluators;
+    private final List<Search> searchers = new ArrayList<>();
+    private final List<Future<SearchResult>> helpers = new ArrayList<>();
+    private final ExecutorService workers = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "search-helper");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final MoveList bookMoves = new MoveList();
+    private volatile OpeningBook book;
+    private volatile EndgameTablebase tablebase;
+    private volatile Consumer<SearchResult> iterationListener;
+
+    /**
+     * @param table      Transposition table shared by all threads.
+     * @param evaluators Creates one evaluator per thread, so evaluators may keep state.
+     */
+    public ParallelSearch(TranspositionTable table, Supplier<Evaluator> evaluators) {
+        this.table = table;
+        this.evaluators = evaluators;
+    }
+
+    /**
+     * Searches for the best move of the team to move.
+     *
+     * @param game    The game to search. It is back in its starting position when this returns. Helper threads
+     *                search copies of it.
+     * @param limits  When to stop.
+     * @param threads Number of threads to search with, including the calling thread.
+     * @return The result of the thread that completed the deepest iteration, with nodes and time for the whole
+     * search, or a book move at depth zero if the position is in the opening book.
+     * @throws IllegalArgumentException if the thread count is less than one.
+     */
+    public SearchResult search(ChessGameImpl game, SearchLimits limits, int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("A search needs at least one thread.");
+        long start = System.nanoTime();
+        int bookMove = probeBook(game);
+        if (bookMove != 0)
+            return new SearchResult(bookMove, 0, 0, 0, (System.nanoTime() - start) / 1_000_000, new int[]{bookMove});
+        synchronized (searchers) {
+            while (searchers.size() < threads) {
+                Search searcher = new Search(table, evaluators.get(), searchers.size());
+                searcher.setTablebase(tablebase);
+                searchers.add(searcher);
+            }
+            for (int i = 0; i < threads; i++) searchers.get(i).resume();
+        }
+        table.newSearch();
+
+        helpers.clear();
+        for (int i = 1; i < threads; i++) {
+            Search helper = searchers.get(i);
+            ChessGameImpl copy = game.copy();
+            helpers.add(workers.submit(() -> helper.run(copy, SearchLimits.infinite())));
+        }
+
+        Search main = searchers.get(0);
+        Consumer<SearchResult> listener = iterationListener;
+        main.setIterationListener((listener == null) ? null : result -> {
+            // Report the work of every thread, not just the main one
+            long nodes = result.nodes();
+            for (int i = 1; i < threads; i++) nodes += searchers.get(i).reportedNodes();
+            listener.accept(new SearchResult(result.bestMove(), result.score(), result.depth(), nodes,
+                    (System.nanoTime() - start) / 1_000_000, result.pv()));
+        });
+        SearchResult best = main.run(game, limits);
+        long nodes = best.nodes();
+        for (int i = 1; i < threads; i++) searchers.get(i).stop();
+        for (Future<SearchResult> helper : helpers) {
+            SearchResult result = waitFor(helper);
+            nodes += result.nodes();
+            if (result.depth() > best.depth() && result.bestMove() != 0) best = result;
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new SearchResult(best.bestMove(), best.score(), best.depth(), nodes, millis, best.pv());
+    }
+
+    /**
+     * @param book Book to play the opening from, or null to always search.
+     */
+    public void setOpeningBook(OpeningBook book) {
+        this.book = book;
+    }
+
+    /**
+     * @param listener Told the result of each iteration the main thread completes, with the nodes of every thread and
+     *                 the time since the search started, or null.
+     */
+    public void setIterationListener(Consumer<SearchResult> listener) {
+        this.iterationListener = listener;
+    }
+
+    /**
+     * @param tablebase Tablebase for every thread to score endings from, or null for none.
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        synchronized (searchers) {
+            this.tablebase = tablebase;
+            for (Search searcher : searchers) searcher.setTablebase(tablebase);
+        }
+    }
+
+    /**
+     * Picks a book move for the position, at random by weight. Moves are checked against the legal moves, since two
+     * positions can share a key.
+     *
+     * @return The book move, or zero if there is no book or the position isn't in it.
+     */
+    private int probeBook(ChessGameImpl game) {
+        OpeningBook book = this.book;
+        if (book == null) return 0;
+        int move = book.pickMove(game.getBoard().positionKey(), ThreadLocalRandom.current());
+        if (move == 0) return 0;
+        bookMoves.clear();
+        game.generateLegalMoves(game.getTeamTurn(), bookMoves);
+        return bookMoves.contains(move) ? move : 0;
+    }
+
+    /**
+     * Stops a running search on every thread. The search returns the best move found so far.
+     */
+    public void stop() {
+        synchronized (searchers) {
+            for (Search searcher : searchers) searcher.stop();
+        }
+    }
+
+    /**
+     * Forgets killers and history from earlier searches, for a new game.
+     */
+    public void clear() {
+        synchronized (searchers) {
+            for (Search searcher : searchers) searcher.clear();
+        }
+    }
+
+    /**
+     * Shuts down the helper threads.
+     */
+    @Override
+    public void close() {
+        stop();
+        workers.shutdown();
+    }
+
+    private static SearchResult waitFor(Future<SearchResult> helper) {
+        try {
+            return helper.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a search thread.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A search thread failed.", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+
+/**
+ * Scores doubled, isolated and passed pawns, and caches the scores by pawn placement. Pawns move rarely compared
+ * with other pieces, so most positions in a search find their pawn scores in the cache.
+ * <p>
+ * The cache is a small direct-mapped table owned by one evaluator, so it needs no synchronization.
+ */
+final class PawnStructure {
+
+    private static final int DOUBLED_MIDDLEGAME = -10;
+    private static final int DOUBLED_ENDGAME = -20;
+    private static final int ISOLATED_MIDDLEGAME = -10;
+    private static final int ISOLATED_ENDGAME = -15;
+
+    // Passed pawn bonuses indexed by how many rows the pawn has advanced from its starting row
+    private static final int[] PASSED_MIDDLEGAME = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PASSED_ENDGAME = {0, 10, 20, 35, 60, 90, 130, 0};
+
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+
+    // Squares that enemy pawns must not occupy for a pawn to be passed, indexed by TeamColor ordinal, then square
+    private static final long[][] PASSED_MASKS = new long[2][64];
+
+    static {
+        for (int file = 0; file < 8; file++)
+            FILES[file] = 0x0101010101010101L << file;
+        for (int file = 0; file < 8; file++)
+            ADJACENT_FILES[file] = ((file > 0) ? FILES[file - 1] : 0L) | ((file < 7) ? FILES[file + 1] : 0L);
+        for (int square = 0; square < 64; square++) {
+            long span = FILES[square & 7] | ADJACENT_FILES[square & 7];
+            int row = square >>> 3;
+            long above = (row == 7) ? 0L : -1L << ((row + 1) * 8);
+            long below = (1L << (row * 8)) - 1;
+            PASSED_MASKS[ChessGame.TeamColor.WHITE.ordinal()][square] = span & above;
+            PASSED_MASKS[ChessGame.TeamColor.BLACK.ordinal()][square] = span & below;
+        }
+    }
+
+    private final long[] keys;
+    private final int[] middlegame;
+    private final int[] endgame;
+    private final int mask;
+
+    /**
+     * @param entries Cache size, rounded down to a power of two.
+     */
+    PawnStructure(int entries) {
+        int size = Integer.highestOneBit(Math.max(1, entries));
+        keys = new long[size];
+        middlegame = new int[size];
+        endgame = new int[size];
+        mask = size - 1;
+        // A pawnless board has key zero and scores zero, so empty slots are already correct for it
+    }
+
+    /**
+     * Looks up the pawn scores for a board, working them out on a miss.
+     *
+     * @param board   The board.
+     * @param pawnKey XOR of the Zobrist keys of the board's pawns.
+     * @return Index of the cache slot holding the scores, for {@link #middlegame(int)} and {@link #endgame(int)}.
+     */
+    int probe(ChessBoard board, long pawnKey) {
+        int index = (int) pawnKey & mask;
+        if (keys[index] != pawnKey) {
+            long white = board.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
+            long black = board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN);
+            middlegame[index] = 0;
+            endgame[index] = 0;
+            score(index, white, black, ChessGame.TeamColor.WHITE, 1);
+            score(index, black, white, ChessGame.TeamColor.BLACK, -1);
+            keys[index] = pawnKey;
+        }
+        return index;
+    }
+
+    int middlegame(int index) {
+        return middlegame[index];
+    }
+
+    int endgame(int index) {
+        return endgame[index];
+    }
+
+    /**
+     * Adds one team's pawn terms to a slot, negated for black.
+     */
+    private void score(int index, long ours, long theirs, ChessGame.TeamColor color, int sign) {
+        int mg = 0;
+        int eg = 0;
+        for (int file = 0; file < 8; file++) {
+            int count = Long.bitCount(ours & FILES[file]);
+            if (count > 1) {
+                mg += (count - 1) * DOUBLED_MIDDLEGAME;
+                eg += (count - 1) * DOUBLED_ENDGAME;
+            }
+            if (count > 0 && (ours & ADJACENT_FILES[file]) == 0) {
+                mg += count * ISOLATED_MIDDLEGAME;
+                eg += count * ISOLATED_ENDGAME;
+            }
+        }
+        for (long pawns = ours; pawns != 0; pawns &= pawns - 1) {
+            int square = Long.numberOfTrailingZeros(pawns);
+            if ((PASSED_MASKS[color.ordinal()][square] & theirs) == 0) {
+                int advanced = (color == ChessGame.TeamColor.WHITE) ? (square >>> 3) - 1 : 6 - (square >>> 3);
+                advanced = Math.max(0, Math.min(advanced, 7));
+                mg += PASSED_MIDDLEGAME[advanced];
+                eg += PASSED_ENDGAME[advanced];
+            }
+        }
+        middlegame[index] += sign * mg;
+        endgame[index] += sign * eg;
+    }
+}
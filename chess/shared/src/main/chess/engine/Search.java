@@ -0,0 +1,400 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessGameImpl;
+import chess.ChessPiece;
+import chess.EndgameTablebase;
+import chess.Move;
+import chess.MoveList;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Finds the best move in a position with a negamax alpha-beta search, deepened one ply at a time until a limit in
+ * {@link SearchLimits} is reached or {@link #stop()} is called.
+ * <p>
+ * Each iteration starts with the best moves of the one before, taken from the transposition table, so deepening
+ * costs little more than searching the last depth directly and a move is always ready when the search is cut short.
+ * Moves after the first at each node are searched with a null window, and only searched again with the full window
+ * if they turn out better (principal variation search). At the end of the main search a quiescence search plays out
+ * captures and promotions, so positions are only evaluated once they are quiet. Positions an
+ * {@link EndgameTablebase} covers are scored exactly from it instead of being searched.
+ * <p>
+ * Moves are made and taken back on the game itself, and the scratch move lists, killers and history live in the
+ * searcher, so each thread needs its own Search and its own game. Only the transposition table can be shared.
+ */
+public class Search {
+
+    /** Deepest iteration a search can be asked for. */
+    public static final int MAX_DEPTH = 64;
+
+    /** Furthest from the root the search can reach, with check extensions. */
+    public static final int MAX_PLY = 128;
+
+    /** Score of checkmating on the move. Mate in n plies scores {@code MATE - n}. */
+    public static final int MATE = 30_000;
+
+    static final int INFINITY = 32_000;
+
+    // How many nodes to search between checks of the clock and node limit
+    private static final int CHECK_INTERVAL = 1024;
+
+    // Which iterations each helper thread skips in a parallel search, indexed by (helper index - 1) % 20. A helper
+    // skips a depth when (depth + phase) / size is odd, so helpers spread over the next few depths instead of all
+    // searching the same one
+    private static final int[] SKIP_SIZE = {1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4};
+    private static final int[] SKIP_PHASE = {0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7};
+
+    private final TranspositionTable table;
+    private final Evaluator evaluator;
+    private final int helperIndex;
+    private final MoveOrderer orderer = new MoveOrderer();
+    private final MoveList[] moveLists = new MoveList[MAX_PLY];
+
+    // Triangular principal variation table: pv[ply] holds the best line found from that ply
+    private final int[][] pv = new int[MAX_PLY][MAX_PLY];
+    private final int[] pvLength = new int[MAX_PLY];
+
+    private volatile boolean stopped;
+    private volatile EndgameTablebase tablebase;
+    private volatile Consumer<SearchResult> iterationListener;
+
+    // Nodes searched so far, brought up to date at every check of the limits so other threads can read it
+    private volatile long reportedNodes;
+
+    private ChessGameImpl game;
+    private ChessBoard board;
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+
+    // Best root move of the iteration in progress, for when the iteration is cut short
+    private int iterationBestMove;
+    private int iterationBestScore;
+
+    /**
+     * @param table     Transposition table to use. It may be shared with other searchers.
+     * @param evaluator Scores positions at the end of the search.
+     */
+    public Search(TranspositionTable table, Evaluator evaluator) {
+        this(table, evaluator, 0);
+    }
+
+    /**
+     * @param helperIndex Zero for a searcher working alone or the main thread of a parallel search, otherwise the
+     *                    helper thread's number, which decides which depths it skips.
+     */
+    Search(TranspositionTable table, Evaluator evaluator, int helperIndex) {
+        this.table = table;
+        this.evaluator = evaluator;
+        this.helperIndex = helperIndex;
+        for (int i = 0; i < MAX_PLY; i++) moveLists[i] = new MoveList();
+    }
+
+    /**
+     * Searches for the best move of the team to move.
+     *
+     * @param game   The game to search. It is back in its starting position when this returns, and must not be used
+     *               by anything else until then.
+     * @param limits When to stop.
+     * @return The best move from the deepest iteration, including a partly searched one if the move it found beat
+     * the previous iteration's.
+     */
+    public SearchResult search(ChessGameImpl game, SearchLimits limits) {
+        stopped = false;
+        table.newSearch();
+        return run(game, limits);
+    }
+
+    /**
+     * Searches without clearing an earlier {@link #stop()}, so a parallel search can stop a helper that hasn't
+     * started yet.
+     */
+    SearchResult run(ChessGameImpl game, SearchLimits limits) {
+        long start = System.nanoTime();
+        this.game = game;
+        this.board = game.getBoard();
+        nodes = 0;
+        reportedNodes = 0;
+        nodeLimit = limits.nodes();
+        deadline = (limits.timeMillis() > 0) ? start + limits.timeMillis() * 1_000_000 : 0;
+
+        evaluator.attach(board);
+        try {
+            return iterate(limits, start);
+        } finally {
+            evaluator.detach(board);
+        }
+    }
+
+    private SearchResult iterate(SearchLimits limits, long start) {
+        // Until an iteration finishes, fall back on any legal move
+        MoveList rootMoves = moveLists[0];
+        rootMoves.clear();
+        game.generateLegalMoves(game.getTeamTurn(), rootMoves);
+        if (rootMoves.isEmpty()) {
+            int score = game.isInCheck(game.getTeamTurn()) ? -MATE : 0;
+            return new SearchResult(0, score, 0, 0, elapsedMillis(start), new int[0]);
+        }
+        int bestMove = rootMoves.get(0);
+        int bestScore = 0;
+        int completedDepth = 0;
+        int[] bestLine = {bestMove};
+
+        for (int depth = 1; depth <= limits.depth(); depth++) {
+            if (helperIndex > 0 && depth > 1 && skipsDepth(depth)) continue;
+            iterationBestMove = 0;
+            int score = negamax(depth, 0, -INFINITY, INFINITY);
+            if (stopped) {
+                // The previous best move is searched first, so a different move here beat it at the new depth
+                if (iterationBestMove != 0 && iterationBestMove != bestMove) {
+                    bestMove = iterationBestMove;
+                    bestScore = iterationBestScore;
+                    bestLine = new int[]{bestMove};
+                }
+                break;
+            }
+            bestMove = pv[0][0];
+            bestScore = score;
+            completedDepth = depth;
+            bestLine = Arrays.copyOf(pv[0], pvLength[0]);
+            Consumer<SearchResult> listener = iterationListener;
+            if (listener != null)
+                listener.accept(new SearchResult(bestMove, bestScore, depth, nodes, elapsedMillis(start), bestLine));
+
+            // No point searching deeper once a forced mate is found
+            if (Math.abs(score) >= MATE - depth) break;
+        }
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, elapsedMillis(start), bestLine);
+    }
+
+    /**
+     * Stops a running search as soon as possible. It returns the best move found so far. Safe to call from any thread.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Clears a stop request, ready for the next search started with {@link #run}.
+     */
+    void resume() {
+        stopped = false;
+    }
+
+    /**
+     * @param tablebase Tablebase to score endings from, or null for none.
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * @param listener Told the result of each iteration as it completes, on the searching thread, or null.
+     */
+    public void setIterationListener(Consumer<SearchResult> listener) {
+        this.iterationListener = listener;
+    }
+
+    /**
+     * @return Nodes searched so far by a running search, up to a thousand or so behind. Safe to call from any thread.
+     */
+    long reportedNodes() {
+        return reportedNodes;
+    }
+
+    /**
+     * Forgets killers and history from earlier searches, for a new game. The transposition table is left alone.
+     */
+    public void clear() {
+        orderer.clear();
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if (ply > 0) {
+            if (game.isRepetition() || game.isDrawByFiftyMoveRule()) return 0;
+            if (ply >= MAX_PLY - 1) return evaluator.evaluate(game);
+
+            // No line from here can beat a mate already found closer to the root
+            alpha = Math.max(alpha, -MATE + ply);
+            beta = Math.min(beta, MATE - ply - 1);
+            if (alpha >= beta) return alpha;
+
+            EndgameTablebase tablebase = this.tablebase;
+            if (tablebase != null && Long.bitCount(board.getOccupancy()) <= tablebase.maxPieces()) {
+                int result = tablebase.probe(board);
+                if (result != EndgameTablebase.UNKNOWN) return tablebaseScore(result, ply);
+            }
+        }
+
+        ChessGame.TeamColor team = game.getTeamTurn();
+        boolean inCheck = game.isInCheck(team);
+        if (inCheck) depth++;
+        if (depth <= 0) return quiesce(ply, alpha, beta);
+
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) checkLimits();
+        if (stopped) return 0;
+
+        long key = board.positionKey();
+        long entry = table.probe(key);
+        int hashMove = TranspositionTable.move(entry);
+        if (entry != 0 && ply > 0 && TranspositionTable.depth(entry) >= depth) {
+            int score = fromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                    || (bound == TranspositionTable.UPPER_BOUND && score <= alpha))
+                return score;
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        game.generateLegalMoves(team, moves);
+        if (moves.isEmpty()) return inCheck ? -MATE + ply : 0;
+        orderer.score(board, moves, hashMove, ply);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = orderer.pick(moves, i, ply);
+            boolean quiet = !MoveOrderer.isCapture(board, move) && Move.promotion(move) == null;
+
+            game.makeMove(move);
+            int score;
+            if (i == 0) {
+                score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            } else {
+                score = -negamax(depth - 1, ply + 1, -alpha - 1, -alpha);
+                if (score > alpha && score < beta)
+                    score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            }
+            game.unmakeMove();
+            if (stopped) return 0;
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (ply == 0) {
+                        iterationBestMove = move;
+                        iterationBestScore = score;
+                    }
+                    if (alpha >= beta) {
+                        if (quiet) orderer.recordCutoff(team, move, ply, depth);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = (bestScore >= beta) ? TranspositionTable.LOWER_BOUND
+                : (bestScore > originalAlpha) ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+        table.store(key, bestMove, toTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    /**
+     * Searches captures and promotions until the position is quiet, so the evaluation is never taken in the middle of
+     * an exchange. The team to move may "stand pat" on the static evaluation instead of capturing, except in check,
+     * where every evasion is searched. Captures that lose material by static exchange evaluation are skipped.
+     */
+    private int quiesce(int ply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) checkLimits();
+        if (stopped) return 0;
+        if (ply >= MAX_PLY - 1) return evaluator.evaluate(game);
+
+        ChessGame.TeamColor team = game.getTeamTurn();
+        boolean inCheck = game.isInCheck(team);
+        int bestScore = -INFINITY;
+        if (!inCheck) {
+            bestScore = evaluator.evaluate(game);
+            if (bestScore >= beta) return bestScore;
+            alpha = Math.max(alpha, bestScore);
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        game.generateLegalMoves(team, moves);
+        if (moves.isEmpty()) return inCheck ? -MATE + ply : 0;
+        orderer.score(board, moves, 0, ply);
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = orderer.pick(moves, i, ply);
+            if (!inCheck) {
+                ChessPiece.PieceType promotion = Move.promotion(move);
+                boolean capture = MoveOrderer.isCapture(board, move);
+                if (!capture && promotion != ChessPiece.PieceType.QUEEN) continue;
+                if (capture && !StaticExchange.isAtLeast(board, move, 0)) continue;
+            }
+
+            game.makeMove(move);
+            int score = -quiesce(ply + 1, -beta, -alpha);
+            game.unmakeMove();
+            if (stopped) return 0;
+
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * Turns a tablebase result into a score: mates at their distance from the root, and draws as zero.
+     */
+    private static int tablebaseScore(int result, int ply) {
+        if (EndgameTablebase.isWin(result)) return MATE - ply - EndgameTablebase.distance(result);
+        if (EndgameTablebase.isLoss(result)) return -MATE + ply + EndgameTablebase.distance(result);
+        return 0;
+    }
+
+    private boolean skipsDepth(int depth) {
+        int index = (helperIndex - 1) % SKIP_SIZE.length;
+        return ((depth + SKIP_PHASE[index]) / SKIP_SIZE[index]) % 2 != 0;
+    }
+
+    private void updatePv(int ply, int move) {
+        pv[ply][ply] = move;
+        int length = pvLength[ply + 1];
+        System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, length - ply - 1);
+        pvLength[ply] = Math.max(length, ply + 1);
+    }
+
+    private void checkLimits() {
+        reportedNodes = nodes;
+        if ((nodeLimit > 0 && nodes >= nodeLimit) || (deadline > 0 && System.nanoTime() >= deadline))
+            stopped = true;
+    }
+
+    /**
+     * Mate scores are stored relative to the node rather than the root, so they stay right when the position is
+     * reached at another ply.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score + ply;
+        if (score <= -MATE + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score - ply;
+        if (score <= -MATE + MAX_PLY) return score + ply;
+        return score;
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
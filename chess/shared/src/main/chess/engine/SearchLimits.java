@@ -0,0 +1,49 @@
+package chess.engine;
+
+/**
+ * When a search should stop. A search ends at whichever limit it reaches first; zero means no limit on time or nodes.
+ *
+ * @param depth      Deepest iteration to search, in plies.
+ * @param timeMillis Time to search for, in milliseconds, or zero for no time limit.
+ * @param nodes      Nodes to search, or zero for no node limit.
+ */
+public record SearchLimits(int depth, long timeMillis, long nodes) {
+
+    public SearchLimits {
+        if (depth < 1 || depth > Search.MAX_DEPTH)
+            throw new IllegalArgumentException("Search depth must be between 1 and " + Search.MAX_DEPTH + ".");
+        if (timeMillis < 0 || nodes < 0)
+            throw new IllegalArgumentException("Search limits can't be negative.");
+    }
+
+    /**
+     * @param depth Deepest iteration to search, in plies.
+     * @return Limits that stop only at the given depth.
+     */
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+
+    /**
+     * @param timeMillis Time to search for, in milliseconds.
+     * @return Limits that stop only when the time is up.
+     */
+    public static SearchLimits time(long timeMillis) {
+        return new SearchLimits(Search.MAX_DEPTH, timeMillis, 0);
+    }
+
+    /**
+     * @param nodes Nodes to search.
+     * @return Limits that stop only after the given number of nodes.
+     */
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(Search.MAX_DEPTH, 0, nodes);
+    }
+
+    /**
+     * @return Limits that only stop when the search is cancelled.
+     */
+    public static SearchLimits infinite() {
+        return new SearchLimits(Search.MAX_DEPTH, 0, 0);
+    }
+}
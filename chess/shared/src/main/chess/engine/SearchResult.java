@@ -0,0 +1,38 @@
+package chess.engine;
+
+import chess.ChessMove;
+import chess.Move;
+
+/**
+ * The outcome of a search: the best move and its score from the deepest iteration that got far enough to trust.
+ *
+ * @param bestMove   Best move found (encoded, see {@link Move}), or zero if the team to move has no legal moves.
+ * @param score      Score in centipawns for the team to move. Mates are scored near {@link Search#MATE}.
+ * @param depth      Deepest iteration the best move came from.
+ * @param nodes      Positions searched.
+ * @param timeMillis Time spent searching, in milliseconds.
+ * @param pv         The expected line of play, starting with the best move.
+ */
+public record SearchResult(int bestMove, int score, int depth, long nodes, long timeMillis, int[] pv) {
+
+    /**
+     * @return The best move as a ChessMove, or null if there is none.
+     */
+    public ChessMove bestChessMove() {
+        return (bestMove == 0) ? null : Move.toChessMove(bestMove);
+    }
+
+    /**
+     * @return True if the score is a forced mate, for either team.
+     */
+    public boolean isMate() {
+        return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+    }
+
+    /**
+     * @return Nodes searched per second.
+     */
+    public long nodesPerSecond() {
+        return nodes * 1000 / Math.max(1, timeMillis);
+    }
+}
@@ -0,0 +1,116 @@
+package chess.engine;
+
+import chess.AttackTables;
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.Move;
+
+/**
+ * Static exchange evaluation (SEE): works out what a capture wins or loses once both teams have recaptured on the
+ * square with their least valuable pieces, without making any moves.
+ * <p>
+ * Pieces that line up behind an attacker (a rook behind a rook, a bishop or queen behind a pawn) join the exchange
+ * when the piece in front of them is used, since attackers are recomputed from the shrinking occupancy. Pins are
+ * ignored, so the result is an estimate, but a good enough one to skip captures that just give material away.
+ */
+public final class StaticExchange {
+
+    // Centipawn values indexed by PieceType ordinal: king, queen, bishop, knight, rook, pawn. The king can only take
+    // part as the last capturer, since capturing with it into an attack isn't legal
+    private static final int[] VALUES = {20_000, 900, 330, 320, 500, 100};
+
+    // Order in which each team brings in its attackers, least valuable first
+    private static final ChessPiece.PieceType[] CAPTURE_ORDER = {ChessPiece.PieceType.PAWN, ChessPiece.PieceType.KNIGHT,
+            ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.ROOK, ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.KING};
+
+    private StaticExchange() {
+    }
+
+    /**
+     * Checks whether a move comes out of the exchange on its end square with at least the given gain. Promotions
+     * count as even exchanges.
+     *
+     * @param board     The board the move is for.
+     * @param move      A legal move (encoded, see {@link Move}).
+     * @param threshold Material the moving team must at least gain, in centipawns.
+     * @return True if the exchange gains at least the threshold with best play by both teams.
+     */
+    public static boolean isAtLeast(ChessBoard board, int move, int threshold) {
+        if (Move.promotion(move) != null) return threshold <= 0;
+
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = board.getPiece(from);
+        ChessPiece victim = board.getPiece(to);
+        long occupied = board.getOccupancy() ^ (1L << from);
+
+        // An En Passant capture takes a pawn that isn't on the end square
+        int captured = 0;
+        if (victim != null) {
+            captured = VALUES[victim.getPieceType().ordinal()];
+        } else if (piece.getPieceType() == ChessPiece.PieceType.PAWN && to == board.getEnPassantSquare()) {
+            captured = VALUES[ChessPiece.PieceType.PAWN.ordinal()];
+            occupied ^= 1L << (to + (piece.teamColor() == ChessGame.TeamColor.WHITE ? -8 : 8));
+        }
+
+        // Even if the capturing piece is lost for nothing, is the threshold met?
+        int balance = captured - threshold;
+        if (balance < 0) return false;
+        balance -= VALUES[piece.getPieceType().ordinal()];
+        if (balance >= 0) return true;
+
+        long attackers = (AttackTables.attackersTo(board, to, ChessGame.TeamColor.WHITE, occupied)
+                | AttackTables.attackersTo(board, to, ChessGame.TeamColor.BLACK, occupied)) & occupied;
+        long diagonalSliders = board.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP)
+                | board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP)
+                | board.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN)
+                | board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN);
+        long straightSliders = board.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK)
+                | board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK)
+                | board.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN)
+                | board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN);
+
+        // The balance is from the point of view of the team that just captured, as if the next capturer is lost. It
+        // turns over with each recapture, and the exchange ends once a team has no attackers left or can stop ahead
+        ChessGame.TeamColor side = opponent(piece.teamColor());
+        while (true) {
+            long ours = attackers & board.getOccupancy(side);
+            if (ours == 0) break;
+
+            ChessPiece.PieceType type = null;
+            long candidates = 0;
+            for (ChessPiece.PieceType capturer : CAPTURE_ORDER) {
+                candidates = ours & board.getPieces(side, capturer);
+                if (candidates != 0) {
+                    type = capturer;
+                    break;
+                }
+            }
+
+            // Moving the capturer out of the way may uncover a slider behind it
+            occupied ^= Long.lowestOneBit(candidates);
+            if (type == ChessPiece.PieceType.PAWN || type == ChessPiece.PieceType.BISHOP || type == ChessPiece.PieceType.QUEEN)
+                attackers |= AttackTables.bishopAttacks(to, occupied) & diagonalSliders;
+            if (type == ChessPiece.PieceType.ROOK || type == ChessPiece.PieceType.QUEEN)
+                attackers |= AttackTables.rookAttacks(to, occupied) & straightSliders;
+            attackers &= occupied;
+
+            side = opponent(side);
+            balance = -balance - 1 - VALUES[type.ordinal()];
+            if (balance >= 0) {
+                // A king can't recapture onto a square the other team still attacks
+                if (type == ChessPiece.PieceType.KING && (attackers & board.getOccupancy(side)) != 0)
+                    side = opponent(side);
+                break;
+            }
+        }
+
+        // The team left to move has lost the exchange
+        return side != piece.teamColor();
+    }
+
+    private static ChessGame.TeamColor opponent(ChessGame.TeamColor color) {
+        return (color == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+}
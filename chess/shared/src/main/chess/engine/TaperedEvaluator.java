@@ -0,0 +1,108 @@
+package chess.engine;
+
+import chess.BoardListener;
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessGameImpl;
+import chess.ChessPiece;
+import chess.Zobrist;
+
+/**
+ * Scores positions from material, piece-square tables and pawn structure, blending a middlegame and an endgame score
+ * by how much material is left.
+ * <p>
+ * The evaluator listens to the board it is attached to, so the material and piece-square sums, the game phase and
+ * the pawn key are updated by a few adds whenever a piece is added or removed. Pawn terms are looked up by pawn key
+ * in a {@link PawnStructure} cache. Evaluating a leaf is then a cache lookup and a blend.
+ * <p>
+ * Each searcher needs its own instance, since the sums follow one board.
+ */
+public class TaperedEvaluator implements Evaluator, BoardListener {
+
+    // Bonus for having the move
+    private static final int TEMPO = 10;
+
+    private static final int DEFAULT_PAWN_ENTRIES = 1 << 14;
+
+    private final PawnStructure pawnStructure;
+
+    private ChessBoard board;
+
+    // White's advantage in the middlegame and the endgame, material included
+    private int middlegame;
+    private int endgame;
+
+    // From 24 with every piece on the board down to 0 with only kings and pawns, see PieceSquareTables.PHASE_WEIGHTS
+    private int phase;
+
+    // XOR of the Zobrist keys of every pawn, the key for the pawn structure cache
+    private long pawnKey;
+
+    public TaperedEvaluator() {
+        this(DEFAULT_PAWN_ENTRIES);
+    }
+
+    /**
+     * @param pawnEntries Size of the pawn structure cache, rounded down to a power of two.
+     */
+    public TaperedEvaluator(int pawnEntries) {
+        pawnStructure = new PawnStructure(pawnEntries);
+    }
+
+    /**
+     * Scores a game's position. A board that isn't attached yet is attached first.
+     */
+    @Override
+    public int evaluate(ChessGameImpl game) {
+        if (game.getBoard() != board) attach(game.getBoard());
+
+        int pawns = pawnStructure.probe(board, pawnKey);
+        int mg = middlegame + pawnStructure.middlegame(pawns);
+        int eg = endgame + pawnStructure.endgame(pawns);
+        int weight = Math.min(phase, PieceSquareTables.MAX_PHASE);
+        int score = (mg * weight + eg * (PieceSquareTables.MAX_PHASE - weight)) / PieceSquareTables.MAX_PHASE;
+        return ((game.getTeamTurn() == ChessGame.TeamColor.WHITE) ? score : -score) + TEMPO;
+    }
+
+    /**
+     * Adds up the board's pieces from scratch and starts listening to it for changes.
+     */
+    @Override
+    public void attach(ChessBoard board) {
+        if (this.board != null && this.board != board) detach(this.board);
+        this.board = board;
+        middlegame = 0;
+        endgame = 0;
+        phase = 0;
+        pawnKey = 0L;
+        for (long pieces = board.getOccupancy(); pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            pieceAdded(board.getPiece(square), square);
+        }
+        board.setBoardListener(this);
+    }
+
+    @Override
+    public void detach(ChessBoard board) {
+        if (board.getBoardListener() == this) board.setBoardListener(null);
+        if (this.board == board) this.board = null;
+    }
+
+    @Override
+    public void pieceAdded(ChessPiece piece, int square) {
+        int index = piece.teamColor().ordinal() * 6 + piece.getPieceType().ordinal();
+        middlegame += PieceSquareTables.MIDDLEGAME[index][square];
+        endgame += PieceSquareTables.ENDGAME[index][square];
+        phase += PieceSquareTables.PHASE_WEIGHTS[piece.getPieceType().ordinal()];
+        if (piece.getPieceType() == ChessPiece.PieceType.PAWN) pawnKey ^= Zobrist.pieceKey(piece, square);
+    }
+
+    @Override
+    public void pieceRemoved(ChessPiece piece, int square) {
+        int index = piece.teamColor().ordinal() * 6 + piece.getPieceType().ordinal();
+        middlegame -= PieceSquareTables.MIDDLEGAME[index][square];
+        endgame -= PieceSquareTables.ENDGAME[index][square];
+        phase -= PieceSquareTables.PHASE_WEIGHTS[piece.getPieceType().ordinal()];
+        if (piece.getPieceType() == ChessPiece.PieceType.PAWN) pawnKey ^= Zobrist.pieceKey(piece, square);
+    }
+}
@@ -0,0 +1,163 @@
+package chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size hash table of search results, keyed by {@link chess.ChessBoard#positionKey()}, so a position reached by
+ * different move orders is only searched once.
+ * <p>
+ * Each entry is two longs: the data (best move, score, depth, bound and age packed together) and the position key
+ * XORed with that data. There are no locks. If two threads write the same slot at once and a reader sees the key of
+ * one entry with the data of the other, the XOR check fails and the entry is treated as missing, so a torn entry can
+ * cost a lookup but can never return another position's result.
+ */
+public class TranspositionTable {
+
+    /** The stored score is exact. */
+    public static final int EXACT = 0;
+    /** The search failed high, so the real score is at least the stored score. */
+    public static final int LOWER_BOUND = 1;
+    /** The search failed low, so the real score is at most the stored score. */
+    public static final int UPPER_BOUND = 2;
+
+    // Data layout: bits 0-14 move, 15-30 score + 32768, 31-38 depth, 39-40 bound, 41-48 age, 49 set on every entry
+    private static final int SCORE_SHIFT = 15;
+    private static final int DEPTH_SHIFT = 31;
+    private static final int BOUND_SHIFT = 39;
+    private static final int AGE_SHIFT = 41;
+    private static final long OCCUPIED = 1L << 49;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    // Bumped once per search so entries left over from earlier searches are replaced first
+    private volatile int age;
+
+    /**
+     * @param megabytes Memory to use. The entry count is rounded down to a power of two.
+     * @throws IllegalArgumentException if the size is not positive.
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes <= 0)
+            throw new IllegalArgumentException("Transposition table size must be positive.");
+        long entries = Long.highestOneBit(((long) megabytes << 20) / 16);
+        int size = (int) Math.min(entries, 1 << 30);
+        keys = new long[size];
+        data = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * @param key Position key.
+     * @return The packed entry for the position, or zero if there is none.
+     */
+    public long probe(long key) {
+        int index = (int) key & mask;
+        long entry = data[index];
+        return ((keys[index] ^ entry) == key && entry != 0) ? entry : 0L;
+    }
+
+    /**
+     * Stores a search result. An entry for a different position is replaced unless it came from the current search
+     * and was searched deeper.
+     *
+     * @param key   Position key.
+     * @param move  Best move found (encoded, see {@link chess.Move}), or zero.
+     * @param score Score, between -32768 and 32767.
+     * @param depth Remaining depth the score was searched to.
+     * @param bound {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}.
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = (int) key & mask;
+        long old = data[index];
+        boolean samePosition = (keys[index] ^ old) == key;
+        if (old != 0 && !samePosition && age(old) == (age & 0xFF) && depth(old) > depth)
+            return;
+
+        // Keep the old best move if this search didn't find one
+        if (move == 0 && samePosition) move = move(old);
+
+        long entry = OCCUPIED
+                | (move & 0x7FFFL)
+                | ((long) (score + 32768) & 0xFFFF) << SCORE_SHIFT
+                | ((long) Math.max(0, Math.min(depth, 255))) << DEPTH_SHIFT
+                | ((long) bound) << BOUND_SHIFT
+                | ((long) (age & 0xFF)) << AGE_SHIFT;
+        data[index] = entry;
+        keys[index] = key ^ entry;
+    }
+
+    /**
+     * Marks the start of a new search, so entries from earlier searches can be overwritten.
+     */
+    public void newSearch() {
+        age++;
+    }
+
+    /**
+     * Empties the table.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+    }
+
+    /**
+     * Estimates how full the table is by sampling the first thousand slots.
+     *
+     * @return Permille of sampled slots holding an entry from the current search.
+     */
+    public int hashfull() {
+        int sample = Math.min(1000, data.length);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long entry = data[i];
+            if (entry != 0 && age(entry) == (age & 0xFF)) used++;
+        }
+        return used * 1000 / sample;
+    }
+
+    /**
+     * @return The number of entries the table can hold.
+     */
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * @param entry Entry returned by {@link #probe(long)}.
+     * @return The best move stored in the entry, or zero.
+     */
+    public static int move(long entry) {
+        return (int) (entry & 0x7FFF);
+    }
+
+    /**
+     * @param entry Entry returned by {@link #probe(long)}.
+     * @return The stored score.
+     */
+    public static int score(long entry) {
+        return (int) ((entry >>> SCORE_SHIFT) & 0xFFFF) - 32768;
+    }
+
+    /**
+     * @param entry Entry returned by {@link #probe(long)}.
+     * @return The remaining depth the score was searched to.
+     */
+    public static int depth(long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    /**
+     * @param entry Entry returned by {@link #probe(long)}.
+     * @return The bound type of the score.
+     */
+    public static int bound(long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & 0x3);
+    }
+
+    private static int age(long entry) {
+        return (int) ((entry >>> AGE_SHIFT) & 0xFF);
+    }
+}
@@ -0,0 +1,71 @@
+package chess.engine.annotation;
+
+import chess.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The engine's annotations of every move of a game, in the order played.
+ * <p>
+ * {@link #encode()} writes them compactly enough to store next to the game: one group per move, separated by
+ * spaces, of the move, the engine's choice ({@code -} for none) and the scores before and after, for example
+ * {@code e2e4,d2d4,31,25 e7e5,e7e5,-25,-22}.
+ *
+ * @param moves Annotation of each move.
+ */
+public record GameAnnotation(List<MoveAnnotation> moves) {
+
+    public GameAnnotation {
+        moves = List.copyOf(moves);
+    }
+
+    /**
+     * @param text Annotations as written by {@link #encode()}.
+     * @return The annotations.
+     * @throws IllegalArgumentException if the text isn't in that form.
+     */
+    public static GameAnnotation decode(String text) {
+        List<MoveAnnotation> moves = new ArrayList<>();
+        if (!text.isBlank()) {
+            for (String group : text.trim().split(" +")) {
+                String[] fields = group.split(",");
+                if (fields.length != 4)
+                    throw new IllegalArgumentException("Invalid annotation \"" + group + "\".");
+                try {
+                    moves.add(new MoveAnnotation(Move.parse(fields[0]), fields[1].equals("-") ? 0 : Move.parse(fields[1]),
+                            Integer.parseInt(fields[2]), Integer.parseInt(fields[3])));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid annotation \"" + group + "\".");
+                }
+            }
+        }
+        return new GameAnnotation(moves);
+    }
+
+    /**
+     * @return The annotations as text, which {@link #decode(String)} reads back.
+     */
+    public String encode() {
+        StringBuilder text = new StringBuilder(moves.size() * 20);
+        for (MoveAnnotation move : moves) {
+            if (!text.isEmpty()) text.append(' ');
+            text.append(Move.toString(move.move())).append(',')
+                    .append((move.bestMove() == 0) ? "-" : Move.toString(move.bestMove())).append(',')
+                    .append(move.scoreBefore()).append(',').append(move.scoreAfter());
+        }
+        return text.toString();
+    }
+
+    /**
+     * @param judgement A judgement, such as {@link MoveAnnotation.Judgement#BLUNDER}.
+     * @return Number of moves judged so.
+     */
+    public int count(MoveAnnotation.Judgement judgement) {
+        int count = 0;
+        for (MoveAnnotation move : moves) {
+            if (move.judgement() == judgement) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,139 @@
+package chess.engine.annotation;
+
+import chess.ChessGameImpl;
+import chess.Fen;
+import chess.MoveList;
+import chess.engine.Evaluator;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Annotates finished games: replays each one and scores every move against the engine's choice.
+ * <p>
+ * All the positions of a game are searched at once on a fixed pool, each thread with its own {@link Search} but all
+ * sharing one transposition table, so positions a few plies apart reuse each other's results the way the iterations
+ * of a single search do. The table is cleared before each game, and games are annotated one at a time. Threads run
+ * at the lowest priority, so annotating only uses cores nothing more urgent needs.
+ */
+public class GameAnnotator implements AutoCloseable {
+
+    private final TranspositionTable table;
+    private final ThreadLocal<Search> searchers;
+    private final ExecutorService workers;
+    private final SearchLimits limits;
+
+    /**
+     * @param evaluators     Makes the evaluator for each thread's search.
+     * @param limits         When to stop searching each position.
+     * @param threads        Number of positions to search at once.
+     * @param tableMegabytes Size of the shared transposition table.
+     * @throws IllegalArgumentException if the thread count or table size is less than one.
+     */
+    public GameAnnotator(Supplier<Evaluator> evaluators, SearchLimits limits, int threads, int tableMegabytes) {
+        if (threads < 1)
+            throw new IllegalArgumentException("An annotator needs at least one thread.");
+        if (tableMegabytes < 1)
+            throw new IllegalArgumentException("The transposition table needs at least one megabyte.");
+        this.table = new TranspositionTable(tableMegabytes);
+        this.searchers = ThreadLocal.withInitial(() -> new Search(table, evaluators.get()));
+        this.limits = limits;
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "game-annotator");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * @param game A game played from the standard starting position. It isn't changed.
+     * @return An annotation for each move of the game.
+     * @throws IllegalArgumentException if the game didn't start from the standard starting position or its moves
+     *                                  can't be replayed.
+     */
+    public synchronized GameAnnotation annotate(ChessGameImpl game) {
+        long[] history = game.getPositionHistory();
+        if (history.length == 0) return new GameAnnotation(List.of());
+        ChessGameImpl replay = Fen.parse(Fen.STARTING_POSITION);
+        if (history[0] != replay.getBoard().positionKey())
+            throw new IllegalArgumentException("The game did not start from the standard starting position.");
+
+        // Each position gets its own copy, so they can all be searched at once
+        int[] moves = new int[history.length];
+        List<ChessGameImpl> positions = new ArrayList<>(history.length + 1);
+        positions.add(replay.copy());
+        MoveList legalMoves = new MoveList();
+        for (int ply = 0; ply < history.length; ply++) {
+            long next = (ply + 1 < history.length) ? history[ply + 1] : game.getBoard().positionKey();
+            moves[ply] = findMove(replay, next, legalMoves);
+            if (moves[ply] == 0)
+                throw new IllegalArgumentException("Ply " + (ply + 1) + " of the game can't be replayed.");
+            replay.makeMove(moves[ply]);
+            positions.add(replay.copy());
+        }
+
+        table.clear();
+        List<Future<SearchResult>> pending = new ArrayList<>(positions.size());
+        for (int ply = 0; ply < positions.size(); ply++) {
+            ChessGameImpl position = positions.get(ply);
+            boolean drawn = ply == history.length && (game.isDrawByRepetition() || game.isDrawByFiftyMoveRule());
+            pending.add(workers.submit(() -> drawn ? new SearchResult(0, 0, 0, 0, 0, new int[0])
+                    : searchers.get().search(position, limits)));
+        }
+        SearchResult[] results = new SearchResult[pending.size()];
+        for (int ply = 0; ply < results.length; ply++) results[ply] = waitFor(pending.get(ply));
+
+        List<MoveAnnotation> annotations = new ArrayList<>(moves.length);
+        for (int ply = 0; ply < moves.length; ply++) {
+            annotations.add(new MoveAnnotation(moves[ply], results[ply].bestMove(), results[ply].score(),
+                    -results[ply + 1].score()));
+        }
+        return new GameAnnotation(annotations);
+    }
+
+    /**
+     * Shuts down the search threads.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    /**
+     * @return The legal move that leads to the position with the key, or zero if there is none.
+     */
+    private static int findMove(ChessGameImpl game, long key, MoveList moves) {
+        moves.clear();
+        game.generateLegalMoves(game.getTeamTurn(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            game.makeMove(move);
+            boolean found = game.getBoard().positionKey() == key;
+            game.unmakeMove();
+            if (found) return move;
+        }
+        return 0;
+    }
+
+    private static SearchResult waitFor(Future<SearchResult> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while annotating a game.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("A search failed.", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package chess.engine.annotation;
+
+import chess.Move;
+
+/**
+ * What the engine thought of one move of a game.
+ *
+ * @param move        The move played (encoded, see {@link Move}).
+ * @param bestMove    The engine's choice in the same position, or zero if it had none.
+ * @param scoreBefore Score of the position before the move, in centipawns for the team that made it.
+ * @param scoreAfter  Score of the position after the move, in centipawns for the same team.
+ */
+public record MoveAnnotation(int move, int bestMove, int scoreBefore, int scoreAfter) {
+
+    /** Scores past this many centipawns either way are counted as this, so a slower win isn't called a blunder. */
+    public static final int DECISIVE_SCORE = 1000;
+
+    /**
+     * How much a move gave away, from the centipawns it lost.
+     */
+    public enum Judgement {
+        GOOD(""),
+        INACCURACY("?!"),
+        MISTAKE("?"),
+        BLUNDER("??");
+
+        private final String glyph;
+
+        Judgement(String glyph) {
+            this.glyph = glyph;
+        }
+
+        /**
+         * @return The annotation glyph, such as {@code ??}, or an empty string for a good move.
+         */
+        public String glyph() {
+            return glyph;
+        }
+    }
+
+    /**
+     * @return How far the score moved for the team that made the move; negative if it got worse.
+     */
+    public int swing() {
+        return scoreAfter - scoreBefore;
+    }
+
+    /**
+     * @return Centipawns the move lost compared with the engine's choice, zero if it was that move.
+     */
+    public int loss() {
+        if (move == bestMove) return 0;
+        return Math.max(0, clamp(scoreBefore) - clamp(scoreAfter));
+    }
+
+    /**
+     * @return An inaccuracy from 50 centipawns lost, a mistake from 100 and a blunder from 300.
+     */
+    public Judgement judgement() {
+        int loss = loss();
+        if (loss >= 300) return Judgement.BLUNDER;
+        if (loss >= 100) return Judgement.MISTAKE;
+        if (loss >= 50) return Judgement.INACCURACY;
+        return Judgement.GOOD;
+    }
+
+    private static int clamp(int score) {
+        return Math.max(-DECISIVE_SCORE, Math.min(DECISIVE_SCORE, score));
+    }
+}
@@ -0,0 +1,136 @@
+package chess.engine.book;
+
+import chess.Move;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+
+/**
+ * Looks up moves in an opening book file written by {@link OpeningBookBuilder}.
+ * <p>
+ * The file is big-endian: a 16-byte header of the magic number {@code 0x424F4F4B} ("BOOK") and the format version as
+ * ints and the number of entries as a long, then 16-byte entries of a position key (long), a move (int, see
+ * {@link Move}) and a weight (int). Entries are sorted by key, and the moves of one position by falling weight.
+ * <p>
+ * The file is memory-mapped rather than read, so opening a large book is instant and its pages are shared with other
+ * processes using it. Lookups binary-search the mapping with absolute reads and create no objects, and since nothing
+ * moves the buffer's position one book can be read from any number of threads. The mapping is released when the book
+ * is garbage collected.
+ */
+public final class OpeningBook {
+
+    static final int MAGIC = 0x424F4F4B;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_SIZE = 16;
+
+    private final MappedByteBuffer entries;
+    private final int size;
+
+    private OpeningBook(MappedByteBuffer entries, int size) {
+        this.entries = entries;
+        this.size = size;
+    }
+
+    /**
+     * @param file An opening book file.
+     * @return The book.
+     * @throws IOException if the file can't be read or isn't an opening book.
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE || length > Integer.MAX_VALUE)
+                throw new IOException("Opening book " + file + " has an invalid length of " + length + " bytes.");
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(0) != MAGIC)
+                throw new IOException(file + " is not an opening book.");
+            int version = buffer.getInt(4);
+            if (version != VERSION)
+                throw new IOException("Unsupported opening book version " + version + ".");
+            long count = buffer.getLong(8);
+            if (count < 0 || HEADER_SIZE + count * ENTRY_SIZE != length)
+                throw new IOException("Opening book " + file + " is truncated.");
+            return new OpeningBook(buffer, (int) count);
+        }
+    }
+
+    /**
+     * @return Number of entries, one per position and move.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param key A position key.
+     * @return Index of the position's first, most played, entry, or -1 if the position isn't in the book.
+     */
+    public int find(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (key(middle) < key) low = middle + 1;
+            else high = middle;
+        }
+        return (low < size && key(low) == key) ? low : -1;
+    }
+
+    /**
+     * @param key A position key.
+     * @return The position's most played move, or zero if the position isn't in the book.
+     */
+    public int bestMove(long key) {
+        int index = find(key);
+        return (index < 0) ? 0 : move(index);
+    }
+
+    /**
+     * Picks one of a position's moves at random, each with a chance in proportion to its weight, so play from the
+     * book varies between games.
+     *
+     * @param key    A position key.
+     * @param random Source of randomness.
+     * @return The move picked, or zero if the position isn't in the book.
+     */
+    public int pickMove(long key, RandomGenerator random) {
+        int first = find(key);
+        if (first < 0) return 0;
+        long total = 0;
+        for (int i = first; i < size && key(i) == key; i++)
+            total += weight(i);
+        long pick = random.nextLong(total);
+        for (int i = first; ; i++) {
+            pick -= weight(i);
+            if (pick < 0) return move(i);
+        }
+    }
+
+    /**
+     * @return The position key of an entry.
+     */
+    public long key(int index) {
+        return entries.getLong(HEADER_SIZE + index * ENTRY_SIZE);
+    }
+
+    /**
+     * @return The move of an entry.
+     */
+    public int move(int index) {
+        return entries.getInt(HEADER_SIZE + index * ENTRY_SIZE + 8);
+    }
+
+    /**
+     * @return The weight of an entry: two for each game won with the move and one for each drawn or unfinished.
+     */
+    public int weight(int index) {
+        return entries.getInt(HEADER_SIZE + index * ENTRY_SIZE + 12);
+    }
+}
@@ -0,0 +1,285 @@
+package chess.engine.book;
+
+import chess.ChessGame;
+import chess.ChessGameImpl;
+import chess.Fen;
+import chess.MoveList;
+import chess.San;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the opening moves of finished games and writes them as an {@link OpeningBook} file.
+ * <p>
+ * Each move in the first plies of a game adds to the weight of its position and move: two if the team that made it
+ * went on to win, one if the game was drawn or its result is unknown, and nothing if that team lost. Moves that were
+ * only ever played by the losing side are left out of the book.
+ */
+public class OpeningBookBuilder {
+
+    private static final int WIN_WEIGHT = 2;
+    private static final int DRAW_WEIGHT = 1;
+
+    private final int maxPlies;
+
+    // Weight of each move, by position key
+    private final Map<Long, Map<Integer, Integer>> weights = new HashMap<>();
+    private int games;
+
+    /**
+     * @param maxPlies How many plies of each game to add. Later moves depend too much on the game to repeat.
+     * @throws IllegalArgumentException if the ply count is less than one.
+     */
+    public OpeningBookBuilder(int maxPlies) {
+        if (maxPlies < 1)
+            throw new IllegalArgumentException("A book needs at least one ply per game.");
+        this.maxPlies = maxPlies;
+    }
+
+    /**
+     * Adds a stored game. Games only keep the keys of the positions they passed through, so the moves are worked out
+     * by replaying the game from the starting position and finding, at each ply, the legal move that leads to the
+     * next key. Games that ended in checkmate count as won, games drawn by stalemate, repetition or the fifty-move
+     * rule as drawn, and any others as unfinished.
+     *
+     * @param game A game played from the standard starting position.
+     * @throws IllegalArgumentException if the game didn't start from the starting position or can't be replayed.
+     */
+    public void addGame(ChessGameImpl game) {
+        long[] history = game.getPositionHistory();
+        if (history.length == 0) return;
+        ChessGameImpl replay = Fen.parse(Fen.STARTING_POSITION);
+        if (history[0] != replay.getBoard().positionKey())
+            throw new IllegalArgumentException("The game did not start from the standard starting position.");
+
+        ChessGame.TeamColor winner = null;
+        boolean decided = false;
+        ChessGame.GameStatus status = game.gameStatus();
+        if (status == ChessGame.GameStatus.CHECKMATE) {
+            winner = (game.getTeamTurn() == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+            decided = true;
+        }
+
+        MoveList moves = new MoveList();
+        int plies = Math.min(history.length, maxPlies);
+        for (int ply = 0; ply < plies; ply++) {
+            long next = (ply + 1 < history.length) ? history[ply + 1] : game.getBoard().positionKey();
+            int move = findMove(replay, next, moves);
+            if (move == 0)
+                throw new IllegalArgumentException("Ply " + (ply + 1) + " of the game can't be replayed.");
+            add(history[ply], move, weight(decided, winner, replay.getTeamTurn()));
+            replay.makeMove(move);
+        }
+        games++;
+    }
+
+    /**
+     * Adds every game in a PGN file. Tags other than {@code FEN} and {@code Result} are ignored, as are comments,
+     * variations and annotation glyphs.
+     *
+     * @param reader The PGN text. It is read to the end but not closed.
+     * @return Number of games added.
+     * @throws IOException if the text can't be read or a game has a move that isn't legal.
+     */
+    public int addPgn(Reader reader) throws IOException {
+        BufferedReader in = new BufferedReader(reader);
+        PgnGame game = new PgnGame();
+        StringBuilder token = new StringBuilder();
+        int added = 0;
+        int variationDepth = 0;
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '{' || c == ';' || c == '(' || c == ')' || c == '[' || Character.isWhitespace(c)) {
+                if (variationDepth == 0) added += game.token(token);
+                token.setLength(0);
+            }
+            switch (c) {
+                case '{' -> skipPast(in, '}');
+                case ';' -> skipPast(in, '\n');
+                case '(' -> variationDepth++;
+                case ')' -> variationDepth = Math.max(0, variationDepth - 1);
+                case '[' -> {
+                    // A tag after moves starts the next game, even if the last one had no result
+                    if (!game.moves.isEmpty()) added += game.finish();
+                    game.tag(readTag(in));
+                }
+                default -> {
+                    if (!Character.isWhitespace(c)) token.append((char) c);
+                }
+            }
+        }
+        added += game.token(token);
+        if (!game.moves.isEmpty()) added += game.finish();
+        return added;
+    }
+
+    /**
+     * @return Number of games added so far.
+     */
+    public int getGameCount() {
+        return games;
+    }
+
+    /**
+     * Writes the book in the format {@link OpeningBook} reads, sorted by position key and then by falling weight.
+     *
+     * @param file The file to write. It is replaced if it exists.
+     * @throws IOException if writing fails.
+     */
+    public void write(Path file) throws IOException {
+        List<long[]> entries = new ArrayList<>();
+        for (Map.Entry<Long, Map<Integer, Integer>> position : weights.entrySet()) {
+            for (Map.Entry<Integer, Integer> move : position.getValue().entrySet()) {
+                if (move.getValue() > 0)
+                    entries.add(new long[]{position.getKey(), move.getKey(), move.getValue()});
+            }
+        }
+        entries.sort((a, b) -> (a[0] != b[0]) ? Long.compare(a[0], b[0]) : Long.compare(b[2], a[2]));
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+            data.writeInt(OpeningBook.MAGIC);
+            data.writeInt(OpeningBook.VERSION);
+            data.writeLong(entries.size());
+            for (long[] entry : entries) {
+                data.writeLong(entry[0]);
+                data.writeInt((int) entry[1]);
+                data.writeInt((int) entry[2]);
+            }
+            data.flush();
+        }
+    }
+
+    private void add(long key, int move, int weight) {
+        weights.computeIfAbsent(key, k -> new HashMap<>()).merge(move, weight, Integer::sum);
+    }
+
+    /**
+     * @param decided True if a team won the game.
+     * @param winner  The team that won, if any.
+     * @param mover   The team making the move.
+     * @return What the move adds to its weight in the book.
+     */
+    private static int weight(boolean decided, ChessGame.TeamColor winner, ChessGame.TeamColor mover) {
+        if (!decided) return DRAW_WEIGHT;
+        return (winner == mover) ? WIN_WEIGHT : 0;
+    }
+
+    /**
+     * @return The legal move that leads to a position with the given key, or zero if there is none.
+     */
+    private static int findMove(ChessGameImpl game, long key, MoveList moves) {
+        moves.clear();
+        game.generateLegalMoves(game.getTeamTurn(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            game.makeMove(move);
+            boolean found = game.getBoard().positionKey() == key;
+            game.unmakeMove();
+            if (found) return move;
+        }
+        return 0;
+    }
+
+    private static void skipPast(BufferedReader in, char end) throws IOException {
+        int c;
+        do {
+            c = in.read();
+        } while (c != -1 && c != end);
+    }
+
+    /**
+     * @return The text of a tag between its brackets, such as {@code Result "1-0"}.
+     */
+    private static String readTag(BufferedReader in) throws IOException {
+        StringBuilder tag = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1 && c != ']')
+            tag.append((char) c);
+        return tag.toString();
+    }
+
+    /**
+     * The moves and tags of the PGN game being read.
+     */
+    private final class PgnGame {
+        final List<String> moves = new ArrayList<>();
+        String fen = Fen.STARTING_POSITION;
+        String result = "*";
+        int number = 1;
+
+        void tag(String tag) {
+            int quote = tag.indexOf('"');
+            if (quote < 0) return;
+            String name = tag.substring(0, quote).trim();
+            String value = tag.substring(quote + 1, Math.max(quote + 1, tag.lastIndexOf('"')));
+            if (name.equals("FEN")) fen = value;
+            else if (name.equals("Result")) result = value;
+        }
+
+        /**
+         * Handles one token of move text: a move, a move number, a glyph or a result.
+         *
+         * @return One if the token ended a game, otherwise zero.
+         */
+        int token(CharSequence token) throws IOException {
+            if (token.isEmpty()) return 0;
+            String text = token.toString();
+            if (text.equals("1-0") || text.equals("0-1") || text.equals("1/2-1/2") || text.equals("*")) {
+                result = text;
+                return finish();
+            }
+            if (text.charAt(0) == '$') return 0;
+
+            // Move numbers are "12." for white and "12..." for black, and may be written against the move
+            int start = 0;
+            while (start < text.length() && Character.isDigit(text.charAt(start))) start++;
+            if (start < text.length() && text.charAt(start) == '.') {
+                while (start < text.length() && text.charAt(start) == '.') start++;
+            } else {
+                start = 0;
+            }
+            if (start < text.length()) moves.add(text.substring(start));
+            return 0;
+        }
+
+        /**
+         * Replays the game, adds its opening moves to the book and starts the next game.
+         *
+         * @return One for the game added.
+         */
+        int finish() throws IOException {
+            try {
+                ChessGameImpl replay = Fen.parse(fen);
+                boolean decided = result.equals("1-0") || result.equals("0-1");
+                ChessGame.TeamColor winner = result.equals("1-0") ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+                int plies = Math.min(moves.size(), maxPlies);
+                for (int ply = 0; ply < plies; ply++) {
+                    int move = San.parse(replay, moves.get(ply));
+                    add(replay.getBoard().positionKey(), move, weight(decided, winner, replay.getTeamTurn()));
+                    replay.makeMove(move);
+                }
+                games++;
+                return 1;
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Game " + number + ": " + e.getMessage(), e);
+            } finally {
+                moves.clear();
+                fen = Fen.STARTING_POSITION;
+                result = "*";
+                number++;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package chess.engine.mate;
+
+import chess.ChessMove;
+import chess.Move;
+
+/**
+ * The outcome of a {@link MateSolver} run.
+ *
+ * @param outcome     Whether mate was proven, disproven, or neither before a limit was reached.
+ * @param bestMove    The first move of the mate (encoded, see {@link Move}), or zero unless mate was proven.
+ * @param nodes       Positions searched.
+ * @param timeMillis  Time spent, in milliseconds.
+ * @param memoryBytes Memory used by the entries of the node table at the end.
+ */
+public record MateResult(Outcome outcome, int bestMove, long nodes, long timeMillis, long memoryBytes) {
+
+    public enum Outcome {
+        /** The team to move mates within the given number of moves, however the other team defends. */
+        MATE,
+        /** The other team can avoid mate for that many moves. */
+        NO_MATE,
+        /** The search was stopped or ran out of nodes, time or table space first. */
+        UNKNOWN
+    }
+
+    /**
+     * @return The first move of the mate as a ChessMove, or null if there is none.
+     */
+    public ChessMove bestChessMove() {
+        return (bestMove == 0) ? null : Move.toChessMove(bestMove);
+    }
+
+    /**
+     * @return Nodes searched per second.
+     */
+    public long nodesPerSecond() {
+        return nodes * 1000 / Math.max(1, timeMillis);
+    }
+}
@@ -0,0 +1,276 @@
+package chess.engine.mate;
+
+import chess.ChessGame;
+import chess.ChessGameImpl;
+import chess.MoveList;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Proves or disproves that the team to move can force mate within a number of moves, with depth-first proof-number
+ * search (df-pn).
+ * <p>
+ * Every position has a proof number, roughly how many more positions must be solved to prove it, and a disproof
+ * number, how many to refute it. They are kept from the point of view of the team to move as phi (what that team
+ * needs) and delta (what the other team needs), so a position's phi is the smallest delta among its moves and its
+ * delta the sum of their phis. The search keeps descending into the most promising move until a threshold passed
+ * down from the parent says another branch has become better, which focuses the effort on the narrowest line to a
+ * proof instead of searching every move to the same depth as alpha-beta does. New positions start with a phi of one
+ * and, after the attacker's moves, a delta of the number of replies, so checks that leave few replies are tried first.
+ * <p>
+ * Proof and disproof numbers are kept in a node table of fixed size, set when the solver is made. When a bucket is
+ * full the entry that took the least work to solve is replaced, so a search never uses more memory than that, at the
+ * cost of redoing some work. The plies left are part of each entry's key. Repetitions and the fifty-move rule are
+ * ignored: a mate within the limit can't depend on them.
+ * <p>
+ * A MateSolver is used by one thread at a time; {@link #stop()} may be called from any thread.
+ */
+public class MateSolver {
+
+    /** Longest mate, in moves of the attacking team, a solver can be asked for. */
+    public static final int MAX_MOVES = 32;
+
+    private static final int INFINITE = 100_000_000;
+
+    // Key, phi, delta and work of an entry
+    private static final int ENTRY_BYTES = 20;
+    private static final int BUCKET_SIZE = 4;
+    private static final int CHECK_INTERVAL = 1024;
+
+    // Largest number of legal moves in any position
+    private static final int MAX_MOVES_PER_POSITION = 256;
+
+    private static final long WIN = pack(0, INFINITE);
+    private static final long LOSS = pack(INFINITE, 0);
+
+    // Mixed into position keys, so a position with a different number of plies left has its own entry
+    private static final long[] PLIES_KEYS = new long[2 * MAX_MOVES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x6D617465L);
+        for (int i = 0; i < PLIES_KEYS.length; i++) PLIES_KEYS[i] = random.nextLong();
+    }
+
+    private final long[] keys;
+    private final int[] phis;
+    private final int[] deltas;
+    private final int[] work;
+    private final int mask;
+    private int used;
+
+    private final MoveList[] moveLists = new MoveList[2 * MAX_MOVES];
+    private final int[][] childPhis = new int[2 * MAX_MOVES][MAX_MOVES_PER_POSITION];
+    private final int[][] childDeltas = new int[2 * MAX_MOVES][MAX_MOVES_PER_POSITION];
+    private final MoveList replies = new MoveList();
+
+    private volatile boolean stopped;
+
+    private ChessGameImpl game;
+    private ChessGame.TeamColor attacker;
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+
+    /**
+     * @param megabytes Size of the node table. It is rounded down to a power of two entries.
+     * @throws IllegalArgumentException if the size is less than one megabyte.
+     */
+    public MateSolver(int megabytes) {
+        if (megabytes < 1)
+            throw new IllegalArgumentException("The node table needs at least one megabyte.");
+        int capacity = Integer.highestOneBit((int) Math.min(1 << 30, (long) megabytes * (1 << 20) / ENTRY_BYTES));
+        keys = new long[capacity];
+        phis = new int[capacity];
+        deltas = new int[capacity];
+        work = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < moveLists.length; i++) moveLists[i] = new MoveList();
+    }
+
+    /**
+     * Tries to prove that the team to move mates within a number of its own moves. The node table is cleared first.
+     *
+     * @param game       The position. It is back in its starting position when this returns.
+     * @param moves      Moves of the team to move to mate in, so 1 is mate on the move.
+     * @param nodeLimit  Positions to search before giving up, or zero for no limit.
+     * @param timeMillis Milliseconds to search before giving up, or zero for no limit.
+     * @return Whether mate was proven or disproven, the first move of the mate, and what it cost.
+     * @throws IllegalArgumentException if the number of moves is out of range or a limit is negative.
+     */
+    public MateResult solve(ChessGameImpl game, int moves, long nodeLimit, long timeMillis) {
+        if (moves < 1 || moves > MAX_MOVES)
+            throw new IllegalArgumentException("Mates can be from 1 to " + MAX_MOVES + " moves, not " + moves + ".");
+        if (nodeLimit < 0 || timeMillis < 0)
+            throw new IllegalArgumentException("Limits can't be negative.");
+        long start = System.nanoTime();
+        stopped = false;
+        Arrays.fill(keys, 0);
+        used = 0;
+        this.game = game;
+        attacker = game.getTeamTurn();
+        nodes = 0;
+        this.nodeLimit = nodeLimit;
+        deadline = (timeMillis > 0) ? start + timeMillis * 1_000_000 : 0;
+
+        long value = mid(2 * moves - 1, INFINITE, INFINITE, 0);
+        MateResult.Outcome outcome = MateResult.Outcome.UNKNOWN;
+        int bestMove = 0;
+        if (phi(value) == 0) {
+            outcome = MateResult.Outcome.MATE;
+            MoveList rootMoves = moveLists[0];
+            for (int i = 0; i < rootMoves.size() && bestMove == 0; i++) {
+                if (childDeltas[0][i] == 0) bestMove = rootMoves.get(i);
+            }
+        } else if (delta(value) == 0) {
+            outcome = MateResult.Outcome.NO_MATE;
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new MateResult(outcome, bestMove, nodes, millis, (long) used * ENTRY_BYTES);
+    }
+
+    /**
+     * Stops a running solve as soon as possible. It returns {@link MateResult.Outcome#UNKNOWN}. Safe to call from any
+     * thread.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Searches a position until its phi reaches {@code thresholdPhi} or its delta reaches {@code thresholdDelta}.
+     *
+     * @param plies Plies left for the mate.
+     * @param ply   Distance from the root.
+     * @return The position's phi and delta, packed.
+     */
+    private long mid(int plies, int thresholdPhi, int thresholdDelta, int ply) {
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) checkLimits();
+        long startNodes = nodes;
+        ChessGame.TeamColor team = game.getTeamTurn();
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        game.generateLegalMoves(team, moves);
+
+        // Mate, or stalemate, which is as good as escaping for the defender
+        if (moves.isEmpty()) return (team == attacker || game.isInCheck(team)) ? LOSS : WIN;
+
+        // The defender is not mated and the attacker is out of moves
+        if (plies == 0) return WIN;
+
+        long key = key(plies);
+        int[] childPhi = childPhis[ply];
+        int[] childDelta = childDeltas[ply];
+        boolean attacking = team == attacker;
+        for (int i = 0; i < moves.size(); i++) {
+            game.makeMove(moves.get(i));
+            int slot = find(key(plies - 1));
+            if (slot >= 0) {
+                childPhi[i] = phis[slot];
+                childDelta[i] = deltas[slot];
+            } else if (attacking) {
+                // Estimate the work of proving mate after the attacker's move by the number of replies
+                replies.clear();
+                game.generateLegalMoves(game.getTeamTurn(), replies);
+                long value = replies.isEmpty() ? (game.isInCheck(game.getTeamTurn()) ? LOSS : WIN)
+                        : (plies == 1) ? WIN : pack(1, replies.size());
+                childPhi[i] = phi(value);
+                childDelta[i] = delta(value);
+            } else {
+                childPhi[i] = 1;
+                childDelta[i] = 1;
+            }
+            game.unmakeMove();
+        }
+
+        while (true) {
+            int phi = INFINITE;
+            int delta = 0;
+            int secondDelta = INFINITE;
+            int best = 0;
+            for (int i = 0; i < moves.size(); i++) {
+                delta = Math.min(INFINITE, delta + childPhi[i]);
+                if (childDelta[i] < phi) {
+                    secondDelta = phi;
+                    phi = childDelta[i];
+                    best = i;
+                } else if (childDelta[i] < secondDelta) {
+                    secondDelta = childDelta[i];
+                }
+            }
+            if (phi >= thresholdPhi || delta >= thresholdDelta || stopped) {
+                store(key, phi, delta, nodes - startNodes);
+                return pack(phi, delta);
+            }
+
+            // Search the best move until it stops being best: until its delta passes the second best, or the
+            // position's delta would pass the threshold
+            int childThresholdPhi = (int) Math.min(INFINITE, (long) thresholdDelta - delta + childPhi[best]);
+            int childThresholdDelta = Math.min(thresholdPhi, secondDelta + 1);
+            game.makeMove(moves.get(best));
+            long value = mid(plies - 1, childThresholdPhi, childThresholdDelta, ply + 1);
+            game.unmakeMove();
+            childPhi[best] = phi(value);
+            childDelta[best] = delta(value);
+        }
+    }
+
+    private long key(int plies) {
+        long key = game.getBoard().positionKey() ^ PLIES_KEYS[plies];
+        return (key == 0) ? 1 : key;
+    }
+
+    /**
+     * @return The slot holding a key, or -1 if it isn't in the table.
+     */
+    private int find(long key) {
+        int bucket = (int) key & mask & -BUCKET_SIZE;
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            if (keys[slot] == key) return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Stores a position's numbers in its own slot, else an empty one in its bucket, else over the entry that took the
+     * least work.
+     */
+    private void store(long key, int phi, int delta, long nodesSpent) {
+        int bucket = (int) key & mask & -BUCKET_SIZE;
+        int slot = -1;
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            if (keys[i] == key) {
+                slot = i;
+                nodesSpent += work[i];
+                break;
+            }
+            if (keys[i] == 0) {
+                if (slot < 0 || keys[slot] != 0) slot = i;
+            } else if (slot < 0 || (keys[slot] != 0 && work[i] < work[slot])) {
+                slot = i;
+            }
+        }
+        if (keys[slot] == 0) used++;
+        keys[slot] = key;
+        phis[slot] = phi;
+        deltas[slot] = delta;
+        work[slot] = (int) Math.min(Integer.MAX_VALUE, nodesSpent);
+    }
+
+    private void checkLimits() {
+        if ((nodeLimit > 0 && nodes >= nodeLimit) || (deadline > 0 && System.nanoTime() >= deadline))
+            stopped = true;
+    }
+
+    private static long pack(int phi, int delta) {
+        return ((long) phi << 32) | delta;
+    }
+
+    private static int phi(long value) {
+        return (int) (value >>> 32);
+    }
+
+    private static int delta(long value) {
+        return (int) value;
+    }
+}
@@ -0,0 +1,123 @@
+package chess.engine.mate;
+
+import chess.Epd;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves many mate puzzles at once, one per thread, each thread with its own {@link MateSolver} and node table.
+ * <p>
+ * Puzzle files are EPD (see {@link Epd}) with a {@code dm} operation giving the number of moves to mate in, for
+ * example {@code 6k1/5ppp/8/8/8/8/8/4R1K1 w - - dm 1; id "back rank";}. Blank lines and lines starting with '#' are
+ * skipped. Memory use is the table size times the number of threads.
+ */
+public class PuzzleBatch implements AutoCloseable {
+
+    private final ExecutorService workers;
+    private final ThreadLocal<MateSolver> solvers;
+
+    /**
+     * @param threads        Number of puzzles to solve at once.
+     * @param tableMegabytes Size of each thread's node table.
+     * @throws IllegalArgumentException if the thread count or table size is less than one.
+     */
+    public PuzzleBatch(int threads, int tableMegabytes) {
+        if (threads < 1)
+            throw new IllegalArgumentException("A batch needs at least one thread.");
+        if (tableMegabytes < 1)
+            throw new IllegalArgumentException("The node table needs at least one megabyte.");
+        solvers = ThreadLocal.withInitial(() -> new MateSolver(tableMegabytes));
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "puzzle-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param file       A puzzle file.
+     * @param nodeLimit  Positions to search per puzzle, or zero for no limit.
+     * @param timeMillis Milliseconds per puzzle, or zero for no limit.
+     * @return A result for each puzzle, in file order.
+     * @throws IOException if the file can't be read, or a line isn't EPD or has no valid {@code dm} operation.
+     */
+    public List<PuzzleResult> solve(Path file, long nodeLimit, long timeMillis) throws IOException {
+        List<Epd> puzzles = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            String line;
+            for (int number = 1; (line = in.readLine()) != null; number++) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                try {
+                    Epd puzzle = Epd.parse(line);
+                    mateIn(puzzle);
+                    puzzles.add(puzzle);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(file + " line " + number + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return solve(puzzles, nodeLimit, timeMillis);
+    }
+
+    /**
+     * @param puzzles    Puzzles, each with a {@code dm} operation.
+     * @param nodeLimit  Positions to search per puzzle, or zero for no limit.
+     * @param timeMillis Milliseconds per puzzle, or zero for no limit.
+     * @return A result for each puzzle, in the same order.
+     * @throws IllegalArgumentException if a puzzle has no valid {@code dm} operation or an invalid position.
+     */
+    public List<PuzzleResult> solve(List<Epd> puzzles, long nodeLimit, long timeMillis) {
+        List<Future<PuzzleResult>> pending = new ArrayList<>();
+        for (Epd puzzle : puzzles) {
+            int mateIn = mateIn(puzzle);
+            pending.add(workers.submit(() -> new PuzzleResult(puzzle, mateIn,
+                    solvers.get().solve(puzzle.toGame(), mateIn, nodeLimit, timeMillis))));
+        }
+        List<PuzzleResult> results = new ArrayList<>();
+        for (Future<PuzzleResult> result : pending) results.add(waitFor(result));
+        return results;
+    }
+
+    /**
+     * Shuts down the solver threads.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    private static int mateIn(Epd puzzle) {
+        String operand = puzzle.operation("dm");
+        if (operand == null)
+            throw new IllegalArgumentException("Puzzle has no dm operation.");
+        try {
+            int moves = Integer.parseInt(operand.trim());
+            if (moves < 1 || moves > MateSolver.MAX_MOVES)
+                throw new IllegalArgumentException("Mate in " + moves + " is out of range.");
+            return moves;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid dm operand \"" + operand + "\".");
+        }
+    }
+
+    private static PuzzleResult waitFor(Future<PuzzleResult> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a puzzle.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("A puzzle solver failed.", e.getCause());
+        }
+    }
+}
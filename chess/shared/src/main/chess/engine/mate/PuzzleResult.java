@@ -0,0 +1,20 @@
+package chess.engine.mate;
+
+import chess.Epd;
+
+/**
+ * The result of one puzzle in a {@link PuzzleBatch}.
+ *
+ * @param puzzle The puzzle as read.
+ * @param mateIn The number of moves the puzzle asks to mate in.
+ * @param result What the solver found, with its nodes, time and memory.
+ */
+public record PuzzleResult(Epd puzzle, int mateIn, MateResult result) {
+
+    /**
+     * @return True if the solver proved the mate.
+     */
+    public boolean isSolved() {
+        return result.outcome() == MateResult.Outcome.MATE;
+    }
+}
@@ -0,0 +1,65 @@
+package chess.engine.nnue;
+
+/**
+ * The arithmetic the network spends its time in: the feature layer in 16-bit integers (see
+ * {@link Network#FEATURE_SCALE}) and the dense layers in floats. {@link ScalarKernel} works everywhere; the simd
+ * module adds a kernel that uses the JDK Vector API, which {@link #best()} picks when it can.
+ */
+public interface DenseKernel {
+
+    /**
+     * Adds a row of weights to an accumulator: {@code accumulator[i] += weights[offset + i]}.
+     *
+     * @param accumulator The values to add to. Its length is the row length.
+     * @param weights     The weight matrix.
+     * @param offset      Where the row starts in the matrix.
+     */
+    void add(short[] accumulator, short[] weights, int offset);
+
+    /**
+     * Subtracts a row of weights from an accumulator: {@code accumulator[i] -= weights[offset + i]}.
+     */
+    void subtract(short[] accumulator, short[] weights, int offset);
+
+    /**
+     * @return The dot product of {@code length} values of each array, from the given offsets.
+     */
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * Copies quantized values clamped to [0, max] and scaled to [0, 1]:
+     * {@code out[outOffset + i] = min(max(in[i], 0), max) * (1f / max)}.
+     *
+     * @param in        The values to clamp. All of them are copied.
+     * @param max       The value that maps to one.
+     * @param out       Where to write the clamped values.
+     * @param outOffset Where to start writing.
+     */
+    void clippedRelu(short[] in, int max, float[] out, int outOffset);
+
+    /**
+     * Copies values clamped to [0, 1] (clipped ReLU): {@code out[outOffset + i] = min(max(in[i], 0), 1)}.
+     *
+     * @param in        The values to clamp. All of them are copied.
+     * @param out       Where to write the clamped values.
+     * @param outOffset Where to start writing.
+     */
+    void clippedRelu(float[] in, float[] out, int outOffset);
+
+    /**
+     * Finds the fastest kernel this JVM can run. The vector kernel needs the simd module on the class path and the
+     * JVM started with {@code --add-modules jdk.incubator.vector}; otherwise the scalar kernel is used.
+     *
+     * @return The vector kernel if it is available, or the scalar kernel.
+     */
+    static DenseKernel best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (DenseKernel) Class.forName("chess.engine.nnue.VectorKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to the scalar kernel
+            }
+        }
+        return new ScalarKernel();
+    }
+}
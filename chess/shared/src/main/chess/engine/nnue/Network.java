@@ -0,0 +1,222 @@
+package chess.engine.nnue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * The weights of an efficiently updatable neural network (NNUE) for {@link NnueEvaluator}.
+ * <p>
+ * The input is 768 features, one per team, piece type and square, seen from each team's side of the board. A
+ * feature layer turns them into a hidden vector per side; those two vectors are clamped, joined with the side to
+ * move first, and fed through one hidden dense layer and a single output. Because each piece only touches one row of
+ * the feature weights, the feature layer can be kept up to date as pieces move instead of being recomputed.
+ * <p>
+ * The feature layer is quantized when a network is made: its weights and biases are scaled by
+ * {@value #FEATURE_SCALE}, the value the clipped ReLU maps to one, and rounded to 16-bit integers. Accumulators built
+ * from them are exact, so any order of updates gives the same result as computing them from scratch. A network whose
+ * feature layer could overflow 16 bits with 32 pieces on the board is rejected.
+ * <p>
+ * The file format is big-endian, as written by {@link DataOutputStream}: the magic number {@code 0x4E4E5545}
+ * ("NNUE"), the format version, the feature layer size and the dense layer size as ints, then as floats the feature
+ * weights (768 rows of the feature layer size), the feature biases, the dense weights (one row of twice the feature
+ * layer size per output), the dense biases, the output weights, the output bias and the centipawn scale.
+ * Networks are immutable once loaded, so one instance can serve every thread.
+ */
+public final class Network {
+
+    /** Team (2) x piece type (6) x square (64). */
+    public static final int FEATURES = 768;
+
+    /** Scale of the quantized feature layer: an accumulator value of this much is clamped to one. */
+    public static final int FEATURE_SCALE = 255;
+
+    // Most pieces on a board, so most feature rows added to an accumulator
+    private static final int MAX_PIECES = 32;
+
+    private static final int MAGIC = 0x4E4E5545;
+    private static final int VERSION = 1;
+
+    final int featureSize;
+    final int denseSize;
+    final float[] featureWeights;
+    final float[] featureBiases;
+    final float[] denseWeights;
+    final float[] denseBiases;
+    final float[] outputWeights;
+    final float outputBias;
+    final float outputScale;
+
+    // The feature layer, quantized (see FEATURE_SCALE)
+    final short[] quantizedFeatureWeights;
+    final short[] quantizedFeatureBiases;
+
+    private Network(int featureSize, int denseSize, float[] featureWeights, float[] featureBiases,
+                    float[] denseWeights, float[] denseBiases, float[] outputWeights, float outputBias,
+                    float outputScale) {
+        this.featureSize = featureSize;
+        this.denseSize = denseSize;
+        this.featureWeights = featureWeights;
+        this.featureBiases = featureBiases;
+        this.denseWeights = denseWeights;
+        this.denseBiases = denseBiases;
+        this.outputWeights = outputWeights;
+        this.outputBias = outputBias;
+        this.outputScale = outputScale;
+        quantizedFeatureWeights = quantize(featureWeights);
+        quantizedFeatureBiases = quantize(featureBiases);
+        checkRange();
+    }
+
+    /**
+     * @param file A network file.
+     * @return The network.
+     * @throws IOException if the file can't be read or isn't a network file.
+     */
+    public static Network load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * @param in A stream positioned at the start of a network. It is not closed.
+     * @return The network.
+     * @throws IOException if the stream can't be read or doesn't hold a network.
+     */
+    public static Network read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (data.readInt() != MAGIC)
+            throw new IOException("Not a network file.");
+        int version = data.readInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported network file version " + version + ".");
+        int featureSize = data.readInt();
+        int denseSize = data.readInt();
+        if (featureSize <= 0 || featureSize > 4096 || denseSize <= 0 || denseSize > 1024)
+            throw new IOException("Network layer sizes " + featureSize + " and " + denseSize + " are out of range.");
+
+        float[] featureWeights = readFloats(data, FEATURES * featureSize);
+        float[] featureBiases = readFloats(data, featureSize);
+        float[] denseWeights = readFloats(data, denseSize * 2 * featureSize);
+        float[] denseBiases = readFloats(data, denseSize);
+        float[] outputWeights = readFloats(data, denseSize);
+        float outputBias = data.readFloat();
+        float outputScale = data.readFloat();
+        try {
+            return new Network(featureSize, denseSize, featureWeights, featureBiases, denseWeights, denseBiases,
+                    outputWeights, outputBias, outputScale);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the network in the format {@link #read(InputStream)} reads.
+     *
+     * @param out Stream to write to. It is flushed but not closed.
+     * @throws IOException if writing fails.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(featureSize);
+        data.writeInt(denseSize);
+        writeFloats(data, featureWeights);
+        writeFloats(data, featureBiases);
+        writeFloats(data, denseWeights);
+        writeFloats(data, denseBiases);
+        writeFloats(data, outputWeights);
+        data.writeFloat(outputBias);
+        data.writeFloat(outputScale);
+        data.flush();
+    }
+
+    /**
+     * Makes a network with small random weights. It plays no better than chance, but has the cost of a real network
+     * of the same size, for tests and benchmarks.
+     *
+     * @param featureSize Size of the feature layer, per side.
+     * @param denseSize   Size of the hidden dense layer.
+     * @param seed        Random seed.
+     * @return The network.
+     */
+    public static Network random(int featureSize, int denseSize, long seed) {
+        Random random = new Random(seed);
+        return new Network(featureSize, denseSize,
+                randomFloats(random, FEATURES * featureSize, 0.1f), randomFloats(random, featureSize, 0.1f),
+                randomFloats(random, denseSize * 2 * featureSize, 0.1f), randomFloats(random, denseSize, 0.1f),
+                randomFloats(random, denseSize, 0.5f), 0f, 100f);
+    }
+
+    /**
+     * @return Size of the feature layer, per side.
+     */
+    public int featureSize() {
+        return featureSize;
+    }
+
+    /**
+     * @return Size of the hidden dense layer.
+     */
+    public int denseSize() {
+        return denseSize;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a weight doesn't fit in 16 bits once scaled.
+     */
+    private static short[] quantize(float[] values) {
+        short[] quantized = new short[values.length];
+        for (int i = 0; i < values.length; i++) {
+            long value = Math.round((double) values[i] * FEATURE_SCALE);
+            if (value < Short.MIN_VALUE || value > Short.MAX_VALUE)
+                throw new IllegalArgumentException("Feature weight " + values[i] + " is too large to quantize.");
+            quantized[i] = (short) value;
+        }
+        return quantized;
+    }
+
+    /**
+     * Checks that no accumulator value can overflow 16 bits: the bias plus the largest weight of its column for every
+     * piece on the board.
+     *
+     * @throws IllegalArgumentException if one can.
+     */
+    private void checkRange() {
+        for (int i = 0; i < featureSize; i++) {
+            int largest = 0;
+            for (int feature = 0; feature < FEATURES; feature++)
+                largest = Math.max(largest, Math.abs(quantizedFeatureWeights[feature * featureSize + i]));
+            if (Math.abs(quantizedFeatureBiases[i]) + MAX_PIECES * largest > Short.MAX_VALUE)
+                throw new IllegalArgumentException("Feature layer output " + i + " could overflow 16 bits.");
+        }
+    }
+
+    private static float[] readFloats(DataInputStream data, int count) throws IOException {
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++)
+            values[i] = data.readFloat();
+        return values;
+    }
+
+    private static void writeFloats(DataOutputStream data, float[] values) throws IOException {
+        for (float value : values)
+            data.writeFloat(value);
+    }
+
+    private static float[] randomFloats(Random random, int count, float range) {
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++)
+            values[i] = (random.nextFloat() * 2 - 1) * range;
+        return values;
+    }
+}
@@ -0,0 +1,130 @@
+package chess.engine.nnue;
+
+import chess.BoardListener;
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessGameImpl;
+import chess.ChessPiece;
+import chess.engine.Evaluator;
+
+/**
+ * Scores positions with a {@link Network}.
+ * <p>
+ * The evaluator keeps one accumulator per team: the feature layer's output seen from that team's side. It listens
+ * to the board it is attached to, and adds or subtracts one weight row per accumulator whenever a piece is added or
+ * removed, so a quiet move costs four row updates and a capture six. The accumulators hold the quantized feature layer
+ * (see {@link Network}) in 16-bit integers, so they never drift from what a fresh computation would give. Evaluating
+ * then only runs the small dense layers on top. The arithmetic goes through a {@link DenseKernel}, by default the
+ * fastest one available.
+ * <p>
+ * The network can be shared, but each searcher needs its own evaluator, since the accumulators follow one board.
+ */
+public class NnueEvaluator implements Evaluator, BoardListener {
+
+    private final Network network;
+    private final DenseKernel kernel;
+
+    // Feature layer output from white's side and from black's side, indexed by TeamColor ordinal
+    private final short[][] accumulators;
+
+    // Scratch for the dense layers: both clamped accumulators, side to move first, then the hidden layer's output
+    private final float[] input;
+    private final float[] hidden;
+    private final float[] clampedHidden;
+
+    private ChessBoard board;
+
+    /**
+     * @param network The network to evaluate with.
+     */
+    public NnueEvaluator(Network network) {
+        this(network, DenseKernel.best());
+    }
+
+    /**
+     * @param network The network to evaluate with.
+     * @param kernel  The arithmetic to use.
+     */
+    public NnueEvaluator(Network network, DenseKernel kernel) {
+        this.network = network;
+        this.kernel = kernel;
+        accumulators = new short[2][network.featureSize];
+        input = new float[2 * network.featureSize];
+        hidden = new float[network.denseSize];
+        clampedHidden = new float[network.denseSize];
+    }
+
+    /**
+     * Scores a game's position. A board that isn't attached yet is attached first.
+     */
+    @Override
+    public int evaluate(ChessGameImpl game) {
+        if (game.getBoard() != board) attach(game.getBoard());
+
+        int us = game.getTeamTurn().ordinal();
+        kernel.clippedRelu(accumulators[us], Network.FEATURE_SCALE, input, 0);
+        kernel.clippedRelu(accumulators[1 - us], Network.FEATURE_SCALE, input, network.featureSize);
+
+        int inputs = input.length;
+        for (int i = 0; i < network.denseSize; i++)
+            hidden[i] = network.denseBiases[i] + kernel.dot(input, 0, network.denseWeights, i * inputs, inputs);
+        kernel.clippedRelu(hidden, clampedHidden, 0);
+
+        float output = network.outputBias + kernel.dot(clampedHidden, 0, network.outputWeights, 0, network.denseSize);
+        return Math.round(output * network.outputScale);
+    }
+
+    /**
+     * Computes both accumulators from scratch and starts listening to the board for changes.
+     */
+    @Override
+    public void attach(ChessBoard board) {
+        if (this.board != null && this.board != board) detach(this.board);
+        this.board = board;
+        for (short[] accumulator : accumulators)
+            System.arraycopy(network.quantizedFeatureBiases, 0, accumulator, 0, network.featureSize);
+        for (long pieces = board.getOccupancy(); pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            pieceAdded(board.getPiece(square), square);
+        }
+        board.setBoardListener(this);
+    }
+
+    @Override
+    public void detach(ChessBoard board) {
+        if (board.getBoardListener() == this) board.setBoardListener(null);
+        if (this.board == board) this.board = null;
+    }
+
+    @Override
+    public void pieceAdded(ChessPiece piece, int square) {
+        kernel.add(accumulators[0], network.quantizedFeatureWeights, row(ChessGame.TeamColor.WHITE, piece, square));
+        kernel.add(accumulators[1], network.quantizedFeatureWeights, row(ChessGame.TeamColor.BLACK, piece, square));
+    }
+
+    @Override
+    public void pieceRemoved(ChessPiece piece, int square) {
+        kernel.subtract(accumulators[0], network.quantizedFeatureWeights, row(ChessGame.TeamColor.WHITE, piece, square));
+        kernel.subtract(accumulators[1], network.quantizedFeatureWeights, row(ChessGame.TeamColor.BLACK, piece, square));
+    }
+
+    /**
+     * @param perspective The team whose side the accumulator sees the board from.
+     * @return A copy of that accumulator, quantized (see {@link Network#FEATURE_SCALE}).
+     */
+    public short[] getAccumulator(ChessGame.TeamColor perspective) {
+        return accumulators[perspective.ordinal()].clone();
+    }
+
+    /**
+     * Finds a piece's weight row as seen from one team's side: that team's own pieces come first, and black sees the
+     * board flipped so both teams see their pieces starting on rows 1 and 2.
+     *
+     * @return Offset of the row in the feature weights.
+     */
+    private int row(ChessGame.TeamColor perspective, ChessPiece piece, int square) {
+        int team = (piece.teamColor() == perspective) ? 0 : 1;
+        int relativeSquare = (perspective == ChessGame.TeamColor.WHITE) ? square : square ^ 56;
+        return ((team * 6 + piece.getPieceType().ordinal()) * 64 + relativeSquare) * network.featureSize;
+    }
+}
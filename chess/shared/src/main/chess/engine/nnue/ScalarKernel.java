@@ -0,0 +1,41 @@
+package chess.engine.nnue;
+
+/**
+ * Plain loops, for JVMs without the Vector API. HotSpot auto-vectorizes the row additions, but not the dot product,
+ * since it may not reorder float additions.
+ */
+public final class ScalarKernel implements DenseKernel {
+
+    @Override
+    public void add(short[] accumulator, short[] weights, int offset) {
+        for (int i = 0; i < accumulator.length; i++)
+            accumulator[i] += weights[offset + i];
+    }
+
+    @Override
+    public void subtract(short[] accumulator, short[] weights, int offset) {
+        for (int i = 0; i < accumulator.length; i++)
+            accumulator[i] -= weights[offset + i];
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++)
+            sum += a[aOffset + i] * b[bOffset + i];
+        return sum;
+    }
+
+    @Override
+    public void clippedRelu(short[] in, int max, float[] out, int outOffset) {
+        float scale = 1f / max;
+        for (int i = 0; i < in.length; i++)
+            out[outOffset + i] = Math.min(Math.max(in[i], 0), max) * scale;
+    }
+
+    @Override
+    public void clippedRelu(float[] in, float[] out, int outOffset) {
+        for (int i = 0; i < in.length; i++)
+            out[outOffset + i] = Math.min(Math.max(in[i], 0f), 1f);
+    }
+}
@@ -0,0 +1,27 @@
+package chess.engine.suite;
+
+import chess.Epd;
+import chess.engine.SearchResult;
+
+/**
+ * The result of one position of a test suite run by a {@link SuiteRunner}.
+ *
+ * @param lineNumber Line of the file the position is on, counting from 1.
+ * @param position   The position as read, with its operations.
+ * @param result     What the search found, with its nodes and time.
+ * @param verdict    Whether the best move is one the position's {@code bm} and {@code am} operations ask for.
+ */
+public record SuiteResult(int lineNumber, Epd position, SearchResult result, Verdict verdict) {
+
+    /**
+     * How a search's best move compares with what a position expects.
+     */
+    public enum Verdict {
+        /** The move is one of the {@code bm} moves, and none of the {@code am} moves. */
+        SOLVED,
+        /** The move isn't a {@code bm} move, or is an {@code am} move. */
+        FAILED,
+        /** The position has neither operation, so there is nothing to check. */
+        UNTESTED
+    }
+}
@@ -0,0 +1,235 @@
+package chess.engine.suite;
+
+import chess.ChessGameImpl;
+import chess.Epd;
+import chess.San;
+import chess.engine.Evaluator;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Searches every position of an EPD or FEN file, many at once, to measure an engine on a test suite or to analyse a
+ * large set of positions.
+ * <p>
+ * Lines are read one at a time and handed to a work-stealing pool, where each thread searches with its own
+ * single-threaded {@link Search} and transposition table, so positions don't wait on each other and throughput grows
+ * with the number of cores. At most {@value #PENDING_PER_THREAD} positions per thread are read ahead of the searches,
+ * and results are given to a listener as each search finishes rather than kept, so memory use doesn't depend on the
+ * size of the file. The table is cleared before every position, so a position's result doesn't depend on which
+ * positions the same thread searched before it.
+ * <p>
+ * Lines can be EPD or full FEN (see {@link Epd}). A {@code bm} operation lists the best moves and an {@code am}
+ * operation moves to avoid, both in SAN; a position with either is scored as solved or failed. Blank lines and lines
+ * starting with '#' are skipped.
+ */
+public class SuiteRunner implements AutoCloseable {
+
+    /** Positions read ahead of the searches, for each thread. */
+    public static final int PENDING_PER_THREAD = 4;
+
+    private final ForkJoinPool workers;
+    private final ThreadLocal<Worker> searchers;
+    private final int maxPending;
+
+    private volatile boolean stopped;
+
+    // The run in progress, guarded by this
+    private Consumer<SuiteResult> listener;
+    private int positions;
+    private int solved;
+    private int failed;
+    private long nodes;
+    private long searchMillis;
+
+    /**
+     * @param evaluators     Makes the evaluator for each thread's search.
+     * @param threads        Number of positions to search at once.
+     * @param tableMegabytes Size of each thread's transposition table.
+     * @throws IllegalArgumentException if the thread count or table size is less than one.
+     */
+    public SuiteRunner(Supplier<Evaluator> evaluators, int threads, int tableMegabytes) {
+        if (threads < 1)
+            throw new IllegalArgumentException("A suite needs at least one thread.");
+        if (tableMegabytes < 1)
+            throw new IllegalArgumentException("The transposition table needs at least one megabyte.");
+        searchers = ThreadLocal.withInitial(() -> new Worker(new TranspositionTable(tableMegabytes), evaluators.get()));
+        workers = new ForkJoinPool(threads);
+        maxPending = threads * PENDING_PER_THREAD;
+    }
+
+    /**
+     * @param file     An EPD or FEN file.
+     * @param limits   When to stop searching each position.
+     * @param listener Told each position's result as its search finishes, one at a time, or null.
+     * @return Totals over the positions searched.
+     * @throws IOException              if the file can't be read, or a line isn't a valid position or has an invalid
+     *                                  {@code bm} or {@code am} move. Positions before it may have been searched.
+     * @throws IllegalArgumentException if the limits have no depth, time or node limit.
+     */
+    public SuiteSummary run(Path file, SearchLimits limits, Consumer<SuiteResult> listener) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            return run(in, file.toString(), limits, listener);
+        }
+    }
+
+    /**
+     * @param in       Lines of EPD or FEN. It is read to the end but not closed.
+     * @param name     Name of the input, for error messages.
+     * @param limits   When to stop searching each position.
+     * @param listener Told each position's result as its search finishes, one at a time, or null.
+     * @return Totals over the positions searched.
+     * @throws IOException              if the input can't be read, or a line isn't a valid position or has an invalid
+     *                                  {@code bm} or {@code am} move. Positions before it may have been searched.
+     * @throws IllegalArgumentException if the limits have no depth, time or node limit.
+     */
+    public SuiteSummary run(BufferedReader in, String name, SearchLimits limits, Consumer<SuiteResult> listener)
+            throws IOException {
+        if (limits.depth() == Search.MAX_DEPTH && limits.timeMillis() == 0 && limits.nodes() == 0)
+            throw new IllegalArgumentException("A suite needs a depth, time or node limit for each position.");
+        synchronized (this) {
+            this.listener = listener;
+            positions = solved = failed = 0;
+            nodes = searchMillis = 0;
+        }
+        stopped = false;
+        long start = System.nanoTime();
+
+        Semaphore pending = new Semaphore(maxPending);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        try {
+            String line;
+            for (int number = 1; !stopped && failure.get() == null && (line = in.readLine()) != null; number++) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                Task task;
+                try {
+                    task = new Task(number, Epd.parse(line));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(name + " line " + number + ": " + e.getMessage(), e);
+                }
+                pending.acquire();
+                workers.execute(() -> {
+                    try {
+                        report(task.search(searchers.get(), limits));
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        pending.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while running " + name + ".");
+        } finally {
+            // Every permit is back once the last search has finished, even when a line was invalid
+            pending.acquireUninterruptibly(maxPending);
+            pending.release(maxPending);
+        }
+        if (failure.get() != null) throw failure.get();
+
+        synchronized (this) {
+            this.listener = null;
+            return new SuiteSummary(positions, solved, failed, nodes, searchMillis,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Stops reading new positions. Searches already started finish, and {@link #run} returns once they have. Safe to
+     * call from any thread.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Shuts down the search threads.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    private synchronized void report(SuiteResult result) {
+        positions++;
+        if (result.verdict() == SuiteResult.Verdict.SOLVED) solved++;
+        else if (result.verdict() == SuiteResult.Verdict.FAILED) failed++;
+        nodes += result.result().nodes();
+        searchMillis += result.result().timeMillis();
+        if (listener != null) listener.accept(result);
+    }
+
+    /**
+     * A thread's search and the table it uses.
+     */
+    private record Worker(TranspositionTable table, Search search) {
+
+        Worker(TranspositionTable table, Evaluator evaluator) {
+            this(table, new Search(table, evaluator));
+        }
+    }
+
+    /**
+     * A position read from the file, with its expected moves already checked against it.
+     */
+    private static final class Task {
+
+        private final int lineNumber;
+        private final Epd position;
+        private final ChessGameImpl game;
+        private final int[] bestMoves;
+        private final int[] avoidMoves;
+
+        Task(int lineNumber, Epd position) {
+            this.lineNumber = lineNumber;
+            this.position = position;
+            this.game = position.toGame();
+            this.bestMoves = moves(game, position.operation("bm"));
+            this.avoidMoves = moves(game, position.operation("am"));
+        }
+
+        SuiteResult search(Worker worker, SearchLimits limits) {
+            worker.table().clear();
+            worker.search().clear();
+            SearchResult result = worker.search().search(game, limits);
+            SuiteResult.Verdict verdict;
+            if (bestMoves == null && avoidMoves == null) verdict = SuiteResult.Verdict.UNTESTED;
+            else if ((bestMoves == null || contains(bestMoves, result.bestMove())) && !contains(avoidMoves, result.bestMove()))
+                verdict = SuiteResult.Verdict.SOLVED;
+            else verdict = SuiteResult.Verdict.FAILED;
+            return new SuiteResult(lineNumber, position, result, verdict);
+        }
+
+        /**
+         * @return The moves of an operand list, or null if the position doesn't have the operation.
+         */
+        private static int[] moves(ChessGameImpl game, String operands) {
+            if (operands == null) return null;
+            String[] sans = operands.trim().split("\\s+");
+            int[] moves = new int[sans.length];
+            for (int i = 0; i < sans.length; i++) moves[i] = San.parse(game, sans[i]);
+            return moves;
+        }
+
+        private static boolean contains(int[] moves, int move) {
+            if (moves == null) return false;
+            for (int candidate : moves) {
+                if (candidate == move) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package chess.engine.suite;
+
+/**
+ * Totals of a test suite run by a {@link SuiteRunner}.
+ *
+ * @param positions    Positions searched.
+ * @param solved       Positions whose best move was one asked for.
+ * @param failed       Positions whose best move wasn't.
+ * @param nodes        Positions searched by all the searches together.
+ * @param searchMillis Time spent searching, added up over all threads.
+ * @param wallMillis   Time from the start of the run to the end.
+ */
+public record SuiteSummary(int positions, int solved, int failed, long nodes, long searchMillis, long wallMillis) {
+
+    /**
+     * @return Nodes searched per second of wall time, by all threads together.
+     */
+    public long nodesPerSecond() {
+        return nodes * 1000 / Math.max(1, wallMillis);
+    }
+
+    /**
+     * @return Positions finished per second of wall time.
+     */
+    public double positionsPerSecond() {
+        return positions * 1000.0 / Math.max(1, wallMillis);
+    }
+}
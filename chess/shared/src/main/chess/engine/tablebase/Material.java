@@ -0,0 +1,118 @@
+package chess.engine.tablebase;
+
+/**
+ * Names the set of pieces a table covers. Besides the two kings a table has up to two more pieces, each given as a
+ * kind: {@code color * 6 + type} with the PieceType ordinal, as bitboards are indexed, so 1 to 5 are white's queen,
+ * bishop, knight, rook and pawn and 7 to 11 black's. The two kinds make up a signature, {@code first * 12 + second}
+ * with {@code first <= second} and zero for a piece that isn't there, so a table with one extra piece has it second.
+ * <p>
+ * A position is found in its table at {@code side, whiteKing, blackKing, first, second} read as digits in base 64,
+ * side to move first and the squares of absent pieces left out.
+ */
+final class Material {
+
+    /** Number of possible signatures. */
+    static final int SIGNATURES = 144;
+
+    private static final String LETTERS = "KQBNRP";
+
+    private Material() {
+    }
+
+    /**
+     * @return The signature of two extra pieces, given in either order, zero for an absent piece.
+     */
+    static int of(int kindA, int kindB) {
+        return Math.min(kindA, kindB) * 12 + Math.max(kindA, kindB);
+    }
+
+    static int first(int signature) {
+        return signature / 12;
+    }
+
+    static int second(int signature) {
+        return signature % 12;
+    }
+
+    /**
+     * @return The kind of the same piece type for the other team.
+     */
+    static int mirrorKind(int kind) {
+        return (kind == 0) ? 0 : (kind < 6) ? kind + 6 : kind - 6;
+    }
+
+    /**
+     * @return The signature with the colors swapped, such as KvKQ for KQvK.
+     */
+    static int mirror(int signature) {
+        return of(mirrorKind(first(signature)), mirrorKind(second(signature)));
+    }
+
+    /**
+     * Picks which of the two color orders is generated and stored. The lower signature is, which puts the stronger
+     * pieces on white's side: KQvK rather than KvKQ.
+     */
+    static int canonical(int signature) {
+        return Math.min(signature, mirror(signature));
+    }
+
+    /**
+     * @return Pieces in a position, kings included.
+     */
+    static int pieceCount(int signature) {
+        return 2 + ((first(signature) != 0) ? 1 : 0) + ((second(signature) != 0) ? 1 : 0);
+    }
+
+    /**
+     * @return Positions in the table: both sides to move and every placement of the pieces, legal or not.
+     */
+    static int size(int signature) {
+        return 2 << (6 * pieceCount(signature));
+    }
+
+    /**
+     * @return Where a position is found in its table.
+     */
+    static int index(int signature, boolean blackToMove, int whiteKing, int blackKing, int firstSquare, int secondSquare) {
+        int index = ((blackToMove ? 64 : 0) + whiteKing) * 64 + blackKing;
+        if (first(signature) != 0) index = index * 64 + firstSquare;
+        if (second(signature) != 0) index = index * 64 + secondSquare;
+        return index;
+    }
+
+    /**
+     * @param name Material such as {@code KQvKR}: white's pieces, a 'v', and black's, each starting with the king.
+     * @return The signature.
+     * @throws IllegalArgumentException if the name isn't valid or has more than four pieces.
+     */
+    static int parse(String name) {
+        int separator = name.indexOf('v');
+        if (separator < 1 || name.charAt(0) != 'K' || separator + 1 >= name.length() || name.charAt(separator + 1) != 'K')
+            throw new IllegalArgumentException("Invalid material \"" + name + "\": expected a form like KQvK.");
+        int[] kinds = new int[2];
+        int count = 0;
+        for (int i = 1; i < name.length(); i++) {
+            if (i == separator || i == separator + 1) continue;
+            int type = LETTERS.indexOf(name.charAt(i));
+            if (type < 1)
+                throw new IllegalArgumentException("Invalid material \"" + name + "\": unexpected '" + name.charAt(i) + "'.");
+            if (count == 2)
+                throw new IllegalArgumentException("Invalid material \"" + name + "\": tables have at most four pieces.");
+            kinds[count++] = (i > separator) ? type + 6 : type;
+        }
+        return of(kinds[0], kinds[1]);
+    }
+
+    /**
+     * @return The name of the material, such as {@code KQvKR}.
+     */
+    static String name(int signature) {
+        StringBuilder white = new StringBuilder("K");
+        StringBuilder black = new StringBuilder("K");
+        for (int kind : new int[]{first(signature), second(signature)}) {
+            if (kind == 0) continue;
+            (kind < 6 ? white : black).append(LETTERS.charAt(kind % 6));
+        }
+        return white + "v" + black;
+    }
+}
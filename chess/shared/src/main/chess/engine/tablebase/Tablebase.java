@@ -0,0 +1,169 @@
+package chess.engine.tablebase;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.EndgameTablebase;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Distance-to-mate tables for endings of three and four pieces, as written by {@link TablebaseGenerator}.
+ * <p>
+ * Each table is a file named after its material, such as {@code KQvKR.dtm}: a 16-byte header of the magic number
+ * {@code 0x44544D42} ("DTMB"), the format version, the material signature and the piece count as big-endian ints,
+ * then one byte per position at the index described in {@link Material}. A byte holds a result as
+ * {@link EndgameTablebase} defines them, or 255 for a placement that can't occur.
+ * <p>
+ * Tables are memory-mapped, so they live outside the heap and load as they are used, and a probe is a single read at
+ * a computed offset. Only the color order the generator picked is stored; positions with the colors the other way
+ * round are flipped before looking them up. A Tablebase can be probed from any number of threads.
+ */
+public final class Tablebase implements EndgameTablebase {
+
+    static final int MAGIC = 0x44544D42;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final String EXTENSION = ".dtm";
+
+    /** Byte of a placement that can't occur, such as one with the team not to move in check. */
+    static final int INVALID = 255;
+
+    private static final ChessPiece.PieceType[] PIECE_TYPES = ChessPiece.PieceType.values();
+    private static final ChessGame.TeamColor[] COLORS = ChessGame.TeamColor.values();
+
+    // Mapped tables by material signature, only for the color order that is stored
+    private final MappedByteBuffer[] tables = new MappedByteBuffer[Material.SIGNATURES];
+    private int maxPieces = 2;
+
+    private Tablebase() {
+    }
+
+    /**
+     * Maps every table file in a directory.
+     *
+     * @param directory Directory holding the tables.
+     * @return The tablebase. It is empty if the directory has no tables.
+     * @throws IOException if the directory or a table can't be read, or a table file is damaged.
+     */
+    public static Tablebase open(Path directory) throws IOException {
+        Tablebase tablebase = new Tablebase();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) tablebase.map(file);
+        }
+        return tablebase;
+    }
+
+    private void map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE)
+                throw new IOException("Table " + file + " is truncated.");
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            table.order(ByteOrder.BIG_ENDIAN);
+            if (table.getInt(0) != MAGIC)
+                throw new IOException(file + " is not a tablebase file.");
+            int version = table.getInt(4);
+            if (version != VERSION)
+                throw new IOException("Unsupported tablebase version " + version + " in " + file + ".");
+            int signature = table.getInt(8);
+            if (signature <= 0 || signature >= Material.SIGNATURES || Material.canonical(signature) != signature
+                    || table.getInt(12) != Material.pieceCount(signature))
+                throw new IOException("Table " + file + " has an invalid material signature.");
+            if (length != HEADER_SIZE + (long) Material.size(signature))
+                throw new IOException("Table " + file + " is truncated.");
+            tables[signature] = table;
+            maxPieces = Math.max(maxPieces, Material.pieceCount(signature));
+        }
+    }
+
+    /**
+     * @param material Material such as {@code KQvK}, in either color order.
+     * @return True if the table for the material is loaded.
+     * @throws IllegalArgumentException if the material isn't valid.
+     */
+    public boolean contains(String material) {
+        return tables[Material.canonical(Material.parse(material))] != null;
+    }
+
+    @Override
+    public int maxPieces() {
+        return maxPieces;
+    }
+
+    @Override
+    public int probe(ChessBoard board) {
+        if (board.getCastlingRights() != 0 || board.getEnPassantSquare() >= 0) return UNKNOWN;
+        if (Long.bitCount(board.getOccupancy()) > maxPieces) return UNKNOWN;
+
+        int whiteKing = -1;
+        int blackKing = -1;
+        int kindA = 0;
+        int squareA = 0;
+        int kindB = 0;
+        int squareB = 0;
+        for (int kind = 0; kind < 12; kind++) {
+            long pieces = board.getPieces(COLORS[kind / 6], PIECE_TYPES[kind % 6]);
+            for (; pieces != 0; pieces &= pieces - 1) {
+                int square = Long.numberOfTrailingZeros(pieces);
+                if (kind == 0) {
+                    whiteKing = square;
+                } else if (kind == 6) {
+                    blackKing = square;
+                } else if (kindA == 0) {
+                    kindA = kind;
+                    squareA = square;
+                } else {
+                    kindB = kind;
+                    squareB = square;
+                }
+            }
+        }
+        if (whiteKing < 0 || blackKing < 0) return UNKNOWN;
+        return probe(whiteKing, blackKing, kindA, squareA, kindB, squareB,
+                board.getSideToMove() == ChessGame.TeamColor.BLACK);
+    }
+
+    /**
+     * Looks up a position given as its pieces.
+     *
+     * @param kindA Kind of the first extra piece (see {@link Material}), or zero if there is none.
+     * @param kindB Kind of the second extra piece, or zero if there is none.
+     * @return The result for the team to move.
+     */
+    int probe(int whiteKing, int blackKing, int kindA, int squareA, int kindB, int squareB, boolean blackToMove) {
+        if (kindA == 0 && kindB == 0) return DRAW;
+        int signature = Material.of(kindA, kindB);
+        MappedByteBuffer table = tables[signature];
+        if (table == null) {
+            // Look the position up with the colors swapped and the board turned around
+            table = tables[Material.mirror(signature)];
+            if (table == null) return UNKNOWN;
+            int king = whiteKing;
+            whiteKing = blackKing ^ 56;
+            blackKing = king ^ 56;
+            kindA = Material.mirrorKind(kindA);
+            kindB = Material.mirrorKind(kindB);
+            squareA ^= 56;
+            squareB ^= 56;
+            blackToMove = !blackToMove;
+            signature = Material.mirror(signature);
+        }
+
+        // The lower kind comes first, and a lone extra piece second
+        if (kindA > kindB) {
+            int square = squareA;
+            squareA = squareB;
+            squareB = square;
+        }
+        int value = table.get(HEADER_SIZE + Material.index(signature, blackToMove, whiteKing, blackKing, squareA, squareB)) & 0xFF;
+        return (value == INVALID) ? UNKNOWN : value;
+    }
+}
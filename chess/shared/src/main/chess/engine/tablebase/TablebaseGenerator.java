@@ -0,0 +1,502 @@
+package chess.engine.tablebase;
+
+import chess.AttackTables;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.EndgameTablebase;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds distance-to-mate tables for {@link Tablebase} by retrograde analysis.
+ * <p>
+ * Every placement of the pieces is first looked at once: illegal ones are marked, checkmates are lost in zero plies,
+ * and captures and promotions, which lead into smaller tables generated beforehand, are scored from those tables.
+ * Then the analysis works outward from the mates one ply at a time. At each distance, every position just resolved is
+ * taken back one move, by un-moving the pieces of the team that moved into it, instead of generating moves forward
+ * from every unresolved position. A position from which some move reaches a lost position is won one ply further
+ * away; a position counts down its moves as they turn out to reach won positions, and once none are left it is lost.
+ * Positions never resolved are draws.
+ * <p>
+ * Both passes split the table into ranges and run them on a pool of threads. The per-position state is plain byte
+ * arrays, updated with atomic operations where two threads can reach the same predecessor. Four-piece tables take
+ * about 100 MB of heap while they are generated.
+ * <p>
+ * Tables hold no castling rights or En Passant squares. A double pawn step is scored as if the pawn couldn't be
+ * taken En Passant, and such positions are never probed.
+ */
+public class TablebaseGenerator implements AutoCloseable {
+
+    private static final VarHandle BYTES = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final ChessPiece.PieceType[] PIECE_TYPES = ChessPiece.PieceType.values();
+    private static final ChessGame.TeamColor[] COLORS = ChessGame.TeamColor.values();
+    private static final int PAWN = ChessPiece.PieceType.PAWN.ordinal();
+    private static final int[] PROMOTIONS = {
+            ChessPiece.PieceType.QUEEN.ordinal(), ChessPiece.PieceType.ROOK.ordinal(),
+            ChessPiece.PieceType.BISHOP.ordinal(), ChessPiece.PieceType.KNIGHT.ordinal()};
+
+    // Longest distance a byte can hold, with 0 for draws and 255 for invalid placements
+    private static final int MAX_DISTANCE = 253;
+
+    private final Path directory;
+    private final int threads;
+    private final ExecutorService workers;
+
+    /**
+     * @param directory Where to write the tables, and find ones already generated.
+     * @param threads   Number of threads to generate with.
+     * @throws IllegalArgumentException if the thread count is less than one.
+     */
+    public TablebaseGenerator(Path directory, int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Generating needs at least one thread.");
+        this.directory = directory;
+        this.threads = threads;
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "tablebase-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Lists every material with up to the given number of pieces, in the color order tables are stored in, fewest
+     * pieces first.
+     *
+     * @param maxPieces 3 or 4.
+     * @return Material names such as {@code KQvK}.
+     * @throws IllegalArgumentException if the piece count isn't 3 or 4.
+     */
+    public static List<String> materials(int maxPieces) {
+        if (maxPieces < 3 || maxPieces > 4)
+            throw new IllegalArgumentException("Tables have 3 or 4 pieces.");
+        List<String> names = new ArrayList<>();
+        for (int pieces = 3; pieces <= maxPieces; pieces++) {
+            for (int signature = 1; signature < Material.SIGNATURES; signature++) {
+                int first = Material.first(signature);
+                int second = Material.second(signature);
+                if (first > second || (first % 6 == 0 && first != 0) || second % 6 == 0) continue;
+                if (Material.pieceCount(signature) == pieces && Material.canonical(signature) == signature)
+                    names.add(Material.name(signature));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Generates the table for a material, and first every smaller table its captures and promotions lead to. Tables
+     * that already exist in the directory are kept.
+     *
+     * @param material Material such as {@code KQvKR}, in either color order.
+     * @return Number of tables written.
+     * @throws IllegalArgumentException if the material isn't valid or is only the two kings.
+     * @throws IOException              if a table can't be read or written.
+     */
+    public int generate(String material) throws IOException {
+        int signature = Material.parse(material);
+        if (signature == 0)
+            throw new IllegalArgumentException("Two lone kings are always a draw and need no table.");
+        return generate(Material.canonical(signature));
+    }
+
+    private int generate(int signature) throws IOException {
+        Path file = directory.resolve(Material.name(signature) + Tablebase.EXTENSION);
+        if (Files.exists(file)) return 0;
+        int written = 0;
+        for (int successor : successors(signature)) {
+            if (successor != 0) written += generate(Material.canonical(successor));
+        }
+        byte[] values = new Solver(signature, Tablebase.open(directory)).solve();
+        write(file, signature, values);
+        return written + 1;
+    }
+
+    /**
+     * @return Signatures of the material after each kind of capture and promotion.
+     */
+    private static List<Integer> successors(int signature) {
+        List<Integer> successors = new ArrayList<>();
+        int[] kinds = {Material.first(signature), Material.second(signature)};
+        for (int i = 0; i < 2; i++) {
+            int kind = kinds[i];
+            int other = kinds[1 - i];
+            if (kind == 0) continue;
+            successors.add(Material.of(other, 0));
+            if (kind % 6 != PAWN) continue;
+            for (int promotion : PROMOTIONS) {
+                int promoted = (kind / 6) * 6 + promotion;
+                successors.add(Material.of(other, promoted));
+                successors.add(Material.of(0, promoted));
+            }
+        }
+        return successors;
+    }
+
+    private static void write(Path file, int signature, byte[] values) throws IOException {
+        // Written aside and moved in place, so an interrupted run never leaves a partial table behind
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+            data.writeInt(Tablebase.MAGIC);
+            data.writeInt(Tablebase.VERSION);
+            data.writeInt(signature);
+            data.writeInt(Material.pieceCount(signature));
+            data.write(values);
+            data.flush();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Shuts down the generator threads.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    /**
+     * Work on one range of positions, with scratch space for the squares of its pieces.
+     */
+    private interface RangeTask {
+        void run(int start, int end, int[] squares);
+    }
+
+    /**
+     * Generates one table.
+     */
+    private final class Solver {
+        private final int signature;
+        private final int pieces;
+        private final int size;
+        private final Tablebase smaller;
+
+        // Kind of each piece: white king, black king, then the extra pieces in index order
+        private final int[] kinds;
+
+        // Result of each position once resolved, as Tablebase stores it, and zero before
+        private final byte[] values;
+
+        // Moves of each position not yet known to lose
+        private final byte[] counts;
+
+        // Longest loss among moves into smaller tables, which decides the distance if every move loses
+        private final byte[] exitLoss;
+
+        // Greatest distance resolved so far
+        private final AtomicInteger furthest = new AtomicInteger(-1);
+
+        Solver(int signature, Tablebase smaller) {
+            this.signature = signature;
+            this.pieces = Material.pieceCount(signature);
+            this.size = Material.size(signature);
+            this.smaller = smaller;
+            kinds = (pieces == 3)
+                    ? new int[]{0, 6, Material.second(signature)}
+                    : new int[]{0, 6, Material.first(signature), Material.second(signature)};
+            values = new byte[size];
+            counts = new byte[size];
+            exitLoss = new byte[size];
+        }
+
+        byte[] solve() throws IOException {
+            parallel((start, end, squares) -> {
+                for (int index = start; index < end; index++) initialize(index, squares);
+            });
+            for (int distance = 0; distance <= furthest.get(); distance++) {
+                int value = distance + 1;
+                int resolved = distance;
+                parallel((start, end, squares) -> {
+                    for (int index = start; index < end; index++) {
+                        if ((values[index] & 0xFF) == value) retract(index, squares, resolved);
+                    }
+                });
+            }
+            return values;
+        }
+
+        /**
+         * Marks a placement invalid, or works out how many moves it has and scores its captures and promotions.
+         */
+        private void initialize(int index, int[] squares) {
+            boolean blackToMove = decode(index, squares);
+            long occupancy = 0;
+            for (int i = 0; i < pieces; i++) {
+                int square = squares[i];
+                boolean pawnOnEdge = kinds[i] % 6 == PAWN && (square < 8 || square >= 56);
+                if ((occupancy & (1L << square)) != 0 || pawnOnEdge) {
+                    values[index] = (byte) Tablebase.INVALID;
+                    return;
+                }
+                occupancy |= 1L << square;
+            }
+            int us = blackToMove ? 1 : 0;
+            int them = 1 - us;
+            if (isAttacked(squares, squares[them], us, occupancy, -1)) {
+                values[index] = (byte) Tablebase.INVALID;
+                return;
+            }
+
+            int count = 0;
+            int exitWin = Integer.MAX_VALUE;
+            int exitLossDistance = 0;
+            boolean anyMove = false;
+            for (int i = 0; i < pieces; i++) {
+                if (kinds[i] / 6 != us) continue;
+                int from = squares[i];
+                for (long targets = targets(squares, i, occupancy); targets != 0; targets &= targets - 1) {
+                    int to = Long.numberOfTrailingZeros(targets);
+                    int captured = pieceOn(squares, to);
+                    squares[i] = to;
+                    long after = (occupancy & ~(1L << from)) | (1L << to);
+                    if (!isAttacked(squares, squares[us], them, after, captured)) {
+                        anyMove = true;
+                        boolean promotion = kinds[i] % 6 == PAWN && (to < 8 || to >= 56);
+                        if (captured < 0 && !promotion) {
+                            count++;
+                        } else {
+                            for (int p = 0; p < (promotion ? PROMOTIONS.length : 1); p++) {
+                                int kind = promotion ? us * 6 + PROMOTIONS[p] : kinds[i];
+                                int result = probeSmaller(squares, i, kind, captured, !blackToMove);
+                                if (EndgameTablebase.isLoss(result)) {
+                                    exitWin = Math.min(exitWin, EndgameTablebase.distance(result) + 1);
+                                    count++;
+                                } else if (EndgameTablebase.isWin(result)) {
+                                    exitLossDistance = Math.max(exitLossDistance, EndgameTablebase.distance(result) + 1);
+                                } else {
+                                    count++;
+                                }
+                            }
+                        }
+                    }
+                    squares[i] = from;
+                }
+            }
+
+            if (!anyMove) {
+                // Checkmate is lost now; stalemate stays a draw
+                if (isAttacked(squares, squares[us], them, occupancy, -1)) resolve(index, 0);
+                return;
+            }
+            counts[index] = (byte) count;
+            exitLoss[index] = (byte) exitLossDistance;
+            if (exitWin != Integer.MAX_VALUE) resolve(index, exitWin);
+            else if (count == 0) resolve(index, exitLossDistance);
+        }
+
+        /**
+         * Takes back every move into a position resolved at the given distance, and updates the positions they were
+         * made from.
+         */
+        private void retract(int index, int[] squares, int distance) {
+            boolean blackToMove = decode(index, squares);
+            long occupancy = 0;
+            for (int i = 0; i < pieces; i++) occupancy |= 1L << squares[i];
+            boolean won = (distance & 1) == 1;
+
+            // The team that just moved is the one not to move
+            int mover = blackToMove ? 0 : 1;
+            for (int i = 0; i < pieces; i++) {
+                int kind = kinds[i];
+                if (kind / 6 != mover) continue;
+                int to = squares[i];
+                long origins;
+                if (kind % 6 != PAWN) {
+                    origins = AttackTables.attacks(PIECE_TYPES[kind % 6], COLORS[mover], to, occupancy) & ~occupancy;
+                } else {
+                    origins = 0;
+                    int back = (mover == 0) ? -8 : 8;
+                    int one = to + back;
+                    boolean onBoard = (mover == 0) ? to >= 16 : to < 48;
+                    if (onBoard && (occupancy & (1L << one)) == 0) {
+                        origins |= 1L << one;
+                        boolean doubleStep = (mover == 0) ? (to >= 24 && to < 32) : (to >= 32 && to < 40);
+                        if (doubleStep && (occupancy & (1L << (one + back))) == 0) origins |= 1L << (one + back);
+                    }
+                }
+                for (; origins != 0; origins &= origins - 1) {
+                    squares[i] = Long.numberOfTrailingZeros(origins);
+                    int predecessor = encode(squares, !blackToMove);
+                    squares[i] = to;
+                    if ((values[predecessor] & 0xFF) == Tablebase.INVALID) continue;
+                    if (won) countDown(predecessor, distance);
+                    else winFrom(predecessor, distance + 1);
+                }
+            }
+        }
+
+        /**
+         * Records that a position has a move into a lost one, so it wins at the given distance unless it already
+         * wins sooner.
+         */
+        private void winFrom(int index, int distance) {
+            byte value = (byte) (distance + 1);
+            while (true) {
+                int current = (byte) BYTES.getVolatile(values, index) & 0xFF;
+                if (current != 0 && current <= distance + 1) return;
+                if (BYTES.compareAndSet(values, index, (byte) current, value)) break;
+            }
+            raiseFurthest(distance);
+        }
+
+        /**
+         * Records that one more of a position's moves leads into a won position. When none are left it is lost, one
+         * ply beyond the longest of them.
+         */
+        private void countDown(int index, int distance) {
+            byte remaining = (byte) ((byte) BYTES.getAndAdd(counts, index, (byte) -1) - 1);
+            if (remaining == 0) {
+                int loss = Math.max(distance + 1, exitLoss[index] & 0xFF);
+                BYTES.setVolatile(values, index, (byte) (loss + 1));
+                raiseFurthest(loss);
+            }
+        }
+
+        private void resolve(int index, int distance) {
+            values[index] = (byte) (distance + 1);
+            raiseFurthest(distance);
+        }
+
+        private void raiseFurthest(int distance) {
+            if (distance > MAX_DISTANCE)
+                throw new IllegalStateException("Distance to mate in " + Material.name(signature) + " is over " + MAX_DISTANCE + " plies.");
+            furthest.accumulateAndGet(distance, Math::max);
+        }
+
+        /**
+         * Looks up the position after a capture or promotion in its smaller table.
+         *
+         * @param mover    The piece that moved, already on its new square.
+         * @param kind     Its kind after the move.
+         * @param captured The piece it captured, or -1.
+         * @return The result for the other team.
+         */
+        private int probeSmaller(int[] squares, int mover, int kind, int captured, boolean blackToMove) {
+            int kindA = 0;
+            int squareA = 0;
+            int kindB = 0;
+            int squareB = 0;
+            for (int j = 2; j < pieces; j++) {
+                if (j == captured) continue;
+                int pieceKind = (j == mover) ? kind : kinds[j];
+                if (kindA == 0) {
+                    kindA = pieceKind;
+                    squareA = squares[j];
+                } else {
+                    kindB = pieceKind;
+                    squareB = squares[j];
+                }
+            }
+            int result = smaller.probe(squares[0], squares[1], kindA, squareA, kindB, squareB, blackToMove);
+            if (result == EndgameTablebase.UNKNOWN)
+                throw new IllegalStateException("The table for " + Material.name(Material.of(kindA, kindB)) + " is missing.");
+            return result;
+        }
+
+        /**
+         * @return Squares a piece can move to, ignoring checks.
+         */
+        private long targets(int[] squares, int piece, long occupancy) {
+            int kind = kinds[piece];
+            int color = kind / 6;
+            int from = squares[piece];
+            long own = 0;
+            for (int i = 0; i < pieces; i++) {
+                if (kinds[i] / 6 == color) own |= 1L << squares[i];
+            }
+            if (kind % 6 != PAWN)
+                return AttackTables.attacks(PIECE_TYPES[kind % 6], COLORS[color], from, occupancy) & ~own;
+
+            long targets = AttackTables.pawnAttacks(COLORS[color], from) & occupancy & ~own;
+            int forward = (color == 0) ? 8 : -8;
+            int one = from + forward;
+            if ((occupancy & (1L << one)) == 0) {
+                targets |= 1L << one;
+                boolean home = (color == 0) ? from < 16 : from >= 48;
+                if (home && (occupancy & (1L << (one + forward))) == 0) targets |= 1L << (one + forward);
+            }
+            return targets;
+        }
+
+        /**
+         * @param skip A piece to leave out, such as one just captured, or -1.
+         * @return True if a piece of the given color attacks the square.
+         */
+        private boolean isAttacked(int[] squares, int square, int color, long occupancy, int skip) {
+            for (int i = 0; i < pieces; i++) {
+                int kind = kinds[i];
+                if (i == skip || kind / 6 != color) continue;
+                if ((AttackTables.attacks(PIECE_TYPES[kind % 6], COLORS[color], squares[i], occupancy) & (1L << square)) != 0)
+                    return true;
+            }
+            return false;
+        }
+
+        private int pieceOn(int[] squares, int square) {
+            for (int i = 0; i < pieces; i++) {
+                if (squares[i] == square) return i;
+            }
+            return -1;
+        }
+
+        /**
+         * Reads the squares of a position's pieces from its index.
+         *
+         * @return True if black is to move.
+         */
+        private boolean decode(int index, int[] squares) {
+            for (int i = pieces - 1; i >= 0; i--) {
+                squares[i] = index & 63;
+                index >>>= 6;
+            }
+            return index == 1;
+        }
+
+        private int encode(int[] squares, boolean blackToMove) {
+            int index = blackToMove ? 1 : 0;
+            for (int i = 0; i < pieces; i++) index = index * 64 + squares[i];
+            return index;
+        }
+
+        /**
+         * Runs a task over the whole table, split into ranges across the generator's threads.
+         */
+        private void parallel(RangeTask task) throws IOException {
+            int chunk = Math.max(1 << 12, size / (threads * 16));
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int start = 0; start < size; start += chunk) {
+                int rangeStart = start;
+                int rangeEnd = Math.min(size, start + chunk);
+                tasks.add(() -> {
+                    task.run(rangeStart, rangeEnd, new int[pieces]);
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> result : workers.invokeAll(tasks)) result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while generating " + Material.name(signature) + ".", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw new IllegalStateException("A generator thread failed.", e.getCause());
+            }
+        }
+    }
+}
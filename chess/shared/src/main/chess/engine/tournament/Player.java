@@ -0,0 +1,16 @@
+package chess.engine.tournament;
+
+import chess.engine.Evaluator;
+import chess.engine.SearchLimits;
+
+import java.util.function.Supplier;
+
+/**
+ * One side of a match: an engine setup and what it may spend on each move.
+ *
+ * @param name       Name to report results under.
+ * @param evaluators Makes a new evaluator for each thread that plays with this engine.
+ * @param limits     Budget for each move, usually a time or node limit.
+ */
+public record Player(String name, Supplier<Evaluator> evaluators, SearchLimits limits) {
+}
@@ -0,0 +1,109 @@
+package chess.engine.tournament;
+
+/**
+ * A sequential probability ratio test, which decides after each game whether a match has shown that one engine is
+ * stronger than the other by enough, or not, so a match stops as soon as the answer is clear instead of after a fixed
+ * number of games.
+ * <p>
+ * The test weighs hypothesis H0, that the first engine's strength over the second is {@code elo0}, against H1, that
+ * it is {@code elo1}. The log-likelihood ratio of the games so far is compared with bounds set by the acceptable
+ * rates of error: H1 is accepted once it rises above {@code log((1 - beta) / alpha)} and H0 once it falls below
+ * {@code log(beta / (1 - alpha))}. It uses the usual normal approximation to the trinomial of wins, draws and losses
+ * with logistic Elo, so draws count as the half-point they score.
+ */
+public final class Sprt {
+
+    /** What the games so far show. */
+    public enum Decision {
+        /** Not enough games to tell yet. */
+        CONTINUE,
+        /** The difference is {@code elo0} or less. */
+        ACCEPT_H0,
+        /** The difference is {@code elo1} or more. */
+        ACCEPT_H1
+    }
+
+    private final double elo0;
+    private final double elo1;
+    private final double lowerBound;
+    private final double upperBound;
+
+    /**
+     * @param elo0  Elo difference of H0, usually 0.
+     * @param elo1  Elo difference of H1, such as 5 for a small improvement.
+     * @param alpha Chance of accepting H1 when H0 is true.
+     * @param beta  Chance of accepting H0 when H1 is true.
+     * @throws IllegalArgumentException if elo1 isn't above elo0 or an error rate isn't between 0 and 0.5.
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        if (!(elo1 > elo0))
+            throw new IllegalArgumentException("elo1 must be greater than elo0.");
+        if (!(alpha > 0 && alpha < 0.5) || !(beta > 0 && beta < 0.5))
+            throw new IllegalArgumentException("Error rates must be between 0 and 0.5.");
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        lowerBound = Math.log(beta / (1 - alpha));
+        upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * @return The log-likelihood ratio at which H0 is accepted.
+     */
+    public double lowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * @return The log-likelihood ratio at which H1 is accepted.
+     */
+    public double upperBound() {
+        return upperBound;
+    }
+
+    /**
+     * @param wins   Games the first engine won.
+     * @param draws  Games drawn.
+     * @param losses Games the first engine lost.
+     * @return The log-likelihood ratio of H1 over H0, or zero while every game has had the same result, since the
+     * spread of results can't be estimated before then.
+     */
+    public double llr(int wins, int draws, int losses) {
+        double games = wins + draws + losses;
+        if (games == 0) return 0;
+        double score = (wins + draws / 2.0) / games;
+        double variance = (wins + draws / 4.0) / games - score * score;
+        if (!(variance > 0)) return 0;
+        double score0 = expectedScore(elo0);
+        double score1 = expectedScore(elo1);
+        return games * (score1 - score0) * (2 * score - score0 - score1) / (2 * variance);
+    }
+
+    /**
+     * @param wins   Games the first engine won.
+     * @param draws  Games drawn.
+     * @param losses Games the first engine lost.
+     * @return Whether to stop, and which hypothesis the games support if so.
+     */
+    public Decision decide(int wins, int draws, int losses) {
+        double llr = llr(wins, draws, losses);
+        if (llr >= upperBound) return Decision.ACCEPT_H1;
+        if (llr <= lowerBound) return Decision.ACCEPT_H0;
+        return Decision.CONTINUE;
+    }
+
+    /**
+     * @param elo An Elo difference.
+     * @return The share of points the stronger side is expected to score, from 0 to 1.
+     */
+    public static double expectedScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    /**
+     * @param score A share of points, from 0 to 1.
+     * @return The Elo difference that scores it, infinite for a score of 0 or 1.
+     */
+    public static double elo(double score) {
+        return -400 * Math.log10(1 / score - 1);
+    }
+}
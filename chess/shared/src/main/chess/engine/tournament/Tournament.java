@@ -0,0 +1,270 @@
+package chess.engine.tournament;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessGameImpl;
+import chess.ChessPiece;
+import chess.Epd;
+import chess.Fen;
+import chess.engine.Search;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Plays a match between two engines, many games at once, to tell whether a change made an engine stronger.
+ * <p>
+ * Each thread of a fixed pool plays one game at a time with its own single-threaded {@link Search} and
+ * transposition table for each player, so a match keeps every core busy without the players sharing anything.
+ * Games start from the opening positions in turn, and each opening is played twice with the colors swapped, so
+ * neither player profits from a lopsided opening. A game ends in checkmate, stalemate, threefold repetition, the
+ * fifty-move rule, bare kings or a lone minor piece, or after {@value #MAX_PLIES} plies, which counts as a draw.
+ * <p>
+ * After every game the result is given to a listener and checked with an {@link Sprt}; the match stops once the test
+ * decides or the game limit is reached. Games still being played then are abandoned and not counted. With 100 ms a
+ * move a game takes about 12 seconds of one core, so 10,000 games take around four hours on eight cores.
+ */
+public class Tournament implements AutoCloseable {
+
+    /** Plies after which a game is drawn. */
+    public static final int MAX_PLIES = 400;
+
+    private final Player[] players;
+    private final List<String> openings;
+    private final int threads;
+    private final int tableMegabytes;
+    private final ExecutorService workers;
+
+    private volatile boolean stopped;
+
+    // The match in progress, guarded by this
+    private Sprt sprt;
+    private Consumer<TournamentResult> listener;
+    private int wins;
+    private int draws;
+    private int losses;
+    private final long[] nodes = new long[2];
+    private final long[] searchNanos = new long[2];
+    private long start;
+    private Sprt.Decision decision;
+
+    /**
+     * @param first          The player whose results are reported, usually the changed engine.
+     * @param second         Its opponent, usually the engine before the change.
+     * @param openings       Positions to start games from, as FEN.
+     * @param threads        Number of games to play at once.
+     * @param tableMegabytes Size of each player's transposition table on each thread.
+     * @throws IllegalArgumentException if there are no openings or one isn't valid FEN, or the thread count or table
+     *                                  size is less than one.
+     */
+    public Tournament(Player first, Player second, List<String> openings, int threads, int tableMegabytes) {
+        if (openings.isEmpty())
+            throw new IllegalArgumentException("A tournament needs at least one opening.");
+        if (threads < 1)
+            throw new IllegalArgumentException("A tournament needs at least one thread.");
+        if (tableMegabytes < 1)
+            throw new IllegalArgumentException("The transposition table needs at least one megabyte.");
+        for (String opening : openings) Fen.parse(opening);
+        this.players = new Player[]{first, second};
+        this.openings = List.copyOf(openings);
+        this.threads = threads;
+        this.tableMegabytes = tableMegabytes;
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "tournament-game");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reads opening positions, one per line as FEN or EPD. Blank lines and lines starting with '#' are skipped.
+     *
+     * @param file The opening file.
+     * @return The positions as FEN, in file order.
+     * @throws IOException if the file can't be read or a line isn't a valid position.
+     */
+    public static List<String> readOpenings(Path file) throws IOException {
+        List<String> openings = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            String line;
+            for (int number = 1; (line = in.readLine()) != null; number++) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                try {
+                    String opening = Epd.parse(line).fen();
+                    Fen.parse(opening);
+                    openings.add(opening);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(file + " line " + number + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return openings;
+    }
+
+    /**
+     * Plays games until the SPRT decides, the game limit is reached or {@link #stop()} is called.
+     *
+     * @param maxGames Most games to play.
+     * @param sprt     The test to stop on.
+     * @param listener Told the standing after each game, one game at a time, or null.
+     * @return The final standing.
+     * @throws IllegalArgumentException if the game limit is less than one.
+     */
+    public TournamentResult run(int maxGames, Sprt sprt, Consumer<TournamentResult> listener) {
+        if (maxGames < 1)
+            throw new IllegalArgumentException("A tournament needs at least one game.");
+        synchronized (this) {
+            this.sprt = sprt;
+            this.listener = listener;
+            wins = draws = losses = 0;
+            nodes[0] = nodes[1] = searchNanos[0] = searchNanos[1] = 0;
+            decision = Sprt.Decision.CONTINUE;
+            start = System.nanoTime();
+        }
+        stopped = false;
+
+        AtomicInteger nextGame = new AtomicInteger();
+        List<Future<?>> pending = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            pending.add(workers.submit(() -> {
+                try {
+                    playGames(nextGame, maxGames);
+                } catch (RuntimeException e) {
+                    // One failed game spoils the match, so don't let the other threads play on
+                    stopped = true;
+                    throw e;
+                }
+            }));
+        }
+        for (Future<?> worker : pending) waitFor(worker);
+        synchronized (this) {
+            return standing();
+        }
+    }
+
+    /**
+     * Stops a running match after the games in progress, which aren't counted. Safe to call from any thread.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Shuts down the game threads.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    /**
+     * Plays games on one thread until the match is over.
+     */
+    private void playGames(AtomicInteger nextGame, int maxGames) {
+        TranspositionTable[] tables = new TranspositionTable[2];
+        Search[] searches = new Search[2];
+        for (int i = 0; i < 2; i++) {
+            tables[i] = new TranspositionTable(tableMegabytes);
+            searches[i] = new Search(tables[i], players[i].evaluators().get());
+        }
+
+        int game;
+        while (!stopped && (game = nextGame.getAndIncrement()) < maxGames) {
+            for (int i = 0; i < 2; i++) {
+                tables[i].clear();
+                searches[i].clear();
+            }
+            // Even games give the first player white, odd games the same opening with black
+            boolean firstIsWhite = (game & 1) == 0;
+            long[] gameNodes = new long[2];
+            long[] gameNanos = new long[2];
+            ChessGame.TeamColor winner = null;
+            ChessGameImpl position = Fen.parse(openings.get((game / 2) % openings.size()));
+            boolean over = false;
+            for (int ply = 0; !over; ply++) {
+                if (stopped) return;
+                ChessGame.TeamColor turn = position.getTeamTurn();
+                ChessGame.GameStatus status = position.gameStatus();
+                if (status == ChessGame.GameStatus.CHECKMATE) {
+                    winner = (turn == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+                    over = true;
+                } else if (status == ChessGame.GameStatus.STALEMATE || position.isDrawByRepetition()
+                        || position.isDrawByFiftyMoveRule() || isDeadDraw(position.getBoard()) || ply >= MAX_PLIES) {
+                    over = true;
+                } else {
+                    int player = ((turn == ChessGame.TeamColor.WHITE) == firstIsWhite) ? 0 : 1;
+                    long moveStart = System.nanoTime();
+                    SearchResult result = searches[player].search(position, players[player].limits());
+                    gameNanos[player] += System.nanoTime() - moveStart;
+                    gameNodes[player] += result.nodes();
+                    position.makeMove(result.bestMove());
+                }
+            }
+            ChessGame.TeamColor firstColor = firstIsWhite ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+            record(winner == null ? 0 : (winner == firstColor) ? 1 : -1, gameNodes, gameNanos);
+        }
+    }
+
+    /**
+     * Counts a finished game and checks whether the match is decided.
+     *
+     * @param result 1 if the first player won, -1 if it lost, 0 for a draw.
+     */
+    private synchronized void record(int result, long[] gameNodes, long[] gameNanos) {
+        if (stopped) return;
+        if (result > 0) wins++;
+        else if (result < 0) losses++;
+        else draws++;
+        for (int i = 0; i < 2; i++) {
+            nodes[i] += gameNodes[i];
+            searchNanos[i] += gameNanos[i];
+        }
+        decision = sprt.decide(wins, draws, losses);
+        if (decision != Sprt.Decision.CONTINUE) stopped = true;
+        if (listener != null) listener.accept(standing());
+    }
+
+    private TournamentResult standing() {
+        return new TournamentResult(players[0].name(), players[1].name(), wins, draws, losses,
+                sprt.llr(wins, draws, losses), decision, nodes[0], searchNanos[0] / 1_000_000, nodes[1],
+                searchNanos[1] / 1_000_000, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return True if neither team has enough material left to mate: bare kings, or a single bishop or knight.
+     */
+    private static boolean isDeadDraw(ChessBoard board) {
+        long occupancy = board.getOccupancy();
+        int pieces = Long.bitCount(occupancy);
+        if (pieces == 2) return true;
+        if (pieces != 3) return false;
+        long minors = 0;
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values())
+            minors |= board.getPieces(color, ChessPiece.PieceType.BISHOP) | board.getPieces(color, ChessPiece.PieceType.KNIGHT);
+        return minors != 0;
+    }
+
+    private static void waitFor(Future<?> worker) {
+        try {
+            worker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the tournament.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("A tournament game failed.", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package chess.engine.tournament;
+
+/**
+ * The standing of a match, from the first player's point of view, either part way through or at the end.
+ *
+ * @param first              Name of the first player.
+ * @param second             Name of the second player.
+ * @param wins               Games the first player won.
+ * @param draws              Games drawn.
+ * @param losses             Games the first player lost.
+ * @param llr                Log-likelihood ratio of the SPRT (see {@link Sprt}).
+ * @param decision           What the SPRT decided, or {@link Sprt.Decision#CONTINUE} if the match ended without a
+ *                           decision.
+ * @param firstNodes         Positions the first player searched.
+ * @param firstSearchMillis  Time the first player spent searching, in milliseconds over all threads.
+ * @param secondNodes        Positions the second player searched.
+ * @param secondSearchMillis Time the second player spent searching.
+ * @param wallMillis         Time since the match started.
+ */
+public record TournamentResult(String first, String second, int wins, int draws, int losses, double llr,
+                               Sprt.Decision decision, long firstNodes, long firstSearchMillis, long secondNodes,
+                               long secondSearchMillis, long wallMillis) {
+
+    /**
+     * @return Games finished.
+     */
+    public int games() {
+        return wins + draws + losses;
+    }
+
+    /**
+     * @return The first player's share of the points, from 0 to 1, or 0.5 before any game.
+     */
+    public double score() {
+        return (games() == 0) ? 0.5 : (wins + draws / 2.0) / games();
+    }
+
+    /**
+     * @return The Elo difference the score implies, positive when the first player is stronger.
+     */
+    public double elo() {
+        return Sprt.elo(score());
+    }
+
+    /**
+     * @return Half the width of the 95% confidence interval of {@link #elo()}, infinite while one player has scored
+     * every point.
+     */
+    public double eloError() {
+        int games = games();
+        if (games == 0 || wins == games || losses == games) return Double.POSITIVE_INFINITY;
+        double score = score();
+        double deviation = Math.sqrt(((wins + draws / 4.0) / games - score * score) / games);
+        double low = Math.max(1e-9, score - 1.96 * deviation);
+        double high = Math.min(1 - 1e-9, score + 1.96 * deviation);
+        return (Sprt.elo(high) - Sprt.elo(low)) / 2;
+    }
+
+    /**
+     * @return Positions the first player searched per second of its own search time.
+     */
+    public long firstNodesPerSecond() {
+        return firstNodes * 1000 / Math.max(1, firstSearchMillis);
+    }
+
+    /**
+     * @return Positions the second player searched per second of its own search time.
+     */
+    public long secondNodesPerSecond() {
+        return secondNodes * 1000 / Math.max(1, secondSearchMillis);
+    }
+
+    /**
+     * @return Positions searched per second of the match, by both players on every thread, which shows how well the
+     * match used the machine.
+     */
+    public long nodesPerSecond() {
+        return (firstNodes + secondNodes) * 1000 / Math.max(1, wallMillis);
+    }
+}
@@ -0,0 +1,450 @@
+package chess.engine.uci;
+
+import chess.ChessGame;
+import chess.ChessGameImpl;
+import chess.Fen;
+import chess.Move;
+import chess.MoveList;
+import chess.engine.ParallelSearch;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TaperedEvaluator;
+import chess.engine.TranspositionTable;
+import chess.engine.book.OpeningBook;
+import chess.engine.tablebase.Tablebase;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speaks the Universal Chess Interface over a pair of streams, so the engine can be run by chess GUIs and match tools
+ * against other engines. Run {@link #main} with standard input and output.
+ * <p>
+ * Supported commands are {@code uci}, {@code isready}, {@code setoption} for {@code Hash}, {@code Threads},
+ * {@code BookFile} (an {@link OpeningBook} file) and {@code TablebasePath} (a {@link Tablebase} directory), either of
+ * the last two {@code <empty>} for none,
+ * {@code ucinewgame}, {@code position [startpos | fen <fen>] [moves <move>...]}, {@code go} with {@code depth},
+ * {@code movetime}, {@code nodes}, {@code infinite}, {@code ponder} and the clock parameters {@code wtime},
+ * {@code btime}, {@code winc}, {@code binc} and {@code movestogo}, {@code ponderhit}, {@code stop} and {@code quit}.
+ * Each completed iteration is reported as an {@code info} line with the depth, score, nodes, nodes per second, hash
+ * use, time and principal variation, and the search ends with {@code bestmove}.
+ * <p>
+ * An infinite or pondering search never sends {@code bestmove} by itself, even once it has found a mate or reached
+ * its depth: it holds the move until {@code stop}, or for pondering until {@code ponderhit}. A pondering search
+ * ignores the clock until {@code ponderhit}, and from then has the time the clock parameters gave it.
+ * <p>
+ * Searches run on their own thread, so the thread reading commands never waits on one: {@code stop} reaches the
+ * search as soon as it is read, and the search notices within one node. Commands that change the position wait for
+ * the search to end first.
+ */
+public class UciEngine {
+
+    /** Name reported to the GUI. */
+    public static final String NAME = "Chess";
+
+    private static final int DEFAULT_HASH_MEGABYTES = 16;
+    private static final int MAX_HASH_MEGABYTES = 4096;
+    private static final int MAX_THREADS = 256;
+
+    // Kept back from the clock for each move, for the time it takes to send the move
+    private static final long MOVE_OVERHEAD_MILLIS = 30;
+
+    // Moves left to plan for when the GUI doesn't say
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final ExecutorService searchThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "uci-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "uci-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final MoveList moves = new MoveList();
+
+    private TranspositionTable table = new TranspositionTable(DEFAULT_HASH_MEGABYTES);
+    private OpeningBook book;
+    private Tablebase tablebase;
+    private ParallelSearch search = newSearch();
+    private int threads = 1;
+    private ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+    private Future<?> running;
+
+    // Set by stop, and checked again once the search is under way, since a stop read before the search thread
+    // started the search would otherwise be cleared by it
+    private volatile boolean stopRequested;
+
+    // The running search's bestmove waits on this until stop, or ponderhit for a search that isn't infinite; null
+    // when the search sends its move as soon as it ends
+    private volatile CountDownLatch release;
+
+    // How the running search was started, the time a pondering search gets once ponderhit arrives, and the stop
+    // scheduled then, all only used by the thread reading commands
+    private boolean infinite;
+    private boolean pondering;
+    private long ponderMillis;
+    private ScheduledFuture<?> ponderStop;
+
+    /**
+     * @param in  Where commands come from.
+     * @param out Where replies go.
+     */
+    public UciEngine(InputStream in, OutputStream out) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.out = new PrintStream(out, false, StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws IOException {
+        new UciEngine(System.in, System.out).run();
+    }
+
+    /**
+     * Reads and carries out commands until {@code quit} or the end of the input, then stops any search and waits
+     * for its {@code bestmove}.
+     *
+     * @throws IOException if the input can't be read.
+     */
+    public void run() throws IOException {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!execute(line)) break;
+            }
+        } finally {
+            stopSearch();
+            awaitSearch();
+            search.close();
+            searchThread.shutdown();
+            timer.shutdownNow();
+            out.flush();
+        }
+    }
+
+    /**
+     * Carries out one command. Unknown commands are ignored, as the protocol asks.
+     *
+     * @param line The command line.
+     * @return False if the command was {@code quit}.
+     */
+    public boolean execute(String line) {
+        String[] words = line.trim().split("\\s+");
+        switch (words[0]) {
+            case "uci" -> {
+                send("id name " + NAME);
+                send("id author The chess authors");
+                send("option name Hash type spin default " + DEFAULT_HASH_MEGABYTES + " min 1 max " + MAX_HASH_MEGABYTES);
+                send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                send("option name BookFile type string default <empty>");
+                send("option name TablebasePath type string default <empty>");
+                send("uciok");
+            }
+            case "isready" -> send("readyok");
+            case "setoption" -> setOption(words);
+            case "ucinewgame" -> {
+                awaitSearch();
+                table.clear();
+                search.clear();
+                game = Fen.parse(Fen.STARTING_POSITION);
+            }
+            case "position" -> {
+                awaitSearch();
+                setPosition(words);
+            }
+            case "go" -> go(words);
+            case "ponderhit" -> ponderHit();
+            case "stop" -> stopSearch();
+            case "quit" -> {
+                return false;
+            }
+            default -> {
+            }
+        }
+        return true;
+    }
+
+    private void setOption(String[] words) {
+        awaitSearch();
+        String name = value(words, "name", "value");
+        String value = value(words, "value", null);
+        try {
+            if ("Hash".equalsIgnoreCase(name)) {
+                int megabytes = Math.max(1, Math.min(MAX_HASH_MEGABYTES, Integer.parseInt(value)));
+                search.close();
+                table = new TranspositionTable(megabytes);
+                search = newSearch();
+            } else if ("Threads".equalsIgnoreCase(name)) {
+                threads = Math.max(1, Math.min(MAX_THREADS, Integer.parseInt(value)));
+            } else if ("BookFile".equalsIgnoreCase(name)) {
+                book = isEmpty(value) ? null : OpeningBook.open(Paths.get(value));
+                search.setOpeningBook(book);
+            } else if ("TablebasePath".equalsIgnoreCase(name)) {
+                tablebase = isEmpty(value) ? null : Tablebase.open(Paths.get(value));
+                search.setTablebase(tablebase);
+            } else {
+                send("info string Unknown option " + name);
+            }
+        } catch (NumberFormatException e) {
+            send("info string Invalid value for " + name);
+        } catch (IOException | InvalidPathException e) {
+            send("info string Can't open " + value + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sets up {@code position [startpos | fen <fen>] [moves <move>...]}. Moves are in long algebraic notation, such
+     * as {@code e2e4} or {@code e7e8q}. An invalid FEN or move is reported and the position is left at the last
+     * valid point.
+     */
+    private void setPosition(String[] words) {
+        int i = 1;
+        String fen = Fen.STARTING_POSITION;
+        if (i < words.length && words[i].equals("fen")) {
+            StringBuilder text = new StringBuilder();
+            for (i++; i < words.length && !words[i].equals("moves"); i++) text.append(words[i]).append(' ');
+            fen = text.toString().trim();
+        } else if (i < words.length && words[i].equals("startpos")) {
+            i++;
+        }
+        try {
+            game = Fen.parse(fen);
+        } catch (IllegalArgumentException e) {
+            send("info string " + e.getMessage());
+            return;
+        }
+
+        if (i < words.length && words[i].equals("moves")) {
+            for (i++; i < words.length; i++) {
+                int move = parseMove(words[i]);
+                if (move == 0) {
+                    send("info string Invalid move " + words[i]);
+                    return;
+                }
+                game.makeMove(move);
+            }
+        }
+    }
+
+    /**
+     * @return The legal move written as {@code text}, or zero if there is none.
+     */
+    private int parseMove(String text) {
+        moves.clear();
+        game.generateLegalMoves(game.getTeamTurn(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (Move.toString(moves.get(i)).equals(text)) return moves.get(i);
+        }
+        return 0;
+    }
+
+    private void go(String[] words) {
+        awaitSearch();
+        SearchLimits limits = limits(words);
+        infinite = contains(words, "infinite");
+        pondering = contains(words, "ponder");
+        if (infinite) {
+            limits = SearchLimits.infinite();
+        } else if (pondering) {
+            // The clock only starts at ponderhit
+            ponderMillis = limits.timeMillis();
+            limits = new SearchLimits(limits.depth(), 0, limits.nodes());
+        }
+        SearchLimits searchLimits = limits;
+        CountDownLatch held = (infinite || pondering) ? new CountDownLatch(1) : null;
+        ChessGameImpl position = game;
+        int searchThreads = threads;
+        stopRequested = false;
+        if (ponderStop != null) ponderStop.cancel(false);
+        ponderStop = null;
+        release = held;
+        running = searchThread.submit(() -> {
+            search.setIterationListener(result -> {
+                sendInfo(result);
+                if (stopRequested) search.stop();
+            });
+            SearchResult result = search.search(position, stopRequested ? SearchLimits.depth(1) : searchLimits,
+                    searchThreads);
+            if (held != null) awaitRelease(held);
+            int[] pv = result.pv();
+            String move = (result.bestMove() == 0) ? "0000" : Move.toString(result.bestMove());
+            send("bestmove " + move + ((pv.length > 1 && pv[0] == result.bestMove()) ? " ponder " + Move.toString(pv[1]) : ""));
+        });
+    }
+
+    /**
+     * Works out the limits of {@code go}. With a clock and no fixed limit, a move gets an even share of the time
+     * left over the moves to go, plus most of the increment.
+     */
+    private SearchLimits limits(String[] words) {
+        int depth = Search.MAX_DEPTH;
+        long moveTime = 0;
+        long nodes = 0;
+        long clock = -1;
+        long increment = 0;
+        int movesToGo = DEFAULT_MOVES_TO_GO;
+        boolean white = game.getTeamTurn() == ChessGame.TeamColor.WHITE;
+        for (int i = 1; i + 1 < words.length; i++) {
+            try {
+                long value = Long.parseLong(words[i + 1]);
+                switch (words[i]) {
+                    case "depth" -> depth = (int) Math.max(1, Math.min(Search.MAX_DEPTH, value));
+                    case "movetime" -> moveTime = Math.max(1, value);
+                    case "nodes" -> nodes = Math.max(1, value);
+                    case "wtime" -> clock = white ? Math.max(0, value) : clock;
+                    case "btime" -> clock = white ? clock : Math.max(0, value);
+                    case "winc" -> increment = white ? Math.max(0, value) : increment;
+                    case "binc" -> increment = white ? increment : Math.max(0, value);
+                    case "movestogo" -> movesToGo = (int) Math.max(1, value);
+                    default -> {
+                        continue;
+                    }
+                }
+                i++;
+            } catch (NumberFormatException e) {
+                // Not a parameter with a value, such as infinite
+            }
+        }
+        if (moveTime == 0 && clock >= 0) {
+            long share = clock / movesToGo + increment * 3 / 4;
+            moveTime = Math.max(1, Math.min(share, clock - MOVE_OVERHEAD_MILLIS));
+        }
+        return new SearchLimits(depth, moveTime, nodes);
+    }
+
+    private void sendInfo(SearchResult result) {
+        StringBuilder line = new StringBuilder("info depth ").append(result.depth());
+        int score = result.score();
+        if (result.isMate()) {
+            // Mate in n plies is n + 1 / 2 moves, negative when the engine is being mated
+            int plies = Search.MATE - Math.abs(score);
+            line.append(" score mate ").append((score > 0) ? (plies + 1) / 2 : -(plies / 2));
+        } else {
+            line.append(" score cp ").append(score);
+        }
+        line.append(" nodes ").append(result.nodes())
+                .append(" nps ").append(result.nodesPerSecond())
+                .append(" hashfull ").append(table.hashfull())
+                .append(" time ").append(result.timeMillis())
+                .append(" pv");
+        for (int move : result.pv()) line.append(' ').append(Move.toString(move));
+        send(line.toString());
+    }
+
+    private void stopSearch() {
+        stopRequested = true;
+        search.stop();
+        CountDownLatch held = release;
+        if (held != null) held.countDown();
+    }
+
+    /**
+     * The move pondered on was played: the search goes on as a normal one, with the time it was given starting now,
+     * and sends its move once it ends.
+     */
+    private void ponderHit() {
+        if (!pondering) return;
+        pondering = false;
+        CountDownLatch held = release;
+        if (ponderMillis > 0) {
+            // Only stops the search it was scheduled for, should the next one have started by then
+            ParallelSearch pondered = search;
+            ponderStop = timer.schedule(() -> {
+                if (release == held) pondered.stop();
+            }, ponderMillis, TimeUnit.MILLISECONDS);
+        }
+        if (held != null && !infinite) held.countDown();
+    }
+
+    /**
+     * Holds the search thread until the GUI asks for the move.
+     */
+    private static void awaitRelease(CountDownLatch held) {
+        try {
+            held.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for a running search to send its {@code bestmove}.
+     */
+    private void awaitSearch() {
+        Future<?> search = running;
+        if (search == null) return;
+        try {
+            search.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the search.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The search failed.", e.getCause());
+        } finally {
+            running = null;
+        }
+    }
+
+    private synchronized void send(String line) {
+        out.println(line);
+        out.flush();
+    }
+
+    private ParallelSearch newSearch() {
+        ParallelSearch search = new ParallelSearch(table, TaperedEvaluator::new);
+        search.setOpeningBook(book);
+        search.setTablebase(tablebase);
+        return search;
+    }
+
+    /**
+     * @return Whether a string option's value means no value, as GUIs send it.
+     */
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty() || value.equals("<empty>");
+    }
+
+    private static boolean contains(String[] words, String word) {
+        for (String candidate : words) {
+            if (candidate.equals(word)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param words The command, split into words.
+     * @param key   The word before the value.
+     * @param end   The word after the value, or null if it runs to the end.
+     * @return The words between, which may contain spaces, or null if the key isn't there.
+     */
+    private static String value(String[] words, String key, String end) {
+        for (int i = 0; i < words.length; i++) {
+            if (!words[i].equals(key)) continue;
+            StringBuilder value = new StringBuilder();
+            for (int j = i + 1; j < words.length && !words[j].equals(end); j++) {
+                if (!value.isEmpty()) value.append(' ');
+                value.append(words[j]);
+            }
+            return value.toString();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,172 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import testFactory.TestFactory;
+
+import java.util.Random;
+
+public class AttackTablesTests {
+
+    @Test
+    @DisplayName("Leaper Attack Counts")
+    public void leaperAttacks() {
+        Assertions.assertEquals(2, Long.bitCount(AttackTables.knightAttacks(Square.of(1, 1))), "Knight in the corner");
+        Assertions.assertEquals(8, Long.bitCount(AttackTables.knightAttacks(Square.of(4, 4))), "Knight in the center");
+        Assertions.assertEquals(3, Long.bitCount(AttackTables.kingAttacks(Square.of(8, 8))), "King in the corner");
+        Assertions.assertEquals(1L << Square.of(3, 2),
+                AttackTables.pawnAttacks(ChessGame.TeamColor.WHITE, Square.of(2, 1)), "White pawn on the edge");
+        Assertions.assertEquals((1L << Square.of(6, 3)) | (1L << Square.of(6, 5)),
+                AttackTables.pawnAttacks(ChessGame.TeamColor.BLACK, Square.of(7, 4)), "Black pawn attacks downwards");
+    }
+
+    @Test
+    @DisplayName("Magic Lookups Stop At Blockers")
+    public void sliderAttacks() {
+        int d4 = Square.of(4, 4);
+        Assertions.assertEquals(14, Long.bitCount(AttackTables.rookAttacks(d4, 0L)), "Rook on an empty board");
+        Assertions.assertEquals(13, Long.bitCount(AttackTables.bishopAttacks(d4, 0L)), "Bishop on an empty board");
+
+        // Blockers on d6 and b4 are attacked but hide the squares behind them
+        long blockers = (1L << Square.of(6, 4)) | (1L << Square.of(4, 2)) | (1L << Square.of(7, 4));
+        long attacks = AttackTables.rookAttacks(d4, blockers);
+        Assertions.assertNotEquals(0L, attacks & (1L << Square.of(6, 4)), "Blocker should be attacked");
+        Assertions.assertEquals(0L, attacks & (1L << Square.of(7, 4)), "Square behind the blocker was attacked");
+        Assertions.assertEquals(0L, attacks & (1L << Square.of(4, 1)), "Square behind the blocker was attacked");
+        Assertions.assertEquals(11, Long.bitCount(attacks));
+
+        Assertions.assertEquals((1L << Square.of(2, 2)) | (1L << Square.of(3, 3)),
+                AttackTables.between(Square.of(1, 1), d4), "Squares between a1 and d4");
+        Assertions.assertEquals(0L, AttackTables.between(Square.of(1, 1), Square.of(2, 3)), "Unaligned squares");
+    }
+
+    @Test
+    @DisplayName("Attackers To Square")
+    public void attackersTo() {
+        ChessBoard board = TestFactory.getNewBoard();
+        board.resetBoard();
+
+        long attackers = AttackTables.attackersTo(board, Square.of(3, 3), ChessGame.TeamColor.WHITE, board.getOccupancy());
+        // The b and d pawns and the b1 knight all cover c3
+        Assertions.assertEquals((1L << Square.of(2, 2)) | (1L << Square.of(2, 4)) | (1L << Square.of(1, 2)), attackers);
+        Assertions.assertEquals(0L,
+                AttackTables.attackersTo(board, Square.of(5, 5), ChessGame.TeamColor.WHITE, board.getOccupancy()));
+    }
+
+    @Test
+    @DisplayName("Magic Numbers Match Their Search")
+    public void magicNumbers() {
+        // The same search the constants came from, taking rook and bishop squares in turn
+        Random random = new Random(0x5EED_C4E55L);
+        for (int square = 0; square < 64; square++) {
+            Assertions.assertEquals(findMagic(square, ROOK_DIRECTIONS, random), AttackTables.rookMagic(square),
+                    "Rook magic for square " + square);
+            Assertions.assertEquals(findMagic(square, BISHOP_DIRECTIONS, random), AttackTables.bishopMagic(square),
+                    "Bishop magic for square " + square);
+        }
+    }
+
+    @Test
+    @DisplayName("Magic Lookups Match Ray Walks")
+    public void magicLookups() {
+        for (int square = 0; square < 64; square++) {
+            for (long occupancy : subsets(relevantMask(square, ROOK_DIRECTIONS))) {
+                Assertions.assertEquals(slidingAttacks(square, occupancy, ROOK_DIRECTIONS),
+                        AttackTables.rookAttacks(square, occupancy), "Rook on square " + square);
+            }
+            for (long occupancy : subsets(relevantMask(square, BISHOP_DIRECTIONS))) {
+                Assertions.assertEquals(slidingAttacks(square, occupancy, BISHOP_DIRECTIONS),
+                        AttackTables.bishopAttacks(square, occupancy), "Bishop on square " + square);
+            }
+        }
+    }
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {0, 1}, {-1, 0}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    /**
+     * Searches for a sparse random multiplier that maps every blocker subset of the square's mask to a slot without
+     * two subsets with different attacks sharing one.
+     */
+    private static long findMagic(int square, int[][] directions, Random random) {
+        long mask = relevantMask(square, directions);
+        int bits = Long.bitCount(mask);
+        long[] occupancies = subsets(mask);
+        long[] attacks = new long[occupancies.length];
+        for (int i = 0; i < occupancies.length; i++) attacks[i] = slidingAttacks(square, occupancies[i], directions);
+
+        long[] table = new long[occupancies.length];
+        int[] epoch = new int[occupancies.length];
+        for (int attempt = 1; ; attempt++) {
+            long magic = random.nextLong() & random.nextLong() & random.nextLong();
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) continue;
+
+            boolean collision = false;
+            for (int i = 0; i < occupancies.length && !collision; i++) {
+                int index = (int) ((occupancies[i] * magic) >>> (64 - bits));
+                if (epoch[index] != attempt) {
+                    epoch[index] = attempt;
+                    table[index] = attacks[i];
+                } else if (table[index] != attacks[i]) {
+                    collision = true;
+                }
+            }
+            if (!collision) return magic;
+        }
+    }
+
+    /**
+     * @return Every subset of the mask, found with the carry-rippler trick.
+     */
+    private static long[] subsets(long mask) {
+        long[] subsets = new long[1 << Long.bitCount(mask)];
+        long subset = 0L;
+        for (int i = 0; i < subsets.length; i++) {
+            subsets[i] = subset;
+            subset = (subset - mask) & mask;
+        }
+        return subsets;
+    }
+
+    /**
+     * @return The squares on the rays whose occupancy changes the attacks, leaving out each ray's edge square.
+     */
+    private static long relevantMask(int square, int[][] directions) {
+        long mask = 0L;
+        for (int[] direction : directions) {
+            int row = Square.row(square) + direction[0];
+            int col = Square.col(square) + direction[1];
+            while (onBoard(row + direction[0], col + direction[1])) {
+                mask |= 1L << Square.of(row, col);
+                row += direction[0];
+                col += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return Squares attacked along the rays, each up to and including its first occupied square.
+     */
+    private static long slidingAttacks(int square, long occupancy, int[][] directions) {
+        long attacks = 0L;
+        for (int[] direction : directions) {
+            int row = Square.row(square) + direction[0];
+            int col = Square.col(square) + direction[1];
+            while (onBoard(row, col)) {
+                long bit = 1L << Square.of(row, col);
+                attacks |= bit;
+                if ((occupancy & bit) != 0) break;
+                row += direction[0];
+                col += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean onBoard(int row, int col) {
+        return row >= 1 && row <= 8 && col >= 1 && col <= 8;
+    }
+}
@@ -0,0 +1,84 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import testFactory.TestFactory;
+
+public class BitboardChessBoardTests {
+
+    private BitboardChessBoard board;
+
+    @BeforeEach
+    public void setup() {
+        board = new BitboardChessBoard();
+    }
+
+    @Test
+    @DisplayName("Add, Replace and Remove Piece")
+    public void addReplaceRemove() {
+        ChessPosition position = TestFactory.getNewPosition(4, 4);
+        ChessPiece bishop = TestFactory.getNewPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP);
+        ChessPiece knight = TestFactory.getNewPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT);
+
+        board.addPiece(position, bishop);
+        Assertions.assertSame(bishop, board.getPiece(position), "getPiece did not return the added piece");
+        Assertions.assertEquals(1L << 27, board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP),
+                "Bishop bitboard did not have d4 set");
+
+        board.addPiece(position, knight);
+        Assertions.assertSame(knight, board.getPiece(position), "Adding onto an occupied square did not replace it");
+        Assertions.assertEquals(0L, board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP),
+                "Replaced piece was left on its bitboard");
+        Assertions.assertEquals(0L, board.getOccupancy(ChessGame.TeamColor.BLACK),
+                "Replaced piece was left in its team occupancy");
+
+        board.removePiece(position);
+        Assertions.assertNull(board.getPiece(position), "Removed piece is still on the board");
+        Assertions.assertEquals(0L, board.getOccupancy(), "Board is still occupied after removing the only piece");
+    }
+
+    @Test
+    @DisplayName("Reset Board Matches HashMap Board")
+    public void resetMatchesHashMapBoard() {
+        ChessBoard expected = TestFactory.getNewBoard();
+        expected.resetBoard();
+        board.resetBoard();
+
+        for (ChessPosition position : ChessPositionImpl.getAllPositions()) {
+            ChessPiece expectedPiece = expected.getPiece(position);
+            ChessPiece actualPiece = board.getPiece(position);
+            if (expectedPiece == null) {
+                Assertions.assertNull(actualPiece, "Unexpected piece at " + position);
+            } else {
+                Assertions.assertNotNull(actualPiece, "Missing piece at " + position);
+                Assertions.assertEquals(expectedPiece.getPieceType(), actualPiece.getPieceType());
+                Assertions.assertEquals(expectedPiece.teamColor(), actualPiece.teamColor());
+            }
+        }
+
+        Assertions.assertEquals(0x000000000000FFFFL, board.getOccupancy(ChessGame.TeamColor.WHITE));
+        Assertions.assertEquals(0xFFFF000000000000L, board.getOccupancy(ChessGame.TeamColor.BLACK));
+        Assertions.assertEquals(0x0000000000000010L, board.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        Assertions.assertFalse(board.getTestingMode(), "Reset board should not be in testing mode");
+    }
+
+    @Test
+    @DisplayName("Play Game On Bitboard Board")
+    public void foolsMate() throws InvalidMoveException {
+        board.resetBoard();
+        ChessGame game = TestFactory.getNewGame();
+        game.setBoard(board);
+
+        game.makeMove(TestFactory.getNewMove(TestFactory.getNewPosition(2, 6), TestFactory.getNewPosition(3, 6), null));
+        game.makeMove(TestFactory.getNewMove(TestFactory.getNewPosition(7, 5), TestFactory.getNewPosition(5, 5), null));
+        game.makeMove(TestFactory.getNewMove(TestFactory.getNewPosition(2, 7), TestFactory.getNewPosition(4, 7), null));
+        game.makeMove(TestFactory.getNewMove(TestFactory.getNewPosition(8, 4), TestFactory.getNewPosition(4, 8), null));
+
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE), "White should be checkmated");
+        Assertions.assertEquals(1L << 31, board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN),
+                "Queen bitboard was not updated by the move");
+    }
+}
@@ -0,0 +1,113 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class BoardSnapshotTests {
+
+    private static ChessMove move(String from, String to) {
+        return new ChessMoveImpl(position(from), position(to), null);
+    }
+
+    private static ChessPosition position(String square) {
+        return ChessPositionImpl.of(square.charAt(1) - '0', square.charAt(0) - 'a' + 1);
+    }
+
+    @Test
+    @DisplayName("Snapshot Matches Game")
+    public void matchesGame() throws InvalidMoveException {
+        ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+        BoardSnapshot start = game.getSnapshot();
+        Assertions.assertEquals(Fen.STARTING_POSITION, start.toFen());
+
+        game.makeMove(move("e2", "e4"));
+        game.makeMove(move("e7", "e5"));
+        game.makeMove(move("g1", "f3"));
+        BoardSnapshot snapshot = game.getSnapshot();
+        Assertions.assertEquals(game.toFen(), snapshot.toFen());
+        Assertions.assertEquals(game.getBoard().positionKey(), snapshot.positionKey());
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, snapshot.getSideToMove());
+        Assertions.assertEquals(2, snapshot.getFullmoveNumber());
+        Assertions.assertEquals(move("g1", "f3"), snapshot.getLastMove());
+        for (int square = 0; square < 64; square++)
+            Assertions.assertEquals(game.getBoard().getPiece(square), snapshot.getPiece(square), "Wrong piece on " + square);
+        Assertions.assertEquals(game.getBoard().getOccupancy(), snapshot.getOccupancy());
+
+        // Earlier snapshots keep their position
+        Assertions.assertEquals(Fen.STARTING_POSITION, start.toFen());
+        Assertions.assertEquals(game.toFen(), snapshot.toGame().toFen());
+    }
+
+    @Test
+    @DisplayName("Snapshot Is Read Only")
+    public void readOnly() {
+        ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+        BoardSnapshot snapshot = game.getSnapshot();
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.removePiece(position("e2")));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.setSideToMove(ChessGame.TeamColor.BLACK));
+        Assertions.assertThrows(UnsupportedOperationException.class, snapshot::resetBoard);
+
+        // Unvalidated moves don't publish until asked
+        game.makeMove(Move.of(Square.of(2, 4), Square.of(4, 4)));
+        Assertions.assertSame(snapshot, game.getSnapshot());
+        BoardSnapshot published = game.publishSnapshot();
+        Assertions.assertSame(published, game.getSnapshot());
+        Assertions.assertEquals(game.toFen(), published.toFen());
+    }
+
+    @Test
+    @DisplayName("Concurrent Readers")
+    public void concurrentReaders() throws InterruptedException {
+        ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong reads = new AtomicLong();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        // Every snapshot a reader sees must be a whole position: its key hashes its own pieces and each team has a king
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Thread reader = new Thread(() -> {
+                while (!done.get() && failure.get() == null) {
+                    BoardSnapshot snapshot = game.getSnapshot();
+                    if (snapshot.positionKey() != (Zobrist.placementKey(snapshot) ^ Zobrist.stateKey(snapshot))
+                            || Long.bitCount(snapshot.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING)) != 1
+                            || Long.bitCount(snapshot.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING)) != 1)
+                        failure.set(snapshot.toFen());
+                    reads.incrementAndGet();
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        // Play random games on this thread meanwhile
+        Random random = new Random(20);
+        for (int ply = 0; ply < 2000; ply++) {
+            List<ChessMove> moves = new ArrayList<>(game.generateLegalMoves(game.getTeamTurn()));
+            if (moves.isEmpty() || game.isDrawByFiftyMoveRule()) {
+                game.getBoard().resetBoard();
+                game.setBoard(game.getBoard());
+                continue;
+            }
+            try {
+                game.makeMove(moves.get(random.nextInt(moves.size())));
+            } catch (InvalidMoveException e) {
+                Assertions.fail(e);
+            }
+        }
+        done.set(true);
+        for (Thread reader : readers) reader.join();
+
+        Assertions.assertNull(failure.get(), "A reader saw a broken position");
+        Assertions.assertTrue(reads.get() > 0);
+    }
+}
@@ -0,0 +1,83 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import testFactory.TestFactory;
+
+public class DrawRuleTests {
+
+    private ChessGameImpl game;
+    private ChessBoard board;
+
+    @BeforeEach
+    public void setup() {
+        game = new ChessGameImpl();
+        board = TestFactory.getNewBoard();
+        board.resetBoard();
+        game.setBoard(board);
+    }
+
+    private void move(int fromRow, int fromCol, int toRow, int toCol) {
+        game.makeMove(Move.of(Square.of(fromRow, fromCol), Square.of(toRow, toCol)));
+    }
+
+    /**
+     * Both knights on the kingside jump out and back, returning to the starting position.
+     */
+    private void shuffleKnights() {
+        move(1, 7, 3, 6);
+        move(8, 7, 6, 6);
+        move(3, 6, 1, 7);
+        move(6, 6, 8, 7);
+    }
+
+    @Test
+    @DisplayName("Threefold Repetition")
+    public void threefoldRepetition() {
+        shuffleKnights();
+        Assertions.assertFalse(game.isDrawByRepetition(), "Starting position has only occurred twice");
+
+        shuffleKnights();
+        Assertions.assertTrue(game.isDrawByRepetition(), "Starting position has occurred three times");
+        Assertions.assertTrue(game.isOver());
+
+        game.unmakeMove();
+        Assertions.assertFalse(game.isDrawByRepetition(), "Taking back a move should undo the repetition");
+        Assertions.assertFalse(game.isOver());
+    }
+
+    @Test
+    @DisplayName("Pawn Move Resets Repetition And Clock")
+    public void irreversibleMove() {
+        move(2, 5, 4, 5);
+        move(7, 5, 5, 5);
+        shuffleKnights();
+        Assertions.assertEquals(4, game.getHalfmoveClock());
+
+        move(2, 4, 3, 4);
+        Assertions.assertEquals(0, game.getHalfmoveClock(), "Pawn move should reset the halfmove clock");
+        move(8, 7, 6, 6);
+        move(1, 7, 3, 6);
+        move(6, 6, 8, 7);
+        move(3, 6, 1, 7);
+        move(8, 7, 6, 6);
+        Assertions.assertFalse(game.isDrawByRepetition(), "Position has only occurred twice since the pawn move");
+    }
+
+    @Test
+    @DisplayName("Fifty Move Rule")
+    public void fiftyMoveRule() {
+        // Knights shuffle back and forth so the clock climbs without captures or pawn moves
+        for (int i = 0; i < 24; i++)
+            shuffleKnights();
+        Assertions.assertEquals(96, game.getHalfmoveClock());
+        Assertions.assertFalse(game.isDrawByFiftyMoveRule());
+
+        shuffleKnights();
+        Assertions.assertTrue(game.isDrawByFiftyMoveRule(), "A hundred halfmoves without progress should be a draw");
+        Assertions.assertTrue(game.isDrawByRepetition());
+    }
+}
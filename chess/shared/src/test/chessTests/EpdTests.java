@@ -0,0 +1,34 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class EpdTests {
+
+    @Test
+    @DisplayName("Parse Operations")
+    public void parseOperations() {
+        Epd epd = Epd.parse("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - bm Qxf7#; id \"scholar; mate\"; c0 test;");
+        Assertions.assertEquals("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 0 1", epd.fen());
+        Assertions.assertEquals("Qxf7#", epd.operation("bm"));
+        Assertions.assertEquals("scholar; mate", epd.id());
+        Assertions.assertEquals("test", epd.operation("c0"));
+        Assertions.assertNull(epd.operation("am"));
+        Assertions.assertEquals(Fen.parse(epd.fen()).toFen(), epd.toGame().toFen());
+    }
+
+    @Test
+    @DisplayName("Move Counters and Invalid Lines")
+    public void countersAndInvalid() {
+        Epd epd = Epd.parse("4k3/8/8/8/8/8/8/4K3 b - - hmvc 12; fmvn 40;");
+        Assertions.assertEquals("4k3/8/8/8/8/8/8/4K3 b - - 12 40", epd.fen());
+        Assertions.assertEquals(12, epd.toGame().getHalfmoveClock());
+        Assertions.assertTrue(Epd.parse("4k3/8/8/8/8/8/8/4K3 w - -").operations().isEmpty());
+        Assertions.assertEquals("4k3/8/8/8/8/8/8/4K3 w - - 7 31", Epd.parse("4k3/8/8/8/8/8/8/4K3 w - - 7 31").fen());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Epd.parse("4k3/8/8/8/8/8/8/4K3 w"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Epd.parse("4k3/8/8/8/8/8/8/4K3 w - - bm Kd2"));
+    }
+}
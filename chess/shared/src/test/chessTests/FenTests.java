@@ -0,0 +1,55 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import testFactory.TestFactory;
+
+public class FenTests {
+
+    @Test
+    @DisplayName("Starting Position Matches Reset Board")
+    public void startingPosition() {
+        ChessGame game = ChessGame.fromFen(Fen.STARTING_POSITION);
+
+        ChessBoard expected = TestFactory.getNewBoard();
+        expected.resetBoard();
+        Assertions.assertEquals(expected.positionKey(), game.getBoard().positionKey(),
+                "FEN starting position should hash the same as a reset board");
+        Assertions.assertFalse(game.getBoard().getTestingMode(), "Games set up from FEN should enforce turns");
+        Assertions.assertEquals(Fen.STARTING_POSITION, game.toFen());
+    }
+
+    @Test
+    @DisplayName("Round Trip Keeps State And Counters")
+    public void roundTrip() throws InvalidMoveException {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b Kq - 3 17";
+        ChessGame game = ChessGame.fromFen(fen);
+        Assertions.assertEquals(fen, game.toFen());
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getTeamTurn());
+        Assertions.assertEquals(ChessBoard.WHITE_KINGSIDE | ChessBoard.BLACK_QUEENSIDE, game.getBoard().getCastlingRights());
+
+        // Black's c-pawn double steps beside the d5 pawn, so the En Passant square is written and the move counts go up
+        game.makeMove(TestFactory.getNewMove(TestFactory.getNewPosition(7, 3), TestFactory.getNewPosition(5, 3), null));
+        Assertions.assertEquals("r3k2r/p2pqpb1/bn2pnp1/2pPN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w Kq c6 0 18", game.toFen());
+        Assertions.assertEquals(game.getBoard().positionKey(), ChessGame.fromFen(game.toFen()).getBoard().positionKey());
+    }
+
+    @Test
+    @DisplayName("Invalid FEN Is Rejected")
+    public void invalidFen() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ChessGame.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1"), "Missing row");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ChessGame.fromFen("rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"), "Too many squares");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ChessGame.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1"), "Bad side to move");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ChessGame.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkz - 0 1"), "Bad castling rights");
+
+        // Move counters may be left off
+        Assertions.assertEquals(Fen.STARTING_POSITION,
+                ChessGame.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -").toFen());
+    }
+}
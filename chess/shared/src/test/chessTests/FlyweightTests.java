@@ -0,0 +1,52 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import testFactory.TestFactory;
+
+public class FlyweightTests {
+
+    @Test
+    @DisplayName("Pieces And Positions Are Shared")
+    public void sharedInstances() {
+        Assertions.assertSame(ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK),
+                TestFactory.getNewPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        Assertions.assertNotSame(ChessPieceImpl.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK),
+                ChessPieceImpl.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+
+        Assertions.assertSame(ChessPositionImpl.of(3, 6), Square.position(Square.of(3, 6)));
+        Assertions.assertSame(ChessPositionImpl.getAllPositions(), ChessPositionImpl.getAllPositions(),
+                "All positions should not be rebuilt on every call");
+        Assertions.assertEquals(ChessPositionImpl.of(3, 6), new ChessPositionImpl(3, 6));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ChessPositionImpl.of(0, 4));
+    }
+
+    @Test
+    @DisplayName("Board Tracks Castling Rights")
+    public void castlingRightsOnBoard() {
+        ChessBoard board = TestFactory.getNewBoard();
+        board.resetBoard();
+        ChessGameImpl game = new ChessGameImpl();
+        game.setBoard(board);
+
+        // The white bishop takes the rook on h8 once the g-pawn is out of the way
+        game.makeMove(Move.of(Square.of(2, 2), Square.of(3, 2)));
+        game.makeMove(Move.of(Square.of(7, 7), Square.of(5, 7)));
+        game.makeMove(Move.of(Square.of(1, 3), Square.of(2, 2)));
+        game.makeMove(Move.of(Square.of(7, 1), Square.of(6, 1)));
+        game.makeMove(Move.of(Square.of(2, 2), Square.of(8, 8)));
+        Assertions.assertEquals(ChessBoard.ALL_CASTLING_RIGHTS & ~ChessBoard.BLACK_KINGSIDE, board.getCastlingRights(),
+                "Capturing the rook should give up only that castle");
+
+        // A double step with an enemy pawn beside it sets the En Passant square, which the next move clears
+        game.makeMove(Move.of(Square.of(5, 7), Square.of(4, 7)));
+        game.makeMove(Move.of(Square.of(2, 8), Square.of(4, 8)));
+        Assertions.assertEquals(Square.of(3, 8), board.getEnPassantSquare());
+        Assertions.assertTrue(game.validMoves(TestFactory.getNewPosition(4, 7)).contains(TestFactory.getNewMove(
+                TestFactory.getNewPosition(4, 7), TestFactory.getNewPosition(3, 8), null)), "En Passant should be offered");
+        game.makeMove(Move.of(Square.of(6, 1), Square.of(5, 1)));
+        Assertions.assertEquals(-1, board.getEnPassantSquare());
+    }
+}
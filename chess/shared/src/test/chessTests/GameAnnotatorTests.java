@@ -0,0 +1,68 @@
+package chessTests;
+
+import chess.*;
+import chess.engine.MaterialEvaluator;
+import chess.engine.SearchLimits;
+import chess.engine.annotation.GameAnnotation;
+import chess.engine.annotation.GameAnnotator;
+import chess.engine.annotation.MoveAnnotation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class GameAnnotatorTests {
+
+    @Test
+    @DisplayName("Finds Blunders")
+    public void findsBlunders() {
+        // Scholar's mate: 3...Nf6 lets the queen take f7 with mate
+        ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+        for (String san : new String[]{"e4", "e5", "Qh5", "Nc6", "Bc4", "Nf6", "Qxf7#"}) game.makeMove(San.parse(game, san));
+        String fen = game.toFen();
+
+        GameAnnotation annotation;
+        try (GameAnnotator annotator = new GameAnnotator(MaterialEvaluator::new, SearchLimits.depth(3), 2, 1)) {
+            annotation = annotator.annotate(game);
+        }
+        Assertions.assertEquals(fen, game.toFen(), "Annotating changed the game");
+        List<MoveAnnotation> moves = annotation.moves();
+        Assertions.assertEquals(7, moves.size());
+        Assertions.assertEquals(Move.of(Square.of(5, 8), Square.of(7, 6)), moves.get(6).move());
+
+        MoveAnnotation blunder = moves.get(5);
+        Assertions.assertEquals(MoveAnnotation.Judgement.BLUNDER, blunder.judgement());
+        Assertions.assertEquals("??", blunder.judgement().glyph());
+        Assertions.assertTrue(blunder.swing() < -300, "Swing was " + blunder.swing());
+        Assertions.assertEquals(MoveAnnotation.Judgement.GOOD, moves.get(6).judgement());
+        Assertions.assertTrue(moves.get(6).scoreAfter() > MoveAnnotation.DECISIVE_SCORE);
+        Assertions.assertEquals(1, annotation.count(MoveAnnotation.Judgement.BLUNDER));
+    }
+
+    @Test
+    @DisplayName("Encodes Annotations")
+    public void encodesAnnotations() {
+        GameAnnotation annotation = new GameAnnotation(List.of(
+                new MoveAnnotation(Move.parse("e2e4"), Move.parse("d2d4"), 31, 25),
+                new MoveAnnotation(Move.parse("a2a1q"), 0, -25, -400)));
+        Assertions.assertEquals("e2e4,d2d4,31,25 a2a1q,-,-25,-400", annotation.encode());
+        Assertions.assertEquals(annotation, GameAnnotation.decode(annotation.encode()));
+        Assertions.assertEquals(MoveAnnotation.Judgement.BLUNDER, annotation.moves().get(1).judgement());
+        Assertions.assertTrue(GameAnnotation.decode("").moves().isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameAnnotation.decode("e2e4,d2d4,31"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameAnnotation.decode("e2e9,d2d4,31,25"));
+    }
+
+    @Test
+    @DisplayName("Rejects Games Not Replayable")
+    public void notReplayable() {
+        ChessGameImpl game = Fen.parse("4k3/8/8/8/8/8/4P3/4K3 w - - 0 1");
+        game.makeMove(San.parse(game, "e4"));
+        try (GameAnnotator annotator = new GameAnnotator(MaterialEvaluator::new, SearchLimits.depth(2), 1, 1)) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> annotator.annotate(game));
+            Assertions.assertTrue(annotator.annotate(Fen.parse(Fen.STARTING_POSITION)).moves().isEmpty());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GameAnnotator(MaterialEvaluator::new, SearchLimits.depth(2), 0, 1));
+    }
+}
@@ -0,0 +1,84 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import testFactory.TestFactory;
+
+public class GameStatusTests {
+
+    private ChessGame game;
+    private ChessBoard board;
+
+    @BeforeEach
+    public void setup() {
+        game = TestFactory.getNewGame();
+        board = TestFactory.getNewBoard();
+    }
+
+    private void move(int fromRow, int fromCol, int toRow, int toCol) throws InvalidMoveException {
+        game.makeMove(TestFactory.getNewMove(TestFactory.getNewPosition(fromRow, fromCol),
+                TestFactory.getNewPosition(toRow, toCol), null));
+    }
+
+    @Test
+    @DisplayName("All Legal Moves From Start")
+    public void startingMoves() {
+        board.resetBoard();
+        game.setBoard(board);
+
+        Assertions.assertEquals(20, game.generateLegalMoves(ChessGame.TeamColor.WHITE).size());
+        Assertions.assertEquals(20, game.generateLegalMoves(ChessGame.TeamColor.BLACK).size());
+        Assertions.assertTrue(game.hasAnyLegalMove(ChessGame.TeamColor.WHITE));
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.gameStatus());
+    }
+
+    @Test
+    @DisplayName("Status After Check And Checkmate")
+    public void scholarsMate() throws InvalidMoveException {
+        board.resetBoard();
+        game.setBoard(board);
+
+        move(2, 5, 4, 5);
+        move(7, 5, 5, 5);
+        move(1, 4, 5, 8);
+        move(8, 2, 6, 3);
+        move(1, 6, 4, 3);
+        move(8, 7, 6, 6);
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.gameStatus());
+
+        move(5, 8, 7, 6);
+        Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, game.gameStatus());
+        Assertions.assertFalse(game.hasAnyLegalMove(ChessGame.TeamColor.BLACK));
+        Assertions.assertTrue(game.generateLegalMoves(ChessGame.TeamColor.BLACK).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Status In Stalemate")
+    public void stalemate() {
+        /*
+        |k| | | | | | | |
+		| | |Q| | | | | |
+		| |K| | | | | | |
+		| | | | | | | | |
+		| | | | | | | | |
+		| | | | | | | | |
+		| | | | | | | | |
+		| | | | | | | | |
+         */
+        board.addPiece(TestFactory.getNewPosition(8, 1),
+                TestFactory.getNewPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        board.addPiece(TestFactory.getNewPosition(7, 3),
+                TestFactory.getNewPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        board.addPiece(TestFactory.getNewPosition(6, 2),
+                TestFactory.getNewPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        game.setBoard(board);
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+
+        Assertions.assertEquals(ChessGame.GameStatus.STALEMATE, game.gameStatus());
+        game.setTeamTurn(ChessGame.TeamColor.WHITE);
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.gameStatus());
+    }
+}
@@ -0,0 +1,146 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import testFactory.TestFactory;
+
+import java.util.Random;
+
+public class LegalMoveGeneratorTests {
+
+    private ChessBoard board;
+    private LegalMoveGenerator generator;
+    private MoveList moves;
+
+    @BeforeEach
+    public void setup() {
+        board = TestFactory.getNewBoard();
+        generator = new LegalMoveGenerator();
+        moves = new MoveList();
+    }
+
+    private void add(int row, int col, ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        board.addPiece(TestFactory.getNewPosition(row, col), TestFactory.getNewPiece(color, type));
+    }
+
+    @Test
+    @DisplayName("Pinned Piece Moves Along Pin Ray")
+    public void pinnedRook() {
+        /*
+        | | | | |q| | | |
+		| | | | | | | | |
+		| | | | | | | | |
+		| | | | | | | | |
+		| | | | |R| | | |
+		| | | | | | | | |
+		| | | | | | | | |
+		| | | | |K| | | |
+         */
+        add(1, 5, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING);
+        add(4, 5, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK);
+        add(8, 5, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN);
+
+        generator.generate(board, Square.of(4, 5), moves);
+
+        // Rows 2, 3 and 5 through 8 on the e-file, the last one capturing the queen
+        Assertions.assertEquals(6, moves.size(), "Pinned rook should only move along the file");
+        for (int i = 0; i < moves.size(); i++)
+            Assertions.assertEquals(5, Square.col(Move.to(moves.get(i))), "Pinned rook left the pin ray");
+    }
+
+    @Test
+    @DisplayName("Double Check Allows Only King Moves")
+    public void doubleCheck() {
+        add(1, 5, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING);
+        add(1, 1, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK);
+        add(5, 5, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK);
+        add(3, 4, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT);
+
+        generator.generate(board, Square.of(1, 1), moves);
+        Assertions.assertTrue(moves.isEmpty(), "Only the king may move in double check");
+        Assertions.assertTrue(generator.isInCheck(board, ChessGame.TeamColor.WHITE));
+
+        generator.generate(board, Square.of(1, 5), moves);
+        Assertions.assertFalse(moves.contains(Move.of(Square.of(1, 5), Square.of(2, 5))),
+                "King may not step along the checking rook's file");
+    }
+
+    @Test
+    @DisplayName("En Passant That Exposes King Is Illegal")
+    public void enPassantDiscoveredCheck() {
+        /*
+        | | | | | | | | |
+		| | | | | | | | |
+		| | | | | | | | |
+		|K| | |P|p| | |r|
+		| | | | | | | | |
+		| | | | | | | | |
+		| | | | | | | | |
+		| | | | | | | | |
+         */
+        add(5, 1, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING);
+        add(5, 4, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
+        add(5, 5, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN);
+        add(5, 8, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK);
+        board.setEnPassantSquare(Square.of(6, 5));
+
+        generator.generate(board, Square.of(5, 4), moves);
+        Assertions.assertTrue(moves.contains(Move.of(Square.of(5, 4), Square.of(6, 4))), "Pawn push should be legal");
+        Assertions.assertFalse(moves.contains(Move.of(Square.of(5, 4), Square.of(6, 5))),
+                "En Passant would leave the king attacked along the row");
+    }
+
+    @Test
+    @DisplayName("Single Move Check Agrees With Generation")
+    public void singleMoveCheck() {
+        // Positions with castling, En Passant, promotions, pins and checks, walked forward with random moves
+        String[] fens = {
+                Fen.STARTING_POSITION,
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8"
+        };
+        ChessPiece.PieceType[] promotions = {null, ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.KING};
+        Random random = new Random(21);
+        for (String fen : fens) {
+            ChessGameImpl game = Fen.parse(fen);
+            for (int ply = 0; ply < 40; ply++) {
+                moves.clear();
+                game.generateLegalMoves(game.getTeamTurn(), moves);
+                for (int from = 0; from < 64; from++) {
+                    for (int to = 0; to < 64; to++) {
+                        for (ChessPiece.PieceType promotion : promotions) {
+                            int move = Move.of(from, to, promotion);
+                            Assertions.assertEquals(moves.contains(move), game.isLegal(move),
+                                    () -> "Disagreement on move " + move + " in " + game.toFen());
+                        }
+                    }
+                }
+                if (moves.isEmpty()) break;
+                game.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Submitted Moves Are Checked Alone")
+    public void submittedMoves() throws InvalidMoveException {
+        ChessGameImpl game = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        Assertions.assertTrue(game.isLegal(new ChessMoveImpl(ChessPositionImpl.of(1, 5), ChessPositionImpl.of(1, 7), null)));
+        Assertions.assertFalse(game.isLegal(new ChessMoveImpl(ChessPositionImpl.of(7, 1), ChessPositionImpl.of(6, 1), null)),
+                "Black can't move on white's turn");
+        Assertions.assertTrue(game.isLegal(new ChessMoveImpl(ChessPositionImpl.of(1, 5), ChessPositionImpl.of(1, 3), null)));
+        Assertions.assertFalse(game.isLegal(new ChessMoveImpl(ChessPositionImpl.of(1, 5), ChessPositionImpl.of(3, 5), null)),
+                "Only castling moves the king two squares");
+
+        game.makeMove(new ChessMoveImpl(ChessPositionImpl.of(1, 5), ChessPositionImpl.of(1, 7), null));
+        Assertions.assertEquals(ChessPiece.PieceType.ROOK, game.getBoard().getPiece(Square.of(1, 6)).getPieceType(),
+                "Castling did not move the rook");
+        Assertions.assertThrows(InvalidMoveException.class,
+                () -> game.makeMove(new ChessMoveImpl(ChessPositionImpl.of(8, 5), ChessPositionImpl.of(8, 8), null)));
+    }
+}
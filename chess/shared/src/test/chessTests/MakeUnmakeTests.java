@@ -0,0 +1,91 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import testFactory.TestFactory;
+
+public class MakeUnmakeTests {
+
+    private ChessGameImpl game;
+    private ChessBoard board;
+
+    @BeforeEach
+    public void setup() {
+        game = new ChessGameImpl();
+        board = TestFactory.getNewBoard();
+    }
+
+    private static int move(int fromRow, int fromCol, int toRow, int toCol) {
+        return Move.of(Square.of(fromRow, fromCol), Square.of(toRow, toCol));
+    }
+
+    @Test
+    @DisplayName("Unmake En Passant Capture")
+    public void unmakeEnPassant() {
+        board.resetBoard();
+        game.setBoard(board);
+        game.makeMove(move(2, 5, 4, 5));
+        game.makeMove(move(7, 1, 6, 1));
+        game.makeMove(move(4, 5, 5, 5));
+        game.makeMove(move(7, 4, 5, 4));
+        String before = board.toString();
+        ChessMove lastMoveBefore = board.getLastMove();
+
+        game.makeMove(move(5, 5, 6, 4));
+        Assertions.assertNull(board.getPiece(Square.of(5, 4)), "En Passant did not remove the captured pawn");
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getTeamTurn());
+
+        game.unmakeMove();
+        Assertions.assertEquals(before, board.toString(), "Board was not restored after taking back En Passant");
+        Assertions.assertEquals(lastMoveBefore, board.getLastMove(), "Last move was not restored");
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, game.getTeamTurn(), "Turn was not restored");
+    }
+
+    @Test
+    @DisplayName("Unmake Castle Restores Castling Rights")
+    public void unmakeCastle() {
+        ChessPiece king = TestFactory.getNewPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING);
+        ChessPiece rook = TestFactory.getNewPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK);
+        board.addPiece(TestFactory.getNewPosition(1, 5), king);
+        board.addPiece(TestFactory.getNewPosition(1, 8), rook);
+        board.addPiece(TestFactory.getNewPosition(8, 5),
+                TestFactory.getNewPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        game.setBoard(board);
+
+        game.makeMove(move(1, 5, 1, 7));
+        Assertions.assertSame(rook, board.getPiece(Square.of(1, 6)), "Castling did not move the rook");
+        Assertions.assertEquals(0, board.getCastlingRights() & (ChessBoard.WHITE_KINGSIDE | ChessBoard.WHITE_QUEENSIDE),
+                "Castling should give up both of white's castling rights");
+
+        game.unmakeMove();
+        Assertions.assertSame(king, board.getPiece(Square.of(1, 5)));
+        Assertions.assertSame(rook, board.getPiece(Square.of(1, 8)));
+        Assertions.assertEquals(ChessBoard.ALL_CASTLING_RIGHTS, board.getCastlingRights(), "Castling rights were not restored");
+        Assertions.assertTrue(game.validMoves(TestFactory.getNewPosition(1, 5))
+                        .contains(TestFactory.getNewMove(TestFactory.getNewPosition(1, 5), TestFactory.getNewPosition(1, 7), null)),
+                "King should be able to castle again after the castle was taken back");
+    }
+
+    @Test
+    @DisplayName("Unmake Capturing Promotion")
+    public void unmakePromotion() {
+        ChessPiece pawn = TestFactory.getNewPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
+        ChessPiece knight = TestFactory.getNewPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT);
+        board.addPiece(TestFactory.getNewPosition(7, 2), pawn);
+        board.addPiece(TestFactory.getNewPosition(8, 1), knight);
+        game.setBoard(board);
+
+        game.makeMove(Move.of(Square.of(7, 2), Square.of(8, 1), ChessPiece.PieceType.QUEEN));
+        Assertions.assertEquals(ChessPiece.PieceType.QUEEN, board.getPiece(Square.of(8, 1)).getPieceType());
+        Assertions.assertEquals(1, game.getUndoDepth());
+
+        game.unmakeMove();
+        Assertions.assertSame(pawn, board.getPiece(Square.of(7, 2)), "Promoted pawn was not restored");
+        Assertions.assertSame(knight, board.getPiece(Square.of(8, 1)), "Captured piece was not restored");
+        Assertions.assertEquals(0, game.getUndoDepth());
+        Assertions.assertThrows(IllegalStateException.class, game::unmakeMove);
+    }
+}
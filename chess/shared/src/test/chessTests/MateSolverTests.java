@@ -0,0 +1,94 @@
+package chessTests;
+
+import chess.*;
+import chess.engine.mate.MateResult;
+import chess.engine.mate.MateSolver;
+import chess.engine.mate.PuzzleBatch;
+import chess.engine.mate.PuzzleResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class MateSolverTests {
+
+    private final MateSolver solver = new MateSolver(4);
+
+    @Test
+    @DisplayName("Proves Mates")
+    public void provesMates() {
+        // Back rank mate with Re8
+        ChessGameImpl game = Fen.parse("6k1/5ppp/8/8/8/8/8/4R1K1 w - - 0 1");
+        MateResult result = solver.solve(game, 1, 0, 0);
+        Assertions.assertEquals(MateResult.Outcome.MATE, result.outcome());
+        Assertions.assertEquals(Move.of(Square.of(1, 5), Square.of(8, 5)), result.bestMove());
+        Assertions.assertEquals("6k1/5ppp/8/8/8/8/8/4R1K1 w - - 0 1", game.toFen(), "Solver did not restore the position");
+
+        // Loyd: Ra6 and mate next move whatever black does
+        game = Fen.parse("kbK5/pp6/1P6/8/8/8/8/R7 w - - 0 1");
+        result = solver.solve(game, 2, 0, 0);
+        Assertions.assertEquals(MateResult.Outcome.MATE, result.outcome());
+        Assertions.assertEquals(Move.of(Square.of(1, 1), Square.of(6, 1)), result.bestMove());
+        Assertions.assertEquals("a1a6", Move.toString(result.bestMove()));
+        Assertions.assertTrue(result.nodes() > 0);
+        Assertions.assertTrue(result.memoryBytes() > 0);
+        Assertions.assertEquals(MateResult.Outcome.NO_MATE, solver.solve(game, 1, 0, 0).outcome());
+    }
+
+    @Test
+    @DisplayName("Disproves Mates")
+    public void disprovesMates() {
+        // The king escapes the rook
+        ChessGameImpl game = Fen.parse("8/8/8/8/8/2k5/8/K6R w - - 0 1");
+        MateResult result = solver.solve(game, 2, 0, 0);
+        Assertions.assertEquals(MateResult.Outcome.NO_MATE, result.outcome());
+        Assertions.assertEquals(0, result.bestMove());
+
+        // Stalemate is no mate, and a team with no moves can't mate
+        Assertions.assertEquals(MateResult.Outcome.NO_MATE, solver.solve(Fen.parse("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1"), 1, 0, 0).outcome());
+        Assertions.assertEquals(MateResult.Outcome.NO_MATE, solver.solve(Fen.parse("8/8/8/8/8/1q6/2k5/K7 w - - 0 1"), 1, 0, 0).outcome());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.solve(Fen.parse(Fen.STARTING_POSITION), 0, 0, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MateSolver(0));
+    }
+
+    @Test
+    @DisplayName("Stops at Node Limit")
+    public void nodeLimit() {
+        // No mate in the opening, so the search only ends at the limit
+        ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+        MateResult result = solver.solve(game, 6, 5000, 0);
+        Assertions.assertEquals(MateResult.Outcome.UNKNOWN, result.outcome());
+        Assertions.assertTrue(result.nodes() >= 5000 && result.nodes() < 5000 + 2048);
+        Assertions.assertEquals(0, game.getUndoDepth());
+    }
+
+    @Test
+    @DisplayName("Batch of Puzzles")
+    public void batch() throws IOException {
+        Path file = Files.createTempFile("puzzles", ".epd");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, """
+                # Mate puzzles
+                6k1/5ppp/8/8/8/8/8/4R1K1 w - - dm 1; id "back rank";
+
+                kbK5/pp6/1P6/8/8/8/8/R7 w - - dm 2; id "loyd";
+                8/8/8/8/8/2k5/8/K6R w - - dm 2; id "escape";
+                """);
+        try (PuzzleBatch batch = new PuzzleBatch(2, 1)) {
+            List<PuzzleResult> results = batch.solve(file, 0, 0);
+            Assertions.assertEquals(3, results.size());
+            Assertions.assertEquals("back rank", results.get(0).puzzle().id());
+            Assertions.assertTrue(results.get(0).isSolved());
+            Assertions.assertTrue(results.get(1).isSolved());
+            Assertions.assertEquals(2, results.get(1).mateIn());
+            Assertions.assertFalse(results.get(2).isSolved());
+
+            Files.writeString(file, "6k1/5ppp/8/8/8/8/8/4R1K1 w - - bm Re8#;\n");
+            Assertions.assertThrows(IOException.class, () -> batch.solve(file, 0, 0));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import testFactory.TestFactory;
+
+import java.util.HashSet;
+
+public class MoveListTests {
+
+    @Test
+    @DisplayName("Encode and Decode Moves")
+    public void encodeDecode() {
+        ChessMove move = TestFactory.getNewMove(TestFactory.getNewPosition(7, 2),
+                TestFactory.getNewPosition(8, 1), ChessPiece.PieceType.KNIGHT);
+        int encoded = Move.of(move);
+
+        Assertions.assertEquals(Square.of(7, 2), Move.from(encoded));
+        Assertions.assertEquals(Square.of(8, 1), Move.to(encoded));
+        Assertions.assertEquals(ChessPiece.PieceType.KNIGHT, Move.promotion(encoded));
+        Assertions.assertEquals(move, Move.toChessMove(encoded), "Decoded move did not equal the original");
+        Assertions.assertNull(Move.promotion(Move.of(0, 63)), "Move without promotion decoded a promotion piece");
+    }
+
+    @Test
+    @DisplayName("List Grows and Reuses Its Buffer")
+    public void growAndClear() {
+        MoveList moves = new MoveList(2);
+        for (int i = 0; i < 10; i++)
+            moves.add(Move.of(i, i + 1));
+
+        Assertions.assertEquals(10, moves.size());
+        Assertions.assertTrue(moves.contains(Move.of(9, 10)));
+
+        moves.clear();
+        Assertions.assertTrue(moves.isEmpty(), "Cleared list still reported moves");
+        Assertions.assertFalse(moves.contains(Move.of(9, 10)), "Cleared list still contained an old move");
+    }
+
+    @Test
+    @DisplayName("Collection Adapter Matches Generated Moves")
+    public void adapterMatchesGenerator() {
+        ChessBoard board = TestFactory.getNewBoard();
+        board.resetBoard();
+        ChessPosition knight = TestFactory.getNewPosition(1, 2);
+
+        MoveList moves = new MoveList();
+        board.getPiece(knight).generateMoves(board, Square.of(knight), moves);
+
+        Assertions.assertEquals(new HashSet<>(moves.toChessMoves()),
+                new HashSet<>(board.getPiece(knight).pieceMoves(board, knight)));
+        Assertions.assertEquals(2, moves.size(), "Knight on its starting square should have two moves");
+    }
+}
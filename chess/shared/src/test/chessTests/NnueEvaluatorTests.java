@@ -0,0 +1,95 @@
+package chessTests;
+
+import chess.*;
+import chess.engine.nnue.Network;
+import chess.engine.nnue.NnueEvaluator;
+import chess.engine.nnue.ScalarKernel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+public class NnueEvaluatorTests {
+
+    private static final Network NETWORK = Network.random(32, 8, 42);
+
+    @Test
+    @DisplayName("Accumulators Follow Moves")
+    public void incrementalMatchesFresh() {
+        ChessGameImpl game = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        NnueEvaluator incremental = new NnueEvaluator(NETWORK, new ScalarKernel());
+        incremental.attach(game.getBoard());
+
+        MoveList moves = new MoveList();
+        game.generateLegalMoves(game.getTeamTurn(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            game.makeMove(moves.get(i));
+            int fresh = new NnueEvaluator(NETWORK, new ScalarKernel()).evaluate(Fen.parse(game.toFen()));
+            Assertions.assertEquals(fresh, incremental.evaluate(game), "Accumulator drifted at " + game.toFen());
+            game.unmakeMove();
+        }
+    }
+
+    @Test
+    @DisplayName("Accumulators Don't Drift")
+    public void longRandomWalk() {
+        ChessGameImpl game = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        NnueEvaluator incremental = new NnueEvaluator(NETWORK, new ScalarKernel());
+        incremental.attach(game.getBoard());
+
+        // Mostly forward with some take-backs, so rows are added and removed many times over
+        Random random = new Random(7);
+        MoveList moves = new MoveList();
+        int made = 0;
+        for (int step = 0; step < 5000; step++) {
+            moves.clear();
+            game.generateLegalMoves(game.getTeamTurn(), moves);
+            if (made > 0 && (moves.isEmpty() || random.nextInt(3) == 0)) {
+                game.unmakeMove();
+                made--;
+            } else if (!moves.isEmpty()) {
+                game.makeMove(moves.get(random.nextInt(moves.size())));
+                made++;
+            }
+
+            NnueEvaluator fresh = new NnueEvaluator(NETWORK, new ScalarKernel());
+            fresh.attach(Fen.parse(game.toFen()).getBoard());
+            for (ChessGame.TeamColor team : ChessGame.TeamColor.values()) {
+                Assertions.assertArrayEquals(fresh.getAccumulator(team), incremental.getAccumulator(team),
+                        "Accumulator drifted after " + step + " steps at " + game.toFen());
+            }
+        }
+        while (made-- > 0) game.unmakeMove();
+        NnueEvaluator fresh = new NnueEvaluator(NETWORK, new ScalarKernel());
+        Assertions.assertEquals(fresh.evaluate(Fen.parse(game.toFen())), incremental.evaluate(game));
+    }
+
+    @Test
+    @DisplayName("Both Teams See the Same Position")
+    public void symmetry() {
+        NnueEvaluator evaluator = new NnueEvaluator(NETWORK);
+        int white = evaluator.evaluate(Fen.parse("4k3/8/8/3P4/8/2N5/5PPP/4K3 w - - 0 1"));
+        int black = evaluator.evaluate(Fen.parse("4k3/5ppp/2n5/8/3p4/8/8/4K3 b - - 0 1"));
+        Assertions.assertEquals(white, black, 1);
+    }
+
+    @Test
+    @DisplayName("Weights Round Trip Through a File")
+    public void readWrite() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NETWORK.write(out);
+        Network loaded = Network.read(new ByteArrayInputStream(out.toByteArray()));
+
+        ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+        Assertions.assertEquals(new NnueEvaluator(NETWORK).evaluate(game), new NnueEvaluator(loaded).evaluate(game));
+        Assertions.assertEquals(32, loaded.featureSize());
+
+        byte[] corrupt = out.toByteArray();
+        corrupt[0] = 0;
+        Assertions.assertThrows(IOException.class, () -> Network.read(new ByteArrayInputStream(corrupt)));
+    }
+}
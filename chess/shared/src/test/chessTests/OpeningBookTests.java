@@ -0,0 +1,136 @@
+package chessTests;
+
+import chess.*;
+import chess.engine.*;
+import chess.engine.book.OpeningBook;
+import chess.engine.book.OpeningBookBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class OpeningBookTests {
+
+    private static final String PGN = """
+            [Event "Casual"]
+            [Result "1-0"]
+
+            1. e4 e5 2. Nf3 {the main line} Nc6 (2... d6 3. d4) 3. Bb5 a6 1-0
+
+            [Event "Casual"]
+            [Result "0-1"]
+
+            1. d4 $1 d5 2. c4 e6 0-1
+
+            [Event "Casual"]
+            [Result "1/2-1/2"]
+
+            1.e4 c5 2.Nf3 1/2-1/2
+            """;
+
+    @Test
+    @DisplayName("Book Built From PGN")
+    public void buildFromPgn() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(4);
+        Assertions.assertEquals(3, builder.addPgn(new StringReader(PGN)));
+        Path file = tempFile();
+        builder.write(file);
+        OpeningBook book = OpeningBook.open(file);
+
+        // 1. e4 won once and drew once; 1. d4 lost
+        long start = Fen.parse(Fen.STARTING_POSITION).getBoard().positionKey();
+        int index = book.find(start);
+        Assertions.assertEquals(Move.of(Square.of(2, 5), Square.of(4, 5)), book.move(index));
+        Assertions.assertEquals(3, book.weight(index));
+        Assertions.assertEquals(start, book.key(index));
+        Assertions.assertTrue(index + 1 == book.size() || book.key(index + 1) != start);
+
+        // Black's winning reply to 1. d4 is in, the losing side's moves and the moves past four plies are not
+        ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+        game.makeMove(Move.of(Square.of(2, 4), Square.of(4, 4)));
+        Assertions.assertEquals(Move.of(Square.of(7, 4), Square.of(5, 4)), book.bestMove(game.getBoard().positionKey()));
+        game = Fen.parse("r1bqkbnr/pppp1ppp/2n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3");
+        Assertions.assertEquals(-1, book.find(game.getBoard().positionKey()));
+        game = Fen.parse("rnbqkbnr/pppp1ppp/8/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2");
+        Assertions.assertEquals(-1, book.find(game.getBoard().positionKey()));
+        game = Fen.parse("rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2");
+        Assertions.assertEquals(Move.of(Square.of(1, 7), Square.of(3, 6)), book.bestMove(game.getBoard().positionKey()));
+    }
+
+    @Test
+    @DisplayName("Book Built From Stored Game")
+    public void buildFromGame() throws IOException {
+        ChessGameImpl played = Fen.parse(Fen.STARTING_POSITION);
+        for (String san : new String[]{"f3", "e5", "g4", "Qh4#"})
+            played.makeMove(San.parse(played, san));
+        Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, played.gameStatus());
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(10);
+        builder.addGame(played);
+        Path file = tempFile();
+        builder.write(file);
+        OpeningBook book = OpeningBook.open(file);
+
+        // Only the winner's moves are kept
+        Assertions.assertEquals(2, book.size());
+        ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+        Assertions.assertEquals(-1, book.find(game.getBoard().positionKey()));
+        game.makeMove(San.parse(game, "f3"));
+        Assertions.assertEquals(San.parse(game, "e5"), book.bestMove(game.getBoard().positionKey()));
+
+        ChessGameImpl endgame = Fen.parse("4k3/8/8/8/8/8/8/4K2R w K - 0 1");
+        endgame.makeMove(San.parse(endgame, "O-O"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.addGame(endgame));
+    }
+
+    @Test
+    @DisplayName("Search Plays From Book")
+    public void searchUsesBook() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(2);
+        builder.addPgn(new StringReader(PGN));
+        Path file = tempFile();
+        builder.write(file);
+        OpeningBook book = OpeningBook.open(file);
+
+        try (ParallelSearch search = new ParallelSearch(new TranspositionTable(1), MaterialEvaluator::new)) {
+            search.setOpeningBook(book);
+            ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+            SearchResult result = search.search(game, SearchLimits.depth(6), 1);
+            Assertions.assertEquals(0, result.depth());
+            Assertions.assertEquals(Move.of(Square.of(2, 5), Square.of(4, 5)), result.bestMove());
+
+            // Out of book, the engine searches
+            game.makeMove(Move.of(Square.of(2, 1), Square.of(3, 1)));
+            result = search.search(game, SearchLimits.depth(2), 1);
+            Assertions.assertEquals(2, result.depth());
+        }
+
+        Random random = new Random(1);
+        long start = Fen.parse(Fen.STARTING_POSITION).getBoard().positionKey();
+        for (int i = 0; i < 20; i++)
+            Assertions.assertEquals(Move.of(Square.of(2, 5), Square.of(4, 5)), book.pickMove(start, random));
+    }
+
+    @Test
+    @DisplayName("Invalid Book Files")
+    public void invalidFiles() throws IOException {
+        Path file = tempFile();
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        Assertions.assertThrows(IOException.class, () -> OpeningBook.open(file));
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(4);
+        Assertions.assertThrows(IOException.class, () -> builder.addPgn(new StringReader("1. e4 e5 2. Ke3 *")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new OpeningBookBuilder(0));
+    }
+
+    private static Path tempFile() throws IOException {
+        Path file = Files.createTempFile("book", ".bin");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,55 @@
+package chessTests;
+
+import chess.*;
+import chess.engine.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ParallelSearchTests {
+
+    @Test
+    @DisplayName("Threads Agree on Mate")
+    public void mateWithThreads() {
+        try (ParallelSearch search = new ParallelSearch(new TranspositionTable(4), MaterialEvaluator::new)) {
+            ChessGameImpl game = Fen.parse("6k1/5ppp/8/8/8/8/8/4R1K1 w - - 0 1");
+            SearchResult result = search.search(game, SearchLimits.depth(4), 3);
+
+            Assertions.assertEquals(Move.of(Square.of(1, 5), Square.of(8, 5)), result.bestMove());
+            Assertions.assertTrue(result.isMate());
+            Assertions.assertEquals(0, game.getUndoDepth());
+        }
+    }
+
+    @Test
+    @DisplayName("Thread Count Can Change Between Searches")
+    public void threadCountPerSearch() {
+        try (ParallelSearch search = new ParallelSearch(new TranspositionTable(4), MaterialEvaluator::new)) {
+            for (int threads : new int[]{1, 4, 2}) {
+                ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+                SearchResult result = search.search(game, SearchLimits.depth(3), threads);
+
+                Assertions.assertTrue(result.depth() >= 3);
+                Assertions.assertTrue(game.generateLegalMoves(ChessGame.TeamColor.WHITE).contains(result.bestChessMove()));
+            }
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> search.search(Fen.parse(Fen.STARTING_POSITION), SearchLimits.depth(1), 0));
+        }
+    }
+
+    @Test
+    @DisplayName("Copy Keeps Repetition History")
+    public void copyKeepsHistory() {
+        ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+        int[] shuffle = {Move.of(Square.of(1, 7), Square.of(3, 6)), Move.of(Square.of(8, 7), Square.of(6, 6)),
+                Move.of(Square.of(3, 6), Square.of(1, 7)), Move.of(Square.of(6, 6), Square.of(8, 7))};
+        for (int move : shuffle) game.makeMove(move);
+
+        ChessGameImpl copy = game.copy();
+        Assertions.assertEquals(game.toFen(), copy.toFen());
+        Assertions.assertEquals(game.getBoard().positionKey(), copy.getBoard().positionKey());
+        Assertions.assertTrue(copy.isRepetition());
+        for (int move : shuffle) copy.makeMove(move);
+        Assertions.assertTrue(copy.isDrawByRepetition());
+    }
+}
@@ -0,0 +1,39 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PerftTests {
+
+    private final Perft perft = new Perft();
+
+    private void assertNodes(String fen, int depth, long expected) {
+        ChessGameImpl game = Fen.parse(fen);
+        Assertions.assertEquals(expected, perft.count(game, depth), "Wrong node count at depth " + depth + " for " + fen);
+        Assertions.assertEquals(fen, game.toFen(), "Counting did not restore the position");
+
+        // The HashMap board has to generate exactly the same tree
+        Assertions.assertEquals(expected, perft.count(Fen.parse(fen, new ChessBoardImpl()), depth));
+    }
+
+    @Test
+    @DisplayName("Starting Position")
+    public void startingPosition() {
+        assertNodes(Fen.STARTING_POSITION, 3, 8902);
+    }
+
+    @Test
+    @DisplayName("Castling, En Passant and Promotion Position")
+    public void kiwipete() {
+        assertNodes("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 2, 2039);
+    }
+
+    @Test
+    @DisplayName("Pins and Discovered Checks Position")
+    public void pinsAndChecks() {
+        assertNodes("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 4, 43238);
+        assertNodes("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 3, 9467);
+    }
+}
@@ -0,0 +1,42 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SanTests {
+
+    @Test
+    @DisplayName("Pieces, Pawns and Captures")
+    public void basicMoves() {
+        ChessGameImpl game = Fen.parse("rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2");
+        Assertions.assertEquals(Move.of(Square.of(4, 5), Square.of(5, 4)), San.parse(game, "exd5"));
+        Assertions.assertEquals(Move.of(Square.of(1, 7), Square.of(3, 6)), San.parse(game, "Nf3"));
+        Assertions.assertEquals(Move.of(Square.of(1, 6), Square.of(5, 2)), San.parse(game, "Bb5+"));
+        Assertions.assertEquals(Move.of(Square.of(2, 1), Square.of(4, 1)), San.parse(game, "a4!?"));
+    }
+
+    @Test
+    @DisplayName("Castling, Promotion and Disambiguation")
+    public void specialMoves() {
+        ChessGameImpl game = Fen.parse("4k3/1P6/8/8/8/8/8/R3K2R w KQ - 0 1");
+        Assertions.assertEquals(Move.of(Square.of(1, 5), Square.of(1, 7)), San.parse(game, "O-O"));
+        Assertions.assertEquals(Move.of(Square.of(1, 5), Square.of(1, 3)), San.parse(game, "O-O-O"));
+        Assertions.assertEquals(Move.of(Square.of(7, 2), Square.of(8, 2), ChessPiece.PieceType.QUEEN), San.parse(game, "b8=Q+"));
+        Assertions.assertEquals(Move.of(Square.of(7, 2), Square.of(8, 2), ChessPiece.PieceType.KNIGHT), San.parse(game, "b8N"));
+        Assertions.assertEquals(Move.of(Square.of(1, 1), Square.of(1, 4)), San.parse(game, "Rad1"));
+        Assertions.assertEquals(Move.of(Square.of(1, 8), Square.of(1, 6)), San.parse(game, "Rhf1"));
+    }
+
+    @Test
+    @DisplayName("Invalid Moves")
+    public void invalidMoves() {
+        ChessGameImpl game = Fen.parse("4k3/8/8/8/8/8/4K3/R6R w - - 0 1");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> San.parse(game, "Rd1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> San.parse(game, "O-O"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> San.parse(game, "Nf3"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> San.parse(game, "Zz9"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> San.parse(game, "e"));
+    }
+}
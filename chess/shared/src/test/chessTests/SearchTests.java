@@ -0,0 +1,74 @@
+package chessTests;
+
+import chess.*;
+import chess.engine.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SearchTests {
+
+    private final Search search = new Search(new TranspositionTable(4), new MaterialEvaluator());
+
+    @Test
+    @DisplayName("Finds Mate in One")
+    public void mateInOne() {
+        // Back rank mate with Re8
+        ChessGameImpl game = Fen.parse("6k1/5ppp/8/8/8/8/8/4R1K1 w - - 0 1");
+        SearchResult result = search.search(game, SearchLimits.depth(4));
+
+        Assertions.assertEquals(Move.of(Square.of(1, 5), Square.of(8, 5)), result.bestMove());
+        Assertions.assertEquals(Search.MATE - 1, result.score());
+        Assertions.assertTrue(result.isMate());
+        Assertions.assertEquals("6k1/5ppp/8/8/8/8/8/4R1K1 w - - 0 1", game.toFen(), "Search did not restore the position");
+    }
+
+    @Test
+    @DisplayName("Wins Hanging Piece")
+    public void winsHangingPiece() {
+        ChessGameImpl game = Fen.parse("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1");
+        SearchResult result = search.search(game, SearchLimits.depth(3));
+
+        Assertions.assertEquals(Move.of(Square.of(2, 4), Square.of(5, 4)), result.bestMove());
+        Assertions.assertTrue(result.score() > 300);
+        Assertions.assertEquals(result.bestMove(), result.pv()[0]);
+    }
+
+    @Test
+    @DisplayName("Sees Recapture Past the Horizon")
+    public void quiescence() {
+        // Qxd6 wins a pawn at depth one but loses the queen to cxd6 one ply later
+        ChessGameImpl game = Fen.parse("4k3/2p5/3p4/8/8/8/8/3QK3 w - - 0 1");
+        SearchResult result = search.search(game, SearchLimits.depth(1));
+
+        Assertions.assertNotEquals(Move.of(Square.of(1, 4), Square.of(6, 4)), result.bestMove());
+        Assertions.assertTrue(result.score() > 500);
+    }
+
+    @Test
+    @DisplayName("Node Limit Returns Legal Move")
+    public void nodeLimit() {
+        ChessGameImpl game = Fen.parse(Fen.STARTING_POSITION);
+        SearchResult result = search.search(game, SearchLimits.nodes(5_000));
+
+        Assertions.assertTrue(result.nodes() < 5_000 + 1024, "Search ran well past its node limit");
+        Assertions.assertTrue(game.generateLegalMoves(ChessGame.TeamColor.WHITE).contains(result.bestChessMove()));
+        Assertions.assertEquals(0, game.getUndoDepth());
+    }
+
+    @Test
+    @DisplayName("Stop Returns Best Move So Far")
+    public void stop() throws InterruptedException {
+        ChessGameImpl game = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        SearchResult[] result = new SearchResult[1];
+        Thread thread = new Thread(() -> result[0] = search.search(game, SearchLimits.infinite()));
+        thread.start();
+        Thread.sleep(200);
+        search.stop();
+        thread.join(5_000);
+
+        Assertions.assertFalse(thread.isAlive(), "Search did not stop");
+        Assertions.assertTrue(result[0].depth() >= 1);
+        Assertions.assertTrue(game.generateLegalMoves(ChessGame.TeamColor.WHITE).contains(result[0].bestChessMove()));
+    }
+}
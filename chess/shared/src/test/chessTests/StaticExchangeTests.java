@@ -0,0 +1,46 @@
+package chessTests;
+
+import chess.*;
+import chess.engine.StaticExchange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StaticExchangeTests {
+
+    private static int move(String from, String to) {
+        return Move.of(Square.of(from.charAt(1) - '0', from.charAt(0) - 'a' + 1),
+                Square.of(to.charAt(1) - '0', to.charAt(0) - 'a' + 1));
+    }
+
+    @Test
+    @DisplayName("Undefended Piece")
+    public void undefended() {
+        ChessBoard board = Fen.parse("4k3/8/8/3p4/8/8/8/3RK3 w - - 0 1").getBoard();
+        Assertions.assertTrue(StaticExchange.isAtLeast(board, move("d1", "d5"), 100));
+        Assertions.assertFalse(StaticExchange.isAtLeast(board, move("d1", "d5"), 101));
+    }
+
+    @Test
+    @DisplayName("Defended Pawn Loses the Queen")
+    public void defendedPawn() {
+        ChessBoard board = Fen.parse("4k3/2p5/3p4/8/8/8/8/3QK3 w - - 0 1").getBoard();
+        Assertions.assertFalse(StaticExchange.isAtLeast(board, move("d1", "d6"), 0));
+    }
+
+    @Test
+    @DisplayName("X-Ray Attackers Join the Exchange")
+    public void xRay() {
+        // Rxd5 cxd5 Rxd5: two rooks against a pawn-defended knight win a knight and a pawn for a rook
+        ChessBoard board = Fen.parse("4k3/8/2p5/3n4/8/8/3R4/3RK3 w - - 0 1").getBoard();
+        Assertions.assertFalse(StaticExchange.isAtLeast(board, move("d2", "d5"), 0));
+
+        // Without the defending pawn the knight is won outright
+        board = Fen.parse("4k3/8/8/3n4/8/8/3R4/3RK3 w - - 0 1").getBoard();
+        Assertions.assertTrue(StaticExchange.isAtLeast(board, move("d2", "d5"), 320));
+
+        // A bishop behind a pawn backs it up against a knight defended by a pawn
+        board = Fen.parse("4k3/8/5p2/4n3/3P4/2B5/8/4K3 w - - 0 1").getBoard();
+        Assertions.assertTrue(StaticExchange.isAtLeast(board, move("d4", "e5"), 200));
+    }
+}
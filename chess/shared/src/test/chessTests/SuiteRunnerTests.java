@@ -0,0 +1,90 @@
+package chessTests;
+
+import chess.Move;
+import chess.Square;
+import chess.engine.MaterialEvaluator;
+import chess.engine.SearchLimits;
+import chess.engine.suite.SuiteResult;
+import chess.engine.suite.SuiteRunner;
+import chess.engine.suite.SuiteSummary;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SuiteRunnerTests {
+
+    private static final String SUITE = """
+            # Back rank mate, a hanging queen and a plain FEN line
+            6k1/5ppp/8/8/8/8/8/4R1K1 w - - bm Re8#; id "back rank";
+            4k3/8/8/3q4/8/8/8/3RK3 w - - bm Rxd5; am Kf2; id "hanging queen";
+
+            rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1
+            6k1/5ppp/8/8/8/8/8/4R1K1 w - - am Re8; id "avoid mate";
+            """;
+
+    @Test
+    @DisplayName("Scores Suite")
+    public void scoresSuite() throws IOException {
+        List<SuiteResult> results = new ArrayList<>();
+        SuiteSummary summary;
+        try (SuiteRunner runner = new SuiteRunner(MaterialEvaluator::new, 2, 1)) {
+            summary = runner.run(new BufferedReader(new StringReader(SUITE)), "suite", SearchLimits.depth(3), results::add);
+        }
+        Assertions.assertEquals(4, results.size());
+        Assertions.assertEquals(4, summary.positions());
+        Assertions.assertEquals(2, summary.solved());
+        Assertions.assertEquals(1, summary.failed());
+        Assertions.assertEquals(results.stream().mapToLong(result -> result.result().nodes()).sum(), summary.nodes());
+
+        results.sort((a, b) -> a.lineNumber() - b.lineNumber());
+        Assertions.assertEquals(List.of(2, 3, 5, 6), results.stream().map(SuiteResult::lineNumber).toList());
+        Assertions.assertEquals("back rank", results.get(0).position().id());
+        Assertions.assertEquals(Move.of(Square.of(1, 5), Square.of(8, 5)), results.get(0).result().bestMove());
+        Assertions.assertEquals(SuiteResult.Verdict.SOLVED, results.get(0).verdict());
+        Assertions.assertEquals(SuiteResult.Verdict.SOLVED, results.get(1).verdict());
+        Assertions.assertEquals(SuiteResult.Verdict.UNTESTED, results.get(2).verdict());
+        Assertions.assertEquals(SuiteResult.Verdict.FAILED, results.get(3).verdict());
+    }
+
+    @Test
+    @DisplayName("Streams Large Files")
+    public void streamsLargeFiles() throws IOException {
+        Path file = Files.createTempFile("suite", ".epd");
+        file.toFile().deleteOnExit();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) text.append("4k3/8/8/8/8/8/4P3/4K3 w - - id \"").append(i).append("\";\n");
+        Files.writeString(file, text);
+
+        int[] count = new int[1];
+        SuiteSummary summary;
+        try (SuiteRunner runner = new SuiteRunner(MaterialEvaluator::new, 3, 1)) {
+            summary = runner.run(file, SearchLimits.nodes(500), result -> count[0]++);
+        }
+        Assertions.assertEquals(200, count[0]);
+        Assertions.assertEquals(200, summary.positions());
+        Assertions.assertEquals(0, summary.solved() + summary.failed());
+        Assertions.assertTrue(summary.nodes() >= 200 * 500L);
+    }
+
+    @Test
+    @DisplayName("Rejects Invalid Input")
+    public void invalidInput() {
+        try (SuiteRunner runner = new SuiteRunner(MaterialEvaluator::new, 1, 1)) {
+            IOException e = Assertions.assertThrows(IOException.class, () -> runner.run(new BufferedReader(new StringReader(
+                    "4k3/8/8/8/8/8/4P3/4K3 w - - id \"ok\";\n4k3/8/8/8/8/8/4P3/4K3 w - - bm Qh5;\n")), "suite",
+                    SearchLimits.depth(2), null));
+            Assertions.assertTrue(e.getMessage().contains("line 2"), e.getMessage());
+            Assertions.assertThrows(IllegalArgumentException.class, () -> runner.run(new BufferedReader(new StringReader("")),
+                    "suite", SearchLimits.infinite(), null));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SuiteRunner(MaterialEvaluator::new, 0, 1));
+    }
+}
@@ -0,0 +1,129 @@
+package chessTests;
+
+import chess.*;
+import chess.engine.*;
+import chess.engine.tablebase.Tablebase;
+import chess.engine.tablebase.TablebaseGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TablebaseTests {
+
+    private static Tablebase tablebase;
+
+    @Test
+    @DisplayName("Known Results")
+    public void knownResults() throws IOException {
+        // Qa8 or Qg7 mates at once
+        assertResult("7k/Q7/6K1/8/8/8/8/8 w - - 0 1", true, 1);
+        assertResult("Q6k/8/6K1/8/8/8/8/8 b - - 0 1", false, 0);
+
+        // Black takes the queen
+        Assertions.assertEquals(EndgameTablebase.DRAW, probe("7k/6Q1/8/8/8/8/8/K7 b - - 0 1"));
+
+        // The rook pawn can't dislodge a king in the corner, but wins outside the square
+        Assertions.assertEquals(EndgameTablebase.DRAW, probe("k7/8/8/8/8/8/P7/K7 w - - 0 1"));
+        Assertions.assertTrue(EndgameTablebase.isWin(probe("7k/8/8/8/8/8/P7/K7 w - - 0 1")));
+
+        // The longest mate with king and rook is 16 moves
+        int longest = 0;
+        for (String fen : new String[]{"8/8/8/8/3k4/8/8/R6K b - - 0 1", "8/8/8/3k4/8/8/8/KR6 w - - 0 1"}) {
+            int result = probe(fen);
+            Assertions.assertTrue(EndgameTablebase.distance(result) <= 32);
+            longest = Math.max(longest, EndgameTablebase.distance(result));
+        }
+        Assertions.assertTrue(longest > 20);
+    }
+
+    @Test
+    @DisplayName("Colors Mirrored and Uncovered Positions")
+    public void mirroredAndUncovered() throws IOException {
+        Assertions.assertTrue(tablebase().contains("KvKQ"));
+        Assertions.assertFalse(tablebase().contains("KQvKR"));
+        Assertions.assertEquals(3, tablebase().maxPieces());
+
+        Assertions.assertEquals(probe("7k/Q7/6K1/8/8/8/8/8 w - - 0 1"), probe("8/8/8/8/8/6k1/q7/7K b - - 0 1"));
+        Assertions.assertEquals(probe("7k/8/8/8/8/8/P7/K7 w - - 0 1"), probe("k7/p7/8/8/8/8/8/7K b - - 0 1"));
+
+        Assertions.assertEquals(EndgameTablebase.UNKNOWN, probe("4k3/8/8/8/8/8/8/4K2R w K - 0 1"));
+        Assertions.assertEquals(EndgameTablebase.UNKNOWN, probe("4k3/8/8/8/8/8/8/R3K2R w - - 0 1"));
+        Assertions.assertEquals(EndgameTablebase.DRAW, probe("4k3/8/8/8/8/8/8/4K3 w - - 0 1"));
+    }
+
+    @Test
+    @DisplayName("Search and Game Use Tablebase")
+    public void searchUsesTablebase() throws IOException {
+        ChessGameImpl game = Fen.parse("8/8/8/3k4/8/8/8/KR6 w - - 0 1");
+        game.setTablebase(tablebase());
+        int result = game.probeTablebase();
+        Assertions.assertTrue(EndgameTablebase.isWin(result));
+
+        Search search = new Search(new TranspositionTable(4), new MaterialEvaluator());
+        search.setTablebase(tablebase());
+        SearchResult searched = search.search(game, SearchLimits.depth(2));
+        Assertions.assertEquals(Search.MATE - EndgameTablebase.distance(result), searched.score());
+
+        // The move played keeps to the shortest mate
+        game.makeMove(searched.bestMove());
+        int next = game.probeTablebase();
+        Assertions.assertTrue(EndgameTablebase.isLoss(next));
+        Assertions.assertEquals(EndgameTablebase.distance(result) - 1, EndgameTablebase.distance(next));
+        Assertions.assertEquals(EndgameTablebase.UNKNOWN, Fen.parse(Fen.STARTING_POSITION).probeTablebase());
+    }
+
+    @Test
+    @DisplayName("Generator Arguments")
+    public void generatorArguments() throws IOException {
+        Assertions.assertEquals(5, TablebaseGenerator.materials(3).size());
+        Assertions.assertTrue(TablebaseGenerator.materials(4).contains("KQvKR"));
+        Assertions.assertFalse(TablebaseGenerator.materials(4).contains("KRvKQ"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TablebaseGenerator.materials(5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TablebaseGenerator(Path.of("."), 0));
+
+        Path directory = Files.createTempDirectory("tablebase");
+        try (TablebaseGenerator generator = new TablebaseGenerator(directory, 2)) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> generator.generate("KQQvKQ"));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> generator.generate("KvK"));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> generator.generate("QvK"));
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    private static void assertResult(String fen, boolean win, int distance) throws IOException {
+        int result = probe(fen);
+        Assertions.assertEquals(win, EndgameTablebase.isWin(result), fen);
+        Assertions.assertEquals(!win, EndgameTablebase.isLoss(result), fen);
+        Assertions.assertEquals(distance, EndgameTablebase.distance(result), fen);
+    }
+
+    private static int probe(String fen) throws IOException {
+        return tablebase().probe(Fen.parse(fen).getBoard());
+    }
+
+    /**
+     * Generates the three-piece tables with pieces that can mate once for all tests, since it takes a few seconds.
+     */
+    private static synchronized Tablebase tablebase() throws IOException {
+        if (tablebase == null) {
+            Path directory = Files.createTempDirectory("tablebase");
+            directory.toFile().deleteOnExit();
+            try (TablebaseGenerator generator = new TablebaseGenerator(directory, 2)) {
+                generator.generate("KQvK");
+                generator.generate("KRvK");
+                generator.generate("KPvK");
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) file.toFile().deleteOnExit();
+            }
+            tablebase = Tablebase.open(directory);
+        }
+        return tablebase;
+    }
+}
@@ -0,0 +1,66 @@
+package chessTests;
+
+import chess.*;
+import chess.engine.TaperedEvaluator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TaperedEvaluatorTests {
+
+    @Test
+    @DisplayName("Incremental Scores Match a Fresh Evaluation")
+    public void incrementalMatchesFresh() {
+        // Castling, En Passant and promotions all come up within two plies of these positions
+        String[] fens = {"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"};
+        for (String fen : fens) {
+            ChessGameImpl game = Fen.parse(fen);
+            TaperedEvaluator incremental = new TaperedEvaluator();
+            incremental.attach(game.getBoard());
+
+            MoveList moves = new MoveList();
+            game.generateLegalMoves(game.getTeamTurn(), moves);
+            for (int i = 0; i < moves.size(); i++) {
+                game.makeMove(moves.get(i));
+                MoveList replies = new MoveList();
+                game.generateLegalMoves(game.getTeamTurn(), replies);
+                for (int j = 0; j < replies.size(); j++) {
+                    game.makeMove(replies.get(j));
+                    Assertions.assertEquals(new TaperedEvaluator().evaluate(Fen.parse(game.toFen())),
+                            incremental.evaluate(game), "Incremental score drifted at " + game.toFen());
+                    game.unmakeMove();
+                }
+                game.unmakeMove();
+            }
+            Assertions.assertEquals(new TaperedEvaluator().evaluate(Fen.parse(fen)), incremental.evaluate(game));
+            incremental.detach(game.getBoard());
+            Assertions.assertNull(game.getBoard().getBoardListener());
+        }
+    }
+
+    @Test
+    @DisplayName("Mirrored Positions Score the Same")
+    public void symmetry() {
+        TaperedEvaluator evaluator = new TaperedEvaluator();
+        int startingScore = evaluator.evaluate(Fen.parse(Fen.STARTING_POSITION));
+        Assertions.assertEquals(startingScore, evaluator.evaluate(Fen.parse(Fen.STARTING_POSITION.replace(" w ", " b "))));
+
+        // The same position with colors swapped and the board flipped
+        int white = evaluator.evaluate(Fen.parse("4k3/8/8/3P4/8/2N5/5PPP/4K3 w - - 0 1"));
+        int black = evaluator.evaluate(Fen.parse("4k3/5ppp/2n5/8/3p4/8/8/4K3 b - - 0 1"));
+        Assertions.assertEquals(white, black);
+        Assertions.assertTrue(white > 300);
+    }
+
+    @Test
+    @DisplayName("Passed Pawns Count in the Endgame")
+    public void passedPawn() {
+        TaperedEvaluator evaluator = new TaperedEvaluator();
+        int passed = evaluator.evaluate(Fen.parse("4k3/8/8/1P6/8/8/8/4K3 w - - 0 1"));
+        int blocked = evaluator.evaluate(Fen.parse("4k3/1p6/8/1P6/8/8/8/4K3 w - - 0 1"));
+
+        // The blocked version also has an extra black pawn, so the gap is more than a pawn
+        Assertions.assertTrue(passed > blocked + 94, "A passed pawn should be worth more than a blocked one");
+    }
+}
@@ -0,0 +1,87 @@
+package chessTests;
+
+import chess.*;
+import chess.engine.MaterialEvaluator;
+import chess.engine.SearchLimits;
+import chess.engine.TaperedEvaluator;
+import chess.engine.tournament.Player;
+import chess.engine.tournament.Sprt;
+import chess.engine.tournament.Tournament;
+import chess.engine.tournament.TournamentResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TournamentTests {
+
+    @Test
+    @DisplayName("SPRT Decisions")
+    public void sprt() {
+        Sprt sprt = new Sprt(0, 10, 0.05, 0.05);
+        Assertions.assertEquals(Math.log(0.05 / 0.95), sprt.lowerBound(), 1e-9);
+        Assertions.assertEquals(Math.log(0.95 / 0.05), sprt.upperBound(), 1e-9);
+        Assertions.assertEquals(0, sprt.llr(0, 0, 0));
+        Assertions.assertEquals(Sprt.Decision.CONTINUE, sprt.decide(3, 2, 1));
+
+        // Stronger engines with and without draws, even and weaker ones, then runs with no spread to estimate
+        Assertions.assertEquals(Sprt.Decision.ACCEPT_H1, sprt.decide(600, 100, 300));
+        Assertions.assertEquals(Sprt.Decision.ACCEPT_H1, sprt.decide(200, 0, 10));
+        Assertions.assertEquals(Sprt.Decision.ACCEPT_H0, sprt.decide(3000, 3000, 3000));
+        Assertions.assertEquals(Sprt.Decision.ACCEPT_H0, sprt.decide(10, 0, 200));
+        Assertions.assertEquals(Sprt.Decision.CONTINUE, sprt.decide(100, 0, 0));
+        Assertions.assertEquals(0, sprt.llr(0, 50, 0));
+
+        Assertions.assertEquals(0.5, Sprt.expectedScore(0), 1e-9);
+        Assertions.assertEquals(100, Sprt.elo(Sprt.expectedScore(100)), 1e-9);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Sprt(5, 0, 0.05, 0.05));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Sprt(0, 5, 0.5, 0.05));
+    }
+
+    @Test
+    @DisplayName("Read Openings")
+    public void readOpenings() throws IOException {
+        Path file = Files.createTempFile("openings", ".epd");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, """
+                # Two openings
+                rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2
+
+                rnbqkbnr/pp1ppppp/8/2p5/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - id "sicilian";
+                """);
+        List<String> openings = Tournament.readOpenings(file);
+        Assertions.assertEquals(List.of("rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2",
+                "rnbqkbnr/pp1ppppp/8/2p5/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 1"), openings);
+
+        Files.writeString(file, "rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR x KQkq - 0 2\n");
+        Assertions.assertThrows(IOException.class, () -> Tournament.readOpenings(file));
+    }
+
+    @Test
+    @DisplayName("Play a Match")
+    public void playMatch() {
+        Player tapered = new Player("tapered", TaperedEvaluator::new, SearchLimits.depth(2));
+        Player material = new Player("material", MaterialEvaluator::new, SearchLimits.depth(1));
+        List<String> openings = List.of(Fen.STARTING_POSITION,
+                "rnbqkbnr/pppp1ppp/8/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2");
+        List<TournamentResult> standings = new ArrayList<>();
+        try (Tournament tournament = new Tournament(tapered, material, openings, 2, 1)) {
+            TournamentResult result = tournament.run(4, new Sprt(0, 10, 0.05, 0.05), standings::add);
+            Assertions.assertEquals(4, result.games());
+            Assertions.assertEquals("tapered", result.first());
+            Assertions.assertEquals(Sprt.Decision.CONTINUE, result.decision());
+            Assertions.assertTrue(result.firstNodes() > 0 && result.secondNodes() > 0);
+            Assertions.assertTrue(result.nodesPerSecond() > 0);
+
+            // One standing after each game, in order
+            Assertions.assertEquals(4, standings.size());
+            for (int i = 0; i < standings.size(); i++) Assertions.assertEquals(i + 1, standings.get(i).games());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Tournament(tapered, material, List.of(), 1, 1));
+    }
+}
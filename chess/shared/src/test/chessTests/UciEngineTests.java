@@ -0,0 +1,254 @@
+package chessTests;
+
+import chess.engine.book.OpeningBookBuilder;
+import chess.engine.tablebase.TablebaseGenerator;
+import chess.engine.uci.UciEngine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.file.DirectoryStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class UciEngineTests {
+
+    /**
+     * Runs a script of commands to the end and returns everything the engine sent. A trailing ucinewgame waits for
+     * the last search to finish by itself.
+     */
+    private static String run(String commands) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new UciEngine(new ByteArrayInputStream(commands.getBytes(StandardCharsets.UTF_8)), out).run();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Handshake and Search")
+    public void handshakeAndSearch() throws IOException {
+        String output = run("""
+                uci
+                setoption name Hash value 2
+                isready
+                position startpos moves e2e4 e7e5 g1f3
+                go depth 3
+                ucinewgame
+                """);
+        Assertions.assertTrue(output.contains("id name " + UciEngine.NAME));
+        Assertions.assertTrue(output.contains("uciok"));
+        Assertions.assertTrue(output.contains("readyok"));
+        Assertions.assertTrue(output.contains("info depth 3 score cp "), output);
+        Assertions.assertTrue(output.matches("(?s).*nodes \\d+ nps \\d+ hashfull \\d+ time \\d+ pv [a-h][1-8][a-h][1-8].*"), output);
+        Assertions.assertTrue(output.matches("(?s).*\\nbestmove [a-h][1-8][a-h][1-8].*"), output);
+    }
+
+    @Test
+    @DisplayName("Mate Scores and Invalid Moves")
+    public void mateAndInvalid() throws IOException {
+        String output = run("""
+                position fen 6k1/5ppp/8/8/8/8/8/4R1K1 w - - 0 1
+                go depth 4
+                ucinewgame
+                position startpos moves e2e5
+                """);
+        Assertions.assertTrue(output.contains("score mate 1"), output);
+        Assertions.assertTrue(output.contains("bestmove e1e8"), output);
+        Assertions.assertTrue(output.contains("info string Invalid move e2e5"), output);
+
+        // Nothing to move in checkmate
+        output = run("""
+                position fen 6k1/5ppp/8/8/8/8/8/4R1K1 w - - 0 1 moves e1e8
+                go movetime 50
+                ucinewgame
+                """);
+        Assertions.assertTrue(output.contains("bestmove 0000"), output);
+    }
+
+    @Test
+    @DisplayName("Book Moves From the Book File Option")
+    public void bookFile() throws IOException {
+        // 1. b3 is never the engine's own choice, so playing it means the book was used
+        OpeningBookBuilder builder = new OpeningBookBuilder(2);
+        builder.addPgn(new StringReader("[Result \"1-0\"]\n\n1. b3 e5 1-0\n"));
+        Path file = Files.createTempFile("uci", ".book");
+        file.toFile().deleteOnExit();
+        builder.write(file);
+
+        String output = run("uci\nsetoption name BookFile value " + file + "\nposition startpos\ngo depth 3\nucinewgame\n");
+        Assertions.assertTrue(output.contains("option name BookFile type string"), output);
+        Assertions.assertTrue(output.contains("bestmove b2b3"), output);
+
+        // Out of the book, and with the book turned off, the engine searches again
+        output = run("setoption name BookFile value " + file + "\nposition startpos moves b2b3 e7e5\ngo depth 3\n"
+                + "ucinewgame\nsetoption name BookFile value <empty>\nposition startpos\ngo depth 3\nucinewgame\n");
+        Assertions.assertEquals(2, output.split("info depth 3 ", -1).length - 1, output);
+        Assertions.assertFalse(output.contains("bestmove b2b3"), output);
+
+        output = run("setoption name BookFile value " + file + ".missing\n");
+        Assertions.assertTrue(output.contains("info string Can't open"), output);
+    }
+
+    @Test
+    @DisplayName("Tablebase From the Tablebase Path Option")
+    public void tablebasePath() throws IOException {
+        Path directory = Files.createTempDirectory("tablebase");
+        directory.toFile().deleteOnExit();
+        try (TablebaseGenerator generator = new TablebaseGenerator(directory, 1)) {
+            generator.generate("KRvK");
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) file.toFile().deleteOnExit();
+        }
+
+        // Too deep a mate for one ply to find without the tables
+        String position = "position fen 8/8/8/3k4/8/8/8/KR6 w - - 0 1\ngo depth 1\nucinewgame\n";
+        Assertions.assertFalse(run(position).contains("score mate"));
+        String output = run("uci\nsetoption name TablebasePath value " + directory + "\n" + position);
+        Assertions.assertTrue(output.contains("option name TablebasePath type string"), output);
+        Assertions.assertTrue(output.contains("info depth 1 score mate "), output);
+
+        output = run("setoption name TablebasePath value " + directory.resolve("missing") + "\n");
+        Assertions.assertTrue(output.contains("info string Can't open"), output);
+    }
+
+    /**
+     * Input fed a line at a time from the test, which unlike a pipe hands each line over as soon as it is sent.
+     */
+    private static final class CommandStream extends InputStream {
+
+        private final BlockingQueue<byte[]> lines = new LinkedBlockingQueue<>();
+        private byte[] line = new byte[0];
+        private int position;
+
+        void send(String command) {
+            lines.add((command + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            lines.add(new byte[0]);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] buffer = new byte[1];
+            return (read(buffer, 0, 1) < 0) ? -1 : buffer[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (position == line.length) {
+                try {
+                    line = lines.take();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                position = 0;
+                if (line.length == 0) return -1;
+            }
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+
+    private static void awaitOutput(ByteArrayOutputStream out, String text, int count) {
+        long start = System.nanoTime();
+        while (out.toString(StandardCharsets.UTF_8).split(text, -1).length - 1 < count) {
+            Assertions.assertTrue(System.nanoTime() - start < 10_000_000_000L, "No " + text + " after 10 s");
+            Thread.yield();
+        }
+    }
+
+    @Test
+    @DisplayName("Stop Is Honoured at Once")
+    public void stop() throws Exception {
+        CommandStream commands = new CommandStream();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UciEngine engine = new UciEngine(commands, out);
+        Thread thread = new Thread(() -> {
+            try {
+                engine.run();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+
+        // Warm up first, so the time measured isn't the compiler's
+        commands.send("go depth 5");
+        awaitOutput(out, "bestmove", 1);
+
+        commands.send("position startpos moves d2d4");
+        commands.send("go infinite");
+        Thread.sleep(300);
+        Assertions.assertFalse(out.toString(StandardCharsets.UTF_8).split("bestmove", -1).length > 2, "Infinite search ended alone");
+
+        long start = System.nanoTime();
+        commands.send("stop");
+        awaitOutput(out, "bestmove", 2);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        Assertions.assertTrue(millis < 100, "Stop took " + millis + " ms");
+
+        commands.send("quit");
+        thread.join(2000);
+        Assertions.assertFalse(thread.isAlive());
+    }
+
+    @Test
+    @DisplayName("Infinite and Ponder Hold the Move")
+    public void infiniteAndPonder() throws Exception {
+        CommandStream commands = new CommandStream();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UciEngine engine = new UciEngine(commands, out);
+        Thread thread = new Thread(() -> {
+            try {
+                engine.run();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+
+        // The mate is found at once, but the move waits for stop
+        commands.send("position fen 6k1/5ppp/8/8/8/8/8/4R1K1 w - - 0 1");
+        commands.send("go infinite");
+        awaitOutput(out, "score mate 1", 1);
+        commands.send("ponderhit");
+        Thread.sleep(200);
+        Assertions.assertFalse(out.toString(StandardCharsets.UTF_8).contains("bestmove"), "Infinite search sent its move");
+        commands.send("stop");
+        awaitOutput(out, "bestmove e1e8", 1);
+
+        // A pondering search ignores the clock until ponderhit, and holds its move even when it reaches its depth
+        commands.send("position startpos");
+        commands.send("go ponder wtime 1000 btime 1000 movetime 50");
+        Thread.sleep(300);
+        Assertions.assertEquals(1, out.toString(StandardCharsets.UTF_8).split("bestmove", -1).length - 1,
+                "Pondering search kept to the clock");
+        commands.send("ponderhit");
+        awaitOutput(out, "bestmove", 2);
+
+        int iterations = out.toString(StandardCharsets.UTF_8).split("info depth 1 ", -1).length - 1;
+        commands.send("go ponder depth 1");
+        awaitOutput(out, "info depth 1 ", iterations + 1);
+        Thread.sleep(200);
+        Assertions.assertEquals(2, out.toString(StandardCharsets.UTF_8).split("bestmove", -1).length - 1,
+                "Pondering search sent its move");
+        commands.send("ponderhit");
+        awaitOutput(out, "bestmove", 3);
+
+        commands.send("quit");
+        thread.join(2000);
+        Assertions.assertFalse(thread.isAlive());
+    }
+}
@@ -0,0 +1,96 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import testFactory.TestFactory;
+
+public class ZobristTests {
+
+    private ChessGameImpl game;
+    private ChessBoard board;
+
+    @BeforeEach
+    public void setup() {
+        game = new ChessGameImpl();
+        board = TestFactory.getNewBoard();
+        board.resetBoard();
+        game.setBoard(board);
+    }
+
+    private void move(int fromRow, int fromCol, int toRow, int toCol) {
+        game.makeMove(Move.of(Square.of(fromRow, fromCol), Square.of(toRow, toCol)));
+    }
+
+    private long fullKey() {
+        return Zobrist.placementKey(board) ^ Zobrist.stateKey(board);
+    }
+
+    @Test
+    @DisplayName("Transposition Reaches Same Key")
+    public void transposition() {
+        long start = board.positionKey();
+
+        move(1, 7, 3, 6);
+        Assertions.assertNotEquals(start, board.positionKey(), "Moving a knight did not change the key");
+        move(8, 7, 6, 6);
+        move(3, 6, 1, 7);
+        move(6, 6, 8, 7);
+        Assertions.assertEquals(start, board.positionKey(), "Knights returning home should restore the key");
+
+        // Same placement but the other side to move is a different position
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        Assertions.assertNotEquals(start, board.positionKey());
+    }
+
+    @Test
+    @DisplayName("Incremental Key Matches Full Rehash")
+    public void incrementalMatchesRehash() {
+        // Italian-style opening with a castle, then a double step next to an enemy pawn
+        move(2, 5, 4, 5);
+        move(7, 5, 5, 5);
+        move(1, 7, 3, 6);
+        move(8, 2, 6, 3);
+        move(1, 6, 4, 3);
+        move(7, 1, 6, 1);
+        move(1, 5, 1, 7);
+        move(6, 1, 5, 1);
+        move(2, 2, 4, 2);
+        Assertions.assertEquals(fullKey(), board.positionKey(), "Incremental key drifted from a full rehash");
+
+        long beforeCapture = board.positionKey();
+        move(5, 1, 4, 2);
+        Assertions.assertEquals(fullKey(), board.positionKey());
+        game.unmakeMove();
+        Assertions.assertEquals(beforeCapture, board.positionKey(), "Taking a move back did not restore the key");
+    }
+
+    @Test
+    @DisplayName("Castling Rights And En Passant Change Key")
+    public void castlingAndEnPassant() {
+        move(2, 5, 4, 5);
+        move(7, 5, 5, 5);
+        long kingHome = board.positionKey();
+
+        // The king walks out and back, losing its castling rights
+        move(1, 5, 2, 5);
+        move(8, 2, 6, 3);
+        move(2, 5, 1, 5);
+        move(6, 3, 8, 2);
+        Assertions.assertNotEquals(kingHome, board.positionKey(), "Lost castling rights should change the key");
+        Assertions.assertEquals(0, board.getCastlingRights() & (ChessBoard.WHITE_KINGSIDE | ChessBoard.WHITE_QUEENSIDE));
+
+        // A double step with no enemy pawn beside it leaves no En Passant file
+        move(2, 1, 4, 1);
+        Assertions.assertEquals(-1, board.getEnPassantSquare());
+        move(8, 7, 6, 6);
+        move(4, 1, 5, 1);
+
+        // Black's b-pawn steps past the a-pawn, which may capture it
+        move(7, 2, 5, 2);
+        Assertions.assertEquals(Square.of(6, 2), board.getEnPassantSquare());
+        Assertions.assertEquals(fullKey(), board.positionKey());
+    }
+}
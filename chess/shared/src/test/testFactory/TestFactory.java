@@ -19,11 +19,11 @@ public class TestFactory {
     }
 
     public static ChessPiece getNewPiece(ChessGame.TeamColor pieceColor, ChessPiece.PieceType type){
-        return new ChessPieceImpl(pieceColor, type);
+        return ChessPieceImpl.of(pieceColor, type);
     }
 
     public static ChessPosition getNewPosition(Integer row, Integer col){
-        return new ChessPositionImpl(row, col);
+        return ChessPositionImpl.of(row, col);
     }
 
     public static ChessMove getNewMove(ChessPosition startPosition, ChessPosition endPosition, ChessPiece.PieceType promotionPiece){
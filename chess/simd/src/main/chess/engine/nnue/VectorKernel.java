@@ -0,0 +1,91 @@
+package chess.engine.nnue;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Runs the network arithmetic with the JDK Vector API, at the widest vector size the CPU supports (AVX2 or AVX-512
+ * on x86, NEON or SVE on ARM). The tail of each array that doesn't fill a whole vector is done one value at a time.
+ * <p>
+ * Compiling and running this class needs {@code --add-modules jdk.incubator.vector}. {@link DenseKernel#best()}
+ * loads it by name, so the shared module does not depend on the incubator module.
+ */
+public final class VectorKernel implements DenseKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+
+    // Shorts with as many lanes as SPECIES, so a vector of them widens to exactly one float vector
+    private static final VectorSpecies<Short> NARROW_SHORTS =
+            VectorSpecies.of(short.class, VectorShape.forBitSize(SPECIES.vectorBitSize() / 2));
+
+    @Override
+    public void add(short[] accumulator, short[] weights, int offset) {
+        int i = 0;
+        for (int bound = SHORTS.loopBound(accumulator.length); i < bound; i += SHORTS.length()) {
+            ShortVector.fromArray(SHORTS, accumulator, i)
+                    .add(ShortVector.fromArray(SHORTS, weights, offset + i))
+                    .intoArray(accumulator, i);
+        }
+        for (; i < accumulator.length; i++)
+            accumulator[i] += weights[offset + i];
+    }
+
+    @Override
+    public void subtract(short[] accumulator, short[] weights, int offset) {
+        int i = 0;
+        for (int bound = SHORTS.loopBound(accumulator.length); i < bound; i += SHORTS.length()) {
+            ShortVector.fromArray(SHORTS, accumulator, i)
+                    .sub(ShortVector.fromArray(SHORTS, weights, offset + i))
+                    .intoArray(accumulator, i);
+        }
+        for (; i < accumulator.length; i++)
+            accumulator[i] -= weights[offset + i];
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector sums = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            sums = FloatVector.fromArray(SPECIES, a, aOffset + i)
+                    .fma(FloatVector.fromArray(SPECIES, b, bOffset + i), sums);
+        }
+        float sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++)
+            sum += a[aOffset + i] * b[bOffset + i];
+        return sum;
+    }
+
+    @Override
+    public void clippedRelu(short[] in, int max, float[] out, int outOffset) {
+        float scale = 1f / max;
+        int i = 0;
+        for (int bound = NARROW_SHORTS.loopBound(in.length); i < bound; i += NARROW_SHORTS.length()) {
+            ((FloatVector) ShortVector.fromArray(NARROW_SHORTS, in, i)
+                    .max((short) 0)
+                    .min((short) max)
+                    .convertShape(VectorOperators.S2F, SPECIES, 0))
+                    .mul(scale)
+                    .intoArray(out, outOffset + i);
+        }
+        for (; i < in.length; i++)
+            out[outOffset + i] = Math.min(Math.max(in[i], 0), max) * scale;
+    }
+
+    @Override
+    public void clippedRelu(float[] in, float[] out, int outOffset) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(in.length); i < bound; i += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, in, i)
+                    .max(0f)
+                    .min(1f)
+                    .intoArray(out, outOffset + i);
+        }
+        for (; i < in.length; i++)
+            out[outOffset + i] = Math.min(Math.max(in[i], 0f), 1f);
+    }
+}